@@ -0,0 +1,716 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Un arreglo de enteros con posiciones de tipo long, guardado en páginas de tamaño fijo (TAMANO_PAGINA enteros).
+ *
+ * Como ninguna página necesita más de 4 MB contiguos, la cantidad de enteros no está limitada a Integer.MAX_VALUE y crecer nunca copia los valores que ya están
+ * guardados: sólo se reserva una página nueva al final.
+ *
+ * Las subclases deciden dónde se guardan las páginas. Esta clase implementa sobre ellas las operaciones de SandboxArreglos, recorriendo el contenido por bloques
+ * contiguos que no cruzan de una página a otra. Si las páginas son arreglos del heap, los bloques son las mismas páginas; si no, cada bloque se copia a un arreglo
+ * temporal de TAMANO_BLOQUE enteros antes de procesarlo. En los dos casos se usan los mismos ciclos de KernelsEnteros.
+ */
+abstract class AlmacenEnteros
+{
+    /**
+     * Cantidad de bits de la posición dentro de una página.
+     */
+    static final int BITS_PAGINA = 20;
+
+    /**
+     * Cantidad de enteros de cada página.
+     */
+    static final int TAMANO_PAGINA = 1 << BITS_PAGINA;
+
+    /**
+     * Máscara para obtener la posición dentro de una página.
+     */
+    static final int MASCARA_PAGINA = TAMANO_PAGINA - 1;
+
+    /**
+     * Cantidad de enteros de los bloques temporales que se usan para recorrer páginas que no son arreglos del heap, y para mover valores.
+     */
+    static final int TAMANO_BLOQUE = 1 << 14;
+
+    /**
+     * Cantidad de enteros que se leen a la vez de cada página durante la mezcla del ordenamiento.
+     */
+    private static final int LECTURA_MEZCLA = 1 << 10;
+
+    /**
+     * Una operación sobre un bloque contiguo del almacén.
+     */
+    interface Recorrido
+    {
+        /**
+         * Procesa el bloque [desde, hasta) del arreglo, que corresponde a las posiciones [posicion, posicion + hasta - desde) del almacén.
+         * @return True para seguir con el siguiente bloque, false para terminar el recorrido
+         */
+        boolean procesar( int[] bloque, int desde, int hasta, long posicion );
+    }
+
+    /**
+     * La cantidad de enteros guardados.
+     */
+    protected long cantidad;
+
+    // ------------------------------------------------------------------------------------------------
+    // Páginas
+    // ------------------------------------------------------------------------------------------------
+
+    /**
+     * Retorna la cantidad de páginas reservadas
+     * @return La cantidad de páginas
+     */
+    abstract int getCantidadPaginas( );
+
+    /**
+     * Reserva una página nueva al final.
+     */
+    abstract void agregarPagina( );
+
+    /**
+     * Libera la última página reservada.
+     */
+    abstract void quitarPagina( );
+
+    /**
+     * Retorna una página si está guardada como un arreglo del heap.
+     * @param pagina El número de la página
+     * @return El arreglo de la página, o null si la página no está en el heap
+     */
+    abstract int[] getPaginaHeap( int pagina );
+
+    /**
+     * Copia valores de una página a un arreglo.
+     * @param pagina El número de la página
+     * @param desde La primera posición dentro de la página
+     * @param destino El arreglo destino
+     * @param inicio La primera posición del arreglo destino
+     * @param n La cantidad de valores. desde + n no puede pasar de TAMANO_PAGINA.
+     */
+    abstract void leerPagina( int pagina, int desde, int[] destino, int inicio, int n );
+
+    /**
+     * Copia valores de un arreglo a una página.
+     * @param pagina El número de la página
+     * @param desde La primera posición dentro de la página
+     * @param origen El arreglo origen
+     * @param inicio La primera posición del arreglo origen
+     * @param n La cantidad de valores. desde + n no puede pasar de TAMANO_PAGINA.
+     */
+    abstract void escribirPagina( int pagina, int desde, int[] origen, int inicio, int n );
+
+    /**
+     * Retorna el entero en una posición.
+     * @param posicion La posición, entre 0 y la capacidad reservada
+     * @return El entero
+     */
+    abstract int leer( long posicion );
+
+    /**
+     * Cambia el entero en una posición.
+     * @param posicion La posición, entre 0 y la capacidad reservada
+     * @param valor El nuevo valor
+     */
+    abstract void escribir( long posicion, int valor );
+
+    /**
+     * Crea un almacén vacío que guarda sus páginas en el mismo lugar que éste.
+     * @return El nuevo almacén
+     */
+    abstract AlmacenEnteros crearVacio( );
+
+    /**
+     * Libera todas las páginas. El almacén queda vacío.
+     */
+    void liberar( )
+    {
+        while (getCantidadPaginas() > 0) quitarPagina();
+        cantidad = 0;
+    }
+
+    /**
+     * Indica si las páginas están fuera del heap
+     * @return True si el recolector de basura no recorre el contenido de las páginas
+     */
+    boolean isFueraDelHeap( )
+    {
+        return false;
+    }
+
+    /**
+     * Indica si el almacén es de sólo lectura. Los métodos que modifican el contenido no se deben llamar sobre un almacén de sólo lectura.
+     * @return True si el contenido no se puede modificar
+     */
+    boolean isSoloLectura( )
+    {
+        return false;
+    }
+
+    /**
+     * Retorna la cantidad de bytes que ocupan las páginas reservadas
+     * @return La cantidad de bytes
+     */
+    long getBytesReservados( )
+    {
+        return ((long) getCantidadPaginas() << BITS_PAGINA) * Integer.BYTES;
+    }
+
+    // ------------------------------------------------------------------------------------------------
+    // Contenido
+    // ------------------------------------------------------------------------------------------------
+
+    /**
+     * Retorna la cantidad de enteros guardados
+     * @return La cantidad de enteros
+     */
+    long getCantidad( )
+    {
+        return cantidad;
+    }
+
+    /**
+     * Reserva las páginas necesarias para guardar al menos 'capacidad' enteros.
+     * @param capacidad La capacidad requerida
+     */
+    void asegurarCapacidad( long capacidad )
+    {
+        while ((long) getCantidadPaginas() << BITS_PAGINA < capacidad) agregarPagina();
+    }
+
+    /**
+     * Libera las páginas que quedaron sin enteros.
+     */
+    void recortar( )
+    {
+        long necesarias = (cantidad + MASCARA_PAGINA) >>> BITS_PAGINA;
+        while (getCantidadPaginas() > necesarias) quitarPagina();
+    }
+
+    /**
+     * Agrega un entero al final.
+     * @param valor El valor que se va a agregar
+     */
+    void agregar( int valor )
+    {
+        if ((cantidad & MASCARA_PAGINA) == 0) asegurarCapacidad(cantidad + 1);
+        escribir(cantidad++, valor);
+    }
+
+    /**
+     * Agrega al final los valores [desde, hasta) de un arreglo.
+     * @param valores El arreglo con los valores
+     * @param desde La primera posición, incluida
+     * @param hasta La última posición, excluida
+     */
+    void agregar( int[] valores, int desde, int hasta )
+    {
+        int n = hasta - desde;
+        asegurarCapacidad(cantidad + n);
+        escribir(cantidad, valores, desde, n);
+        cantidad += n;
+    }
+
+    /**
+     * Agrega al final todos los valores de otro almacén, bloque por bloque.
+     * @param otro El almacén con los valores
+     */
+    void agregar( AlmacenEnteros otro )
+    {
+        asegurarCapacidad(cantidad + otro.cantidad);
+        otro.recorrer(0, otro.cantidad, ( bloque, desde, hasta, posicion ) -> {
+            agregar(bloque, desde, hasta);
+            return true;
+        }, false);
+    }
+
+    /**
+     * Copia valores del almacén a un arreglo, cruzando páginas si es necesario.
+     * @param posicion La primera posición del almacén
+     * @param destino El arreglo destino
+     * @param inicio La primera posición del arreglo destino
+     * @param n La cantidad de valores
+     */
+    void leer( long posicion, int[] destino, int inicio, int n )
+    {
+        while (n > 0) {
+            int desde = (int) (posicion & MASCARA_PAGINA);
+            int m = Math.min(n, TAMANO_PAGINA - desde);
+            leerPagina((int) (posicion >>> BITS_PAGINA), desde, destino, inicio, m);
+            posicion += m;
+            inicio += m;
+            n -= m;
+        }
+    }
+
+    /**
+     * Copia valores de un arreglo al almacén, cruzando páginas si es necesario. Las páginas ya deben estar reservadas.
+     * @param posicion La primera posición del almacén
+     * @param origen El arreglo origen
+     * @param inicio La primera posición del arreglo origen
+     * @param n La cantidad de valores
+     */
+    void escribir( long posicion, int[] origen, int inicio, int n )
+    {
+        while (n > 0) {
+            int desde = (int) (posicion & MASCARA_PAGINA);
+            int m = Math.min(n, TAMANO_PAGINA - desde);
+            escribirPagina((int) (posicion >>> BITS_PAGINA), desde, origen, inicio, m);
+            posicion += m;
+            inicio += m;
+            n -= m;
+        }
+    }
+
+    /**
+     * Recorre las posiciones [desde, hasta) en bloques contiguos que no cruzan páginas.
+     * @param desde La primera posición, incluida
+     * @param hasta La última posición, excluida
+     * @param recorrido La operación que se aplica a cada bloque
+     * @param modificar True si la operación cambia los valores del bloque y los cambios se deben guardar
+     */
+    void recorrer( long desde, long hasta, Recorrido recorrido, boolean modificar )
+    {
+        int[] temporal = null;
+        long posicion = desde;
+        while (posicion < hasta) {
+            int pagina = (int) (posicion >>> BITS_PAGINA);
+            int inicio = (int) (posicion & MASCARA_PAGINA);
+            int fin = (int) Math.min(TAMANO_PAGINA, inicio + (hasta - posicion));
+            int[] arreglo = getPaginaHeap(pagina);
+            if (arreglo != null) {
+                if (!recorrido.procesar(arreglo, inicio, fin, posicion)) return;
+                posicion += fin - inicio;
+                continue;
+            }
+            if (temporal == null) temporal = new int[TAMANO_BLOQUE];
+            int m = Math.min(fin - inicio, TAMANO_BLOQUE);
+            leerPagina(pagina, inicio, temporal, 0, m);
+            boolean seguir = recorrido.procesar(temporal, 0, m, posicion);
+            if (modificar) escribirPagina(pagina, inicio, temporal, 0, m);
+            if (!seguir) return;
+            posicion += m;
+        }
+    }
+
+    /**
+     * Mueve los valores de [desde, hasta) para que empiecen en 'destino'. Los rangos pueden solaparse. Las páginas ya deben estar reservadas.
+     * @param desde La primera posición que se mueve, incluida
+     * @param hasta La última posición que se mueve, excluida
+     * @param destino La nueva posición del primer valor
+     */
+    void mover( long desde, long hasta, long destino )
+    {
+        if (desde == destino || desde >= hasta) return;
+        int[] temporal = new int[(int) Math.min(TAMANO_BLOQUE, hasta - desde)];
+        if (destino < desde) {
+            for (long i = desde; i < hasta; ) {
+                int m = (int) Math.min(temporal.length, hasta - i);
+                leer(i, temporal, 0, m);
+                escribir(destino + (i - desde), temporal, 0, m);
+                i += m;
+            }
+        } else {
+            for (long i = hasta; i > desde; ) {
+                int m = (int) Math.min(temporal.length, i - desde);
+                i -= m;
+                leer(i, temporal, 0, m);
+                escribir(destino + (i - desde), temporal, 0, m);
+            }
+        }
+    }
+
+    /**
+     * Inserta valores en una posición, desplazando a la derecha los valores que están después.
+     * @param posicion La posición donde queda el primer valor insertado, entre 0 y la cantidad
+     * @param valores El arreglo con los valores
+     * @param inicio La primera posición de los valores
+     * @param n La cantidad de valores
+     */
+    void insertar( long posicion, int[] valores, int inicio, int n )
+    {
+        asegurarCapacidad(cantidad + n);
+        mover(posicion, cantidad, posicion + n);
+        escribir(posicion, valores, inicio, n);
+        cantidad += n;
+    }
+
+    /**
+     * Elimina el valor de una posición, desplazando a la izquierda los valores que están después.
+     * @param posicion La posición, entre 0 y la cantidad - 1
+     */
+    void eliminarPosicion( long posicion )
+    {
+        mover(posicion + 1, cantidad, posicion);
+        cantidad--;
+        recortar();
+    }
+
+    /**
+     * Elimina todos los valores que cumplen una condición, conservando el orden de los demás.
+     * @param eliminar La condición
+     * @return La cantidad de valores eliminados
+     */
+    long eliminarSi( IntPredicate eliminar )
+    {
+        int[] salida = new int[TAMANO_BLOQUE];
+        int[] enSalida = { 0 };
+        long[] escritos = { 0 };
+        recorrer(0, cantidad, ( bloque, desde, hasta, posicion ) -> {
+            for (int i = desde; i < hasta; i++) {
+                int v = bloque[i];
+                if (eliminar.test(v)) continue;
+                salida[enSalida[0]++] = v;
+                // Los valores se escriben en posiciones que ya se leyeron, así que no se pisan valores pendientes
+                if (enSalida[0] == salida.length) {
+                    escribir(escritos[0], salida, 0, salida.length);
+                    escritos[0] += salida.length;
+                    enSalida[0] = 0;
+                }
+            }
+            return true;
+        }, false);
+        escribir(escritos[0], salida, 0, enSalida[0]);
+        long eliminados = cantidad - (escritos[0] + enSalida[0]);
+        cantidad -= eliminados;
+        recortar();
+        return eliminados;
+    }
+
+    /**
+     * Indica si algún valor cumple una condición. El recorrido termina en el primero que la cumple.
+     * @param condicion La condición
+     * @return True si algún valor la cumple
+     */
+    boolean contieneSi( IntPredicate condicion )
+    {
+        boolean[] encontrado = { false };
+        recorrer(0, cantidad, ( bloque, desde, hasta, posicion ) -> {
+            for (int i = desde; i < hasta; i++) {
+                if (condicion.test(bloque[i])) {
+                    encontrado[0] = true;
+                    return false;
+                }
+            }
+            return true;
+        }, false);
+        return encontrado[0];
+    }
+
+    /**
+     * Copia todos los valores a un arreglo.
+     * @param destino El arreglo destino. Debe tener al menos la cantidad de posiciones del almacén.
+     */
+    void copiarA( int[] destino )
+    {
+        leer(0, destino, 0, (int) cantidad);
+    }
+
+    // ------------------------------------------------------------------------------------------------
+    // Operaciones de SandboxArreglos
+    // ------------------------------------------------------------------------------------------------
+
+    /**
+     * Cuenta cuántas veces aparece un valor.
+     * @param valor El valor buscado
+     * @return La cantidad de apariciones
+     */
+    long contar( int valor )
+    {
+        return contar(valor, cantidad);
+    }
+
+    /**
+     * Cuenta cuántas veces aparece un valor entre las primeras 'limite' posiciones.
+     * @param valor El valor buscado
+     * @param limite La cantidad de posiciones que se revisan, desde la posición 0
+     * @return La cantidad de apariciones
+     */
+    long contar( int valor, long limite )
+    {
+        long[] total = { 0 };
+        recorrer(0, limite, ( bloque, desde, hasta, posicion ) -> {
+            total[0] += KernelsEnteros.contar(bloque, desde, hasta, valor);
+            return true;
+        }, false);
+        return total[0];
+    }
+
+    /**
+     * Busca las posiciones donde aparece un valor.
+     * @param valor El valor buscado
+     * @return Las posiciones, de menor a mayor
+     */
+    long[] buscar( int valor )
+    {
+        return buscar(valor, cantidad);
+    }
+
+    /**
+     * Busca las posiciones donde aparece un valor entre las primeras 'limite' posiciones.
+     * @param valor El valor buscado
+     * @param limite La cantidad de posiciones que se revisan, desde la posición 0
+     * @return Las posiciones, de menor a mayor
+     */
+    long[] buscar( int valor, long limite )
+    {
+        long cuenta = contar(valor, limite);
+        if (cuenta > Integer.MAX_VALUE - 8) throw new OutOfMemoryError("El valor aparece más de " + (Integer.MAX_VALUE - 8) + " veces");
+        long[] posiciones = new long[(int) cuenta];
+        int[] encontradas = { 0 };
+        recorrer(0, limite, ( bloque, desde, hasta, posicion ) -> {
+            for (int i = desde; i < hasta && encontradas[0] < posiciones.length; i++) {
+                if (bloque[i] == valor) posiciones[encontradas[0]++] = posicion + (i - desde);
+            }
+            return encontradas[0] < posiciones.length;
+        }, false);
+        return posiciones;
+    }
+
+    /**
+     * Calcula el menor y el mayor valor. El almacén no puede estar vacío.
+     * @return Un arreglo con el mínimo en la primera posición y el máximo en la segunda
+     */
+    int[] rango( )
+    {
+        return rango(cantidad);
+    }
+
+    /**
+     * Calcula el menor y el mayor valor entre las primeras 'limite' posiciones, que no pueden ser 0.
+     * @param limite La cantidad de posiciones que se revisan, desde la posición 0
+     * @return Un arreglo con el mínimo en la primera posición y el máximo en la segunda
+     */
+    int[] rango( long limite )
+    {
+        int primero = leer(0);
+        int[] rango = { primero, primero };
+        recorrer(0, limite, ( bloque, desde, hasta, posicion ) -> {
+            int[] r = KernelsEnteros.rango(bloque, desde, hasta);
+            if (r[0] < rango[0]) rango[0] = r[0];
+            if (r[1] > rango[1]) rango[1] = r[1];
+            return true;
+        }, false);
+        return rango;
+    }
+
+    /**
+     * Reemplaza cada valor por su valor absoluto.
+     */
+    void volverPositivos( )
+    {
+        recorrer(0, cantidad, ( bloque, desde, hasta, posicion ) -> {
+            KernelsEnteros.volverPositivos(bloque, desde, hasta);
+            return true;
+        }, true);
+    }
+
+    /**
+     * Compara el contenido con un arreglo.
+     * @param otro El arreglo
+     * @return True si tienen los mismos valores en el mismo orden
+     */
+    boolean iguales( int[] otro )
+    {
+        return iguales(otro, cantidad);
+    }
+
+    /**
+     * Compara las primeras 'limite' posiciones con un arreglo.
+     * @param otro El arreglo
+     * @param limite La cantidad de posiciones que se comparan, desde la posición 0
+     * @return True si el arreglo tiene 'limite' valores, iguales y en el mismo orden
+     */
+    boolean iguales( int[] otro, long limite )
+    {
+        if (otro.length != limite) return false;
+        boolean[] iguales = { true };
+        recorrer(0, limite, ( bloque, desde, hasta, posicion ) -> {
+            iguales[0] = KernelsEnteros.iguales(bloque, desde, otro, (int) posicion, hasta - desde);
+            return iguales[0];
+        }, false);
+        return iguales[0];
+    }
+
+    /**
+     * Calcula el histograma de los valores. Los conteos del histograma son de tipo int.
+     * @return El histograma
+     */
+    HistogramaEnteros histograma( )
+    {
+        if (cantidad == 0) return new HistogramaEnteros(0);
+        int[] rango = rango();
+        long amplitud = (long) rango[1] - rango[0] + 1;
+        if (EstrategiaOrdenamiento.usarConteo(amplitud, (int) Math.min(cantidad, Integer.MAX_VALUE))) {
+            return new HistogramaEnteros(rango[0], contarDenso(rango[0], (int) amplitud));
+        }
+        HistogramaEnteros histograma = new HistogramaEnteros(4096);
+        recorrer(0, cantidad, ( bloque, desde, hasta, posicion ) -> {
+            for (int i = desde; i < hasta; i++) histograma.incrementar(bloque[i]);
+            return true;
+        }, false);
+        return histograma;
+    }
+
+    /**
+     * Ordena los valores de menor a mayor.
+     *
+     * Si el rango de los valores es pequeño, se ordena por conteo sobre el mismo almacén. Si no, cada página se ordena con la estrategia y las páginas ordenadas se
+     * mezclan en un almacén nuevo, así que durante la mezcla se usa el doble de memoria.
+     * @param estrategia La estrategia para ordenar cada página
+     * @return El almacén ordenado. Puede ser este mismo almacén o uno nuevo; en el segundo caso, las páginas de éste quedan liberadas.
+     */
+    AlmacenEnteros ordenar( EstrategiaOrdenamiento estrategia )
+    {
+        if (cantidad < 2) return this;
+        int[] rango = rango();
+        long amplitud = (long) rango[1] - rango[0] + 1;
+        if (cantidad <= Integer.MAX_VALUE && EstrategiaOrdenamiento.usarConteo(amplitud, (int) cantidad)) {
+            escribirConteos(rango[0], contarDenso(rango[0], (int) amplitud));
+            return this;
+        }
+        int paginas = (int) ((cantidad + MASCARA_PAGINA) >>> BITS_PAGINA);
+        int[] temporal = null;
+        for (int p = 0; p < paginas; p++) {
+            int n = (int) Math.min(TAMANO_PAGINA, cantidad - ((long) p << BITS_PAGINA));
+            int[] arreglo = getPaginaHeap(p);
+            if (arreglo != null) {
+                estrategia.ordenar(arreglo, 0, n);
+            } else {
+                if (temporal == null) temporal = new int[TAMANO_PAGINA];
+                leerPagina(p, 0, temporal, 0, n);
+                estrategia.ordenar(temporal, 0, n);
+                escribirPagina(p, 0, temporal, 0, n);
+            }
+        }
+        if (paginas == 1) return this;
+        AlmacenEnteros mezcla = mezclarPaginas(paginas);
+        liberar();
+        return mezcla;
+    }
+
+    /**
+     * Cuenta los valores en un arreglo indexado por (valor - minimo).
+     * @param minimo El menor valor
+     * @param amplitud La cantidad de valores posibles
+     * @return Los conteos
+     */
+    private int[] contarDenso( int minimo, int amplitud )
+    {
+        int[] conteos = new int[amplitud];
+        recorrer(0, cantidad, ( bloque, desde, hasta, posicion ) -> {
+            for (int i = desde; i < hasta; i++) conteos[bloque[i] - minimo]++;
+            return true;
+        }, false);
+        return conteos;
+    }
+
+    /**
+     * Reescribe el contenido con cada valor repetido tantas veces como indica su conteo, de menor a mayor.
+     * @param minimo El valor que corresponde a la posición 0 de los conteos
+     * @param conteos Los conteos
+     */
+    private void escribirConteos( int minimo, int[] conteos )
+    {
+        int[] salida = new int[TAMANO_BLOQUE];
+        int enSalida = 0;
+        long escritos = 0;
+        for (int i = 0; i < conteos.length; i++) {
+            int v = minimo + i;
+            for (int c = conteos[i]; c > 0; c--) {
+                salida[enSalida++] = v;
+                if (enSalida == salida.length) {
+                    escribir(escritos, salida, 0, enSalida);
+                    escritos += enSalida;
+                    enSalida = 0;
+                }
+            }
+        }
+        escribir(escritos, salida, 0, enSalida);
+    }
+
+    /**
+     * Mezcla páginas ordenadas en un almacén nuevo, usando un montículo con el valor actual de cada página.
+     * @param paginas La cantidad de páginas con valores
+     * @return Un almacén nuevo con todos los valores ordenados
+     */
+    private AlmacenEnteros mezclarPaginas( int paginas )
+    {
+        AlmacenEnteros destino = crearVacio();
+        destino.asegurarCapacidad(cantidad);
+        int[][] lecturas = new int[paginas][];
+        int[] enLectura = new int[paginas];
+        int[] leidosLectura = new int[paginas];
+        int[] leidosPagina = new int[paginas];
+        int[] monticulo = new int[paginas];
+        int tamanoMonticulo = 0;
+        for (int p = 0; p < paginas; p++) {
+            lecturas[p] = new int[LECTURA_MEZCLA];
+            if (recargar(p, lecturas, enLectura, leidosLectura, leidosPagina)) monticulo[tamanoMonticulo++] = p;
+        }
+        for (int i = tamanoMonticulo / 2 - 1; i >= 0; i--) hundir(monticulo, tamanoMonticulo, i, lecturas, leidosLectura);
+        int[] salida = new int[TAMANO_BLOQUE];
+        int enSalida = 0;
+        while (tamanoMonticulo > 0) {
+            int p = monticulo[0];
+            salida[enSalida++] = lecturas[p][leidosLectura[p]++];
+            if (enSalida == salida.length) {
+                destino.agregar(salida, 0, enSalida);
+                enSalida = 0;
+            }
+            if (leidosLectura[p] == enLectura[p] && !recargar(p, lecturas, enLectura, leidosLectura, leidosPagina)) {
+                monticulo[0] = monticulo[--tamanoMonticulo];
+            }
+            if (tamanoMonticulo > 0) hundir(monticulo, tamanoMonticulo, 0, lecturas, leidosLectura);
+        }
+        destino.agregar(salida, 0, enSalida);
+        return destino;
+    }
+
+    /**
+     * Lee el siguiente tramo de una página para la mezcla.
+     * @return True si se leyó algún valor, false si la página ya se leyó completa
+     */
+    private boolean recargar( int p, int[][] lecturas, int[] enLectura, int[] leidosLectura, int[] leidosPagina )
+    {
+        int n = (int) Math.min(TAMANO_PAGINA, cantidad - ((long) p << BITS_PAGINA));
+        int m = Math.min(LECTURA_MEZCLA, n - leidosPagina[p]);
+        if (m <= 0) return false;
+        leerPagina(p, leidosPagina[p], lecturas[p], 0, m);
+        leidosPagina[p] += m;
+        enLectura[p] = m;
+        leidosLectura[p] = 0;
+        return true;
+    }
+
+    /**
+     * Baja un elemento del montículo de la mezcla hasta que su valor actual no sea mayor que el de sus hijos.
+     */
+    private static void hundir( int[] monticulo, int tamano, int i, int[][] lecturas, int[] leidosLectura )
+    {
+        int p = monticulo[i];
+        int valor = lecturas[p][leidosLectura[p]];
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= tamano) break;
+            int q = monticulo[hijo];
+            int valorHijo = lecturas[q][leidosLectura[q]];
+            if (hijo + 1 < tamano) {
+                int r = monticulo[hijo + 1];
+                int valorDerecho = lecturas[r][leidosLectura[r]];
+                if (valorDerecho < valorHijo) {
+                    hijo++;
+                    q = r;
+                    valorHijo = valorDerecho;
+                }
+            }
+            if (valor <= valorHijo) break;
+            monticulo[i] = q;
+            i = hijo;
+        }
+        monticulo[i] = p;
+    }
+}
@@ -0,0 +1,232 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.function.Consumer;
+
+/**
+ * Un AlmacenEnteros cuyas páginas están fuera del heap, en buffers directos (ByteBuffer.allocateDirect) con el orden de bytes nativo.
+ *
+ * El recolector de basura no recorre ni copia el contenido de las páginas: en el heap sólo quedan los objetos IntBuffer que las representan. Crecer reserva una página
+ * nueva fuera del heap, sin copiar las anteriores ni pasar por un arreglo del heap del tamaño del contenido.
+ *
+ * La memoria de cada página pertenece a este almacén: liberar() y quitarPagina() la devuelven en ese momento con el Cleaner del buffer (sun.misc.Unsafe.invokeCleaner
+ * desde Java 9), sin esperar a que el recolector descarte los buffers, y las regiones mapeadas dejan de estar mapeadas. Si la máquina virtual no permite usar el
+ * Cleaner, la memoria se devuelve cuando el recolector descarta los buffers. Nadie puede seguir leyendo una página después de soltarla: el sandbox sólo libera un
+ * almacén o quita páginas cuando ninguna instantánea lo comparte.
+ *
+ * Las páginas también pueden ser regiones de un archivo mapeado en memoria (ver mapear). El sistema operativo carga cada región la primera vez que se lee, así que abrir
+ * el archivo no recorre su contenido. Las páginas que se agregan después son buffers directos.
+ */
+final class AlmacenEnterosDirecto extends AlmacenEnteros
+{
+    /**
+     * Las páginas reservadas. Sólo las primeras cantidadPaginas posiciones tienen páginas.
+     */
+    private IntBuffer[] paginas = new IntBuffer[4];
+
+    /**
+     * Los buffers de bytes sobre los que están las páginas, en las mismas posiciones. Se guardan porque el Cleaner sólo libera el buffer original, no sus vistas.
+     */
+    private ByteBuffer[] memoria = new ByteBuffer[4];
+
+    /**
+     * La cantidad de páginas reservadas.
+     */
+    private int cantidadPaginas;
+
+    /**
+     * Indica si el almacén es de sólo lectura. Sólo los almacenes mapeados con MapMode.READ_ONLY son de sólo lectura.
+     */
+    private boolean soloLectura;
+
+    /**
+     * La operación que libera la memoria de un buffer directo o mapeado sin esperar al recolector de basura, o null si la máquina virtual no la permite.
+     */
+    private static final Consumer<ByteBuffer> LIBERADOR = crearLiberador();
+
+    /**
+     * Crea un almacén a partir de una región de un archivo con enteros little-endian, mapeando cada página por separado.
+     *
+     * Si no es de sólo lectura, se mapea con MapMode.PRIVATE: los cambios quedan en copias privadas de las páginas del sistema operativo y nunca llegan al archivo. En
+     * ese caso, la última página, si está incompleta, se copia a un buffer directo para que tenga la capacidad de una página completa. Si es de sólo lectura, se mapea
+     * con MapMode.READ_ONLY y el almacén no puede modificarse.
+     * @param canal El canal del archivo. Para mapear con MapMode.PRIVATE, debe estar abierto para lectura y escritura. Se puede cerrar después de mapear.
+     * @param inicio La posición en bytes del primer entero dentro del archivo
+     * @param cantidad La cantidad de enteros
+     * @param soloLectura True para mapear el archivo en modo de sólo lectura
+     * @return El almacén con los enteros del archivo
+     * @throws IOException Si no se puede mapear el archivo
+     */
+    static AlmacenEnterosDirecto mapear( FileChannel canal, long inicio, long cantidad, boolean soloLectura ) throws IOException
+    {
+        AlmacenEnterosDirecto almacen = new AlmacenEnterosDirecto();
+        FileChannel.MapMode modo = soloLectura ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.PRIVATE;
+        for (long posicion = 0; posicion < cantidad; posicion += TAMANO_PAGINA) {
+            int n = (int) Math.min(TAMANO_PAGINA, cantidad - posicion);
+            ByteBuffer region = canal.map(modo, inicio + posicion * Integer.BYTES, (long) n * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (n < TAMANO_PAGINA && !soloLectura) {
+                ByteBuffer completa = crearPagina();
+                completa.asIntBuffer().put(region.asIntBuffer());
+                liberar(region);
+                region = completa;
+            }
+            almacen.agregarPagina(region);
+        }
+        almacen.cantidad = cantidad;
+        almacen.soloLectura = soloLectura;
+        return almacen;
+    }
+
+    /**
+     * Reserva una página fuera del heap.
+     * @return La página, con el orden de bytes nativo
+     */
+    private static ByteBuffer crearPagina( )
+    {
+        return ByteBuffer.allocateDirect(TAMANO_PAGINA * Integer.BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Agrega una página al final.
+     * @param pagina El buffer de la página, con el orden de bytes con el que se deben leer los enteros
+     */
+    private void agregarPagina( ByteBuffer pagina )
+    {
+        if (cantidadPaginas == paginas.length) {
+            paginas = java.util.Arrays.copyOf(paginas, paginas.length * 2);
+            memoria = java.util.Arrays.copyOf(memoria, memoria.length * 2);
+        }
+        memoria[cantidadPaginas] = pagina;
+        paginas[cantidadPaginas++] = pagina.asIntBuffer();
+    }
+
+    /**
+     * Devuelve la memoria de un buffer directo o mapeado. Si no se puede, no hace nada y la memoria se devuelve cuando el recolector descarte el buffer.
+     * @param buffer El buffer, que no debe volver a usarse
+     */
+    private static void liberar( ByteBuffer buffer )
+    {
+        if (LIBERADOR == null) return;
+        try {
+            LIBERADOR.accept(buffer);
+        } catch (RuntimeException e) {
+            // Se deja al recolector
+        }
+    }
+
+    /**
+     * Busca cómo liberar un buffer sin esperar al recolector: sun.misc.Unsafe.invokeCleaner desde Java 9, o el Cleaner de sun.nio.ch.DirectBuffer en Java 8.
+     * @return La operación, o null si la máquina virtual no ofrece ninguna de las dos
+     */
+    private static Consumer<ByteBuffer> crearLiberador( )
+    {
+        try {
+            Class<?> clase = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = clase.getMethod("invokeCleaner", ByteBuffer.class);
+            Field campo = clase.getDeclaredField("theUnsafe");
+            campo.setAccessible(true);
+            Object unsafe = campo.get(null);
+            return buffer -> invocar(invokeCleaner, unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Antes de Java 9 no existe invokeCleaner
+        }
+        try {
+            Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> {
+                Object limpiador = invocar(cleaner, buffer);
+                if (limpiador != null) invocar(clean, limpiador);
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Object invocar( Method metodo, Object objeto, Object... argumentos )
+    {
+        try {
+            return metodo.invoke(objeto, argumentos);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    int getCantidadPaginas( )
+    {
+        return cantidadPaginas;
+    }
+
+    @Override
+    void agregarPagina( )
+    {
+        agregarPagina(crearPagina());
+    }
+
+    @Override
+    void quitarPagina( )
+    {
+        ByteBuffer pagina = memoria[--cantidadPaginas];
+        paginas[cantidadPaginas] = null;
+        memoria[cantidadPaginas] = null;
+        liberar(pagina);
+    }
+
+    @Override
+    int[] getPaginaHeap( int pagina )
+    {
+        return null;
+    }
+
+    @Override
+    void leerPagina( int pagina, int desde, int[] destino, int inicio, int n )
+    {
+        IntBuffer vista = paginas[pagina].duplicate();
+        vista.position(desde);
+        vista.get(destino, inicio, n);
+    }
+
+    @Override
+    void escribirPagina( int pagina, int desde, int[] origen, int inicio, int n )
+    {
+        IntBuffer vista = paginas[pagina].duplicate();
+        vista.position(desde);
+        vista.put(origen, inicio, n);
+    }
+
+    @Override
+    int leer( long posicion )
+    {
+        return paginas[(int) (posicion >>> BITS_PAGINA)].get((int) (posicion & MASCARA_PAGINA));
+    }
+
+    @Override
+    void escribir( long posicion, int valor )
+    {
+        paginas[(int) (posicion >>> BITS_PAGINA)].put((int) (posicion & MASCARA_PAGINA), valor);
+    }
+
+    @Override
+    AlmacenEnteros crearVacio( )
+    {
+        return new AlmacenEnterosDirecto();
+    }
+
+    @Override
+    boolean isFueraDelHeap( )
+    {
+        return true;
+    }
+
+    @Override
+    boolean isSoloLectura( )
+    {
+        return soloLectura;
+    }
+}
@@ -0,0 +1,74 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Un AlmacenEnteros cuyas páginas son arreglos de enteros del heap.
+ *
+ * Cada página es un objeto independiente de 4 MB, así que el recolector de basura nunca necesita un bloque contiguo del tamaño de todo el contenido.
+ */
+final class AlmacenEnterosPaginado extends AlmacenEnteros
+{
+    /**
+     * Las páginas reservadas. Sólo las primeras cantidadPaginas posiciones tienen páginas.
+     */
+    private int[][] paginas = new int[4][];
+
+    /**
+     * La cantidad de páginas reservadas.
+     */
+    private int cantidadPaginas;
+
+    @Override
+    int getCantidadPaginas( )
+    {
+        return cantidadPaginas;
+    }
+
+    @Override
+    void agregarPagina( )
+    {
+        if (cantidadPaginas == paginas.length) paginas = java.util.Arrays.copyOf(paginas, paginas.length * 2);
+        paginas[cantidadPaginas++] = new int[TAMANO_PAGINA];
+    }
+
+    @Override
+    void quitarPagina( )
+    {
+        paginas[--cantidadPaginas] = null;
+    }
+
+    @Override
+    int[] getPaginaHeap( int pagina )
+    {
+        return paginas[pagina];
+    }
+
+    @Override
+    void leerPagina( int pagina, int desde, int[] destino, int inicio, int n )
+    {
+        System.arraycopy(paginas[pagina], desde, destino, inicio, n);
+    }
+
+    @Override
+    void escribirPagina( int pagina, int desde, int[] origen, int inicio, int n )
+    {
+        System.arraycopy(origen, inicio, paginas[pagina], desde, n);
+    }
+
+    @Override
+    int leer( long posicion )
+    {
+        return paginas[(int) (posicion >>> BITS_PAGINA)][(int) (posicion & MASCARA_PAGINA)];
+    }
+
+    @Override
+    void escribir( long posicion, int valor )
+    {
+        paginas[(int) (posicion >>> BITS_PAGINA)][(int) (posicion & MASCARA_PAGINA)] = valor;
+    }
+
+    @Override
+    AlmacenEnteros crearVacio( )
+    {
+        return new AlmacenEnterosPaginado();
+    }
+}
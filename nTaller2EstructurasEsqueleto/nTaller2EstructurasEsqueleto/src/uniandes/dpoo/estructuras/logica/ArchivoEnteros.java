@@ -0,0 +1,196 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lee y escribe arreglos de enteros en un formato binario compacto.
+ *
+ * El archivo empieza con un encabezado de TAMANO_ENCABEZADO bytes: el número mágico MAGICO, la versión del formato (int) y la cantidad de enteros (long). Después
+ * vienen los enteros, cuatro bytes cada uno. Todo está en little-endian. Como el encabezado ocupa 16 bytes, los enteros quedan alineados y el archivo se puede mapear
+ * directamente como páginas de un AlmacenEnterosDirecto.
+ */
+final class ArchivoEnteros
+{
+    /**
+     * Los bytes "SAEN" leídos como un int little-endian.
+     */
+    static final int MAGICO = 0x4E454153;
+
+    /**
+     * La versión actual del formato.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * La cantidad de bytes del encabezado.
+     */
+    static final int TAMANO_ENCABEZADO = 16;
+
+    /**
+     * Cantidad de bytes que se escriben al archivo en cada operación.
+     */
+    private static final int TAMANO_ESCRITURA = 1 << 18;
+
+    private ArchivoEnteros( )
+    {
+    }
+
+    /**
+     * Escribe los primeros 'cantidad' enteros de un arreglo en un archivo.
+     * @param ruta La ruta del archivo. Si ya existe, se reemplaza.
+     * @param arreglo El arreglo con los enteros
+     * @param cantidad La cantidad de enteros que se escriben
+     * @throws IOException Si no se puede escribir el archivo
+     */
+    static void guardar( Path ruta, int[] arreglo, int cantidad ) throws IOException
+    {
+        try (Escritor escritor = new Escritor(ruta, cantidad)) {
+            escritor.procesar(arreglo, 0, cantidad, 0);
+            escritor.terminar();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Escribe el contenido de un almacén en un archivo.
+     * @param ruta La ruta del archivo. Si ya existe, se reemplaza.
+     * @param almacen El almacén con los enteros
+     * @throws IOException Si no se puede escribir el archivo
+     */
+    static void guardar( Path ruta, AlmacenEnteros almacen ) throws IOException
+    {
+        try (Escritor escritor = new Escritor(ruta, almacen.getCantidad())) {
+            almacen.recorrer(0, almacen.getCantidad(), escritor, false);
+            escritor.terminar();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Escribe enteros comprimidos en un archivo, descomprimiendo un bloque a la vez.
+     * @param ruta La ruta del archivo. Si ya existe, se reemplaza.
+     * @param comprimidos Los enteros comprimidos
+     * @throws IOException Si no se puede escribir el archivo
+     */
+    static void guardar( Path ruta, EnterosComprimidos comprimidos ) throws IOException
+    {
+        try (Escritor escritor = new Escritor(ruta, comprimidos.getCantidad())) {
+            comprimidos.recorrer(escritor);
+            escritor.terminar();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Mapea en memoria un archivo escrito por guardar. El contenido no se lee: el sistema operativo carga cada página del archivo la primera vez que se usa.
+     * @param ruta La ruta del archivo
+     * @param soloLectura True para mapear el archivo en modo de sólo lectura. Si es false, el almacén se puede modificar, pero los cambios nunca llegan al archivo.
+     * @return Un almacén con los enteros del archivo
+     * @throws IOException Si no se puede leer el archivo o no tiene el formato esperado
+     */
+    static AlmacenEnterosDirecto cargar( Path ruta, boolean soloLectura ) throws IOException
+    {
+        StandardOpenOption[] opciones = soloLectura ? new StandardOpenOption[]{ StandardOpenOption.READ }
+                : new StandardOpenOption[]{ StandardOpenOption.READ, StandardOpenOption.WRITE };
+        try (FileChannel canal = FileChannel.open(ruta, opciones)) {
+            ByteBuffer encabezado = ByteBuffer.allocate(TAMANO_ENCABEZADO).order(ByteOrder.LITTLE_ENDIAN);
+            while (encabezado.hasRemaining()) {
+                if (canal.read(encabezado, encabezado.position()) < 0) break;
+            }
+            if (encabezado.hasRemaining() || encabezado.getInt(0) != MAGICO) throw new IOException("El archivo no tiene un arreglo de enteros: " + ruta);
+            int version = encabezado.getInt(4);
+            if (version != VERSION) throw new IOException("Versión del formato no soportada: " + version);
+            long cantidad = encabezado.getLong(8);
+            if (cantidad < 0 || cantidad > Long.MAX_VALUE / Integer.BYTES || canal.size() != TAMANO_ENCABEZADO + cantidad * Integer.BYTES) {
+                throw new IOException("El tamaño del archivo no corresponde a la cantidad de enteros: " + cantidad);
+            }
+            return AlmacenEnterosDirecto.mapear(canal, TAMANO_ENCABEZADO, cantidad, soloLectura);
+        }
+    }
+
+    /**
+     * Escribe enteros a un archivo temporal en bloques, y al terminar lo mueve a la ruta final. Así, un archivo que está mapeado en memoria nunca se modifica mientras
+     * se escribe el nuevo.
+     */
+    private static final class Escritor implements AlmacenEnteros.Recorrido, AutoCloseable
+    {
+        private final Path ruta;
+
+        private final Path temporal;
+
+        private final FileChannel canal;
+
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANO_ESCRITURA).order(ByteOrder.LITTLE_ENDIAN);
+
+        private boolean terminado;
+
+        Escritor( Path ruta, long cantidad ) throws IOException
+        {
+            this.ruta = ruta;
+            Path carpeta = ruta.toAbsolutePath().getParent();
+            this.temporal = Files.createTempFile(carpeta, ruta.getFileName().toString(), ".tmp");
+            this.canal = FileChannel.open(temporal, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            buffer.putInt(MAGICO).putInt(VERSION).putLong(cantidad);
+        }
+
+        @Override
+        public boolean procesar( int[] bloque, int desde, int hasta, long posicion )
+        {
+            try {
+                for (int i = desde; i < hasta; ) {
+                    if (!buffer.hasRemaining()) vaciar();
+                    int m = Math.min(hasta - i, buffer.remaining() / Integer.BYTES);
+                    buffer.asIntBuffer().put(bloque, i, m);
+                    buffer.position(buffer.position() + m * Integer.BYTES);
+                    i += m;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        }
+
+        /**
+         * Escribe los bytes pendientes y mueve el archivo temporal a la ruta final.
+         * @throws IOException Si no se puede escribir o mover el archivo
+         */
+        void terminar( ) throws IOException
+        {
+            vaciar();
+            canal.force(false);
+            canal.close();
+            try {
+                Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING);
+            }
+            terminado = true;
+        }
+
+        private void vaciar( ) throws IOException
+        {
+            buffer.flip();
+            while (buffer.hasRemaining()) canal.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close( ) throws IOException
+        {
+            canal.close();
+            if (!terminado) Files.deleteIfExists(temporal);
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.AbstractSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.UnaryOperator;
+
+/**
+ * Convierte objetos a cadenas con toString, en secuencia o en paralelo, para los métodos reiniciar de los sandboxes.
+ *
+ * Un objeto null se convierte en la cadena "null", igual que lo haría String.valueOf. En paralelo, los objetos se dividen en partes sobre el pool común de fork/join y
+ * cada parte escribe sus cadenas directamente en su propio rango de un arreglo del tamaño final. Sirve cuando toString es costoso: el orden en que se llama toString sobre
+ * los objetos deja de estar definido, así que toString no debería depender de ese orden.
+ *
+ * Para los conjuntos y los mapas, además, cada parte construye su propio resultado y los resultados se combinan de dos en dos, también en paralelo: las partes de un
+ * conjunto se ordenan y se combinan como en un merge sort, quitando los repetidos, y el TreeSet se construye al final de una sola vez a partir de las cadenas ya
+ * ordenadas; las partes de un mapa se combinan agregando el mapa de la derecha al de la izquierda, así que si dos objetos producen la misma llave queda el valor del
+ * último, igual que en secuencia.
+ */
+final class ConversionCadenas
+{
+    /**
+     * Cantidad máxima de objetos de cada parte. Es pequeña porque se supone que toString es costoso.
+     */
+    private static final int TAMANO_PARTE = 1 << 10;
+
+    /**
+     * Cantidad de partes por hilo del pool cuando los resultados de las partes se combinan. Combinar cuesta más entre más niveles tenga el árbol de partes, así que se
+     * usan unas pocas partes grandes, en lugar de partes de TAMANO_PARTE.
+     */
+    private static final int PARTES_POR_HILO = 4;
+
+    private ConversionCadenas( )
+    {
+    }
+
+    /**
+     * Convierte un objeto en una cadena.
+     * @param objeto El objeto
+     * @return El resultado de toString, o "null" si el objeto es null
+     */
+    static String convertir( Object objeto )
+    {
+        return objeto == null ? "null" : objeto.toString();
+    }
+
+    /**
+     * Convierte los objetos de un arreglo en cadenas.
+     * @param objetos Los objetos
+     * @param paralelo True para convertir los objetos en paralelo
+     * @return Un arreglo nuevo con las cadenas, en el mismo orden
+     */
+    static String[] convertir( Object[] objetos, boolean paralelo )
+    {
+        String[] cadenas = new String[objetos.length];
+        if (usarParalelo(objetos.length, paralelo)) {
+            ForkJoinPool.commonPool().invoke(new TareaConversion(objetos, cadenas, 0, objetos.length));
+        } else {
+            convertir(objetos, cadenas, 0, objetos.length);
+        }
+        return cadenas;
+    }
+
+    /**
+     * Convierte los objetos de una lista en cadenas. La lista se copia primero a un arreglo, para poder dividirla aunque no tenga acceso por posición.
+     * @param objetos Los objetos
+     * @param paralelo True para convertir los objetos en paralelo
+     * @return Un arreglo nuevo con las cadenas, en el mismo orden
+     */
+    static String[] convertir( List<?> objetos, boolean paralelo )
+    {
+        return convertir(objetos.toArray(), paralelo);
+    }
+
+    /**
+     * Convierte los objetos de una lista en un conjunto ordenado de cadenas.
+     * @param objetos Los objetos
+     * @param paralelo True para convertir los objetos y combinar los resultados en paralelo
+     * @return Un TreeSet nuevo con las cadenas
+     * @throws NullPointerException Si algún toString retorna null
+     */
+    static NavigableSet<String> convertirConjunto( List<?> objetos, boolean paralelo )
+    {
+        Object[] arreglo = objetos.toArray();
+        if (!usarParalelo(arreglo.length, paralelo)) {
+            TreeSet<String> conjunto = new TreeSet<String>();
+            for (Object o : arreglo) conjunto.add(convertir(o));
+            return conjunto;
+        }
+        String[] cadenas = new String[arreglo.length];
+        int parte = tamanoParteCombinada(arreglo.length);
+        int distintas = ForkJoinPool.commonPool().invoke(new TareaConjunto(arreglo, cadenas, new String[arreglo.length], 0, arreglo.length, parte));
+        return new TreeSet<String>(new CadenasOrdenadas(cadenas, 0, distintas));
+    }
+
+    /**
+     * Convierte los objetos de una lista en un mapa: el valor es la cadena de cada objeto, y la llave se calcula a partir de ella.
+     * @param objetos Los objetos
+     * @param llave La función que calcula la llave de cada cadena. Se puede llamar desde varios hilos a la vez.
+     * @param paralelo True para convertir los objetos y combinar los resultados en paralelo
+     * @return Un HashMap nuevo con las cadenas
+     */
+    static Map<String, String> convertirMapa( List<?> objetos, UnaryOperator<String> llave, boolean paralelo )
+    {
+        Object[] arreglo = objetos.toArray();
+        if (!usarParalelo(arreglo.length, paralelo)) return convertirMapa(arreglo, llave, 0, arreglo.length);
+        String[] cadenas = new String[arreglo.length];
+        return ForkJoinPool.commonPool().invoke(new TareaMapa(arreglo, cadenas, llave, 0, arreglo.length, tamanoParteCombinada(arreglo.length)));
+    }
+
+    private static boolean usarParalelo( int cantidad, boolean paralelo )
+    {
+        return paralelo && cantidad > TAMANO_PARTE && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    private static int tamanoParteCombinada( int cantidad )
+    {
+        return Math.max(TAMANO_PARTE, cantidad / (ForkJoinPool.getCommonPoolParallelism() * PARTES_POR_HILO));
+    }
+
+    private static void convertir( Object[] objetos, String[] cadenas, int desde, int hasta )
+    {
+        for (int i = desde; i < hasta; i++) cadenas[i] = convertir(objetos[i]);
+    }
+
+    private static HashMap<String, String> convertirMapa( Object[] objetos, UnaryOperator<String> llave, int desde, int hasta )
+    {
+        HashMap<String, String> mapa = new HashMap<String, String>(Math.max(16, (int) ((hasta - desde) / 0.75f) + 1));
+        for (int i = desde; i < hasta; i++) {
+            String s = convertir(objetos[i]);
+            mapa.put(llave.apply(s), s);
+        }
+        return mapa;
+    }
+
+    private static HashMap<String, String> convertirMapa( String[] cadenas, UnaryOperator<String> llave, int desde, int hasta )
+    {
+        HashMap<String, String> mapa = new HashMap<String, String>(Math.max(16, (int) ((hasta - desde) / 0.75f) + 1));
+        for (int i = desde; i < hasta; i++) mapa.put(llave.apply(cadenas[i]), cadenas[i]);
+        return mapa;
+    }
+
+    /**
+     * Una parte de los objetos que se convierte en paralelo con las demás.
+     */
+    private static final class TareaConversion extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] objetos;
+
+        private final String[] cadenas;
+
+        private final int desde;
+
+        private final int hasta;
+
+        TareaConversion( Object[] objetos, String[] cadenas, int desde, int hasta )
+        {
+            this.objetos = objetos;
+            this.cadenas = cadenas;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute( )
+        {
+            if (hasta - desde <= TAMANO_PARTE) {
+                convertir(objetos, cadenas, desde, hasta);
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new TareaConversion(objetos, cadenas, desde, medio), new TareaConversion(objetos, cadenas, medio, hasta));
+        }
+    }
+
+    /**
+     * Una parte de los objetos que se convierte, se ordena y se le quitan los repetidos. Las cadenas distintas quedan al principio del rango de 'cadenas', y el
+     * resultado es cuántas son. 'auxiliar' es un arreglo del mismo tamaño que se usa para combinar.
+     */
+    private static final class TareaConjunto extends RecursiveTask<Integer>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] objetos;
+
+        private final String[] cadenas;
+
+        private final String[] auxiliar;
+
+        private final int desde;
+
+        private final int hasta;
+
+        private final int parte;
+
+        TareaConjunto( Object[] objetos, String[] cadenas, String[] auxiliar, int desde, int hasta, int parte )
+        {
+            this.objetos = objetos;
+            this.cadenas = cadenas;
+            this.auxiliar = auxiliar;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.parte = parte;
+        }
+
+        @Override
+        protected Integer compute( )
+        {
+            if (hasta - desde <= parte) {
+                // La conversión de la parte se sigue dividiendo en partes pequeñas; sólo la combinación usa partes grandes
+                new TareaConversion(objetos, cadenas, desde, hasta).compute();
+                EstrategiaOrdenamientoCadenas.MULTICLAVE.ordenar(cadenas, desde, hasta);
+                int distintas = 0;
+                for (int i = desde; i < hasta; i++) {
+                    if (distintas == 0 || !cadenas[i].equals(cadenas[desde + distintas - 1])) cadenas[desde + distintas++] = cadenas[i];
+                }
+                return distintas;
+            }
+            int medio = (desde + hasta) >>> 1;
+            TareaConjunto izquierda = new TareaConjunto(objetos, cadenas, auxiliar, desde, medio, parte);
+            TareaConjunto derecha = new TareaConjunto(objetos, cadenas, auxiliar, medio, hasta, parte);
+            izquierda.fork();
+            int enDerecha = derecha.compute();
+            int enIzquierda = izquierda.join();
+
+            // Se combinan las dos partes en el auxiliar y se copian de vuelta al principio del rango
+            int i = desde;
+            int j = medio;
+            int k = desde;
+            while (i < desde + enIzquierda || j < medio + enDerecha) {
+                String siguiente;
+                if (j == medio + enDerecha) siguiente = cadenas[i++];
+                else if (i == desde + enIzquierda) siguiente = cadenas[j++];
+                else {
+                    int comparacion = cadenas[i].compareTo(cadenas[j]);
+                    siguiente = comparacion <= 0 ? cadenas[i++] : cadenas[j++];
+                    if (comparacion == 0) j++;
+                }
+                auxiliar[k++] = siguiente;
+            }
+            System.arraycopy(auxiliar, desde, cadenas, desde, k - desde);
+            return k - desde;
+        }
+    }
+
+    /**
+     * Una parte de los objetos que se convierte en un mapa. Las cadenas se escriben primero en el rango de la parte de 'cadenas'. Los mapas de las dos mitades se
+     * combinan agregando el de la derecha al de la izquierda.
+     */
+    private static final class TareaMapa extends RecursiveTask<HashMap<String, String>>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] objetos;
+
+        private final String[] cadenas;
+
+        private final UnaryOperator<String> llave;
+
+        private final int desde;
+
+        private final int hasta;
+
+        private final int parte;
+
+        TareaMapa( Object[] objetos, String[] cadenas, UnaryOperator<String> llave, int desde, int hasta, int parte )
+        {
+            this.objetos = objetos;
+            this.cadenas = cadenas;
+            this.llave = llave;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.parte = parte;
+        }
+
+        @Override
+        protected HashMap<String, String> compute( )
+        {
+            if (hasta - desde <= parte) {
+                new TareaConversion(objetos, cadenas, desde, hasta).compute();
+                return convertirMapa(cadenas, llave, desde, hasta);
+            }
+            int medio = (desde + hasta) >>> 1;
+            TareaMapa izquierda = new TareaMapa(objetos, cadenas, llave, desde, medio, parte);
+            TareaMapa derecha = new TareaMapa(objetos, cadenas, llave, medio, hasta, parte);
+            izquierda.fork();
+            HashMap<String, String> mapaDerecha = derecha.compute();
+            HashMap<String, String> mapaIzquierda = izquierda.join();
+            mapaIzquierda.putAll(mapaDerecha);
+            return mapaIzquierda;
+        }
+    }
+
+    /**
+     * Un SortedSet de sólo lectura sobre un rango de un arreglo de cadenas ordenadas según su orden natural y sin repetidos.
+     *
+     * Existe para construir el TreeSet con el constructor público TreeSet(SortedSet), que crea el conjunto con el mismo orden que el SortedSet que recibe (aquí null,
+     * el orden natural). En el JDK, ese constructor arma el árbol a partir de size() y del iterador, sin comparar las cadenas, igual que TreeMap(SortedMap), que está
+     * documentado como lineal. Es seguro porque esta clase cumple el contrato completo de SortedSet: el iterador recorre exactamente size() cadenas distintas en orden
+     * creciente según compareTo, que es el orden en que TareaConjunto las deja, y las vistas de subSet, headSet y tailSet son rangos del mismo arreglo. Si una versión
+     * del JDK no armara el árbol así, agregaría las cadenas una por una y el resultado sería el mismo.
+     */
+    private static final class CadenasOrdenadas extends AbstractSet<String> implements SortedSet<String>
+    {
+        private final String[] cadenas;
+
+        /**
+         * La primera posición del rango, incluida.
+         */
+        private final int desde;
+
+        /**
+         * La última posición del rango, excluida.
+         */
+        private final int hasta;
+
+        CadenasOrdenadas( String[] cadenas, int desde, int hasta )
+        {
+            this.cadenas = cadenas;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        public Iterator<String> iterator( )
+        {
+            return new Iterator<String>() {
+                private int siguiente = desde;
+
+                @Override
+                public boolean hasNext( )
+                {
+                    return siguiente < hasta;
+                }
+
+                @Override
+                public String next( )
+                {
+                    if (siguiente >= hasta) throw new NoSuchElementException();
+                    return cadenas[siguiente++];
+                }
+            };
+        }
+
+        @Override
+        public int size( )
+        {
+            return hasta - desde;
+        }
+
+        @Override
+        public boolean contains( Object objeto )
+        {
+            return objeto instanceof String && java.util.Arrays.binarySearch(cadenas, desde, hasta, objeto) >= 0;
+        }
+
+        @Override
+        public Comparator<? super String> comparator( )
+        {
+            return null;
+        }
+
+        @Override
+        public String first( )
+        {
+            if (desde == hasta) throw new NoSuchElementException();
+            return cadenas[desde];
+        }
+
+        @Override
+        public String last( )
+        {
+            if (desde == hasta) throw new NoSuchElementException();
+            return cadenas[hasta - 1];
+        }
+
+        @Override
+        public SortedSet<String> subSet( String inicio, String fin )
+        {
+            if (inicio.compareTo(fin) > 0) throw new IllegalArgumentException("El inicio es mayor que el fin");
+            return new CadenasOrdenadas(cadenas, posicion(inicio), posicion(fin));
+        }
+
+        @Override
+        public SortedSet<String> headSet( String fin )
+        {
+            return new CadenasOrdenadas(cadenas, desde, posicion(fin));
+        }
+
+        @Override
+        public SortedSet<String> tailSet( String inicio )
+        {
+            return new CadenasOrdenadas(cadenas, posicion(inicio), hasta);
+        }
+
+        /**
+         * Busca la primera posición del rango cuya cadena es mayor o igual a la dada.
+         * @param cadena La cadena, que no puede ser null
+         * @return La posición, o hasta si todas las cadenas del rango son menores
+         */
+        private int posicion( String cadena )
+        {
+            int posicion = java.util.Arrays.binarySearch(cadenas, desde, hasta, cadena);
+            return posicion >= 0 ? posicion : -posicion - 1;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.HashMap;
+
+/**
+ * La tabla de símbolos del arreglo de cadenas codificado: asigna a cada cadena diferente un código entero, y el arreglo guarda los códigos en lugar de las cadenas.
+ *
+ * Cuando hay pocas cadenas diferentes repetidas muchas veces, cada posición ocupa 4 bytes en lugar de una referencia, todas las repeticiones comparten la misma
+ * instancia, y las operaciones que comparan cadenas pueden comparar códigos.
+ *
+ * Los códigos se asignan en el orden en que aparecen las cadenas, empezando en 0. Un símbolo nunca cambia de posición dentro del arreglo de símbolos: ordenar crea un
+ * arreglo nuevo. Así, una instantánea que guardó el arreglo de símbolos lo puede seguir usando aunque después se agreguen símbolos. La cadena null también es un símbolo.
+ */
+final class DiccionarioCadenas
+{
+    /**
+     * Los símbolos, indexados por código. Sólo las primeras cantidadSimbolos posiciones son válidas.
+     */
+    private String[] simbolos = new String[16];
+
+    /**
+     * La cantidad de símbolos.
+     */
+    private int cantidadSimbolos;
+
+    /**
+     * El código de cada símbolo.
+     */
+    private HashMap<String, Integer> codigos = new HashMap<String, Integer>();
+
+    /**
+     * Retorna el código de una cadena, y le asigna uno nuevo si todavía no lo tiene.
+     * @param cadena La cadena. Puede ser null.
+     * @return El código de la cadena
+     */
+    int codificar( String cadena )
+    {
+        Integer codigo = codigos.get(cadena);
+        if (codigo != null) return codigo;
+        if (cantidadSimbolos == simbolos.length) simbolos = java.util.Arrays.copyOf(simbolos, cantidadSimbolos * 2);
+        simbolos[cantidadSimbolos] = cadena;
+        codigos.put(cadena, cantidadSimbolos);
+        return cantidadSimbolos++;
+    }
+
+    /**
+     * Retorna el código de una cadena sin agregarla.
+     * @param cadena La cadena. Puede ser null.
+     * @return El código de la cadena, o -1 si la cadena no tiene código
+     */
+    int buscar( String cadena )
+    {
+        Integer codigo = codigos.get(cadena);
+        return codigo == null ? -1 : codigo;
+    }
+
+    /**
+     * Retorna la cadena que corresponde a un código.
+     * @param codigo El código
+     * @return La cadena
+     */
+    String decodificar( int codigo )
+    {
+        return simbolos[codigo];
+    }
+
+    /**
+     * Retorna el arreglo de símbolos actual, sin copiarlo. Las posiciones que ya tienen un símbolo no cambian nunca.
+     * @return El arreglo de símbolos
+     */
+    String[] getSimbolos( )
+    {
+        return simbolos;
+    }
+
+    /**
+     * Retorna la cantidad de símbolos.
+     * @return La cantidad de cadenas diferentes que tienen código
+     */
+    int getCantidadSimbolos( )
+    {
+        return cantidadSimbolos;
+    }
+
+    /**
+     * Marca los códigos de los símbolos que son iguales a una cadena sin diferenciar mayúsculas.
+     * @param cadena La cadena. Si es null, sólo se marca el código de null.
+     * @return Un arreglo indexado por código, con true en los códigos marcados
+     */
+    boolean[] marcarIgnorandoMayusculas( String cadena )
+    {
+        boolean[] marcados = new boolean[cantidadSimbolos];
+        for (int c = 0; c < cantidadSimbolos; c++) {
+            String s = simbolos[c];
+            marcados[c] = cadena == null ? s == null : (s != null && s.equalsIgnoreCase(cadena));
+        }
+        return marcados;
+    }
+
+    /**
+     * Ordena un arreglo de códigos según el orden de sus cadenas.
+     *
+     * Primero se cuenta cuántas veces aparece cada código y se ordenan sólo los símbolos, con la estrategia indicada. Después se renumeran los símbolos para que el orden de
+     * los códigos sea el orden de las cadenas, y el arreglo se reescribe con un ordenamiento por conteo. Así, el costo es O(n + d log d) para d símbolos, y las n
+     * posiciones nunca se comparan entre sí. Los símbolos que ya no aparecen en el arreglo se descartan.
+     * @param arreglo El arreglo de códigos
+     * @param cantidad La cantidad de códigos del arreglo
+     * @param estrategia La estrategia con la que se ordenan los símbolos
+     */
+    void ordenar( int[] arreglo, int cantidad, EstrategiaOrdenamientoCadenas estrategia )
+    {
+        int[] conteos = new int[cantidadSimbolos];
+        for (int i = 0; i < cantidad; i++) conteos[arreglo[i]]++;
+        int usados = 0;
+        for (int c = 0; c < cantidadSimbolos; c++) {
+            if (conteos[c] > 0) usados++;
+        }
+        String[] ordenados = new String[Math.max(16, usados)];
+        int j = 0;
+        for (int c = 0; c < cantidadSimbolos; c++) {
+            if (conteos[c] > 0) ordenados[j++] = simbolos[c];
+        }
+        estrategia.ordenar(ordenados, 0, usados);
+
+        HashMap<String, Integer> nuevos = new HashMap<String, Integer>();
+        int posicion = 0;
+        for (int c = 0; c < usados; c++) {
+            String s = ordenados[c];
+            nuevos.put(s, c);
+            int repeticiones = conteos[codigos.get(s)];
+            java.util.Arrays.fill(arreglo, posicion, posicion + repeticiones, c);
+            posicion += repeticiones;
+        }
+        simbolos = ordenados;
+        cantidadSimbolos = usados;
+        codigos = nuevos;
+    }
+}
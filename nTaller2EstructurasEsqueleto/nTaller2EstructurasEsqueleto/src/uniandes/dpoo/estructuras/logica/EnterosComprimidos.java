@@ -0,0 +1,320 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Un arreglo ordenado de enteros comprimido por bloques, que no se puede modificar.
+ *
+ * Los enteros se dividen en bloques de TAMANO_BLOQUE. De cada bloque se guarda el primer valor sin comprimir, y de los demás sólo la diferencia con el valor anterior.
+ * Como el arreglo está ordenado, las diferencias son positivas y, si los valores son cercanos, pequeñas: se empaquetan en un long[] usando sólo los bits que necesita la
+ * mayor diferencia del bloque. Un bloque de valores iguales no ocupa ningún bit.
+ *
+ * Los primeros valores de los bloques sirven de índice: para buscar un valor, se hace una búsqueda binaria sobre ellos y sólo se descomprime el bloque donde empieza el
+ * valor. Así, contar y buscar toman O(log(n / TAMANO_BLOQUE) + TAMANO_BLOQUE), y el rango se conoce sin descomprimir nada.
+ *
+ * Como nunca cambia, se puede compartir entre instantáneas y leer desde varios hilos.
+ */
+final class EnterosComprimidos
+{
+    /**
+     * La cantidad de enteros de cada bloque.
+     */
+    static final int TAMANO_BLOQUE = 128;
+
+    /**
+     * La cantidad de enteros.
+     */
+    private final int cantidad;
+
+    /**
+     * El primer valor de cada bloque.
+     */
+    private final int[] primeros;
+
+    /**
+     * La cantidad de bits de cada diferencia en cada bloque, entre 0 y 32.
+     */
+    private final byte[] anchos;
+
+    /**
+     * La posición, en bits dentro de datos, donde empiezan las diferencias de cada bloque.
+     */
+    private final long[] inicios;
+
+    /**
+     * Las diferencias empaquetadas de todos los bloques.
+     */
+    private final long[] datos;
+
+    private EnterosComprimidos( int cantidad, int[] primeros, byte[] anchos, long[] inicios, long[] datos )
+    {
+        this.cantidad = cantidad;
+        this.primeros = primeros;
+        this.anchos = anchos;
+        this.inicios = inicios;
+        this.datos = datos;
+    }
+
+    /**
+     * Comprime los primeros 'cantidad' enteros de un arreglo ordenado de menor a mayor.
+     * @param arreglo El arreglo
+     * @param cantidad La cantidad de enteros
+     * @return Los enteros comprimidos
+     * @throws IllegalArgumentException Si el arreglo no está ordenado
+     */
+    static EnterosComprimidos comprimir( int[] arreglo, int cantidad )
+    {
+        int bloques = (cantidad + TAMANO_BLOQUE - 1) / TAMANO_BLOQUE;
+        int[] primeros = new int[bloques];
+        byte[] anchos = new byte[bloques];
+        long[] inicios = new long[bloques];
+        long bits = 0;
+        for (int b = 0; b < bloques; b++) {
+            int desde = b * TAMANO_BLOQUE;
+            int hasta = Math.min(cantidad, desde + TAMANO_BLOQUE);
+            if (desde > 0 && arreglo[desde] < arreglo[desde - 1]) throw new IllegalArgumentException("El arreglo no está ordenado en la posición " + desde);
+            long mayor = 0;
+            for (int i = desde + 1; i < hasta; i++) {
+                long diferencia = (long) arreglo[i] - arreglo[i - 1];
+                if (diferencia < 0) throw new IllegalArgumentException("El arreglo no está ordenado en la posición " + i);
+                mayor = Math.max(mayor, diferencia);
+            }
+            primeros[b] = arreglo[desde];
+            anchos[b] = (byte) (64 - Long.numberOfLeadingZeros(mayor));
+            inicios[b] = bits;
+            bits += (long) anchos[b] * (hasta - desde - 1);
+        }
+        long[] datos = new long[(int) ((bits + 63) >>> 6)];
+        for (int b = 0; b < bloques; b++) {
+            int desde = b * TAMANO_BLOQUE;
+            int hasta = Math.min(cantidad, desde + TAMANO_BLOQUE);
+            int ancho = anchos[b];
+            if (ancho == 0) continue;
+            long bit = inicios[b];
+            for (int i = desde + 1; i < hasta; i++) {
+                escribirBits(datos, bit, ancho, (long) arreglo[i] - arreglo[i - 1]);
+                bit += ancho;
+            }
+        }
+        return new EnterosComprimidos(cantidad, primeros, anchos, inicios, datos);
+    }
+
+    /**
+     * Retorna la cantidad de enteros
+     * @return La cantidad de enteros
+     */
+    int getCantidad( )
+    {
+        return cantidad;
+    }
+
+    /**
+     * Retorna la cantidad de bytes que ocupan los enteros comprimidos, sin contar los encabezados de los objetos.
+     * @return La cantidad de bytes
+     */
+    long getBytes( )
+    {
+        return (long) primeros.length * (Integer.BYTES + 1 + Long.BYTES) + (long) datos.length * Long.BYTES;
+    }
+
+    /**
+     * Retorna el entero en una posición. Sólo se descomprime la parte del bloque que está antes de la posición.
+     * @param posicion La posición, entre 0 y cantidad - 1
+     * @return El entero
+     */
+    int leer( int posicion )
+    {
+        int b = posicion / TAMANO_BLOQUE;
+        int ancho = anchos[b];
+        long valor = primeros[b];
+        long bit = inicios[b];
+        for (int i = b * TAMANO_BLOQUE; i < posicion; i++) {
+            valor += leerBits(datos, bit, ancho);
+            bit += ancho;
+        }
+        return (int) valor;
+    }
+
+    /**
+     * Retorna el mínimo y el máximo sin descomprimir.
+     * @return Un arreglo con el mínimo y el máximo, o un arreglo vacío si no hay enteros
+     */
+    int[] rango( )
+    {
+        if (cantidad == 0) return new int[0];
+        return new int[]{ primeros[0], leer(cantidad - 1) };
+    }
+
+    /**
+     * Cuenta cuántas veces aparece un valor
+     * @param valor El valor
+     * @return La cantidad de apariciones
+     */
+    int contar( int valor )
+    {
+        int desde = primeraPosicionMayorOIgual(valor);
+        int hasta = valor == Integer.MAX_VALUE ? cantidad : primeraPosicionMayorOIgual(valor + 1);
+        return hasta - desde;
+    }
+
+    /**
+     * Busca las posiciones de un valor. Como el arreglo está ordenado, son consecutivas.
+     * @param valor El valor
+     * @return Las posiciones, de menor a mayor
+     */
+    int[] buscar( int valor )
+    {
+        int desde = primeraPosicionMayorOIgual(valor);
+        int hasta = valor == Integer.MAX_VALUE ? cantidad : primeraPosicionMayorOIgual(valor + 1);
+        int[] posiciones = new int[hasta - desde];
+        for (int i = desde; i < hasta; i++) posiciones[i - desde] = i;
+        return posiciones;
+    }
+
+    /**
+     * Busca la primera posición con un valor mayor o igual al dado. La búsqueda binaria se hace sobre los primeros valores de los bloques, y sólo se descomprime un
+     * bloque.
+     * @param valor El valor
+     * @return La primera posición con un valor mayor o igual, o cantidad si no hay ninguna
+     */
+    int primeraPosicionMayorOIgual( int valor )
+    {
+        // El último bloque cuyo primer valor es menor que 'valor': el valor buscado no puede empezar antes de ese bloque ni después de su final
+        int bajo = 0;
+        int alto = primeros.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (primeros[medio] < valor) bajo = medio + 1;
+            else alto = medio;
+        }
+        int b = bajo - 1;
+        if (b < 0) return 0;
+        int desde = b * TAMANO_BLOQUE;
+        int hasta = Math.min(cantidad, desde + TAMANO_BLOQUE);
+        int ancho = anchos[b];
+        long actual = primeros[b];
+        long bit = inicios[b];
+        for (int i = desde + 1; i < hasta; i++) {
+            actual += leerBits(datos, bit, ancho);
+            bit += ancho;
+            if (actual >= valor) return i;
+        }
+        return hasta;
+    }
+
+    /**
+     * Descomprime todos los enteros en un arreglo.
+     * @param destino El arreglo, de tamaño al menos cantidad
+     */
+    void copiarA( int[] destino )
+    {
+        for (int b = 0; b < primeros.length; b++) {
+            descomprimirBloque(b, destino, b * TAMANO_BLOQUE);
+        }
+    }
+
+    /**
+     * Descomprime los bloques uno por uno y los entrega a un recorrido, en orden.
+     * @param recorrido La operación sobre cada bloque
+     */
+    void recorrer( AlmacenEnteros.Recorrido recorrido )
+    {
+        int[] bloque = new int[TAMANO_BLOQUE];
+        for (int b = 0; b < primeros.length; b++) {
+            int n = descomprimirBloque(b, bloque, 0);
+            if (!recorrido.procesar(bloque, 0, n, (long) b * TAMANO_BLOQUE)) return;
+        }
+    }
+
+    /**
+     * Compara los enteros con un arreglo, descomprimiendo un bloque a la vez.
+     * @param otro El arreglo
+     * @return True si el arreglo tiene los mismos enteros en el mismo orden
+     */
+    boolean iguales( int[] otro )
+    {
+        if (otro.length != cantidad) return false;
+        boolean[] iguales = { true };
+        recorrer(( bloque, desde, hasta, posicion ) -> {
+            iguales[0] = KernelsEnteros.iguales(bloque, desde, otro, (int) posicion, hasta - desde);
+            return iguales[0];
+        });
+        return iguales[0];
+    }
+
+    /**
+     * Calcula el histograma. Como el arreglo está ordenado, los valores iguales son consecutivos, y cada valor se suma una sola vez con la longitud de su racha. El
+     * histograma es denso en los mismos casos en que lo sería para un arreglo sin comprimir.
+     * @return El histograma
+     */
+    HistogramaEnteros histograma( )
+    {
+        if (cantidad == 0) return new HistogramaEnteros(0);
+        int[] rango = rango();
+        long amplitud = (long) rango[1] - rango[0] + 1;
+        HistogramaEnteros histograma = EstrategiaOrdenamiento.usarConteo(amplitud, cantidad) ? new HistogramaEnteros(rango[0], new int[(int) amplitud])
+                : new HistogramaEnteros(Math.min(cantidad, 4096));
+        int[] racha = { primeros[0], 0 };
+        recorrer(( bloque, desde, hasta, posicion ) -> {
+            for (int i = desde; i < hasta; i++) {
+                if (bloque[i] != racha[0]) {
+                    histograma.sumar(racha[0], racha[1]);
+                    racha[0] = bloque[i];
+                    racha[1] = 0;
+                }
+                racha[1]++;
+            }
+            return true;
+        });
+        histograma.sumar(racha[0], racha[1]);
+        return histograma;
+    }
+
+    /**
+     * Descomprime un bloque.
+     * @param b El número del bloque
+     * @param destino El arreglo donde se escriben los enteros
+     * @param inicio La posición de destino donde se escribe el primer entero
+     * @return La cantidad de enteros del bloque
+     */
+    private int descomprimirBloque( int b, int[] destino, int inicio )
+    {
+        int n = Math.min(TAMANO_BLOQUE, cantidad - b * TAMANO_BLOQUE);
+        int ancho = anchos[b];
+        int valor = primeros[b];
+        destino[inicio] = valor;
+        if (ancho == 0) {
+            java.util.Arrays.fill(destino, inicio + 1, inicio + n, valor);
+            return n;
+        }
+        long bit = inicios[b];
+        for (int i = 1; i < n; i++) {
+            valor += (int) leerBits(datos, bit, ancho);
+            bit += ancho;
+            destino[inicio + i] = valor;
+        }
+        return n;
+    }
+
+    /**
+     * Lee 'ancho' bits a partir de una posición en bits. Los bits pueden estar repartidos entre dos longs.
+     */
+    private static long leerBits( long[] datos, long bit, int ancho )
+    {
+        if (ancho == 0) return 0;
+        int palabra = (int) (bit >>> 6);
+        int corrimiento = (int) (bit & 63);
+        long valor = datos[palabra] >>> corrimiento;
+        if (corrimiento + ancho > 64) valor |= datos[palabra + 1] << (64 - corrimiento);
+        return valor & ((1L << ancho) - 1);
+    }
+
+    /**
+     * Escribe 'ancho' bits a partir de una posición en bits. Los bits deben estar en 0.
+     */
+    private static void escribirBits( long[] datos, long bit, int ancho, long valor )
+    {
+        int palabra = (int) (bit >>> 6);
+        int corrimiento = (int) (bit & 63);
+        datos[palabra] |= valor << corrimiento;
+        if (corrimiento + ancho > 64) datos[palabra + 1] |= valor >>> (64 - corrimiento);
+    }
+}
@@ -0,0 +1,180 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Las estrategias disponibles para ordenar arreglos de enteros de menor a mayor.
+ *
+ * Todas producen exactamente el mismo resultado; sólo cambian el tiempo de ejecución y la memoria adicional que usan.
+ */
+public enum EstrategiaOrdenamiento
+{
+    /**
+     * Escoge una de las otras estrategias según el tamaño del rango, la cantidad de valores y la cantidad de procesadores disponibles.
+     */
+    AUTOMATICA
+    {
+        @Override
+        public void ordenar( int[] arreglo, int desde, int hasta )
+        {
+            int n = hasta - desde;
+            if (n < 2) return;
+            int[] rango = KernelsEnteros.rango(arreglo, desde, hasta);
+            if (usarConteo((long) rango[1] - rango[0] + 1, n)) {
+                ordenarPorConteo(arreglo, desde, hasta, rango[0], rango[1]);
+            } else if (n >= UMBRAL_PARALELO && Runtime.getRuntime().availableProcessors() > 1) {
+                PARALELA.ordenar(arreglo, desde, hasta);
+            } else if (n >= UMBRAL_RADIX) {
+                RADIX.ordenar(arreglo, desde, hasta);
+            } else {
+                QUICKSORT.ordenar(arreglo, desde, hasta);
+            }
+        }
+    },
+
+    /**
+     * Quicksort de doble pivote en un solo hilo (Arrays.sort). No usa memoria adicional.
+     */
+    QUICKSORT
+    {
+        @Override
+        public void ordenar( int[] arreglo, int desde, int hasta )
+        {
+            java.util.Arrays.sort(arreglo, desde, hasta);
+        }
+    },
+
+    /**
+     * Merge sort paralelo sobre el pool común de fork/join (Arrays.parallelSort). Usa un arreglo auxiliar del mismo tamaño.
+     */
+    PARALELA
+    {
+        @Override
+        public void ordenar( int[] arreglo, int desde, int hasta )
+        {
+            java.util.Arrays.parallelSort(arreglo, desde, hasta);
+        }
+    },
+
+    /**
+     * Radix sort LSD de 4 pasadas de 8 bits. Usa un arreglo auxiliar del mismo tamaño y omite las pasadas en las que todos los valores tienen el mismo dígito.
+     */
+    RADIX
+    {
+        @Override
+        public void ordenar( int[] arreglo, int desde, int hasta )
+        {
+            ordenarPorRadix(arreglo, desde, hasta);
+        }
+    },
+
+    /**
+     * Ordenamiento por conteo en O(n + rango). Si la amplitud del rango es mayor que la cantidad de valores, se usa RADIX.
+     */
+    CONTEO
+    {
+        @Override
+        public void ordenar( int[] arreglo, int desde, int hasta )
+        {
+            if (hasta - desde < 2) return;
+            int[] rango = KernelsEnteros.rango(arreglo, desde, hasta);
+            if (usarConteo((long) rango[1] - rango[0] + 1, hasta - desde)) ordenarPorConteo(arreglo, desde, hasta, rango[0], rango[1]);
+            else ordenarPorRadix(arreglo, desde, hasta);
+        }
+    };
+
+    /**
+     * Amplitud máxima del rango de valores para usar un arreglo de conteos indexado por valor (64 MB de conteos).
+     */
+    static final int RANGO_DENSO_MAXIMO = 1 << 24;
+
+    /**
+     * Cantidad mínima de valores para que AUTOMATICA use PARALELA.
+     */
+    private static final int UMBRAL_PARALELO = 1 << 18;
+
+    /**
+     * Cantidad mínima de valores para que AUTOMATICA use RADIX en lugar de QUICKSORT.
+     */
+    private static final int UMBRAL_RADIX = 1 << 15;
+
+    /**
+     * Ordena de menor a mayor las posiciones [desde, hasta) del arreglo.
+     * @param arreglo El arreglo que se va a ordenar
+     * @param desde La primera posición del rango, incluida
+     * @param hasta La última posición del rango, excluida
+     */
+    public abstract void ordenar( int[] arreglo, int desde, int hasta );
+
+    /**
+     * Decide si conviene contar valores con un arreglo indexado directamente por valor.
+     * @param amplitud La amplitud del rango de los valores (máximo - mínimo + 1)
+     * @param cantidad La cantidad de valores
+     * @return True si la amplitud no es mayor que la cantidad de valores ni que RANGO_DENSO_MAXIMO
+     */
+    static boolean usarConteo( long amplitud, int cantidad )
+    {
+        return amplitud <= cantidad && amplitud <= RANGO_DENSO_MAXIMO;
+    }
+
+    /**
+     * Ordena un rango del arreglo contando cuántas veces aparece cada valor entre min y max.
+     * @param arreglo El arreglo que se va a ordenar
+     * @param desde La primera posición del rango, incluida
+     * @param hasta La última posición del rango, excluida
+     * @param min El menor valor del rango
+     * @param max El mayor valor del rango
+     */
+    private static void ordenarPorConteo( int[] arreglo, int desde, int hasta, int min, int max )
+    {
+        int[] conteos = new int[max - min + 1];
+        for (int i = desde; i < hasta; i++) {
+            conteos[arreglo[i] - min]++;
+        }
+        int j = desde;
+        for (int i = 0; i < conteos.length; i++) {
+            int v = min + i;
+            for (int c = conteos[i]; c > 0; c--) arreglo[j++] = v;
+        }
+    }
+
+    /**
+     * Ordena un rango del arreglo con radix sort LSD de 8 bits por pasada. En la última pasada se invierte el bit de signo para que los negativos queden primero.
+     * @param arreglo El arreglo que se va a ordenar
+     * @param desde La primera posición del rango, incluida
+     * @param hasta La última posición del rango, excluida
+     */
+    private static void ordenarPorRadix( int[] arreglo, int desde, int hasta )
+    {
+        int n = hasta - desde;
+        if (n < 2) return;
+        int[] origen = arreglo;
+        int baseOrigen = desde;
+        int[] destino = new int[n];
+        int baseDestino = 0;
+        int[] conteos = new int[256];
+        for (int desplazamiento = 0; desplazamiento < 32; desplazamiento += 8) {
+            int signo = (desplazamiento == 24) ? 0x80 : 0;
+            java.util.Arrays.fill(conteos, 0);
+            for (int i = 0; i < n; i++) {
+                conteos[((origen[baseOrigen + i] >>> desplazamiento) & 0xFF) ^ signo]++;
+            }
+            if (conteos[((origen[baseOrigen] >>> desplazamiento) & 0xFF) ^ signo] == n) continue;
+            int acumulado = baseDestino;
+            for (int d = 0; d < 256; d++) {
+                int c = conteos[d];
+                conteos[d] = acumulado;
+                acumulado += c;
+            }
+            for (int i = 0; i < n; i++) {
+                int v = origen[baseOrigen + i];
+                destino[conteos[((v >>> desplazamiento) & 0xFF) ^ signo]++] = v;
+            }
+            int[] temporal = origen;
+            int baseTemporal = baseOrigen;
+            origen = destino;
+            baseOrigen = baseDestino;
+            destino = temporal;
+            baseDestino = baseTemporal;
+        }
+        if (origen != arreglo) System.arraycopy(origen, 0, arreglo, desde, n);
+    }
+}
@@ -0,0 +1,264 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Las estrategias disponibles para ordenar arreglos de cadenas lexicográficamente.
+ *
+ * Todas producen exactamente el mismo orden que String.compareTo: se comparan los caracteres UTF-16 como valores sin signo y, si una cadena es prefijo de otra, la más
+ * corta va primero. Ninguna acepta cadenas null.
+ */
+public enum EstrategiaOrdenamientoCadenas
+{
+    /**
+     * Escoge una de las otras estrategias según la cantidad de cadenas y la cantidad de procesadores disponibles.
+     */
+    AUTOMATICA
+    {
+        @Override
+        public void ordenar( String[] arreglo, int desde, int hasta )
+        {
+            int n = hasta - desde;
+            if (n >= UMBRAL_PARALELO && ForkJoinPool.getCommonPoolParallelism() > 1) PARALELA.ordenar(arreglo, desde, hasta);
+            else MULTICLAVE.ordenar(arreglo, desde, hasta);
+        }
+    },
+
+    /**
+     * Merge sort con String.compareTo (Arrays.sort). Cada comparación vuelve a recorrer el prefijo que comparten las dos cadenas.
+     */
+    COMPARACION
+    {
+        @Override
+        public void ordenar( String[] arreglo, int desde, int hasta )
+        {
+            java.util.Arrays.sort(arreglo, desde, hasta);
+        }
+    },
+
+    /**
+     * Quicksort de tres vías por caracteres (multikey quicksort o radix quicksort). Cada partición examina un solo carácter de cada cadena, así que los prefijos comunes
+     * se recorren una sola vez. No usa memoria adicional aparte de la pila.
+     */
+    MULTICLAVE
+    {
+        @Override
+        public void ordenar( String[] arreglo, int desde, int hasta )
+        {
+            ordenarMulticlave(arreglo, desde, hasta, 0, false);
+        }
+    },
+
+    /**
+     * MULTICLAVE sobre el pool común de fork/join: las particiones grandes se ordenan en tareas separadas.
+     */
+    PARALELA
+    {
+        @Override
+        public void ordenar( String[] arreglo, int desde, int hasta )
+        {
+            ForkJoinPool.commonPool().invoke(new TareaOrdenamiento(arreglo, desde, hasta, 0));
+        }
+    };
+
+    /**
+     * Cantidad mínima de cadenas de una partición para ordenarla en una tarea separada, y para que AUTOMATICA use PARALELA.
+     */
+    private static final int UMBRAL_PARALELO = 1 << 13;
+
+    /**
+     * Cantidad máxima de cadenas de una partición para ordenarla por inserción.
+     */
+    private static final int UMBRAL_INSERCION = 12;
+
+    /**
+     * Ordena lexicográficamente las posiciones [desde, hasta) del arreglo.
+     * @param arreglo El arreglo que se va a ordenar
+     * @param desde La primera posición del rango, incluida
+     * @param hasta La última posición del rango, excluida
+     */
+    public abstract void ordenar( String[] arreglo, int desde, int hasta );
+
+    /**
+     * Una partición que se ordena en paralelo con las demás.
+     */
+    private static final class TareaOrdenamiento extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final String[] arreglo;
+
+        private final int desde;
+
+        private final int hasta;
+
+        private final int caracter;
+
+        TareaOrdenamiento( String[] arreglo, int desde, int hasta, int caracter )
+        {
+            this.arreglo = arreglo;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.caracter = caracter;
+        }
+
+        @Override
+        protected void compute( )
+        {
+            ordenarMulticlave(arreglo, desde, hasta, caracter, true);
+        }
+    }
+
+    /**
+     * Ordena un rango del arreglo en el que todas las cadenas comparten los primeros 'caracter' caracteres.
+     *
+     * Las particiones menor y mayor se ordenan recursivamente (o en tareas separadas, si es en paralelo y son grandes). La partición igual avanza al siguiente carácter
+     * dentro del mismo ciclo, para que la profundidad de la pila no dependa de la longitud de los prefijos comunes. Antes de partir, se salta de una vez el prefijo que
+     * comparten todas las cadenas del rango, en lugar de hacer una partición por cada uno de sus caracteres.
+     * @param arreglo El arreglo que se va a ordenar
+     * @param desde La primera posición del rango, incluida
+     * @param hasta La última posición del rango, excluida
+     * @param caracter La posición del carácter por el que se parte el rango
+     * @param paralelo True si se está ejecutando dentro de un pool de fork/join y se pueden crear tareas
+     */
+    private static void ordenarMulticlave( String[] arreglo, int desde, int hasta, int caracter, boolean paralelo )
+    {
+        ArrayList<TareaOrdenamiento> tareas = null;
+        while (hasta - desde > UMBRAL_INSERCION) {
+            caracter = prefijoComun(arreglo, desde, hasta, caracter);
+            intercambiar(arreglo, desde, medianaDeTres(arreglo, desde, desde + ((hasta - desde) >>> 1), hasta - 1, caracter));
+            int pivote = caracterEn(arreglo[desde], caracter);
+            int menores = desde;
+            int mayores = hasta - 1;
+            int i = desde + 1;
+            while (i <= mayores) {
+                int c = caracterEn(arreglo[i], caracter);
+                if (c < pivote) intercambiar(arreglo, menores++, i++);
+                else if (c > pivote) intercambiar(arreglo, i, mayores--);
+                else i++;
+            }
+            if (paralelo && menores - desde >= UMBRAL_PARALELO) {
+                if (tareas == null) tareas = new ArrayList<TareaOrdenamiento>();
+                TareaOrdenamiento tarea = new TareaOrdenamiento(arreglo, desde, menores, caracter);
+                tarea.fork();
+                tareas.add(tarea);
+            } else {
+                ordenarMulticlave(arreglo, desde, menores, caracter, paralelo);
+            }
+            if (paralelo && hasta - (mayores + 1) >= UMBRAL_PARALELO) {
+                if (tareas == null) tareas = new ArrayList<TareaOrdenamiento>();
+                TareaOrdenamiento tarea = new TareaOrdenamiento(arreglo, mayores + 1, hasta, caracter);
+                tarea.fork();
+                tareas.add(tarea);
+            } else {
+                ordenarMulticlave(arreglo, mayores + 1, hasta, caracter, paralelo);
+            }
+            // Si el pivote es el fin de la cadena, todas las cadenas de la partición igual son iguales
+            if (pivote < 0) {
+                desde = hasta;
+                break;
+            }
+            desde = menores;
+            hasta = mayores + 1;
+            caracter++;
+        }
+        ordenarPorInsercion(arreglo, desde, hasta, caracter);
+        if (tareas != null) {
+            for (TareaOrdenamiento tarea : tareas) tarea.join();
+        }
+    }
+
+    /**
+     * Ordena por inserción un rango pequeño en el que todas las cadenas comparten los primeros 'caracter' caracteres.
+     * @param arreglo El arreglo que se va a ordenar
+     * @param desde La primera posición del rango, incluida
+     * @param hasta La última posición del rango, excluida
+     * @param caracter La cantidad de caracteres que se sabe que son iguales
+     */
+    private static void ordenarPorInsercion( String[] arreglo, int desde, int hasta, int caracter )
+    {
+        for (int i = desde + 1; i < hasta; i++) {
+            String s = arreglo[i];
+            int j = i;
+            while (j > desde && compararDesde(arreglo[j - 1], s, caracter) > 0) {
+                arreglo[j] = arreglo[j - 1];
+                j--;
+            }
+            arreglo[j] = s;
+        }
+    }
+
+    /**
+     * Compara dos cadenas como String.compareTo, sabiendo que los primeros 'caracter' caracteres son iguales.
+     * @param a La primera cadena
+     * @param b La segunda cadena
+     * @param caracter La cantidad de caracteres que se sabe que son iguales
+     * @return Un número negativo, cero o positivo si a es menor, igual o mayor que b
+     */
+    private static int compararDesde( String a, String b, int caracter )
+    {
+        int n = Math.min(a.length(), b.length());
+        for (int i = caracter; i < n; i++) {
+            int diferencia = a.charAt(i) - b.charAt(i);
+            if (diferencia != 0) return diferencia;
+        }
+        return a.length() - b.length();
+    }
+
+    /**
+     * Calcula la longitud del prefijo que comparten todas las cadenas de un rango, sabiendo que comparten al menos los primeros 'caracter' caracteres.
+     *
+     * Cada cadena se compara con la primera sólo hasta el prefijo común encontrado hasta el momento, y el cálculo termina en cuanto ese prefijo no se puede extender.
+     * @param arreglo El arreglo
+     * @param desde La primera posición del rango, incluida
+     * @param hasta La última posición del rango, excluida
+     * @param caracter La cantidad de caracteres que se sabe que son comunes
+     * @return La longitud del prefijo común, mayor o igual a 'caracter'
+     */
+    private static int prefijoComun( String[] arreglo, int desde, int hasta, int caracter )
+    {
+        String primera = arreglo[desde];
+        int comun = primera.length();
+        for (int i = desde + 1; i < hasta && comun > caracter; i++) {
+            String s = arreglo[i];
+            int limite = Math.min(comun, s.length());
+            int j = caracter;
+            while (j < limite && s.charAt(j) == primera.charAt(j)) j++;
+            comun = j;
+        }
+        return Math.max(comun, caracter);
+    }
+
+    /**
+     * Retorna el carácter de una cadena en una posición, o -1 si la cadena es más corta. Así, las cadenas que terminan quedan antes que las que continúan.
+     * @param s La cadena
+     * @param caracter La posición del carácter
+     * @return El carácter como un valor entre 0 y 65535, o -1
+     */
+    private static int caracterEn( String s, int caracter )
+    {
+        return caracter < s.length() ? s.charAt(caracter) : -1;
+    }
+
+    /**
+     * Escoge, entre tres posiciones, la que tiene el carácter del medio.
+     * @return La posición con el carácter del medio
+     */
+    private static int medianaDeTres( String[] arreglo, int a, int b, int c, int caracter )
+    {
+        int ca = caracterEn(arreglo[a], caracter);
+        int cb = caracterEn(arreglo[b], caracter);
+        int cc = caracterEn(arreglo[c], caracter);
+        if (ca < cb) return cb < cc ? b : (ca < cc ? c : a);
+        return ca < cc ? a : (cb < cc ? c : b);
+    }
+
+    private static void intercambiar( String[] arreglo, int i, int j )
+    {
+        String tmp = arreglo[i];
+        arreglo[i] = arreglo[j];
+        arreglo[j] = tmp;
+    }
+}
@@ -0,0 +1,125 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Los generadores de números pseudoaleatorios disponibles para generar enteros a partir de una semilla.
+ *
+ * El arreglo se divide en bloques de tamaño fijo y cada bloque tiene su propio generador, cuya semilla se obtiene en orden de un generador raíz creado con la semilla
+ * dada. Los bloques se llenan en paralelo, pero el resultado sólo depende de la semilla y de la cantidad de valores: no depende de la cantidad de hilos ni del orden en
+ * que se procesen los bloques. Ningún generador se comparte entre hilos.
+ *
+ * Los valores quedan distribuidos uniformemente entre el mínimo y el máximo (incluidos), aun si el rango es el de todos los enteros.
+ */
+public enum GeneradorAleatorio
+{
+    /**
+     * java.util.SplittableRandom, con un generador por bloque.
+     */
+    SPLITTABLE
+    {
+        @Override
+        void llenar( int[] arreglo, int desde, int hasta, int minimo, long amplitud, long semilla )
+        {
+            SplittableRandom azar = new SplittableRandom(semilla);
+            for (int i = desde; i < hasta; i++) {
+                arreglo[i] = (int) (minimo + azar.nextLong(amplitud));
+            }
+        }
+    },
+
+    /**
+     * xorshift64* con la reducción al rango por multiplicación de Lemire, que sólo divide una vez por bloque. Los bits bajos de xorshift64* son de menor calidad, así que
+     * de cada salida sólo se usan los 32 bits altos.
+     */
+    XORSHIFT
+    {
+        @Override
+        void llenar( int[] arreglo, int desde, int hasta, int minimo, long amplitud, long semilla )
+        {
+            long estado = mezclar(semilla);
+            if (estado == 0) estado = PROPORCION_AUREA;
+            // Se rechazan las salidas que harían que unos valores del rango fueran más probables que otros
+            long umbral = (LIMITE_32 - amplitud) % amplitud;
+            for (int i = desde; i < hasta; i++) {
+                long m;
+                do {
+                    estado ^= estado >>> 12;
+                    estado ^= estado << 25;
+                    estado ^= estado >>> 27;
+                    m = ((estado * 0x2545F4914F6CDD1DL) >>> 32) * amplitud;
+                } while ((m & 0xFFFFFFFFL) < umbral);
+                arreglo[i] = (int) (minimo + (m >>> 32));
+            }
+        }
+    };
+
+    /**
+     * Cantidad de valores que llena cada generador. Es fijo para que el resultado no dependa de la cantidad de hilos.
+     */
+    static final int TAMANO_BLOQUE = 1 << 16;
+
+    /**
+     * 2^32, la amplitud del rango de todos los enteros.
+     */
+    private static final long LIMITE_32 = 1L << 32;
+
+    /**
+     * Constante de incremento de SplitMix64 (2^64 dividido por la proporción áurea).
+     */
+    private static final long PROPORCION_AUREA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Genera un arreglo de valores pseudoaleatorios uniformes entre el mínimo y el máximo, incluidos. Si el mínimo es mayor que el máximo, se intercambian.
+     * @param cantidad La cantidad de valores. Si es negativa, se genera un arreglo vacío.
+     * @param minimo El valor mínimo para los números generados
+     * @param maximo El valor máximo para los números generados
+     * @param semilla La semilla. Con la misma semilla, cantidad y rango se generan siempre los mismos valores.
+     * @return Un arreglo nuevo con los valores generados
+     */
+    public int[] generar( int cantidad, int minimo, int maximo, long semilla )
+    {
+        if (cantidad < 0) cantidad = 0;
+        if (minimo > maximo) { int tmp = minimo; minimo = maximo; maximo = tmp; }
+        int n = cantidad;
+        int[] arreglo = new int[n];
+        int min = minimo;
+        long amplitud = (long) maximo - minimo + 1;
+        int bloques = (int) (((long) n + TAMANO_BLOQUE - 1) / TAMANO_BLOQUE);
+        long[] semillas = new long[bloques];
+        SplittableRandom raiz = new SplittableRandom(semilla);
+        for (int b = 0; b < bloques; b++) semillas[b] = raiz.nextLong();
+        IntStream bloquesAProcesar = IntStream.range(0, bloques);
+        if (bloques > 1) bloquesAProcesar = bloquesAProcesar.parallel();
+        bloquesAProcesar.forEach(b -> {
+            int desde = b * TAMANO_BLOQUE;
+            llenar(arreglo, desde, Math.min(n, desde + TAMANO_BLOQUE), min, amplitud, semillas[b]);
+        });
+        return arreglo;
+    }
+
+    /**
+     * Llena un bloque del arreglo con valores uniformes en [minimo, minimo + amplitud).
+     * @param arreglo El arreglo que se va a llenar
+     * @param desde La primera posición del bloque, incluida
+     * @param hasta La última posición del bloque, excluida
+     * @param minimo El valor mínimo
+     * @param amplitud La cantidad de valores posibles, entre 1 y 2^32
+     * @param semilla La semilla del generador del bloque
+     */
+    abstract void llenar( int[] arreglo, int desde, int hasta, int minimo, long amplitud, long semilla );
+
+    /**
+     * Mezcla los bits de una semilla con la función de salida de SplitMix64.
+     * @param semilla La semilla
+     * @return La semilla mezclada
+     */
+    private static long mezclar( long semilla )
+    {
+        long z = semilla + PROPORCION_AUREA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
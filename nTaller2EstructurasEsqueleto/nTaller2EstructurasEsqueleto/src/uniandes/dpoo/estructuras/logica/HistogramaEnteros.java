@@ -0,0 +1,314 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.HashMap;
+
+/**
+ * Un histograma de enteros implementado como una tabla de hash de direccionamiento abierto con llaves y conteos primitivos.
+ *
+ * A diferencia de un HashMap<Integer, Integer>, no crea un objeto por cada llave, conteo o entrada: todo se guarda en dos arreglos paralelos de enteros y las colisiones
+ * se resuelven con sondeo lineal.
+ *
+ * La llave 0 se usa para marcar las posiciones libres de la tabla, así que el conteo del valor 0 se guarda aparte.
+ *
+ * Cuando los valores están en un rango pequeño, el histograma puede ser denso: los conteos se guardan en un arreglo indexado directamente por (valor - minimoDenso), sin
+ * calcular hashes. Si se cuenta un valor por fuera de ese rango, el histograma pasa a ser una tabla de hash.
+ */
+public class HistogramaEnteros
+{
+    /**
+     * Capacidad mínima de la tabla. Siempre es una potencia de 2.
+     */
+    private static final int CAPACIDAD_MINIMA = 16;
+
+    /**
+     * Las llaves de la tabla. Una posición con llave 0 está libre.
+     */
+    private int[] llaves;
+
+    /**
+     * Los conteos asociados a cada llave, en la misma posición que la llave.
+     */
+    private int[] conteos;
+
+    /**
+     * La cantidad de llaves diferentes de 0 que hay en la tabla.
+     */
+    private int ocupadas;
+
+    /**
+     * Indica si el valor 0 hace parte del histograma.
+     */
+    private boolean tieneCero;
+
+    /**
+     * El conteo asociado al valor 0.
+     */
+    private int conteoCero;
+
+    /**
+     * El valor que corresponde a la posición 0 de conteosDensos.
+     */
+    private int minimoDenso;
+
+    /**
+     * Los conteos de un histograma denso, indexados por (valor - minimoDenso). Es null si el histograma es una tabla de hash.
+     */
+    private int[] conteosDensos;
+
+    /**
+     * Crea un histograma vacío con espacio para la cantidad de valores diferentes esperada, sin tener que crecer.
+     * @param esperados La cantidad de valores diferentes que se espera guardar
+     */
+    public HistogramaEnteros( int esperados )
+    {
+        int capacidad = capacidadPara(esperados);
+        llaves = new int[capacidad];
+        conteos = new int[capacidad];
+    }
+
+    /**
+     * Crea un histograma denso a partir de un arreglo de conteos ya calculado. El arreglo no se copia.
+     * @param minimo El valor que corresponde a la posición 0 del arreglo de conteos
+     * @param conteos Los conteos de cada valor, indexados por (valor - minimo)
+     */
+    HistogramaEnteros( int minimo, int[] conteos )
+    {
+        this.minimoDenso = minimo;
+        this.conteosDensos = conteos;
+    }
+
+    /**
+     * Indica si el histograma guarda sus conteos en un arreglo indexado directamente por valor.
+     * @return True si el histograma es denso
+     */
+    public boolean isDenso( )
+    {
+        return conteosDensos != null;
+    }
+
+    /**
+     * Retorna cuántas veces aparece un valor en el histograma
+     * @param valor El valor buscado
+     * @return El conteo del valor, o 0 si no aparece
+     */
+    public int get( int valor )
+    {
+        if (conteosDensos != null) {
+            long i = (long) valor - minimoDenso;
+            return (i >= 0 && i < conteosDensos.length) ? conteosDensos[(int) i] : 0;
+        }
+        if (valor == 0) return conteoCero;
+        int mascara = llaves.length - 1;
+        int i = mezclar(valor) & mascara;
+        while (true) {
+            int llave = llaves[i];
+            if (llave == valor) return conteos[i];
+            if (llave == 0) return 0;
+            i = (i + 1) & mascara;
+        }
+    }
+
+    /**
+     * Retorna la cantidad de valores diferentes que hay en el histograma
+     * @return La cantidad de llaves
+     */
+    public int getCantidadValores( )
+    {
+        if (conteosDensos != null) {
+            int cantidad = 0;
+            for (int c : conteosDensos) {
+                if (c != 0) cantidad++;
+            }
+            return cantidad;
+        }
+        return ocupadas + (tieneCero ? 1 : 0);
+    }
+
+    /**
+     * Retorna los valores diferentes del histograma, sin un orden particular. Si el histograma es denso, quedan de menor a mayor.
+     * @return Un arreglo con los valores. El conteo de cada uno está en la misma posición del arreglo retornado por getConteos().
+     */
+    public int[] getValores( )
+    {
+        int[] valores = new int[getCantidadValores()];
+        int j = 0;
+        if (conteosDensos != null) {
+            for (int i = 0; i < conteosDensos.length; i++) {
+                if (conteosDensos[i] != 0) valores[j++] = minimoDenso + i;
+            }
+            return valores;
+        }
+        if (tieneCero) valores[j++] = 0;
+        for (int i = 0; i < llaves.length; i++) {
+            if (llaves[i] != 0) valores[j++] = llaves[i];
+        }
+        return valores;
+    }
+
+    /**
+     * Retorna los conteos del histograma, en el mismo orden que getValores().
+     * @return Un arreglo con los conteos
+     */
+    public int[] getConteos( )
+    {
+        int[] resultado = new int[getCantidadValores()];
+        int j = 0;
+        if (conteosDensos != null) {
+            for (int c : conteosDensos) {
+                if (c != 0) resultado[j++] = c;
+            }
+            return resultado;
+        }
+        if (tieneCero) resultado[j++] = conteoCero;
+        for (int i = 0; i < llaves.length; i++) {
+            if (llaves[i] != 0) resultado[j++] = conteos[i];
+        }
+        return resultado;
+    }
+
+    /**
+     * Cuenta cuántos valores aparecen más de una vez.
+     * @return La cantidad de valores con conteo mayor a 1
+     */
+    public int contarRepetidos( )
+    {
+        if (conteosDensos != null) {
+            int repetidos = 0;
+            for (int c : conteosDensos) {
+                if (c > 1) repetidos++;
+            }
+            return repetidos;
+        }
+        int repetidos = (tieneCero && conteoCero > 1) ? 1 : 0;
+        for (int i = 0; i < llaves.length; i++) {
+            if (llaves[i] != 0 && conteos[i] > 1) repetidos++;
+        }
+        return repetidos;
+    }
+
+    /**
+     * Construye un HashMap con el mismo contenido del histograma
+     * @return Un mapa donde las llaves son los valores y los valores son los conteos
+     */
+    public HashMap<Integer, Integer> aHashMap( )
+    {
+        HashMap<Integer, Integer> mapa = new HashMap<Integer, Integer>(Math.max(16, (int) (getCantidadValores() / 0.75f) + 1));
+        if (conteosDensos != null) {
+            for (int i = 0; i < conteosDensos.length; i++) {
+                if (conteosDensos[i] != 0) mapa.put(minimoDenso + i, conteosDensos[i]);
+            }
+            return mapa;
+        }
+        if (tieneCero) mapa.put(0, conteoCero);
+        for (int i = 0; i < llaves.length; i++) {
+            if (llaves[i] != 0) mapa.put(llaves[i], conteos[i]);
+        }
+        return mapa;
+    }
+
+    /**
+     * Suma una aparición al conteo de un valor.
+     * @param valor El valor que se va a contar
+     */
+    void incrementar( int valor )
+    {
+        sumar(valor, 1);
+    }
+
+    /**
+     * Suma una cantidad (que puede ser negativa) al conteo de un valor. Si el valor no estaba en el histograma, se agrega con conteo 0 antes de sumar.
+     * @param valor El valor cuyo conteo se va a modificar
+     * @param cantidad La cantidad que se suma al conteo
+     * @return El nuevo conteo del valor
+     */
+    int sumar( int valor, int cantidad )
+    {
+        if (conteosDensos != null) {
+            long d = (long) valor - minimoDenso;
+            if (d >= 0 && d < conteosDensos.length) {
+                conteosDensos[(int) d] += cantidad;
+                return conteosDensos[(int) d];
+            }
+            volverTablaDeHash();
+        }
+        if (valor == 0) {
+            tieneCero = true;
+            conteoCero += cantidad;
+            return conteoCero;
+        }
+        int mascara = llaves.length - 1;
+        int i = mezclar(valor) & mascara;
+        while (true) {
+            int llave = llaves[i];
+            if (llave == valor) {
+                conteos[i] += cantidad;
+                return conteos[i];
+            }
+            if (llave == 0) break;
+            i = (i + 1) & mascara;
+        }
+        llaves[i] = valor;
+        conteos[i] = cantidad;
+        ocupadas++;
+        if (ocupadas * 4L > llaves.length * 3L && llaves.length < (1 << 30)) crecer();
+        return cantidad;
+    }
+
+    /**
+     * Convierte un histograma denso en una tabla de hash con los mismos conteos.
+     */
+    private void volverTablaDeHash( )
+    {
+        int[] densos = conteosDensos;
+        int capacidad = capacidadPara(getCantidadValores());
+        llaves = new int[capacidad];
+        conteos = new int[capacidad];
+        conteosDensos = null;
+        for (int i = 0; i < densos.length; i++) {
+            if (densos[i] != 0) sumar(minimoDenso + i, densos[i]);
+        }
+    }
+
+    /**
+     * Duplica la capacidad de la tabla y vuelve a ubicar todas las llaves.
+     */
+    private void crecer( )
+    {
+        int[] viejasLlaves = llaves;
+        int[] viejosConteos = conteos;
+        llaves = new int[viejasLlaves.length * 2];
+        conteos = new int[viejasLlaves.length * 2];
+        int mascara = llaves.length - 1;
+        for (int j = 0; j < viejasLlaves.length; j++) {
+            int llave = viejasLlaves[j];
+            if (llave == 0) continue;
+            int i = mezclar(llave) & mascara;
+            while (llaves[i] != 0) i = (i + 1) & mascara;
+            llaves[i] = llave;
+            conteos[i] = viejosConteos[j];
+        }
+    }
+
+    /**
+     * Calcula la capacidad de una tabla que puede guardar una cantidad de llaves sin pasar del 75% de ocupación.
+     * @param esperados La cantidad de llaves que se espera guardar
+     * @return Una potencia de 2 mayor o igual a CAPACIDAD_MINIMA
+     */
+    private static int capacidadPara( int esperados )
+    {
+        int capacidad = CAPACIDAD_MINIMA;
+        while (capacidad < (1 << 30) && capacidad * 3L / 4 < esperados) capacidad <<= 1;
+        return capacidad;
+    }
+
+    /**
+     * Mezcla los bits de un valor para que valores consecutivos queden dispersos en la tabla.
+     * @param valor El valor que se va a mezclar
+     * @return El valor mezclado
+     */
+    private static int mezclar( int valor )
+    {
+        int h = valor * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,145 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * La huella de un arreglo de enteros: dos hashes de 64 bits que permiten descartar en O(1) que dos arreglos tengan los mismos enteros, sin compararlos.
+ *
+ * Cada entero se mezcla primero con una función que reparte bien los bits (el final de SplitMix64). La huella del multiconjunto es la suma de las mezclas módulo 2^64,
+ * así que no depende del orden, y agregar o quitar un entero sólo suma o resta su mezcla. La huella de la secuencia es un hash polinomial de las mezclas en orden, que
+ * se actualiza en O(1) al agregar un entero al final.
+ *
+ * Si las huellas de dos arreglos son diferentes, los arreglos son diferentes. Si son iguales, los arreglos probablemente son iguales, pero hay que compararlos para
+ * estar seguros. Para comparar un sandbox con muchos arreglos candidatos, se calcula la huella de cada candidato una sola vez y se reutiliza en todas las
+ * comparaciones.
+ */
+public final class HuellaEnteros
+{
+    /**
+     * La base del hash polinomial. Es impar para que multiplicar por ella no pierda bits.
+     */
+    private static final long BASE = 0x9E3779B97F4A7C15L;
+
+    /**
+     * La cantidad de enteros del arreglo.
+     */
+    private final long cantidad;
+
+    /**
+     * La suma de las mezclas de los enteros.
+     */
+    private final long multiconjunto;
+
+    /**
+     * El hash polinomial de las mezclas de los enteros, en orden.
+     */
+    private final long secuencia;
+
+    HuellaEnteros( long cantidad, long multiconjunto, long secuencia )
+    {
+        this.cantidad = cantidad;
+        this.multiconjunto = multiconjunto;
+        this.secuencia = secuencia;
+    }
+
+    /**
+     * Calcula la huella de un arreglo de enteros.
+     * @param arreglo El arreglo. No puede ser null.
+     * @return La huella del arreglo
+     */
+    public static HuellaEnteros calcular( int[] arreglo )
+    {
+        long[] huella = new long[2];
+        acumular(huella, arreglo, 0, arreglo.length);
+        return new HuellaEnteros(arreglo.length, huella[0], huella[1]);
+    }
+
+    /**
+     * Retorna la cantidad de enteros del arreglo
+     * @return La cantidad de enteros
+     */
+    public long getCantidad( )
+    {
+        return cantidad;
+    }
+
+    /**
+     * Retorna la huella del multiconjunto, que no depende del orden de los enteros
+     * @return La suma de las mezclas de los enteros
+     */
+    public long getMulticonjunto( )
+    {
+        return multiconjunto;
+    }
+
+    /**
+     * Retorna la huella de la secuencia, que depende del orden de los enteros
+     * @return El hash polinomial de las mezclas de los enteros
+     */
+    public long getSecuencia( )
+    {
+        return secuencia;
+    }
+
+    /**
+     * Indica si los dos arreglos podrían tener los mismos enteros, aunque sea en otro orden. Si retorna false, seguro no los tienen.
+     * @param otra La huella del otro arreglo
+     * @return True si las cantidades y las huellas del multiconjunto coinciden
+     */
+    public boolean podrianSerMismosEnteros( HuellaEnteros otra )
+    {
+        return otra != null && cantidad == otra.cantidad && multiconjunto == otra.multiconjunto;
+    }
+
+    /**
+     * Indica si los dos arreglos podrían ser iguales, con los mismos enteros en el mismo orden. Si retorna false, seguro no lo son.
+     * @param otra La huella del otro arreglo
+     * @return True si las cantidades y las dos huellas coinciden
+     */
+    public boolean podrianSerIguales( HuellaEnteros otra )
+    {
+        return podrianSerMismosEnteros(otra) && secuencia == otra.secuencia;
+    }
+
+    /**
+     * Mezcla los bits de un entero.
+     * @param valor El entero
+     * @return La mezcla, que es diferente para cada entero
+     */
+    static long mezclar( int valor )
+    {
+        long z = valor + BASE;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Actualiza la huella de una secuencia después de agregar un entero al final.
+     * @param secuencia La huella de la secuencia antes de agregar el entero
+     * @param valor El entero
+     * @return La huella de la secuencia con el entero al final
+     */
+    static long encadenar( long secuencia, int valor )
+    {
+        return secuencia * BASE + mezclar(valor);
+    }
+
+    /**
+     * Acumula las dos huellas de las posiciones [desde, hasta) de un arreglo, como si se agregaran al final.
+     * @param huella Un arreglo con la huella del multiconjunto en la posición 0 y la de la secuencia en la posición 1, que se actualiza
+     * @param arreglo El arreglo
+     * @param desde La primera posición, incluida
+     * @param hasta La última posición, excluida
+     */
+    static void acumular( long[] huella, int[] arreglo, int desde, int hasta )
+    {
+        long multiconjunto = huella[0];
+        long secuencia = huella[1];
+        for (int i = desde; i < hasta; i++) {
+            long mezcla = mezclar(arreglo[i]);
+            multiconjunto += mezcla;
+            secuencia = secuencia * BASE + mezcla;
+        }
+        huella[0] = multiconjunto;
+        huella[1] = secuencia;
+    }
+}
@@ -0,0 +1,117 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.HashMap;
+
+/**
+ * Un multiconjunto de cadenas que no diferencia entre mayúsculas y minúsculas: para cada cadena, guarda cuántas cadenas iguales a ella según equalsIgnoreCase se han
+ * agregado.
+ *
+ * Cada cadena se guarda bajo su forma plegada, en la que cada carácter se reemplaza por toLowerCase(toUpperCase(c)). Ésa es la misma regla que usa equalsIgnoreCase, así
+ * que dos cadenas son iguales sin diferenciar mayúsculas si y sólo si sus formas plegadas son iguales. Desde Java 16, equalsIgnoreCase aplica la regla a cada punto de
+ * código, de modo que las letras fuera del plano básico (como U+10400 y U+10428) también se pliegan; antes la aplicaba a cada char, y los pares sustitutos quedaban
+ * igual. Para que el índice cuente lo mismo que el recorrido con equalsIgnoreCase, la forma de plegar se escoge al cargar la clase, probando cuál usa la JVM. El
+ * plegado se hace una vez por cadena agregada o consultada, y la consulta toma O(1) en promedio.
+ *
+ * Los conteos se guardan en arreglos de una posición para poder modificarlos sin crear un Integer nuevo cada vez. La cadena null se cuenta bajo la llave null.
+ */
+final class IndiceCadenas
+{
+    /**
+     * True si equalsIgnoreCase compara por puntos de código (Java 16 en adelante), y false si compara char por char.
+     */
+    private static final boolean PLEGAR_POR_PUNTO_DE_CODIGO = "\uD801\uDC00".equalsIgnoreCase("\uD801\uDC28");
+
+    /**
+     * Los conteos de cada forma plegada.
+     */
+    private final HashMap<String, int[]> conteos = new HashMap<String, int[]>();
+
+    /**
+     * Suma una aparición de una cadena.
+     * @param cadena La cadena agregada. Puede ser null.
+     */
+    void agregar( String cadena )
+    {
+        String llave = plegar(cadena);
+        int[] conteo = conteos.get(llave);
+        if (conteo == null) conteos.put(llave, new int[]{ 1 });
+        else conteo[0]++;
+    }
+
+    /**
+     * Resta apariciones de una cadena. Si el conteo llega a 0, la cadena sale del índice.
+     * @param cadena La cadena eliminada. Puede ser null.
+     * @param cantidad La cantidad de apariciones eliminadas
+     */
+    void quitar( String cadena, int cantidad )
+    {
+        if (cantidad <= 0) return;
+        String llave = plegar(cadena);
+        int[] conteo = conteos.get(llave);
+        if (conteo == null) return;
+        conteo[0] -= cantidad;
+        if (conteo[0] <= 0) conteos.remove(llave);
+    }
+
+    /**
+     * Retorna cuántas cadenas iguales a la dada, sin diferenciar mayúsculas, hay en el índice.
+     * @param cadena La cadena buscada. Si es null, se cuentan las cadenas null.
+     * @return La cantidad de apariciones
+     */
+    int contar( String cadena )
+    {
+        int[] conteo = conteos.get(plegar(cadena));
+        return conteo == null ? 0 : conteo[0];
+    }
+
+    /**
+     * Quita todas las cadenas del índice.
+     */
+    void limpiar( )
+    {
+        conteos.clear();
+    }
+
+    /**
+     * Calcula la forma plegada de una cadena. Si la cadena ya está plegada, se retorna la misma instancia.
+     * @param cadena La cadena
+     * @return La cadena con cada punto de código (o cada char, según la JVM) reemplazado por toLowerCase(toUpperCase(c)), o null si la cadena es null
+     */
+    static String plegar( String cadena )
+    {
+        if (cadena == null) return null;
+        int n = cadena.length();
+        int i = 0;
+        while (i < n) {
+            int c = leer(cadena, i);
+            if (plegar(c) != c) break;
+            i += Character.charCount(c);
+        }
+        if (i == n) return cadena;
+        StringBuilder plegada = new StringBuilder(n);
+        plegada.append(cadena, 0, i);
+        while (i < n) {
+            int c = leer(cadena, i);
+            plegada.appendCodePoint(plegar(c));
+            i += Character.charCount(c);
+        }
+        return plegada.toString();
+    }
+
+    /**
+     * Lee el punto de código o el char que empieza en una posición, según la forma de plegar.
+     */
+    private static int leer( String cadena, int posicion )
+    {
+        return PLEGAR_POR_PUNTO_DE_CODIGO ? cadena.codePointAt(posicion) : cadena.charAt(posicion);
+    }
+
+    /**
+     * Pliega un punto de código o un char, según la forma de plegar.
+     */
+    private static int plegar( int c )
+    {
+        if (PLEGAR_POR_PUNTO_DE_CODIGO) return Character.toLowerCase(Character.toUpperCase(c));
+        return Character.toLowerCase(Character.toUpperCase((char) c));
+    }
+}
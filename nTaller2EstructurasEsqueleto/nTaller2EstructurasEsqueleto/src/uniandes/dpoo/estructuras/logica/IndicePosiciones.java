@@ -0,0 +1,74 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Un índice invertido de un arreglo de enteros: para cada valor, permite encontrar las posiciones donde aparece sin recorrer el arreglo.
+ *
+ * Cada entrada del índice es un long con el valor en los 32 bits altos y la posición en los 32 bits bajos. Las entradas se ordenan una sola vez al construir el índice,
+ * así que las posiciones de un mismo valor quedan contiguas y de menor a mayor, y una búsqueda sólo necesita dos búsquedas binarias.
+ *
+ * El índice cubre las primeras getCantidadIndexada() posiciones del arreglo con el que se construyó. No se actualiza si el arreglo cambia.
+ */
+final class IndicePosiciones
+{
+    /**
+     * Las entradas del índice, ordenadas de menor a mayor.
+     */
+    private final long[] entradas;
+
+    /**
+     * Construye el índice de las primeras 'cantidad' posiciones de un arreglo.
+     * @param arreglo El arreglo que se va a indexar
+     * @param cantidad La cantidad de posiciones que se van a indexar
+     */
+    IndicePosiciones( int[] arreglo, int cantidad )
+    {
+        entradas = new long[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            entradas[i] = ((long) arreglo[i] << 32) | i;
+        }
+        java.util.Arrays.sort(entradas);
+    }
+
+    /**
+     * Retorna la cantidad de posiciones que cubre el índice
+     * @return La cantidad de posiciones indexadas
+     */
+    int getCantidadIndexada( )
+    {
+        return entradas.length;
+    }
+
+    /**
+     * Busca las posiciones donde aparece un valor dentro de las posiciones indexadas.
+     * @param valor El valor buscado
+     * @return Las posiciones donde aparece el valor, de menor a mayor
+     */
+    int[] buscar( int valor )
+    {
+        long llave = (long) valor << 32;
+        int desde = primeraMayorOIgual(llave);
+        int hasta = (valor == Integer.MAX_VALUE) ? entradas.length : primeraMayorOIgual(llave + (1L << 32));
+        int[] posiciones = new int[hasta - desde];
+        for (int i = desde; i < hasta; i++) {
+            posiciones[i - desde] = (int) entradas[i];
+        }
+        return posiciones;
+    }
+
+    /**
+     * Busca la primera entrada mayor o igual a una llave.
+     * @param llave La llave buscada
+     * @return La posición de la primera entrada mayor o igual a la llave, o la cantidad de entradas si no hay ninguna
+     */
+    private int primeraMayorOIgual( long llave )
+    {
+        int bajo = 0;
+        int alto = entradas.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (entradas[medio] < llave) bajo = medio + 1;
+            else alto = medio;
+        }
+        return bajo;
+    }
+}
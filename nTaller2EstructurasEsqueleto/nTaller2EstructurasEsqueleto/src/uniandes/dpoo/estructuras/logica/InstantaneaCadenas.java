@@ -0,0 +1,105 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Una vista inmutable del arreglo de cadenas de un SandboxArreglos, tal como estaba cuando se creó la instantánea.
+ *
+ * Funciona igual que InstantaneaEnteros: comparte el arreglo con el sandbox, y el sandbox lo copia antes de modificarlo si la instantánea sigue viva. Si el arreglo de
+ * cadenas está codificado, la instantánea comparte el arreglo de códigos y el arreglo de símbolos del diccionario.
+ */
+public final class InstantaneaCadenas
+{
+    /**
+     * El arreglo compartido, o null si las cadenas están codificadas.
+     */
+    private final String[] arreglo;
+
+    /**
+     * El arreglo de códigos compartido, o null si las cadenas no están codificadas.
+     */
+    private final int[] codigos;
+
+    /**
+     * Los símbolos que corresponden a los códigos, o null si las cadenas no están codificadas.
+     */
+    private final String[] simbolos;
+
+    /**
+     * La cantidad de cadenas de la instantánea.
+     */
+    private final int cantidad;
+
+    /**
+     * La primera instantánea que se creó sobre el mismo arreglo, o null si ésta es la primera.
+     */
+    private final InstantaneaCadenas primera;
+
+    /**
+     * Crea una instantánea sobre un arreglo de cadenas o sobre un arreglo de códigos.
+     * @param arreglo El arreglo compartido, o null
+     * @param codigos El arreglo de códigos compartido, o null
+     * @param simbolos Los símbolos de los códigos, o null
+     * @param cantidad La cantidad de cadenas
+     * @param primera La primera instantánea sobre el mismo arreglo, o null
+     */
+    InstantaneaCadenas( String[] arreglo, int[] codigos, String[] simbolos, int cantidad, InstantaneaCadenas primera )
+    {
+        this.arreglo = arreglo;
+        this.codigos = codigos;
+        this.simbolos = simbolos;
+        this.cantidad = cantidad;
+        this.primera = primera;
+    }
+
+    /**
+     * Retorna la cantidad de cadenas de la instantánea
+     * @return La cantidad de cadenas
+     */
+    public int getCantidad( )
+    {
+        return cantidad;
+    }
+
+    /**
+     * Retorna la cadena que está en una posición
+     * @param posicion La posición
+     * @return La cadena en esa posición
+     * @throws IndexOutOfBoundsException Si la posición no corresponde a ninguna posición de la instantánea
+     */
+    public String getCadena( int posicion )
+    {
+        if (posicion < 0 || posicion >= cantidad) throw new IndexOutOfBoundsException("Posición: " + posicion + ", cantidad: " + cantidad);
+        return codigos != null ? simbolos[codigos[posicion]] : arreglo[posicion];
+    }
+
+    /**
+     * Retorna una copia de las cadenas de la instantánea en un arreglo nuevo
+     * @return Una copia de las cadenas
+     */
+    public String[] getCopia( )
+    {
+        if (codigos == null) return java.util.Arrays.copyOf(arreglo, cantidad);
+        String[] copia = new String[cantidad];
+        for (int i = 0; i < cantidad; i++) copia[i] = simbolos[codigos[i]];
+        return copia;
+    }
+
+    /**
+     * Retorna la primera instantánea que se creó sobre el mismo arreglo
+     * @return La primera instantánea, que puede ser ésta misma
+     */
+    InstantaneaCadenas getPrimera( )
+    {
+        return primera != null ? primera : this;
+    }
+
+    /**
+     * Indica si la instantánea comparte un arreglo
+     * @param otroArreglo El arreglo de cadenas del sandbox
+     * @param otrosCodigos El arreglo de códigos del sandbox, o null si las cadenas no están codificadas
+     * @return True si la instantánea usa el mismo arreglo de cadenas o el mismo arreglo de códigos
+     */
+    boolean comparte( String[] otroArreglo, int[] otrosCodigos )
+    {
+        return codigos != null ? codigos == otrosCodigos : otrosCodigos == null && arreglo == otroArreglo;
+    }
+}
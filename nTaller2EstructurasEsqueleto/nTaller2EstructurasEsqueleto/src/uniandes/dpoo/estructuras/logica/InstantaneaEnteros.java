@@ -0,0 +1,214 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Una vista inmutable del arreglo de enteros de un SandboxArreglos, tal como estaba cuando se creó la instantánea.
+ *
+ * La instantánea comparte el almacenamiento con el sandbox en lugar de copiarlo. Si después el sandbox modifica sus enteros mientras la instantánea sigue viva, es el
+ * sandbox el que se copia antes de modificarlos, así que la instantánea nunca cambia. Agregar enteros al final no obliga a copiar, porque la instantánea sólo ve las
+ * posiciones que existían cuando se creó.
+ */
+public final class InstantaneaEnteros
+{
+    /**
+     * El arreglo compartido, o null si los enteros están en un almacén o comprimidos.
+     */
+    private final int[] arreglo;
+
+    /**
+     * El almacén compartido, o null si los enteros están en un arreglo o comprimidos.
+     */
+    private final AlmacenEnteros almacen;
+
+    /**
+     * Los enteros comprimidos compartidos, o null si los enteros no están comprimidos. Como nunca cambian, el sandbox nunca tiene que copiarlos.
+     */
+    private final EnterosComprimidos comprimidos;
+
+    /**
+     * La cantidad de enteros de la instantánea.
+     */
+    private final long cantidad;
+
+    /**
+     * La primera instantánea que se creó sobre el mismo almacenamiento, o null si ésta es la primera. Se guarda para que la primera siga viva mientras alguna
+     * instantánea que comparte su almacenamiento lo esté: al sandbox le basta con revisar la primera para saber si debe copiar.
+     */
+    private final InstantaneaEnteros primera;
+
+    /**
+     * El mínimo y el máximo de la instantánea, o null si todavía no se han calculado. Como la instantánea no cambia, basta con calcularlos una vez.
+     */
+    private volatile int[] rango;
+
+    /**
+     * Crea una instantánea sobre un arreglo o sobre un almacén.
+     * @param arreglo El arreglo compartido, o null
+     * @param almacen El almacén compartido, o null
+     * @param comprimidos Los enteros comprimidos compartidos, o null
+     * @param cantidad La cantidad de enteros
+     * @param primera La primera instantánea sobre el mismo almacenamiento, o null
+     * @param rango El mínimo y el máximo si el sandbox ya los conoce, o null
+     */
+    InstantaneaEnteros( int[] arreglo, AlmacenEnteros almacen, EnterosComprimidos comprimidos, long cantidad, InstantaneaEnteros primera, int[] rango )
+    {
+        this.arreglo = arreglo;
+        this.almacen = almacen;
+        this.comprimidos = comprimidos;
+        this.cantidad = cantidad;
+        this.primera = primera;
+        this.rango = rango;
+    }
+
+    /**
+     * Retorna la cantidad de enteros de la instantánea
+     * @return La cantidad de enteros
+     * @throws ArithmeticException Si hay más de Integer.MAX_VALUE enteros
+     */
+    public int getCantidad( )
+    {
+        return Math.toIntExact(cantidad);
+    }
+
+    /**
+     * Retorna la cantidad de enteros de la instantánea, aunque sean más de Integer.MAX_VALUE
+     * @return La cantidad de enteros
+     */
+    public long getCantidadLarga( )
+    {
+        return cantidad;
+    }
+
+    /**
+     * Retorna el entero que está en una posición
+     * @param posicion La posición
+     * @return El entero en esa posición
+     * @throws IndexOutOfBoundsException Si la posición no corresponde a ninguna posición de la instantánea
+     */
+    public int getEntero( long posicion )
+    {
+        if (posicion < 0 || posicion >= cantidad) throw new IndexOutOfBoundsException("Posición: " + posicion + ", cantidad: " + cantidad);
+        if (comprimidos != null) return comprimidos.leer((int) posicion);
+        return almacen != null ? almacen.leer(posicion) : arreglo[(int) posicion];
+    }
+
+    /**
+     * Retorna una copia de los enteros de la instantánea en un arreglo nuevo
+     * @return Una copia de los enteros
+     * @throws ArithmeticException Si hay más de Integer.MAX_VALUE enteros
+     */
+    public int[] getCopia( )
+    {
+        int n = getCantidad();
+        if (almacen == null && comprimidos == null) return java.util.Arrays.copyOf(arreglo, n);
+        int[] copia = new int[n];
+        if (comprimidos != null) comprimidos.copiarA(copia);
+        else almacen.leer(0, copia, 0, n);
+        return copia;
+    }
+
+    /**
+     * Cuenta cuántas veces aparece un valor en la instantánea
+     * @param valor El valor buscado
+     * @return La cantidad de apariciones
+     */
+    public long contarApariciones( int valor )
+    {
+        if (almacen != null) return almacen.contar(valor, cantidad);
+        if (comprimidos != null) return comprimidos.contar(valor);
+        return KernelsEnteros.contar(arreglo, 0, (int) cantidad, valor);
+    }
+
+    /**
+     * Busca en qué posiciones de la instantánea se encuentra un valor
+     * @param valor El valor buscado
+     * @return Las posiciones, de menor a mayor. Si el valor no se encuentra, el arreglo retornado es de tamaño 0.
+     */
+    public long[] buscarEntero( int valor )
+    {
+        if (almacen != null) return almacen.buscar(valor, cantidad);
+        int[] posiciones = comprimidos != null ? comprimidos.buscar(valor) : KernelsEnteros.buscar(arreglo, 0, (int) cantidad, valor);
+        long[] largas = new long[posiciones.length];
+        for (int i = 0; i < posiciones.length; i++) largas[i] = posiciones[i];
+        return largas;
+    }
+
+    /**
+     * Calcula el rango de los enteros de la instantánea
+     * @return Un arreglo con el mínimo en la primera posición y el máximo en la segunda, o un arreglo vacío si la instantánea está vacía
+     */
+    public int[] calcularRango( )
+    {
+        if (cantidad == 0) return new int[0];
+        int[] calculado = rango;
+        if (calculado == null) {
+            if (comprimidos != null) calculado = comprimidos.rango();
+            else calculado = almacen != null ? almacen.rango(cantidad) : KernelsEnteros.rango(arreglo, 0, (int) cantidad);
+            rango = calculado;
+        }
+        return new int[]{ calculado[0], calculado[1] };
+    }
+
+    /**
+     * Compara la instantánea con un arreglo de enteros
+     * @param otroArreglo El arreglo con el que se compara
+     * @return True si el arreglo tiene los mismos enteros en el mismo orden
+     */
+    public boolean iguales( int[] otroArreglo )
+    {
+        if (otroArreglo == null || otroArreglo.length != cantidad) return false;
+        if (almacen != null) return almacen.iguales(otroArreglo, cantidad);
+        if (comprimidos != null) return comprimidos.iguales(otroArreglo);
+        return KernelsEnteros.iguales(arreglo, otroArreglo, (int) cantidad);
+    }
+
+    /**
+     * Indica si la instantánea comparte un almacén paginado, en lugar de un arreglo
+     * @return True si la instantánea lee sus enteros de un AlmacenEnteros
+     */
+    boolean isPaginada( )
+    {
+        return almacen != null;
+    }
+
+    /**
+     * Retorna una instantánea con los mismos enteros que no comparte nada que el sandbox pueda cambiar. Un almacén paginado compartido puede crecer mientras otro hilo
+     * lo lee (el sandbox reemplaza el arreglo de páginas y escribe en la última), así que sus enteros se copian a un almacén nuevo en el heap; las demás instantáneas
+     * ya no cambian y se retornan sin copiar.
+     *
+     * Nadie debe estar modificando el almacén mientras se copia.
+     * @return Esta instantánea, o una copia si comparte un almacén
+     */
+    InstantaneaEnteros congelar( )
+    {
+        if (almacen == null) return this;
+        AlmacenEnterosPaginado copia = new AlmacenEnterosPaginado();
+        copia.asegurarCapacidad(cantidad);
+        almacen.recorrer(0, cantidad, ( bloque, desde, hasta, posicion ) -> {
+            copia.agregar(bloque, desde, hasta);
+            return true;
+        }, false);
+        return new InstantaneaEnteros(null, copia, null, cantidad, null, rango);
+    }
+
+    /**
+     * Retorna la primera instantánea que se creó sobre el mismo almacenamiento
+     * @return La primera instantánea, que puede ser ésta misma
+     */
+    InstantaneaEnteros getPrimera( )
+    {
+        return primera != null ? primera : this;
+    }
+
+    /**
+     * Indica si la instantánea comparte un almacenamiento
+     * @param otroArreglo El arreglo de enteros del sandbox
+     * @param otroAlmacen El almacén del sandbox, o null si no está en modo paginado
+     * @param otrosComprimidos Los enteros comprimidos del sandbox, o null si no están comprimidos
+     * @return True si la instantánea usa el mismo arreglo, el mismo almacén o los mismos enteros comprimidos
+     */
+    boolean comparte( int[] otroArreglo, AlmacenEnteros otroAlmacen, EnterosComprimidos otrosComprimidos )
+    {
+        if (comprimidos != null) return comprimidos == otrosComprimidos;
+        return almacen != null ? almacen == otroAlmacen : otroAlmacen == null && otrosComprimidos == null && arreglo == otroArreglo;
+    }
+}
@@ -0,0 +1,151 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Ciclos de recorrido sobre rangos de arreglos de enteros, escritos para que el compilador JIT los pueda vectorizar (SIMD).
+ *
+ * Los ciclos no tienen saltos que dependan de los datos. Los conteos suman un bit calculado con operaciones aritméticas, el valor absoluto usa Math.abs, y las
+ * comparaciones acumulan diferencias por bloques antes de decidir si terminan. Así el JIT puede procesar varios enteros por instrucción, y los datos impredecibles no
+ * causan fallos de predicción de saltos.
+ *
+ * Todos los métodos reciben el rango [desde, hasta) sobre el que deben operar.
+ */
+final class KernelsEnteros
+{
+    /**
+     * Cantidad de posiciones que se comparan antes de revisar si se encontró una diferencia.
+     */
+    private static final int BLOQUE_COMPARACION = 256;
+
+    private KernelsEnteros( )
+    {
+    }
+
+    /**
+     * Cuenta cuántas veces aparece un valor en un rango del arreglo.
+     * @param arreglo El arreglo
+     * @param desde La primera posición del rango, incluida
+     * @param hasta La última posición del rango, excluida
+     * @param valor El valor buscado
+     * @return La cantidad de apariciones
+     */
+    static int contar( int[] arreglo, int desde, int hasta, int valor )
+    {
+        int diferentes = 0;
+        for (int i = desde; i < hasta; i++) {
+            int d = arreglo[i] ^ valor;
+            diferentes += (d | -d) >>> 31;
+        }
+        return (hasta - desde) - diferentes;
+    }
+
+    /**
+     * Calcula el menor y el mayor valor de un rango no vacío del arreglo.
+     *
+     * Se deja como un ciclo con comparaciones simples: el JIT las convierte en movimientos condicionales, y en las mediciones resultó más rápido que las reducciones con
+     * Math.min y Math.max.
+     * @param arreglo El arreglo
+     * @param desde La primera posición del rango, incluida
+     * @param hasta La última posición del rango, excluida. Debe ser mayor que desde.
+     * @return Un arreglo con el mínimo en la primera posición y el máximo en la segunda
+     */
+    static int[] rango( int[] arreglo, int desde, int hasta )
+    {
+        int min = arreglo[desde];
+        int max = min;
+        for (int i = desde + 1; i < hasta; i++) {
+            int v = arreglo[i];
+            if (v < min) min = v;
+            if (v > max) max = v;
+        }
+        return new int[]{ min, max };
+    }
+
+    /**
+     * Verifica si un rango del arreglo está ordenado de menor a mayor.
+     * @param arreglo El arreglo
+     * @param desde La primera posición del rango, incluida
+     * @param hasta La última posición del rango, excluida
+     * @return True si cada valor es menor o igual al siguiente
+     */
+    static boolean ordenado( int[] arreglo, int desde, int hasta )
+    {
+        for (int i = desde + 1; i < hasta; i++) {
+            if (arreglo[i - 1] > arreglo[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reemplaza cada valor de un rango del arreglo por su valor absoluto. Como en la versión con saltos, Integer.MIN_VALUE se queda igual.
+     * @param arreglo El arreglo
+     * @param desde La primera posición del rango, incluida
+     * @param hasta La última posición del rango, excluida
+     */
+    static void volverPositivos( int[] arreglo, int desde, int hasta )
+    {
+        for (int i = desde; i < hasta; i++) {
+            arreglo[i] = Math.abs(arreglo[i]);
+        }
+    }
+
+    /**
+     * Compara los primeros 'cantidad' valores de dos arreglos.
+     * @param a El primer arreglo
+     * @param b El segundo arreglo
+     * @param cantidad La cantidad de posiciones que se comparan. Ambos arreglos deben tener al menos esa cantidad.
+     * @return True si los valores son iguales en todas las posiciones
+     */
+    static boolean iguales( int[] a, int[] b, int cantidad )
+    {
+        return iguales(a, 0, b, 0, cantidad);
+    }
+
+    /**
+     * Compara 'cantidad' valores de dos arreglos, empezando en una posición diferente en cada uno.
+     * @param a El primer arreglo
+     * @param desdeA La primera posición que se compara en el primer arreglo
+     * @param b El segundo arreglo
+     * @param desdeB La primera posición que se compara en el segundo arreglo
+     * @param cantidad La cantidad de posiciones que se comparan
+     * @return True si a[desdeA + i] == b[desdeB + i] para todo i entre 0 y cantidad - 1
+     */
+    static boolean iguales( int[] a, int desdeA, int[] b, int desdeB, int cantidad )
+    {
+        int desplazamiento = desdeB - desdeA;
+        int fin = desdeA + cantidad;
+        int i = desdeA;
+        for (; i + BLOQUE_COMPARACION <= fin; i += BLOQUE_COMPARACION) {
+            int diferencia = 0;
+            for (int j = i; j < i + BLOQUE_COMPARACION; j++) {
+                diferencia |= a[j] ^ b[j + desplazamiento];
+            }
+            if (diferencia != 0) return false;
+        }
+        int diferencia = 0;
+        for (; i < fin; i++) {
+            diferencia |= a[i] ^ b[i + desplazamiento];
+        }
+        return diferencia == 0;
+    }
+
+    /**
+     * Busca las posiciones de un rango del arreglo donde aparece un valor.
+     *
+     * Primero cuenta las apariciones sin saltos y luego recorre sólo hasta encontrar la última.
+     * @param arreglo El arreglo
+     * @param desde La primera posición del rango, incluida
+     * @param hasta La última posición del rango, excluida
+     * @param valor El valor buscado
+     * @return Las posiciones donde aparece el valor, de menor a mayor
+     */
+    static int[] buscar( int[] arreglo, int desde, int hasta, int valor )
+    {
+        int cuenta = contar(arreglo, desde, hasta, valor);
+        int[] posiciones = new int[cuenta];
+        int j = 0;
+        for (int i = desde; j < cuenta; i++) {
+            if (arreglo[i] == valor) posiciones[j++] = i;
+        }
+        return posiciones;
+    }
+}
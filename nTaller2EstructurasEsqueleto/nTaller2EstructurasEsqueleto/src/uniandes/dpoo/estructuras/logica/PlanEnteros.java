@@ -0,0 +1,201 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.ArrayList;
+
+/**
+ * Una secuencia de operaciones sobre el arreglo de enteros de un SandboxArreglos que se registran sin ejecutarse, y se ejecutan juntas cuando se pide un resultado.
+ *
+ * Llamar volverPositivos, eliminarEntero y organizarEnteros uno por uno recorre el arreglo completo en cada llamada. El plan, en cambio, junta las operaciones que
+ * cambian cada valor por separado en una sola pasada: como volver positivo un valor dos veces es lo mismo que hacerlo una, cualquier secuencia de eliminaciones y
+ * volverPositivos se reduce a eliminar, volver positivos y volver a eliminar, y eso se hace en un solo recorrido que compacta el arreglo sobre sí mismo. Además,
+ * como eliminar valores de un arreglo ordenado lo deja ordenado, las eliminaciones que se piden después de organizar se hacen antes, sobre la pasada anterior, y
+ * organizar dos veces seguidas se hace una sola vez. Así, por ejemplo, volverPositivos, eliminarEntero y organizarEnteros quedan en una pasada y un ordenamiento.
+ *
+ * El resultado es el mismo que se obtiene llamando los métodos del sandbox uno por uno. Las operaciones se aplican sobre el contenido que tenga el sandbox cuando se
+ * ejecuta el plan, no sobre el que tenía cuando se registraron. Después de ejecutarse, el plan queda vacío y se puede volver a usar.
+ */
+public final class PlanEnteros
+{
+    /**
+     * El sandbox sobre el que se ejecutan las operaciones.
+     */
+    private final SandboxArreglos sandbox;
+
+    /**
+     * Las etapas del plan, en orden. Nunca hay dos ordenamientos seguidos.
+     */
+    private final ArrayList<Etapa> etapas = new ArrayList<Etapa>();
+
+    /**
+     * Crea un plan vacío.
+     * @param sandbox El sandbox sobre el que se ejecutan las operaciones
+     */
+    PlanEnteros( SandboxArreglos sandbox )
+    {
+        this.sandbox = sandbox;
+    }
+
+    /**
+     * Registra SandboxArreglos.volverPositivos().
+     * @return Este plan
+     */
+    public PlanEnteros volverPositivos( )
+    {
+        Etapa ultima = etapas.isEmpty() ? null : etapas.get(etapas.size() - 1);
+        if (ultima == null || ultima.estrategia != null) {
+            ultima = new Etapa(null);
+            etapas.add(ultima);
+        }
+        ultima.positivos = true;
+        return this;
+    }
+
+    /**
+     * Registra SandboxArreglos.eliminarEntero(valor).
+     * @param valor El valor que se va eliminar
+     * @return Este plan
+     */
+    public PlanEnteros eliminarEntero( int valor )
+    {
+        return eliminarEnteros(valor);
+    }
+
+    /**
+     * Registra SandboxArreglos.eliminarEnteros(valores).
+     * @param valores Los valores que se van a eliminar
+     * @return Este plan
+     */
+    public PlanEnteros eliminarEnteros( int... valores )
+    {
+        if (valores == null || valores.length == 0) return this;
+        // Eliminar después de organizar es lo mismo que eliminar antes, así que la eliminación se junta con la pasada anterior al último ordenamiento
+        int posicion = etapas.size() - 1;
+        if (posicion >= 0 && etapas.get(posicion).estrategia != null) posicion--;
+        Etapa pasada;
+        if (posicion >= 0) {
+            pasada = etapas.get(posicion);
+        } else {
+            pasada = new Etapa(null);
+            etapas.add(0, pasada);
+        }
+        if (pasada.positivos) pasada.eliminarDespues = unir(pasada.eliminarDespues, valores);
+        else pasada.eliminarAntes = unir(pasada.eliminarAntes, valores);
+        return this;
+    }
+
+    /**
+     * Registra SandboxArreglos.organizarEnteros().
+     * @return Este plan
+     */
+    public PlanEnteros organizarEnteros( )
+    {
+        return organizarEnteros(EstrategiaOrdenamiento.AUTOMATICA);
+    }
+
+    /**
+     * Registra SandboxArreglos.organizarEnteros(estrategia). Si la operación anterior también era organizar, no se registra nada: el arreglo ya estará ordenado.
+     * @param estrategia La estrategia de ordenamiento. Si es null, se usa EstrategiaOrdenamiento.AUTOMATICA.
+     * @return Este plan
+     */
+    public PlanEnteros organizarEnteros( EstrategiaOrdenamiento estrategia )
+    {
+        if (!etapas.isEmpty() && etapas.get(etapas.size() - 1).estrategia != null) return this;
+        etapas.add(new Etapa(estrategia == null ? EstrategiaOrdenamiento.AUTOMATICA : estrategia));
+        return this;
+    }
+
+    /**
+     * Ejecuta sobre el sandbox las operaciones registradas y deja el plan vacío.
+     * @throws UnsupportedOperationException Si el arreglo de enteros se cargó en modo de sólo lectura y el plan tiene alguna operación
+     */
+    public void ejecutar( )
+    {
+        try {
+            for (Etapa etapa : etapas) {
+                if (etapa.estrategia != null) sandbox.organizarEnteros(etapa.estrategia);
+                else sandbox.aplicarPasada(etapa.eliminarAntes, etapa.positivos, etapa.eliminarDespues);
+            }
+        } finally {
+            etapas.clear();
+        }
+    }
+
+    /**
+     * Ejecuta el plan y calcula el histograma de los enteros que quedan en el sandbox.
+     * @return Lo mismo que SandboxArreglos.calcularHistogramaEnteros() después de ejecutar el plan
+     */
+    public HistogramaEnteros calcularHistogramaEnteros( )
+    {
+        ejecutar();
+        return sandbox.calcularHistogramaEnteros();
+    }
+
+    /**
+     * Ejecuta el plan y calcula el rango de los enteros que quedan en el sandbox. Si el plan termina organizando, el ordenamiento ya conoce el mínimo y el máximo y
+     * no hace falta otro recorrido.
+     * @return Lo mismo que SandboxArreglos.calcularRangoEnteros() después de ejecutar el plan
+     */
+    public int[] calcularRangoEnteros( )
+    {
+        ejecutar();
+        return sandbox.calcularRangoEnteros();
+    }
+
+    /**
+     * Indica si el plan no tiene operaciones pendientes.
+     * @return True si no hay nada que ejecutar
+     */
+    public boolean isVacio( )
+    {
+        return etapas.isEmpty();
+    }
+
+    /**
+     * Une dos conjuntos de valores.
+     * @param ordenados Valores ordenados y sin repetidos
+     * @param valores Valores en cualquier orden, posiblemente repetidos
+     * @return Los valores de ambos, ordenados y sin repetidos
+     */
+    private static int[] unir( int[] ordenados, int[] valores )
+    {
+        int[] todos = java.util.Arrays.copyOf(ordenados, ordenados.length + valores.length);
+        System.arraycopy(valores, 0, todos, ordenados.length, valores.length);
+        java.util.Arrays.sort(todos);
+        int m = 0;
+        for (int i = 0; i < todos.length; i++) {
+            if (m == 0 || todos[i] != todos[m - 1]) todos[m++] = todos[i];
+        }
+        return java.util.Arrays.copyOf(todos, m);
+    }
+
+    /**
+     * Una etapa del plan: un ordenamiento, o una pasada que elimina unos valores, vuelve positivos los que quedan y elimina otros.
+     */
+    private static final class Etapa
+    {
+        /**
+         * La estrategia de ordenamiento, o null si la etapa es una pasada.
+         */
+        final EstrategiaOrdenamiento estrategia;
+
+        /**
+         * Los valores que se eliminan antes de volverlos positivos, ordenados y sin repetidos.
+         */
+        int[] eliminarAntes = new int[0];
+
+        /**
+         * True si la pasada vuelve positivos los valores.
+         */
+        boolean positivos;
+
+        /**
+         * Los valores que se eliminan después de volverlos positivos, ordenados y sin repetidos.
+         */
+        int[] eliminarDespues = new int[0];
+
+        Etapa( EstrategiaOrdenamiento estrategia )
+        {
+            this.estrategia = estrategia;
+        }
+    }
+}
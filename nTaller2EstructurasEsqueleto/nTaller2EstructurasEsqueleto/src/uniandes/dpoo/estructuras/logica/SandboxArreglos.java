@@ -1,32 +1,236 @@
 package uniandes.dpoo.estructuras.logica;
 
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Spliterator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 
 /**
  * Esta clase tiene un conjunto de métodos para practicar operaciones sobre arreglos de enteros y de cadenas.
  *
  * Todos los métodos deben operar sobre los atributos arregloEnteros y arregloCadenas.
  * 
- * No pueden agregarse nuevos atributos.
+ * A diferencia de SandboxConjuntos y SandboxMapas, esta clase no tiene la regla de no agregar atributos: guarda además las cantidades lógicas de los arreglos y
+ * otros atributos auxiliares (estadísticas, índices, instantáneas y almacenamientos alternativos) que se describen abajo. Todos se derivan de los dos arreglos.
+ * 
+ * Los arreglos funcionan como buffers con capacidad: sólo las primeras cantidadEnteros (o cantidadCadenas) posiciones hacen parte del contenido lógico. Cuando se
+ * necesita más espacio, la capacidad crece geométricamente para que agregar N valores uno a uno cueste O(N) en total.
+ * 
+ * En modo hueco (gap buffer), el arreglo de enteros puede tener un bloque de posiciones libres en medio del contenido, ubicado donde ocurrió la última inserción o
+ * eliminación por posición. Así, varias ediciones cercanas sólo mueven los valores que hay entre una y otra. Los métodos que recorren todo el arreglo cierran el hueco
+ * antes de empezar.
+ * 
+ * Algunas estadísticas del arreglo de enteros (el mínimo, el máximo y si está ordenado) se actualizan con cada modificación, para que calcularRangoEnteros y
+ * organizarEnteros no tengan que recorrer el arreglo cuando nada ha cambiado. Si una eliminación quita el mínimo o el máximo, el rango se vuelve a calcular la
+ * próxima vez que se pida.
+ * 
+ * Opcionalmente, buscarEntero puede usar un índice invertido (IndicePosiciones) que se construye la primera vez que se necesita. Los valores agregados al final no
+ * invalidan el índice: se buscan recorriendo sólo la parte no indexada. Las demás modificaciones cambian las posiciones, así que descartan el índice.
+ * 
+ * En modo paginado, los enteros no se guardan en arregloEnteros sino en un AlmacenEnteros, dividido en páginas de tamaño fijo y con posiciones de tipo long. Así el
+ * arreglo de enteros puede tener más de Integer.MAX_VALUE valores. El modo paginado se activa automáticamente cuando el arreglo de enteros no cabe en un int[]. En ese
+ * modo no se usan el hueco, el índice de posiciones ni las estadísticas, y los métodos que retornan cantidades o posiciones como int lanzan ArithmeticException si el
+ * resultado no cabe en un int; para esos casos hay versiones que usan long. Las páginas pueden estar en el heap o fuera de él, en buffers directos.
+ * 
+ * El arreglo de enteros se puede guardar en un archivo binario y cargar después mapeando el archivo en memoria: cargar no lee el contenido, y el sistema operativo
+ * trae cada parte del archivo la primera vez que se usa. Un arreglo cargado en modo de sólo lectura trabaja directamente sobre el archivo mapeado, y los métodos que
+ * modificarían el arreglo de enteros lanzan UnsupportedOperationException.
+ * 
+ * En modo comprimido, un arreglo de enteros ordenado se guarda en un EnterosComprimidos: por bloques de 128, con las diferencias entre valores consecutivos empaquetadas
+ * en los bits que necesitan. El arreglo se comprime cuando queda ordenado por organizarEnteros (o al activar el modo, si ya estaba ordenado), y se descomprime con la
+ * primera modificación. Mientras está comprimido, contarApariciones, buscarEntero y calcularRangoEnteros usan el primer valor de cada bloque para descomprimir sólo uno
+ * o dos bloques. El modo comprimido no se aplica en modo paginado.
+ * 
+ * En modo codificado, el arreglo de cadenas no guarda las cadenas sino un código entero por posición, y un DiccionarioCadenas guarda cada cadena diferente una sola vez.
+ * Sirve cuando hay pocas cadenas diferentes repetidas muchas veces: eliminarCadena, contarApariciones(String) y organizarCadenas trabajan sobre los códigos y comparan
+ * enteros en lugar de cadenas.
+ * 
+ * getCopiaEnteros y getCopiaCadenas siempre copian. Para obtener una vista estable sin copiar, están getInstantaneaEnteros y getInstantaneaCadenas: la instantánea
+ * comparte el almacenamiento, y el sandbox sólo se copia si modifica posiciones existentes mientras alguna instantánea sigue viva. Agregar al final nunca copia.
  * 
  * Implemente los métodos usando operaciones sobre arreglos (ie., no haga cosas como construir listas para evitar la manipulación de arreglos).
  */
 public class SandboxArreglos
 {
+    /**
+     * Capacidad mínima que se reserva la primera vez que crece uno de los arreglos.
+     */
+    private static final int CAPACIDAD_INICIAL = 10;
+
+    /**
+     * Capacidad máxima que se puede pedir para un arreglo. Algunas JVM reservan unas palabras de encabezado dentro del arreglo.
+     */
+    private static final int CAPACIDAD_MAXIMA = Integer.MAX_VALUE - 8;
+
+    /**
+     * Cantidad de enteros que se truncan antes de agregarlos al arreglo, cuando no se sabe cuántos decimales hay o no caben en un int[].
+     */
+    private static final int BLOQUE_TRUNCAMIENTO = 1 << 16;
+
+    /**
+     * Tamaño mínimo del hueco que se abre en modo hueco.
+     */
+    private static final int TAMANO_HUECO_MINIMO = 16;
+
+    /**
+     * Cantidad máxima de valores diferentes para la que se reserva espacio al crear un histograma. Si hay más, el histograma crece a medida que los encuentra.
+     */
+    private static final int HISTOGRAMA_ESPERADOS_MAXIMO = 4096;
+
+    /**
+     * Cantidad de enteros agregados al final que buscarEntero recorre sin reconstruir el índice de posiciones. Si el índice es grande, se toleran hasta 1/8 de sus
+     * entradas.
+     */
+    private static final int INDICE_PENDIENTES_MINIMO = 1024;
+
     /**
      * Un arreglo de enteros para realizar varias de las siguientes operaciones.
      * 
-     * Ninguna posición del arreglo puede estar vacía en ningún momento.
+     * Sólo las primeras cantidadEnteros posiciones hacen parte del contenido; el resto es capacidad reservada.
      */
     private int[] arregloEnteros;
 
+    /**
+     * La cantidad de enteros que hay realmente en arregloEnteros.
+     */
+    private int cantidadEnteros;
+
+    /**
+     * Indica si las inserciones y eliminaciones por posición se hacen sobre un hueco en lugar de desplazar todo el final del arreglo.
+     */
+    private boolean modoHueco;
+
+    /**
+     * La posición lógica donde empieza el hueco. Los enteros en posiciones lógicas mayores o iguales están desplazados tamanoHueco posiciones a la derecha.
+     */
+    private int inicioHueco;
+
+    /**
+     * La cantidad de posiciones libres que tiene el hueco. Si es 0, los enteros están contiguos en las primeras cantidadEnteros posiciones.
+     */
+    private int tamanoHueco;
+
+    /**
+     * El menor valor del arreglo de enteros. Sólo es válido si rangoValido es true.
+     */
+    private int minimoEnteros;
+
+    /**
+     * El mayor valor del arreglo de enteros. Sólo es válido si rangoValido es true.
+     */
+    private int maximoEnteros;
+
+    /**
+     * Indica si minimoEnteros y maximoEnteros corresponden al contenido actual del arreglo de enteros (que no está vacío).
+     */
+    private boolean rangoValido;
+
+    /**
+     * Indica si se sabe que el arreglo de enteros está ordenado de menor a mayor. Si es false, el arreglo podría estar ordenado o no.
+     */
+    private boolean enterosOrdenados;
+
+    /**
+     * La huella del multiconjunto del arreglo de enteros (ver HuellaEnteros). Sólo es válida si huellaMulticonjuntoValida es true.
+     */
+    private long huellaMulticonjunto;
+
+    /**
+     * Indica si huellaMulticonjunto corresponde al contenido actual del arreglo de enteros. Se mantiene al agregar, insertar y eliminar valores; las demás
+     * modificaciones la invalidan y se vuelve a calcular cuando se necesite.
+     */
+    private boolean huellaMulticonjuntoValida;
+
+    /**
+     * La huella de la secuencia del arreglo de enteros (ver HuellaEnteros). Sólo es válida si huellaSecuenciaValida es true.
+     */
+    private long huellaSecuencia;
+
+    /**
+     * Indica si huellaSecuencia corresponde al contenido actual del arreglo de enteros. Se mantiene al agregar valores al final; las modificaciones que cambian las
+     * posiciones de los valores la invalidan y se vuelve a calcular cuando se necesite.
+     */
+    private boolean huellaSecuenciaValida;
+
+    /**
+     * Indica si buscarEntero debe usar un índice invertido de posiciones.
+     */
+    private boolean indiceActivo;
+
+    /**
+     * El índice invertido de posiciones del arreglo de enteros. Es null si no se ha construido o si una modificación lo invalidó.
+     */
+    private IndicePosiciones indicePosiciones;
+
+    /**
+     * El almacén de los enteros en modo paginado. Si no es null, arregloEnteros está vacío y no se usa.
+     */
+    private AlmacenEnteros almacenPaginado;
+
+    /**
+     * Indica si el arreglo de enteros se debe comprimir cada vez que quede ordenado.
+     */
+    private boolean modoComprimido;
+
+    /**
+     * Los enteros comprimidos. Si no es null, arregloEnteros está vacío y cantidadEnteros es la cantidad de enteros comprimidos.
+     */
+    private EnterosComprimidos enterosComprimidos;
+
+    /**
+     * La primera instantánea que se creó sobre el almacenamiento actual del arreglo de enteros. Si ya no existe o es null, ninguna instantánea comparte el almacenamiento.
+     */
+    private WeakReference<InstantaneaEnteros> primeraInstantaneaEnteros;
+
+    /**
+     * La última instantánea del arreglo de enteros, que se reutiliza si los enteros no han cambiado.
+     */
+    private WeakReference<InstantaneaEnteros> ultimaInstantaneaEnteros;
+
     /**
      * Un arreglo de cadenas para realizar varias de las siguientes operaciones
      * 
-     * Ninguna posición del arreglo puede estar vacía en ningún momento.
+     * Sólo las primeras cantidadCadenas posiciones hacen parte del contenido; el resto es capacidad reservada y siempre contiene null.
      */
     private String[] arregloCadenas;
 
+    /**
+     * La cantidad de cadenas que hay realmente en arregloCadenas.
+     */
+    private int cantidadCadenas;
+
+    /**
+     * Los conteos de las cadenas del arreglo sin diferenciar mayúsculas, para contarApariciones(String). Es null si el índice no está activo.
+     */
+    private IndiceCadenas indiceCadenas;
+
+    /**
+     * La tabla de símbolos del arreglo de cadenas, o null si el arreglo no está codificado. Si no es null, las cadenas están en codigosCadenas y arregloCadenas está vacío.
+     */
+    private DiccionarioCadenas diccionarioCadenas;
+
+    /**
+     * Los códigos de las cadenas en modo codificado, o null en modo normal. Sólo las primeras cantidadCadenas posiciones hacen parte del contenido.
+     */
+    private int[] codigosCadenas;
+
+    /**
+     * La primera instantánea que se creó sobre el arreglo de cadenas actual.
+     */
+    private WeakReference<InstantaneaCadenas> primeraInstantaneaCadenas;
+
+    /**
+     * La última instantánea del arreglo de cadenas, que se reutiliza si las cadenas no han cambiado.
+     */
+    private WeakReference<InstantaneaCadenas> ultimaInstantaneaCadenas;
+
     /**
      * Crea una nueva instancia de la clase con los dos arreglos inicializados pero vacíos (tamaño 0)
      */
@@ -34,354 +238,1457 @@ public class SandboxArreglos
     {
         arregloEnteros = new int[]{};
         arregloCadenas = new String[]{};
+        cantidadEnteros = 0;
+        cantidadCadenas = 0;
+        modoHueco = false;
+        inicioHueco = 0;
+        tamanoHueco = 0;
+        rangoValido = false;
+        enterosOrdenados = true;
+        huellaMulticonjuntoValida = true;
+        huellaSecuenciaValida = true;
     }
 
     /**
-     * Retorna una copia del arreglo de enteros, es decir un nuevo arreglo del mismo tamaño que contiene copias de los valores del arreglo original
-     * @return Una copia del arreglo de enteros
+     * Indica si buscarEntero usa un índice invertido de posiciones.
+     * @return True si el índice está activo
      */
-    public int[] getCopiaEnteros( )
+    public boolean isIndicePosiciones( )
     {
-        return java.util.Arrays.copyOf(arregloEnteros, arregloEnteros.length);
+        return indiceActivo;
     }
 
     /**
-     * Retorna una copia del arreglo de cadenas, es decir un nuevo arreglo del mismo tamaño que contiene copias de los valores del arreglo original
-     * @return Una copia del arreglo de cadenas
+     * Activa o desactiva el índice invertido de posiciones para buscarEntero.
+     * 
+     * Conviene activarlo cuando se hacen muchas búsquedas entre modificaciones poco frecuentes. El índice ocupa 8 bytes por entero y se construye en la primera búsqueda.
+     * @param activo True para activar el índice
      */
-    public String[] getCopiaCadenas( )
+    public void setIndicePosiciones( boolean activo )
     {
-        return java.util.Arrays.copyOf(arregloCadenas, arregloCadenas.length);
+        indiceActivo = activo;
+        if (!activo) indicePosiciones = null;
     }
 
     /**
-     * Retorna la cantidad de valores en el arreglo de enteros
-     * @return
+     * Indica si contarApariciones(String) usa un índice de conteos de las cadenas.
+     * @return True si el índice está activo
      */
-    public int getCantidadEnteros( )
+    public boolean isIndiceCadenas( )
     {
-        return arregloEnteros.length;
+        return indiceCadenas != null;
     }
 
     /**
-     * Retorna la cantidad de valores en el arreglo de cadenas
-     * @return
+     * Activa o desactiva el índice de conteos de cadenas para contarApariciones(String).
+     * 
+     * Al activarlo, el índice se construye con una pasada sobre el arreglo de cadenas y después se mantiene actualizado con cada modificación. Conviene activarlo cuando se
+     * cuentan muchas cadenas diferentes sobre el mismo arreglo.
+     * @param activo True para activar el índice
      */
-    public int getCantidadCadenas( )
+    public void setIndiceCadenas( boolean activo )
     {
-        return arregloCadenas.length;
+        if (!activo) {
+            indiceCadenas = null;
+            return;
+        }
+        if (indiceCadenas != null) return;
+        indiceCadenas = new IndiceCadenas();
+        for (int i = 0; i < cantidadCadenas; i++) indiceCadenas.agregar(getCadena(i));
     }
 
     /**
-     * Agrega un nuevo valor al final del arreglo. Es decir que este método siempre debería aumentar en 1 la capacidad del arreglo.
-     * 
-     * @param entero El valor que se va a agregar.
+     * Indica si el arreglo de cadenas está codificado con un diccionario.
+     * @return True si el arreglo guarda códigos enteros en lugar de cadenas
      */
-    public void agregarEntero( int entero )
+    public boolean isDiccionarioCadenas( )
     {
-        int n = arregloEnteros.length;
-        int[] nuevo = new int[n + 1];
-        System.arraycopy(arregloEnteros, 0, nuevo, 0, n);
-        nuevo[n] = entero;
-        arregloEnteros = nuevo;
+        return diccionarioCadenas != null;
     }
 
     /**
-     * Agrega un nuevo valor al final del arreglo. Es decir que este método siempre debería aumentar en 1 la capacidad del arreglo.
+     * Activa o desactiva el modo codificado del arreglo de cadenas.
      * 
-     * @param cadena La cadena que se va a agregar.
+     * Al activarlo, cada cadena diferente recibe un código y el arreglo se reemplaza por un arreglo de códigos. Conviene activarlo cuando hay pocas cadenas diferentes
+     * repetidas muchas veces: las repeticiones quedan compartiendo la misma instancia. Con muchas cadenas diferentes, el diccionario ocupa más memoria que el arreglo.
+     * @param activo True para codificar el arreglo de cadenas
      */
-    public void agregarCadena( String cadena )
+    public void setDiccionarioCadenas( boolean activo )
     {
-        int n = arregloCadenas.length;
-        String[] nuevo = new String[n + 1];
-        System.arraycopy(arregloCadenas, 0, nuevo, 0, n);
-        nuevo[n] = cadena;
-        arregloCadenas = nuevo;
+        if (activo == (diccionarioCadenas != null)) return;
+        primeraInstantaneaCadenas = null;
+        ultimaInstantaneaCadenas = null;
+        if (activo) {
+            DiccionarioCadenas diccionario = new DiccionarioCadenas();
+            int[] codigos = new int[cantidadCadenas];
+            for (int i = 0; i < cantidadCadenas; i++) codigos[i] = diccionario.codificar(arregloCadenas[i]);
+            diccionarioCadenas = diccionario;
+            codigosCadenas = codigos;
+            arregloCadenas = new String[]{};
+        } else {
+            String[] cadenas = new String[cantidadCadenas];
+            for (int i = 0; i < cantidadCadenas; i++) cadenas[i] = diccionarioCadenas.decodificar(codigosCadenas[i]);
+            arregloCadenas = cadenas;
+            diccionarioCadenas = null;
+            codigosCadenas = null;
+        }
     }
 
     /**
-     * Elimina todas las apariciones de un determinado valor dentro del arreglo de enteros
-     * @param valor El valor que se va eliminar
+     * Indica si el arreglo de enteros está en modo paginado.
+     * @return True si los enteros se guardan en páginas con posiciones de tipo long
      */
-    public void eliminarEntero( int valor )
+    public boolean isAlmacenamientoPaginado( )
     {
-        int n = arregloEnteros.length;
-        int contarNoIguales = 0;
-        for (int i = 0; i < n; i++) {
-            if (arregloEnteros[i] != valor) contarNoIguales++;
-        }
-        int[] nuevo = new int[contarNoIguales];
-        int j = 0;
-        for (int i = 0; i < n; i++) {
-            if (arregloEnteros[i] != valor) nuevo[j++] = arregloEnteros[i];
-        }
-        arregloEnteros = nuevo;
+        return almacenPaginado != null;
     }
 
     /**
-     * Elimina todas las apariciones de un determinado valor dentro del arreglo de cadenas
-     * @param cadena La cadena que se va eliminar
+     * Activa o desactiva el modo paginado para el arreglo de enteros. Los enteros actuales se copian al nuevo almacenamiento.
+     * 
+     * No es necesario activarlo a mano para guardar más de Integer.MAX_VALUE enteros: se activa solo cuando el arreglo no cabe en un int[].
+     * @param activo True para guardar los enteros en páginas
+     * @throws OutOfMemoryError Si se desactiva el modo paginado y hay demasiados enteros para un int[]
      */
-    public void eliminarCadena( String cadena )
+    public void setAlmacenamientoPaginado( boolean activo )
     {
-        int n = arregloCadenas.length;
-        int contarNoIguales = 0;
-        for (int i = 0; i < n; i++) {
-            String s = arregloCadenas[i];
-            boolean iguales = (cadena == null ? s == null : cadena.equals(s));
-            if (!iguales) contarNoIguales++;
-        }
-        String[] nuevo = new String[contarNoIguales];
-        int j = 0;
-        for (int i = 0; i < n; i++) {
-            String s = arregloCadenas[i];
-            boolean iguales = (cadena == null ? s == null : cadena.equals(s));
-            if (!iguales) nuevo[j++] = s;
-        }
-        arregloCadenas = nuevo;
+        if (activo == (almacenPaginado != null)) return;
+        cambiarAlmacen(activo ? new AlmacenEnterosPaginado() : null);
     }
 
     /**
-     * Inserta un nuevo entero en el arreglo de enteros.
-     * 
-     * @param entero El nuevo valor que debe agregarse
-     * @param posicion La posición donde debe quedar el nuevo valor en el arreglo aumentado. Si la posición es menor a 0, se inserta el valor en la primera posición. Si la
-     *        posición es mayor que el tamaño del arreglo, se inserta el valor en la última posición.
+     * Indica si el arreglo de enteros está guardado fuera del heap.
+     * @return True si los enteros se guardan en páginas fuera del heap
      */
-    public void insertarEntero( int entero, int posicion )
+    public boolean isAlmacenamientoFueraDelHeap( )
     {
-        int n = arregloEnteros.length;
-        int pos = posicion;
-        if (pos < 0) pos = 0;
-        if (pos > n) pos = n;
-        int[] nuevo = new int[n + 1];
-        System.arraycopy(arregloEnteros, 0, nuevo, 0, pos);
-        nuevo[pos] = entero;
-        System.arraycopy(arregloEnteros, pos, nuevo, pos + 1, n - pos);
-        arregloEnteros = nuevo;
+        return almacenPaginado != null && almacenPaginado.isFueraDelHeap();
     }
 
     /**
-     * Elimina un valor del arreglo de enteros dada su posición.
-     * @param posicion La posición donde está el elemento que debe ser eliminado. Si el parámetro posicion no corresponde a ninguna posición del arreglo de enteros, el método
-     *        no debe hacer nada.
+     * Activa o desactiva el almacenamiento fuera del heap para el arreglo de enteros. Los enteros actuales se copian al nuevo almacenamiento.
+     * 
+     * Fuera del heap, los enteros se guardan en páginas de buffers directos que el recolector de basura no recorre ni copia, así que un arreglo muy grande no alarga sus
+     * pausas. Es una forma del modo paginado: mientras está activo, isAlmacenamientoPaginado() retorna true. Al desactivarlo, los enteros vuelven a un int[] si caben,
+     * o a páginas del heap si no.
+     * @param activo True para guardar los enteros fuera del heap
      */
-    public void eliminarEnteroPorPosicion( int posicion )
+    public void setAlmacenamientoFueraDelHeap( boolean activo )
     {
-        int n = arregloEnteros.length;
-        if (posicion < 0 || posicion >= n) return;
-        int[] nuevo = new int[n - 1];
-        System.arraycopy(arregloEnteros, 0, nuevo, 0, posicion);
-        if (posicion < n - 1) {
-            System.arraycopy(arregloEnteros, posicion + 1, nuevo, posicion, n - posicion - 1);
-        }
-        arregloEnteros = nuevo;
+        if (activo == isAlmacenamientoFueraDelHeap()) return;
+        if (activo) cambiarAlmacen(new AlmacenEnterosDirecto());
+        else cambiarAlmacen(almacenPaginado.getCantidad() > CAPACIDAD_MAXIMA ? new AlmacenEnterosPaginado() : null);
     }
 
     /**
-     * Reinicia el arreglo de enteros con los valores contenidos en el arreglo del parámetro 'valores' truncados.
-     * 
-     * Es decir que si el valor fuera 3.67, en el nuevo arreglo de enteros debería quedar el entero 3.
-     * @param valores Un arreglo de valores decimales.
+     * Indica si el modo comprimido está activo.
+     * @return True si el arreglo de enteros se comprime cada vez que queda ordenado
      */
-    public void reiniciarArregloEnteros( double[] valores )
+    public boolean isAlmacenamientoComprimido( )
     {
-        if (valores == null) { arregloEnteros = new int[]{}; return; }
-        int n = valores.length;
-        int[] nuevo = new int[n];
-        for (int i = 0; i < n; i++) {
-            nuevo[i] = (int) valores[i]; // truncado hacia 0
-        }
-        arregloEnteros = nuevo;
+        return modoComprimido;
     }
 
     /**
-     * Reinicia el arreglo de cadenas con las representaciones como Strings de los objetos contenidos en el arreglo del parámetro 'objetos'.
+     * Activa o desactiva el modo comprimido para el arreglo de enteros.
      * 
-     * Use el método toString para convertir los objetos a cadenas.
-     * @param valores Un arreglo de objetos
+     * Conviene para arreglos que se ordenan una vez y después sólo se consultan: con valores cercanos entre sí, cada entero ocupa unos pocos bits en lugar de 32. Al
+     * activarlo, el arreglo se comprime de inmediato si está ordenado; si no, se comprime la próxima vez que se ordene. Cualquier modificación lo descomprime. Al
+     * desactivarlo, el arreglo se descomprime.
+     * @param activo True para activar el modo comprimido
      */
-    public void reiniciarArregloCadenas( Object[] objetos )
+    public void setAlmacenamientoComprimido( boolean activo )
     {
-        if (objetos == null) { arregloCadenas = new String[]{}; return; }
-        int n = objetos.length;
-        String[] nuevo = new String[n];
-        for (int i = 0; i < n; i++) {
-            Object o = objetos[i];
-            nuevo[i] = (o == null) ? "null" : o.toString();
+        modoComprimido = activo;
+        if (!activo) {
+            descomprimirEnteros();
+            return;
         }
-        arregloCadenas = nuevo;
+        if (almacenPaginado == null && !enterosOrdenados) {
+            cerrarHueco();
+            enterosOrdenados = KernelsEnteros.ordenado(arregloEnteros, 0, cantidadEnteros);
+        }
+        comprimirEnteros();
     }
 
     /**
-     * Modifica el arreglo de enteros para que todos los valores sean positivos.
-     * 
-     * Es decir que si en una posición había un valor negativo, después de ejecutar el método debe quedar el mismo valor muliplicado por -1.
+     * Retorna la cantidad de bytes que ocupa en el heap el almacenamiento del arreglo de enteros, incluyendo la capacidad reservada que no se ha usado.
+     * @return La cantidad de bytes en el heap
      */
-    public void volverPositivos( )
+    public long getBytesEnterosEnHeap( )
     {
-        for (int i = 0; i < arregloEnteros.length; i++) {
-            if (arregloEnteros[i] < 0) arregloEnteros[i] = -arregloEnteros[i];
-        }
+        if (enterosComprimidos != null) return enterosComprimidos.getBytes();
+        if (almacenPaginado == null) return (long) arregloEnteros.length * Integer.BYTES;
+        return almacenPaginado.isFueraDelHeap() ? 0 : almacenPaginado.getBytesReservados();
     }
 
     /**
-     * Modifica el arreglo de enteros para que todos los valores queden organizados de menor a mayor.
+     * Retorna la cantidad de bytes que ocupa fuera del heap el almacenamiento del arreglo de enteros, incluyendo la capacidad reservada que no se ha usado.
+     * @return La cantidad de bytes en memoria nativa
      */
-    public void organizarEnteros( )
+    public long getBytesEnterosFueraDelHeap( )
     {
-        java.util.Arrays.sort(arregloEnteros);
+        return isAlmacenamientoFueraDelHeap() ? almacenPaginado.getBytesReservados() : 0;
     }
 
     /**
-     * Modifica el arreglo de cadenas para que todos los valores queden organizados lexicográficamente.
+     * Indica si el arreglo de enteros es de sólo lectura.
+     * @return True si el arreglo de enteros se cargó en modo de sólo lectura y no se ha cambiado de almacenamiento
      */
-    public void organizarCadenas( )
+    public boolean isSoloLectura( )
     {
-        java.util.Arrays.sort(arregloCadenas);
+        return almacenPaginado != null && almacenPaginado.isSoloLectura();
     }
 
     /**
-     * Cuenta cuántas veces aparece el valor recibido por parámetro en el arreglo de enteros
-     * @param valor El valor buscado
-     * @return La cantidad de veces que aparece el valor
+     * Guarda el arreglo de enteros en un archivo binario: un encabezado de 16 bytes (número mágico, versión y cantidad de enteros) seguido de los enteros en
+     * little-endian.
+     * 
+     * El archivo se escribe primero con otro nombre y al final reemplaza al anterior, así que se puede guardar sobre el mismo archivo del que se cargó el arreglo.
+     * @param ruta La ruta del archivo. Si ya existe, se reemplaza.
+     * @throws IOException Si no se puede escribir el archivo
      */
-    public int contarApariciones( int valor )
+    public void guardar( Path ruta ) throws IOException
     {
-        int c = 0;
-        for (int v : arregloEnteros) {
-            if (v == valor) c++;
+        if (almacenPaginado != null) {
+            ArchivoEnteros.guardar(ruta, almacenPaginado);
+            return;
         }
-        return c;
+        if (enterosComprimidos != null) {
+            ArchivoEnteros.guardar(ruta, enterosComprimidos);
+            return;
+        }
+        cerrarHueco();
+        ArchivoEnteros.guardar(ruta, arregloEnteros, cantidadEnteros);
     }
 
     /**
-     * Cuenta cuántas veces aparece la cadena recibida por parámetro en el arreglo de cadenas.
+     * Reemplaza el arreglo de enteros por el contenido de un archivo escrito con guardar.
      * 
-     * La búsqueda no debe diferenciar entre mayúsculas y minúsculas.
-     * @param cadena La cadena buscada
-     * @return La cantidad de veces que aparece la cadena
+     * El archivo se mapea en memoria y el arreglo queda fuera del heap: cargar no lee los enteros, así que toma casi lo mismo para cualquier tamaño de archivo. El
+     * arreglo se puede modificar, pero los cambios nunca llegan al archivo; para conservarlos hay que volver a guardar.
+     * @param ruta La ruta del archivo. Debe poderse abrir para lectura y escritura.
+     * @throws IOException Si no se puede leer el archivo o no tiene el formato esperado
      */
-    public int contarApariciones( String cadena )
+    public void cargar( Path ruta ) throws IOException
     {
-        int c = 0;
-        for (String s : arregloCadenas) {
-            if (cadena == null ? s == null : (s != null && s.equalsIgnoreCase(cadena))) c++;
-        }
-        return c;
-
+        cargar(ruta, false);
     }
 
     /**
-     * Busca en qué posiciones del arreglo de enteros se encuentra el valor que se recibe en el parámetro
-     * @param valor El valor que se debe buscar
-     * @return Un arreglo con los números de las posiciones del arreglo de enteros en las que se encuentra el valor buscado. Si el valor no se encuentra, el arreglo retornado
-     *         es de tamaño 0.
+     * Reemplaza el arreglo de enteros por el contenido de un archivo escrito con guardar.
+     * 
+     * Si es de sólo lectura, todas las consultas trabajan directamente sobre el archivo mapeado, sin copiarlo al heap, y los métodos que modificarían el arreglo de
+     * enteros lanzan UnsupportedOperationException. Cambiar el tipo de almacenamiento (por ejemplo con setAlmacenamientoPaginado(false)) copia los enteros y el arreglo
+     * deja de ser de sólo lectura.
+     * @param ruta La ruta del archivo
+     * @param soloLectura True para cargar el arreglo en modo de sólo lectura
+     * @throws IOException Si no se puede leer el archivo o no tiene el formato esperado
      */
-    public int[] buscarEntero( int valor )
+    public void cargar( Path ruta, boolean soloLectura ) throws IOException
     {
-        int n = arregloEnteros.length;
-        int cuenta = 0;
-        for (int i = 0; i < n; i++) {
-            if (arregloEnteros[i] == valor) cuenta++;
-        }
-        int[] pos = new int[cuenta];
-        int j = 0;
-        for (int i = 0; i < n; i++) {
-            if (arregloEnteros[i] == valor) pos[j++] = i;
-        }
-        return pos;
+        AlmacenEnteros almacen = ArchivoEnteros.cargar(ruta, soloLectura);
+        soltarEnteros();
+        almacenPaginado = almacen;
+        enterosComprimidos = null;
+        arregloEnteros = new int[]{};
+        cantidadEnteros = 0;
+        tamanoHueco = 0;
+        rangoValido = false;
+        enterosOrdenados = false;
+        indicePosiciones = null;
+        invalidarHuellas();
     }
 
     /**
-     * Calcula cuál es el rango de los enteros (el valor mínimo y el máximo).
-     * @return Un arreglo con dos posiciones: en la primera posición, debe estar el valor mínimo en el arreglo de enteros; en la segunda posición, debe estar el valor máximo
-     *         en el arreglo de enteros. Si el arreglo está vacío, debe retornar un arreglo vacío.
+     * Indica si el arreglo de enteros está en modo hueco.
+     * @return True si las ediciones por posición usan un hueco
      */
-    public int[] calcularRangoEnteros( )
+    public boolean isModoHueco( )
     {
-        int n = arregloEnteros.length;
-        if (n == 0) return new int[0];
-        int min = arregloEnteros[0];
-        int max = arregloEnteros[0];
-        for (int i = 1; i < n; i++) {
-            int v = arregloEnteros[i];
-            if (v < min) min = v;
-            if (v > max) max = v;
-        }
-        return new int[]{ min, max };
+        return modoHueco;
     }
 
     /**
-     * Calcula un histograma de los valores del arreglo de enteros y lo devuelve como un mapa donde las llaves son los valores del arreglo y los valores son la cantidad de
-     * veces que aparece cada uno en el arreglo de enteros.
-     * @return Un mapa con el histograma de valores.
+     * Activa o desactiva el modo hueco para las ediciones por posición (insertarEntero y eliminarEnteroPorPosicion).
+     * 
+     * Conviene activarlo cuando muchas inserciones y eliminaciones consecutivas ocurren cerca de la misma posición. Al desactivarlo, el hueco se cierra.
+     * @param activo True para activar el modo hueco
      */
-    public HashMap<Integer, Integer> calcularHistograma( )
+    public void setModoHueco( boolean activo )
     {
-        HashMap<Integer, Integer> mapa = new HashMap<Integer, Integer>();
-        for (int v : arregloEnteros) {
-            Integer c = mapa.get(v);
-            mapa.put(v, c == null ? 1 : c + 1);
-        }
-        return mapa;
+        if (!activo) cerrarHueco();
+        modoHueco = activo;
     }
 
     /**
-     * Cuenta cuántos valores dentro del arreglo de enteros están repetidos.
-     * @return La cantidad de enteos diferentes que aparecen más de una vez
+     * Retorna una copia del arreglo de enteros, es decir un nuevo arreglo del mismo tamaño que contiene copias de los valores del arreglo original
+     * @return Una copia del arreglo de enteros
      */
-    public int contarEnterosRepetidos( )
+    public int[] getCopiaEnteros( )
     {
-        HashMap<Integer, Integer> mapa = calcularHistograma();
-        int rep = 0;
-        for (Integer k : mapa.keySet()) {
-            Integer c = mapa.get(k);
-            if (c != null && c > 1) rep++;
+        if (almacenPaginado != null) {
+            long n = almacenPaginado.getCantidad();
+            if (n > CAPACIDAD_MAXIMA) throw new OutOfMemoryError("El arreglo no puede tener más de " + CAPACIDAD_MAXIMA + " posiciones");
+            int[] copia = new int[(int) n];
+            almacenPaginado.copiarA(copia);
+            return copia;
         }
-        return rep;
+        if (enterosComprimidos != null) {
+            int[] copia = new int[cantidadEnteros];
+            enterosComprimidos.copiarA(copia);
+            return copia;
+        }
+        cerrarHueco();
+        return java.util.Arrays.copyOf(arregloEnteros, cantidadEnteros);
     }
 
     /**
-     * Compara el arreglo de enteros con otro arreglo de enteros y verifica si son iguales, es decir que contienen los mismos elementos exactamente en el mismo orden.
-     * @param otroArreglo El arreglo de enteros con el que se debe comparar
-     * @return True si los arreglos son idénticos y false de lo contrario
+     * Retorna una copia del arreglo de cadenas, es decir un nuevo arreglo del mismo tamaño que contiene copias de los valores del arreglo original
+     * @return Una copia del arreglo de cadenas
      */
-    public boolean compararArregloEnteros( int[] otroArreglo )
+    public String[] getCopiaCadenas( )
     {
-        if (otroArreglo == null) return false;
-        if (arregloEnteros.length != otroArreglo.length) return false;
-        for (int i = 0; i < arregloEnteros.length; i++) {
-            if (arregloEnteros[i] != otroArreglo[i]) return false;
-        }
-        return true;
+        if (diccionarioCadenas == null) return java.util.Arrays.copyOf(arregloCadenas, cantidadCadenas);
+        String[] copia = new String[cantidadCadenas];
+        for (int i = 0; i < cantidadCadenas; i++) copia[i] = diccionarioCadenas.decodificar(codigosCadenas[i]);
+        return copia;
     }
 
     /**
-     * Compara el arreglo de enteros con otro arreglo de enteros y verifica que tengan los mismos elementos, aunque podría ser en otro orden.
-     * @param otroArreglo El arreglo de enteros con el que se debe comparar
-     * @return True si los elementos en los dos arreglos son los mismos
+     * Retorna una instantánea del arreglo de enteros: una vista inmutable que comparte el almacenamiento con el sandbox en lugar de copiarlo.
+     * 
+     * Si el sandbox cambia un entero que ya existía mientras la instantánea sigue viva, el sandbox se copia antes de cambiarlo. Si los enteros no han cambiado desde la
+     * última instantánea, se retorna la misma.
+     * @return Una instantánea del arreglo de enteros
      */
-    public boolean mismosEnteros( int[] otroArreglo )
+    public InstantaneaEnteros getInstantaneaEnteros( )
     {
-        if (otroArreglo == null) return false;
-        if (arregloEnteros.length != otroArreglo.length) return false;
-        HashMap<Integer, Integer> freq = new HashMap<Integer, Integer>();
-        for (int v : arregloEnteros) {
-            Integer c = freq.get(v);
-            freq.put(v, c == null ? 1 : c + 1);
-        }
-        for (int v : otroArreglo) {
-            Integer c = freq.get(v);
-            if (c == null || c == 0) return false;
-            freq.put(v, c - 1);
-        }
-        return true;
+        long n = getCantidadEnterosLarga();
+        InstantaneaEnteros ultima = ultimaInstantaneaEnteros == null ? null : ultimaInstantaneaEnteros.get();
+        if (ultima != null && ultima.comparte(arregloEnteros, almacenPaginado, enterosComprimidos) && ultima.getCantidadLarga() == n) return ultima;
+        if (almacenPaginado == null) cerrarHueco();
+        InstantaneaEnteros primera = primeraInstantaneaEnteros == null ? null : primeraInstantaneaEnteros.get();
+        if (primera != null && !primera.comparte(arregloEnteros, almacenPaginado, enterosComprimidos)) primera = null;
+        int[] rango = almacenPaginado == null && rangoValido && n > 0 ? new int[]{ minimoEnteros, maximoEnteros } : null;
+        int[] arreglo = almacenPaginado == null && enterosComprimidos == null ? arregloEnteros : null;
+        InstantaneaEnteros nueva = new InstantaneaEnteros(arreglo, almacenPaginado, enterosComprimidos, n, primera, rango);
+        if (primera == null) primeraInstantaneaEnteros = new WeakReference<InstantaneaEnteros>(nueva);
+        ultimaInstantaneaEnteros = new WeakReference<InstantaneaEnteros>(nueva);
+        return nueva;
     }
 
     /**
-     * Cambia los elementos del arreglo de enteros por una nueva serie de valores generada de forma aleatoria.
+     * Retorna una instantánea del arreglo de cadenas: una vista inmutable que comparte el arreglo con el sandbox en lugar de copiarlo.
+     * 
+     * Si el sandbox cambia una cadena que ya existía mientras la instantánea sigue viva, el sandbox se copia antes de cambiarla. Si las cadenas no han cambiado desde la
+     * última instantánea, se retorna la misma.
+     * @return Una instantánea del arreglo de cadenas
+     */
+    public InstantaneaCadenas getInstantaneaCadenas( )
+    {
+        InstantaneaCadenas ultima = ultimaInstantaneaCadenas == null ? null : ultimaInstantaneaCadenas.get();
+        if (ultima != null && ultima.comparte(arregloCadenas, codigosCadenas) && ultima.getCantidad() == cantidadCadenas) return ultima;
+        InstantaneaCadenas primera = primeraInstantaneaCadenas == null ? null : primeraInstantaneaCadenas.get();
+        if (primera != null && !primera.comparte(arregloCadenas, codigosCadenas)) primera = null;
+        String[] simbolos = diccionarioCadenas == null ? null : diccionarioCadenas.getSimbolos();
+        InstantaneaCadenas nueva = new InstantaneaCadenas(codigosCadenas == null ? arregloCadenas : null, codigosCadenas, simbolos, cantidadCadenas, primera);
+        if (primera == null) primeraInstantaneaCadenas = new WeakReference<InstantaneaCadenas>(nueva);
+        ultimaInstantaneaCadenas = new WeakReference<InstantaneaCadenas>(nueva);
+        return nueva;
+    }
+
+    /**
+     * Retorna la cantidad de valores en el arreglo de enteros
+     * @return
+     */
+    public int getCantidadEnteros( )
+    {
+        if (almacenPaginado != null) return Math.toIntExact(almacenPaginado.getCantidad());
+        return cantidadEnteros;
+    }
+
+    /**
+     * Retorna la cantidad de valores en el arreglo de enteros, aunque sean más de Integer.MAX_VALUE
+     * @return La cantidad de enteros
+     */
+    public long getCantidadEnterosLarga( )
+    {
+        if (almacenPaginado != null) return almacenPaginado.getCantidad();
+        return cantidadEnteros;
+    }
+
+    /**
+     * Retorna el entero que está en una posición del arreglo de enteros
+     * @param posicion La posición
+     * @return El entero en esa posición
+     * @throws IndexOutOfBoundsException Si la posición no corresponde a ninguna posición del arreglo de enteros
+     */
+    public int getEntero( long posicion )
+    {
+        if (posicion < 0 || posicion >= getCantidadEnterosLarga()) throw new IndexOutOfBoundsException("Posición: " + posicion + ", cantidad: " + getCantidadEnterosLarga());
+        if (almacenPaginado != null) return almacenPaginado.leer(posicion);
+        if (enterosComprimidos != null) return enterosComprimidos.leer((int) posicion);
+        return enteroEn((int) posicion);
+    }
+
+    /**
+     * Retorna la cantidad de valores en el arreglo de cadenas
+     * @return
+     */
+    public int getCantidadCadenas( )
+    {
+        return cantidadCadenas;
+    }
+
+    /**
+     * Agrega un nuevo valor al final del arreglo. Es decir que este método siempre debería aumentar en 1 la cantidad de enteros.
+     * 
+     * El arreglo sólo se copia cuando se agota la capacidad reservada, así que el costo amortizado es O(1).
+     * 
+     * @param entero El valor que se va a agregar.
+     */
+    public void agregarEntero( int entero )
+    {
+        verificarEscritura();
+        descomprimirEnteros();
+        if (almacenPaginado == null && cantidadEnteros + tamanoHueco >= CAPACIDAD_MAXIMA) setAlmacenamientoPaginado(true);
+        registrarHuellaAgregado(entero, true);
+        if (almacenPaginado != null) {
+            almacenPaginado.agregar(entero);
+            return;
+        }
+        enterosOrdenados = enterosOrdenados && (cantidadEnteros == 0 || enteroEn(cantidadEnteros - 1) <= entero);
+        registrarAgregado(entero);
+        asegurarCapacidadEnteros(cantidadEnteros + tamanoHueco + 1);
+        arregloEnteros[cantidadEnteros + tamanoHueco] = entero;
+        cantidadEnteros++;
+    }
+
+    /**
+     * Agrega un nuevo valor al final del arreglo. Es decir que este método siempre debería aumentar en 1 la cantidad de cadenas.
+     * 
+     * El arreglo sólo se copia cuando se agota la capacidad reservada, así que el costo amortizado es O(1).
+     * 
+     * @param cadena La cadena que se va a agregar.
+     */
+    public void agregarCadena( String cadena )
+    {
+        asegurarCapacidadCadenas(cantidadCadenas + 1);
+        if (diccionarioCadenas != null) codigosCadenas[cantidadCadenas++] = diccionarioCadenas.codificar(cadena);
+        else arregloCadenas[cantidadCadenas++] = cadena;
+        if (indiceCadenas != null) indiceCadenas.agregar(cadena);
+    }
+
+    /**
+     * Agrega todos los valores recibidos al final del arreglo de enteros, en el mismo orden.
+     * 
+     * La capacidad se reserva una sola vez y los valores se copian en una sola pasada.
+     * @param valores Los valores que se van a agregar. Si es null, el método no hace nada.
+     */
+    public void agregarEnteros( int[] valores )
+    {
+        verificarEscritura();
+        if (valores == null) return;
+        int n = valores.length;
+        if (n == 0) return;
+        descomprimirEnteros();
+        if (almacenPaginado == null && (long) cantidadEnteros + tamanoHueco + n > CAPACIDAD_MAXIMA) setAlmacenamientoPaginado(true);
+        registrarHuellaAgregados(valores, 0, n, true);
+        if (almacenPaginado != null) {
+            almacenPaginado.agregar(valores, 0, n);
+            return;
+        }
+        enterosOrdenados = enterosOrdenados && (cantidadEnteros == 0 || enteroEn(cantidadEnteros - 1) <= valores[0])
+                           && KernelsEnteros.ordenado(valores, 0, n);
+        registrarAgregados(valores, 0, n);
+        int fin = cantidadEnteros + tamanoHueco;
+        asegurarCapacidadEnteros(fin + n);
+        System.arraycopy(valores, 0, arregloEnteros, fin, n);
+        cantidadEnteros += n;
+    }
+
+    /**
+     * Agrega todos los valores del flujo al final del arreglo de enteros, en el orden del flujo.
+     * 
+     * Si el flujo conoce su tamaño, la capacidad se reserva una sola vez antes de consumirlo.
+     * @param valores El flujo de valores que se van a agregar. Si es null, el método no hace nada.
+     */
+    public void agregarEnteros( IntStream valores )
+    {
+        verificarEscritura();
+        if (valores == null) return;
+        descomprimirEnteros();
+        Spliterator.OfInt it = valores.spliterator();
+        long tamano = it.getExactSizeIfKnown();
+        if (tamano > 0 && almacenPaginado == null && cantidadEnteros + tamanoHueco + tamano > CAPACIDAD_MAXIMA) setAlmacenamientoPaginado(true);
+        if (tamano > 0 && almacenPaginado != null) almacenPaginado.asegurarCapacidad(almacenPaginado.getCantidad() + tamano);
+        else if (tamano > 0) asegurarCapacidadEnteros((int) (cantidadEnteros + tamanoHueco + tamano));
+        it.forEachRemaining((int v) -> agregarEntero(v));
+    }
+
+    /**
+     * Agrega todas las cadenas recibidas al final del arreglo de cadenas, en el mismo orden.
+     * 
+     * La capacidad se reserva una sola vez y las cadenas se copian en una sola pasada.
+     * @param cadenas Las cadenas que se van a agregar. Si es null, el método no hace nada.
+     */
+    public void agregarCadenas( String[] cadenas )
+    {
+        if (cadenas == null) return;
+        int n = cadenas.length;
+        asegurarCapacidadCadenas(cantidadCadenas + n);
+        if (diccionarioCadenas != null) {
+            for (int i = 0; i < n; i++) codigosCadenas[cantidadCadenas + i] = diccionarioCadenas.codificar(cadenas[i]);
+        } else {
+            System.arraycopy(cadenas, 0, arregloCadenas, cantidadCadenas, n);
+        }
+        cantidadCadenas += n;
+        if (indiceCadenas != null) {
+            for (String cadena : cadenas) indiceCadenas.agregar(cadena);
+        }
+    }
+
+    /**
+     * Elimina todas las apariciones de un determinado valor dentro del arreglo de enteros
+     * 
+     * Los valores que se conservan se compactan sobre el mismo arreglo en una sola pasada. El arreglo sólo se copia (si una instantánea lo comparte) o se descomprime
+     * cuando se encuentra la primera aparición: si el valor no está, no se copia nada.
+     * @param valor El valor que se va eliminar
+     * @throws UnsupportedOperationException Si el arreglo de enteros se cargó en modo de sólo lectura
+     */
+    public void eliminarEntero( int valor )
+    {
+        verificarEscritura();
+        if (almacenPaginado != null) {
+            if (isEnterosCompartidos() && !almacenPaginado.contieneSi(v -> v == valor)) return;
+            prepararModificacionEnteros();
+            registrarHuellaEliminado(valor, almacenPaginado.eliminarSi(v -> v == valor));
+            return;
+        }
+        if (enterosComprimidos != null && enterosComprimidos.contar(valor) == 0) return;
+        descomprimirEnteros();
+        cerrarHueco();
+        int n = cantidadEnteros;
+        int j = 0;
+        while (j < n && arregloEnteros[j] != valor) j++;
+        if (j == n) return;
+        prepararModificacionEnteros();
+        int[] enteros = arregloEnteros;
+        for (int i = j + 1; i < n; i++) {
+            int v = enteros[i];
+            if (v != valor) enteros[j++] = v;
+        }
+        cantidadEnteros = j;
+        registrarEliminado(valor);
+        registrarHuellaEliminado(valor, n - j);
+        indicePosiciones = null;
+    }
+
+    /**
+     * Elimina todas las apariciones de cualquiera de los valores recibidos dentro del arreglo de enteros, en una sola pasada. Como en eliminarEntero, el arreglo sólo
+     * se copia o se descomprime cuando se encuentra el primer valor que hay que eliminar.
+     * @param valores Los valores que se van a eliminar
+     * @throws UnsupportedOperationException Si el arreglo de enteros se cargó en modo de sólo lectura
+     */
+    public void eliminarEnteros( int... valores )
+    {
+        verificarEscritura();
+        if (valores == null || valores.length == 0) return;
+        if (valores.length == 1) { eliminarEntero(valores[0]); return; }
+        int[] ordenados = java.util.Arrays.copyOf(valores, valores.length);
+        java.util.Arrays.sort(ordenados);
+        if (almacenPaginado != null) {
+            if (isEnterosCompartidos() && !almacenPaginado.contieneSi(v -> java.util.Arrays.binarySearch(ordenados, v) >= 0)) return;
+            prepararModificacionEnteros();
+            if (almacenPaginado.eliminarSi(v -> java.util.Arrays.binarySearch(ordenados, v) >= 0) > 0) invalidarHuellas();
+            return;
+        }
+        if (enterosComprimidos != null) {
+            boolean alguno = false;
+            for (int i = 0; i < ordenados.length && !alguno; i++) alguno = enterosComprimidos.contar(ordenados[i]) > 0;
+            if (!alguno) return;
+        }
+        descomprimirEnteros();
+        cerrarHueco();
+        int n = cantidadEnteros;
+        int j = 0;
+        while (j < n && java.util.Arrays.binarySearch(ordenados, arregloEnteros[j]) < 0) j++;
+        if (j == n) return;
+        prepararModificacionEnteros();
+        int[] enteros = arregloEnteros;
+        long eliminados = 0;
+        for (int i = j; i < n; i++) {
+            int v = enteros[i];
+            if (java.util.Arrays.binarySearch(ordenados, v) < 0) enteros[j++] = v;
+            else eliminados += HuellaEnteros.mezclar(v);
+        }
+        cantidadEnteros = j;
+        indicePosiciones = null;
+        huellaMulticonjunto -= eliminados;
+        huellaSecuenciaValida = false;
+        if (rangoValido && (java.util.Arrays.binarySearch(ordenados, minimoEnteros) >= 0 || java.util.Arrays.binarySearch(ordenados, maximoEnteros) >= 0)) {
+            rangoValido = false;
+        }
+    }
+
+    /**
+     * Elimina todas las apariciones de un determinado valor dentro del arreglo de cadenas
+     * 
+     * Las cadenas que se conservan se compactan sobre el mismo arreglo en una sola pasada. En modo codificado, se busca el código de la cadena una vez y se comparan
+     * códigos; si la cadena no tiene código, no está en el arreglo. El arreglo sólo se copia, si una instantánea lo comparte, cuando se encuentra la primera
+     * aparición.
+     * @param cadena La cadena que se va eliminar
+     */
+    public void eliminarCadena( String cadena )
+    {
+        int n = cantidadCadenas;
+        int j = 0;
+        if (diccionarioCadenas != null) {
+            int codigo = diccionarioCadenas.buscar(cadena);
+            if (codigo < 0) return;
+            while (j < n && codigosCadenas[j] != codigo) j++;
+            if (j == n) return;
+            prepararModificacionCadenas();
+            int[] codigos = codigosCadenas;
+            for (int i = j + 1; i < n; i++) {
+                int c = codigos[i];
+                if (c != codigo) codigos[j++] = c;
+            }
+            if (indiceCadenas != null) indiceCadenas.quitar(cadena, n - j);
+            truncarCadenas(j);
+            return;
+        }
+        while (j < n && !(cadena == null ? arregloCadenas[j] == null : cadena.equals(arregloCadenas[j]))) j++;
+        if (j == n) return;
+        prepararModificacionCadenas();
+        String[] cadenas = arregloCadenas;
+        for (int i = j + 1; i < n; i++) {
+            String s = cadenas[i];
+            boolean iguales = (cadena == null ? s == null : cadena.equals(s));
+            if (!iguales) cadenas[j++] = s;
+        }
+        if (indiceCadenas != null) indiceCadenas.quitar(cadena, n - j);
+        truncarCadenas(j);
+    }
+
+    /**
+     * Elimina todas las apariciones de cualquiera de las cadenas recibidas dentro del arreglo de cadenas, en una sola pasada.
+     * @param cadenas Las cadenas que se van a eliminar. Puede contener null.
+     */
+    public void eliminarCadenas( Collection<String> cadenas )
+    {
+        if (cadenas == null || cadenas.isEmpty()) return;
+        HashSet<String> eliminar = new HashSet<String>(cadenas);
+        int n = cantidadCadenas;
+        int j = 0;
+        if (diccionarioCadenas != null) {
+            boolean[] marcados = new boolean[diccionarioCadenas.getCantidadSimbolos()];
+            boolean alguno = false;
+            for (String cadena : eliminar) {
+                int codigo = diccionarioCadenas.buscar(cadena);
+                if (codigo >= 0) marcados[codigo] = alguno = true;
+            }
+            if (!alguno) return;
+            while (j < n && !marcados[codigosCadenas[j]]) j++;
+            if (j == n) return;
+            prepararModificacionCadenas();
+            int[] codigos = codigosCadenas;
+            for (int i = j; i < n; i++) {
+                int c = codigos[i];
+                if (!marcados[c]) codigos[j++] = c;
+                else if (indiceCadenas != null) indiceCadenas.quitar(diccionarioCadenas.decodificar(c), 1);
+            }
+            truncarCadenas(j);
+            return;
+        }
+        while (j < n && !eliminar.contains(arregloCadenas[j])) j++;
+        if (j == n) return;
+        prepararModificacionCadenas();
+        String[] arreglo = arregloCadenas;
+        for (int i = j; i < n; i++) {
+            String s = arreglo[i];
+            if (!eliminar.contains(s)) arreglo[j++] = s;
+            else if (indiceCadenas != null) indiceCadenas.quitar(s, 1);
+        }
+        truncarCadenas(j);
+    }
+
+    /**
+     * Inserta un nuevo entero en el arreglo de enteros.
+     * 
+     * En modo hueco, el costo depende de la distancia a la última edición y no del tamaño del arreglo.
+     * 
+     * @param entero El nuevo valor que debe agregarse
+     * @param posicion La posición donde debe quedar el nuevo valor en el arreglo aumentado. Si la posición es menor a 0, se inserta el valor en la primera posición. Si la
+     *        posición es mayor que el tamaño del arreglo, se inserta el valor en la última posición.
+     */
+    public void insertarEntero( int entero, int posicion )
+    {
+        if (almacenPaginado != null || (long) cantidadEnteros + tamanoHueco >= CAPACIDAD_MAXIMA) {
+            insertarEntero(entero, (long) posicion);
+            return;
+        }
+        prepararModificacionEnteros();
+        int n = cantidadEnteros;
+        int pos = posicion;
+        if (pos < 0) pos = 0;
+        if (pos > n) pos = n;
+        enterosOrdenados = enterosOrdenados && (pos == 0 || enteroEn(pos - 1) <= entero) && (pos == n || entero <= enteroEn(pos));
+        registrarAgregado(entero);
+        registrarHuellaAgregado(entero, pos == n);
+        if (pos < n) indicePosiciones = null;
+        if (modoHueco) {
+            moverHueco(pos);
+            if (tamanoHueco == 0) abrirHueco();
+            arregloEnteros[inicioHueco++] = entero;
+            tamanoHueco--;
+            cantidadEnteros = n + 1;
+            return;
+        }
+        asegurarCapacidadEnteros(n + 1);
+        System.arraycopy(arregloEnteros, pos, arregloEnteros, pos + 1, n - pos);
+        arregloEnteros[pos] = entero;
+        cantidadEnteros = n + 1;
+    }
+
+    /**
+     * Inserta un nuevo entero en el arreglo de enteros, en una posición que puede ser mayor que Integer.MAX_VALUE.
+     * 
+     * Si el arreglo de enteros no está en modo paginado y todavía cabe en un int[], es igual a insertarEntero(int, int).
+     * @param entero El nuevo valor que debe agregarse
+     * @param posicion La posición donde debe quedar el nuevo valor en el arreglo aumentado. Si la posición es menor a 0, se inserta el valor en la primera posición. Si la
+     *        posición es mayor que el tamaño del arreglo, se inserta el valor en la última posición.
+     */
+    public void insertarEntero( int entero, long posicion )
+    {
+        prepararModificacionEnteros();
+        if (almacenPaginado == null && (long) cantidadEnteros + tamanoHueco < CAPACIDAD_MAXIMA) {
+            insertarEntero(entero, (int) Math.max(-1, Math.min(posicion, Integer.MAX_VALUE)));
+            return;
+        }
+        setAlmacenamientoPaginado(true);
+        long pos = Math.max(0, Math.min(posicion, almacenPaginado.getCantidad()));
+        registrarHuellaAgregado(entero, pos == almacenPaginado.getCantidad());
+        almacenPaginado.insertar(pos, new int[]{ entero }, 0, 1);
+    }
+
+    /**
+     * Inserta varios enteros en el arreglo de enteros, conservando su orden.
+     * 
+     * Los valores existentes desde la posición se desplazan una sola vez, sin importar cuántos valores se inserten.
+     * @param valores Los valores que deben insertarse. Si es null, el método no hace nada.
+     * @param posicion La posición donde debe quedar el primero de los nuevos valores. Si la posición es menor a 0, se insertan al principio. Si la posición es mayor que
+     *        el tamaño del arreglo, se insertan al final.
+     */
+    public void insertarEnteros( int[] valores, int posicion )
+    {
+        prepararModificacionEnteros();
+        if (valores == null || valores.length == 0) return;
+        if (almacenPaginado == null && (long) cantidadEnteros + tamanoHueco + valores.length > CAPACIDAD_MAXIMA) setAlmacenamientoPaginado(true);
+        if (almacenPaginado != null) {
+            long pos = Math.max(0, Math.min(posicion, almacenPaginado.getCantidad()));
+            registrarHuellaAgregados(valores, 0, valores.length, pos == almacenPaginado.getCantidad());
+            almacenPaginado.insertar(pos, valores, 0, valores.length);
+            return;
+        }
+        cerrarHueco();
+        int n = cantidadEnteros;
+        int k = valores.length;
+        enterosOrdenados = false;
+        registrarAgregados(valores, 0, k);
+        int pos = posicion;
+        if (pos < 0) pos = 0;
+        if (pos > n) pos = n;
+        if (pos < n) indicePosiciones = null;
+        registrarHuellaAgregados(valores, 0, k, pos == n);
+        asegurarCapacidadEnteros(n + k);
+        System.arraycopy(arregloEnteros, pos, arregloEnteros, pos + k, n - pos);
+        System.arraycopy(valores, 0, arregloEnteros, pos, k);
+        cantidadEnteros = n + k;
+    }
+
+    /**
+     * Elimina un valor del arreglo de enteros dada su posición.
+     * 
+     * En modo hueco, el valor eliminado pasa a hacer parte del hueco y sólo se mueven los valores entre la posición y la última edición.
+     * @param posicion La posición donde está el elemento que debe ser eliminado. Si el parámetro posicion no corresponde a ninguna posición del arreglo de enteros, el método
+     *        no debe hacer nada.
+     */
+    public void eliminarEnteroPorPosicion( int posicion )
+    {
+        if (almacenPaginado != null) {
+            eliminarEnteroPorPosicion((long) posicion);
+            return;
+        }
+        int n = cantidadEnteros;
+        if (posicion < 0 || posicion >= n) return;
+        prepararModificacionEnteros();
+        int valor = enteroEn(posicion);
+        registrarEliminado(valor);
+        registrarHuellaEliminado(valor, 1);
+        indicePosiciones = null;
+        if (modoHueco) {
+            moverHueco(posicion);
+            tamanoHueco++;
+            cantidadEnteros = n - 1;
+            return;
+        }
+        System.arraycopy(arregloEnteros, posicion + 1, arregloEnteros, posicion, n - posicion - 1);
+        cantidadEnteros = n - 1;
+    }
+
+    /**
+     * Elimina un valor del arreglo de enteros dada su posición, que puede ser mayor que Integer.MAX_VALUE.
+     * @param posicion La posición donde está el elemento que debe ser eliminado. Si el parámetro posicion no corresponde a ninguna posición del arreglo de enteros, el método
+     *        no debe hacer nada.
+     */
+    public void eliminarEnteroPorPosicion( long posicion )
+    {
+        prepararModificacionEnteros();
+        if (almacenPaginado == null) {
+            if (posicion >= 0 && posicion < cantidadEnteros) eliminarEnteroPorPosicion((int) posicion);
+            return;
+        }
+        if (posicion < 0 || posicion >= almacenPaginado.getCantidad()) return;
+        int[] valor = new int[1];
+        almacenPaginado.leer(posicion, valor, 0, 1);
+        registrarHuellaEliminado(valor[0], 1);
+        almacenPaginado.eliminarPosicion(posicion);
+    }
+
+    /**
+     * Reinicia el arreglo de enteros con los valores contenidos en el arreglo del parámetro 'valores' truncados.
+     * 
+     * Es decir que si el valor fuera 3.67, en el nuevo arreglo de enteros debería quedar el entero 3.
+     * @param valores Un arreglo de valores decimales.
+     */
+    public void reiniciarArregloEnteros( double[] valores )
+    {
+        if (valores == null) { reemplazarEnteros(new int[]{}); return; }
+        int n = valores.length;
+        int[] nuevo = new int[n];
+        TruncamientoDecimales.truncar(DoubleBuffer.wrap(valores), 0, nuevo, 0, n); // truncado hacia 0
+        reemplazarEnteros(nuevo);
+    }
+
+    /**
+     * Reinicia el arreglo de enteros con los valores de un flujo de decimales truncados, sin guardar antes los decimales en un arreglo.
+     * 
+     * Si el flujo conoce su tamaño, los valores se truncan directamente en el nuevo arreglo de enteros, en paralelo si el flujo se puede dividir.
+     * @param valores El flujo de valores decimales. Si es null, el arreglo de enteros queda vacío.
+     */
+    public void reiniciarArregloEnteros( DoubleStream valores )
+    {
+        reiniciarArregloEnteros(valores == null ? null : valores.spliterator());
+    }
+
+    /**
+     * Reinicia el arreglo de enteros con los valores de un spliterator de decimales truncados, sin guardar antes los decimales en un arreglo.
+     * 
+     * Si el spliterator conoce su tamaño, se reserva una sola vez el nuevo arreglo de enteros y los valores se truncan directamente en él; si además conoce el tamaño
+     * de las partes en las que se divide (SUBSIZED), las partes se truncan en paralelo. Si no conoce su tamaño, los valores se truncan por bloques que se agregan al
+     * final, y si no caben en un int[] el arreglo de enteros pasa a modo paginado.
+     * @param valores El spliterator de valores decimales. Si es null, el arreglo de enteros queda vacío.
+     */
+    public void reiniciarArregloEnteros( Spliterator.OfDouble valores )
+    {
+        verificarEscritura();
+        if (valores == null) { reemplazarEnteros(new int[]{}); return; }
+        long n = valores.getExactSizeIfKnown();
+        if (n >= 0 && n <= CAPACIDAD_MAXIMA) {
+            int[] nuevo = new int[(int) n];
+            TruncamientoDecimales.truncar(valores, nuevo, 0);
+            reemplazarEnteros(nuevo);
+            return;
+        }
+        reemplazarEnteros(new int[]{});
+        int[] bloque = new int[BLOQUE_TRUNCAMIENTO];
+        int[] llenos = { 0 };
+        valores.forEachRemaining((double v) -> {
+            bloque[llenos[0]++] = (int) v;
+            if (llenos[0] == bloque.length) {
+                agregarEnteros(bloque);
+                llenos[0] = 0;
+            }
+        });
+        if (llenos[0] > 0) agregarEnteros(java.util.Arrays.copyOf(bloque, llenos[0]));
+    }
+
+    /**
+     * Reinicia el arreglo de enteros con los valores truncados de un buffer de decimales, desde su posición hasta su límite. No cambia la posición del buffer.
+     * 
+     * El buffer puede ser un archivo mapeado en memoria: los valores se leen y se truncan directamente en el nuevo arreglo de enteros, en paralelo si son muchos.
+     * @param valores El buffer de valores decimales. Si es null, el arreglo de enteros queda vacío.
+     */
+    public void reiniciarArregloEnteros( DoubleBuffer valores )
+    {
+        verificarEscritura();
+        if (valores == null) { reemplazarEnteros(new int[]{}); return; }
+        reiniciarTruncando(new DoubleBuffer[]{ valores });
+    }
+
+    /**
+     * Reinicia el arreglo de enteros con los valores truncados de un archivo de decimales: 8 bytes por valor, sin encabezado.
+     * 
+     * El archivo se mapea en memoria y los valores se truncan directamente en el nuevo arreglo de enteros, así que los decimales nunca se copian a un arreglo. Si son
+     * más de los que caben en un int[], el arreglo de enteros pasa a modo paginado.
+     * @param ruta La ruta del archivo
+     * @param orden El orden de los bytes de cada decimal. Los archivos escritos con DataOutputStream.writeDouble son ByteOrder.BIG_ENDIAN.
+     * @throws IOException Si no se puede leer el archivo o su tamaño no es múltiplo de 8
+     */
+    public void reiniciarArregloEnteros( Path ruta, ByteOrder orden ) throws IOException
+    {
+        verificarEscritura();
+        reiniciarTruncando(TruncamientoDecimales.mapear(ruta, orden));
+    }
+
+    /**
+     * Reinicia el arreglo de cadenas con las representaciones como Strings de los objetos contenidos en el arreglo del parámetro 'objetos'.
+     * 
+     * Use el método toString para convertir los objetos a cadenas.
+     * 
+     * En modo codificado, el arreglo sigue codificado con un diccionario nuevo, y las cadenas iguales que producen los toString quedan compartiendo una sola instancia.
+     * @param valores Un arreglo de objetos
+     */
+    public void reiniciarArregloCadenas( Object[] objetos )
+    {
+        reiniciarArregloCadenas(objetos, false);
+    }
+
+    /**
+     * Reinicia el arreglo de cadenas con las representaciones como Strings de los objetos contenidos en el arreglo del parámetro 'objetos', llamando toString en
+     * paralelo si se pide.
+     * 
+     * En paralelo, los objetos se dividen en partes sobre el pool común de fork/join, y cada parte escribe sus cadenas directamente en su rango del nuevo arreglo. El
+     * orden en que se llama toString sobre los objetos no está definido. En modo codificado, las cadenas se codifican después, en orden.
+     * @param objetos Un arreglo de objetos
+     * @param paralelo True para convertir los objetos en paralelo
+     */
+    public void reiniciarArregloCadenas( Object[] objetos, boolean paralelo )
+    {
+        primeraInstantaneaCadenas = null;
+        ultimaInstantaneaCadenas = null;
+        if (indiceCadenas != null) indiceCadenas.limpiar();
+        if (diccionarioCadenas != null) {
+            diccionarioCadenas = new DiccionarioCadenas();
+            codigosCadenas = new int[]{};
+            cantidadCadenas = 0;
+            if (objetos == null) return;
+            String[] cadenas = paralelo ? ConversionCadenas.convertir(objetos, true) : null;
+            int n = objetos.length;
+            int[] codigos = new int[n];
+            for (int i = 0; i < n; i++) {
+                String cadena = cadenas != null ? cadenas[i] : ConversionCadenas.convertir(objetos[i]);
+                codigos[i] = diccionarioCadenas.codificar(cadena);
+                if (indiceCadenas != null) indiceCadenas.agregar(cadena);
+            }
+            codigosCadenas = codigos;
+            cantidadCadenas = n;
+            return;
+        }
+        if (objetos == null) { arregloCadenas = new String[]{}; cantidadCadenas = 0; return; }
+        String[] nuevo = ConversionCadenas.convertir(objetos, paralelo);
+        arregloCadenas = nuevo;
+        cantidadCadenas = nuevo.length;
+        if (indiceCadenas != null) {
+            for (String cadena : nuevo) indiceCadenas.agregar(cadena);
+        }
+    }
+
+    /**
+     * Modifica el arreglo de enteros para que todos los valores sean positivos.
+     * 
+     * Es decir que si en una posición había un valor negativo, después de ejecutar el método debe quedar el mismo valor muliplicado por -1.
+     */
+    public void volverPositivos( )
+    {
+        // Si ya se sabe que no hay negativos no se cambia nada, así que tampoco hay que copiar el almacenamiento que comparta una instantánea
+        if (almacenPaginado == null && rangoValido && minimoEnteros >= 0) return;
+        prepararModificacionEnteros();
+        if (almacenPaginado != null) {
+            almacenPaginado.volverPositivos();
+            invalidarHuellas();
+            return;
+        }
+        cerrarHueco();
+        KernelsEnteros.volverPositivos(arregloEnteros, 0, cantidadEnteros);
+        rangoValido = false;
+        enterosOrdenados = false;
+        indicePosiciones = null;
+        invalidarHuellas();
+    }
+
+    /**
+     * Modifica el arreglo de enteros para que todos los valores queden organizados de menor a mayor.
+     * 
+     * Usa EstrategiaOrdenamiento.AUTOMATICA: ordenamiento por conteo si el rango de los valores es pequeño, y si no, una estrategia según el tamaño del arreglo y la
+     * cantidad de procesadores.
+     */
+    public void organizarEnteros( )
+    {
+        organizarEnteros(EstrategiaOrdenamiento.AUTOMATICA);
+    }
+
+    /**
+     * Modifica el arreglo de enteros para que todos los valores queden organizados de menor a mayor, usando la estrategia indicada.
+     * 
+     * Si se sabe que el arreglo ya está ordenado, el método no hace nada.
+     * @param estrategia La estrategia de ordenamiento. Si es null, se usa EstrategiaOrdenamiento.AUTOMATICA.
+     */
+    public void organizarEnteros( EstrategiaOrdenamiento estrategia )
+    {
+        verificarEscritura();
+        if (estrategia == null) estrategia = EstrategiaOrdenamiento.AUTOMATICA;
+        if (almacenPaginado != null) {
+            prepararModificacionEnteros();
+            almacenPaginado = almacenPaginado.ordenar(estrategia);
+            huellaSecuenciaValida = false;
+            return;
+        }
+        if (enterosOrdenados) {
+            comprimirEnteros();
+            return;
+        }
+        prepararModificacionEnteros();
+        cerrarHueco();
+        estrategia.ordenar(arregloEnteros, 0, cantidadEnteros);
+        enterosOrdenados = true;
+        indicePosiciones = null;
+        huellaSecuenciaValida = false;
+        if (cantidadEnteros > 0) {
+            minimoEnteros = arregloEnteros[0];
+            maximoEnteros = arregloEnteros[cantidadEnteros - 1];
+            rangoValido = true;
+        }
+        comprimirEnteros();
+    }
+
+    /**
+     * Crea un plan vacío para registrar operaciones sobre el arreglo de enteros que se ejecutan juntas, en menos pasadas, cuando se pide un resultado.
+     * @return Un plan nuevo sobre este sandbox
+     */
+    public PlanEnteros crearPlanEnteros( )
+    {
+        return new PlanEnteros(this);
+    }
+
+    /**
+     * Elimina unos valores, vuelve positivos los que quedan y elimina otros, recorriendo el arreglo de enteros una sola vez. El resultado es el mismo que llamar
+     * eliminarEnteros(eliminarAntes), volverPositivos() si positivos es true, y eliminarEnteros(eliminarDespues).
+     * 
+     * Los valores que se conservan se compactan sobre el mismo arreglo.
+     * @param eliminarAntes Los valores que se eliminan antes de volverlos positivos, ordenados y sin repetidos
+     * @param positivos True si los valores se vuelven positivos
+     * @param eliminarDespues Los valores que se eliminan después de volverlos positivos, ordenados y sin repetidos
+     */
+    void aplicarPasada( int[] eliminarAntes, boolean positivos, int[] eliminarDespues )
+    {
+        if (!positivos || almacenPaginado != null || eliminarAntes.length + eliminarDespues.length == 0) {
+            eliminarEnteros(eliminarAntes);
+            if (positivos) volverPositivos();
+            eliminarEnteros(eliminarDespues);
+            return;
+        }
+        prepararModificacionEnteros();
+        cerrarHueco();
+        int[] arreglo = arregloEnteros;
+        int n = cantidadEnteros;
+        int j = 0;
+        int negativos = 0;
+        // Cada máscara tiene prendido el bit de los 6 bits más bajos de cada valor eliminado: sólo los valores que caen en un bit prendido se buscan
+        long mascaraAntes = mascara(eliminarAntes);
+        long mascaraDespues = mascara(eliminarDespues);
+        for (int i = 0; i < n; i++) {
+            int v = arreglo[i];
+            int positivo = Math.abs(v);
+            negativos |= v;
+            if ((mascaraAntes >>> v & 1) != 0 && java.util.Arrays.binarySearch(eliminarAntes, v) >= 0) continue;
+            if ((mascaraDespues >>> positivo & 1) != 0 && java.util.Arrays.binarySearch(eliminarDespues, positivo) >= 0) continue;
+            arreglo[j++] = positivo;
+        }
+        boolean cambio = negativos < 0;
+        cantidadEnteros = j;
+        if (cambio) enterosOrdenados = false;
+        if (cambio || j < n) {
+            rangoValido = false;
+            indicePosiciones = null;
+            invalidarHuellas();
+        }
+    }
+
+    /**
+     * Calcula una máscara que descarta rápido los valores que no están en un grupo: tiene prendido el bit correspondiente a los 6 bits más bajos de cada valor del
+     * grupo.
+     * @param valores Los valores del grupo
+     * @return La máscara. Si el grupo está vacío, es 0.
+     */
+    private static long mascara( int[] valores )
+    {
+        long mascara = 0;
+        for (int valor : valores) mascara |= 1L << valor;
+        return mascara;
+    }
+
+    /**
+     * Modifica el arreglo de cadenas para que todos los valores queden organizados lexicográficamente.
+     * 
+     * Usa EstrategiaOrdenamientoCadenas.AUTOMATICA, que salta los prefijos comunes en lugar de volver a compararlos en cada comparación.
+     */
+    public void organizarCadenas( )
+    {
+        organizarCadenas(EstrategiaOrdenamientoCadenas.AUTOMATICA);
+    }
+
+    /**
+     * Modifica el arreglo de cadenas para que todos los valores queden organizados lexicográficamente, usando la estrategia indicada.
+     * 
+     * En modo codificado, la estrategia sólo ordena las cadenas diferentes; el arreglo de códigos se reescribe después con un ordenamiento por conteo.
+     * @param estrategia La estrategia de ordenamiento. Si es null, se usa EstrategiaOrdenamientoCadenas.AUTOMATICA.
+     */
+    public void organizarCadenas( EstrategiaOrdenamientoCadenas estrategia )
+    {
+        if (estrategia == null) estrategia = EstrategiaOrdenamientoCadenas.AUTOMATICA;
+        prepararModificacionCadenas();
+        if (diccionarioCadenas != null) diccionarioCadenas.ordenar(codigosCadenas, cantidadCadenas, estrategia);
+        else estrategia.ordenar(arregloCadenas, 0, cantidadCadenas);
+    }
+
+    /**
+     * Cuenta cuántas veces aparece el valor recibido por parámetro en el arreglo de enteros
+     * @param valor El valor buscado
+     * @return La cantidad de veces que aparece el valor
+     */
+    public int contarApariciones( int valor )
+    {
+        if (almacenPaginado != null) return Math.toIntExact(almacenPaginado.contar(valor));
+        if (enterosComprimidos != null) return enterosComprimidos.contar(valor);
+        cerrarHueco();
+        return KernelsEnteros.contar(arregloEnteros, 0, cantidadEnteros, valor);
+    }
+
+    /**
+     * Cuenta cuántas veces aparece el valor recibido por parámetro en el arreglo de enteros, aunque sean más de Integer.MAX_VALUE
+     * @param valor El valor buscado
+     * @return La cantidad de veces que aparece el valor
+     */
+    public long contarAparicionesLargo( int valor )
+    {
+        if (almacenPaginado != null) return almacenPaginado.contar(valor);
+        return contarApariciones(valor);
+    }
+
+    /**
+     * Cuenta cuántas veces aparece la cadena recibida por parámetro en el arreglo de cadenas.
+     * 
+     * La búsqueda no debe diferenciar entre mayúsculas y minúsculas.
+     * 
+     * Si el índice de cadenas está activo, el conteo se consulta en el índice sin recorrer el arreglo. En modo codificado, primero se marcan los códigos de las cadenas
+     * que son iguales sin diferenciar mayúsculas y después se recorren los códigos.
+     * @param cadena La cadena buscada
+     * @return La cantidad de veces que aparece la cadena
+     */
+    public int contarApariciones( String cadena )
+    {
+        if (indiceCadenas != null) return indiceCadenas.contar(cadena);
+        int c = 0;
+        if (diccionarioCadenas != null) {
+            boolean[] marcados = diccionarioCadenas.marcarIgnorandoMayusculas(cadena);
+            int codigo = -1;
+            int cantidadMarcados = 0;
+            for (int k = 0; k < marcados.length; k++) {
+                if (marcados[k]) { codigo = k; cantidadMarcados++; }
+            }
+            if (cantidadMarcados == 0) return 0;
+            if (cantidadMarcados == 1) return KernelsEnteros.contar(codigosCadenas, 0, cantidadCadenas, codigo);
+            for (int i = 0; i < cantidadCadenas; i++) {
+                if (marcados[codigosCadenas[i]]) c++;
+            }
+            return c;
+        }
+        for (int i = 0; i < cantidadCadenas; i++) {
+            String s = arregloCadenas[i];
+            if (cadena == null ? s == null : (s != null && s.equalsIgnoreCase(cadena))) c++;
+        }
+        return c;
+
+    }
+
+    /**
+     * Busca en qué posiciones del arreglo de enteros se encuentra el valor que se recibe en el parámetro
+     * 
+     * Si se sabe que el arreglo está ordenado, las posiciones se encuentran con búsqueda binaria. Si no, y el índice de posiciones está activo, se usa el índice.
+     * @param valor El valor que se debe buscar
+     * @return Un arreglo con los números de las posiciones del arreglo de enteros en las que se encuentra el valor buscado. Si el valor no se encuentra, el arreglo retornado
+     *         es de tamaño 0.
+     */
+    public int[] buscarEntero( int valor )
+    {
+        if (almacenPaginado != null) {
+            long[] largas = almacenPaginado.buscar(valor);
+            int[] posiciones = new int[largas.length];
+            for (int i = 0; i < largas.length; i++) posiciones[i] = Math.toIntExact(largas[i]);
+            return posiciones;
+        }
+        if (enterosComprimidos != null) return enterosComprimidos.buscar(valor);
+        cerrarHueco();
+        if (enterosOrdenados) {
+            int desde = primeraPosicionMayorOIgual(valor);
+            int hasta = (valor == Integer.MAX_VALUE) ? cantidadEnteros : primeraPosicionMayorOIgual(valor + 1);
+            int[] posiciones = new int[hasta - desde];
+            for (int i = desde; i < hasta; i++) posiciones[i - desde] = i;
+            return posiciones;
+        }
+        if (!indiceActivo) return KernelsEnteros.buscar(arregloEnteros, 0, cantidadEnteros, valor);
+        if (indicePosiciones == null || cantidadEnteros - indicePosiciones.getCantidadIndexada() > Math.max(INDICE_PENDIENTES_MINIMO, indicePosiciones.getCantidadIndexada() >> 3)) {
+            indicePosiciones = new IndicePosiciones(arregloEnteros, cantidadEnteros);
+        }
+        int indexadas = indicePosiciones.getCantidadIndexada();
+        int[] enIndice = indicePosiciones.buscar(valor);
+        if (indexadas == cantidadEnteros) return enIndice;
+        int[] enFinal = KernelsEnteros.buscar(arregloEnteros, indexadas, cantidadEnteros, valor);
+        int[] posiciones = java.util.Arrays.copyOf(enIndice, enIndice.length + enFinal.length);
+        System.arraycopy(enFinal, 0, posiciones, enIndice.length, enFinal.length);
+        return posiciones;
+    }
+
+    /**
+     * Busca en qué posiciones del arreglo de enteros se encuentra el valor que se recibe en el parámetro, aunque las posiciones sean mayores que Integer.MAX_VALUE.
+     * @param valor El valor que se debe buscar
+     * @return Un arreglo con las posiciones en las que se encuentra el valor buscado, de menor a mayor. Si el valor no se encuentra, el arreglo retornado es de tamaño 0.
+     */
+    public long[] buscarEnteroLargo( int valor )
+    {
+        if (almacenPaginado != null) return almacenPaginado.buscar(valor);
+        int[] posiciones = buscarEntero(valor);
+        long[] largas = new long[posiciones.length];
+        for (int i = 0; i < posiciones.length; i++) largas[i] = posiciones[i];
+        return largas;
+    }
+
+    /**
+     * Calcula cuál es el rango de los enteros (el valor mínimo y el máximo).
+     * 
+     * Si el rango no ha cambiado desde la última vez que se calculó, se retorna sin recorrer el arreglo.
+     * @return Un arreglo con dos posiciones: en la primera posición, debe estar el valor mínimo en el arreglo de enteros; en la segunda posición, debe estar el valor máximo
+     *         en el arreglo de enteros. Si el arreglo está vacío, debe retornar un arreglo vacío.
+     */
+    public int[] calcularRangoEnteros( )
+    {
+        if (almacenPaginado != null) return almacenPaginado.getCantidad() == 0 ? new int[0] : almacenPaginado.rango();
+        if (cantidadEnteros == 0) return new int[0];
+        if (enterosComprimidos != null) return enterosComprimidos.rango();
+        if (!rangoValido) {
+            cerrarHueco();
+            int[] rango = KernelsEnteros.rango(arregloEnteros, 0, cantidadEnteros);
+            minimoEnteros = rango[0];
+            maximoEnteros = rango[1];
+            rangoValido = true;
+        }
+        return new int[]{ minimoEnteros, maximoEnteros };
+    }
+
+    /**
+     * Busca el valor que quedaría en una posición si se organizara el arreglo de enteros, sin organizarlo.
+     * 
+     * Los enteros se copian y la copia se reordena parcialmente con introselect, en tiempo esperado O(n). Si se sabe que el arreglo está ordenado, o se pide el menor
+     * o el mayor, no se copia nada.
+     * @param k La posición en el arreglo ordenado: 0 para el menor, getCantidadEnteros() - 1 para el mayor
+     * @return El k-ésimo menor valor del arreglo de enteros
+     * @throws IndexOutOfBoundsException Si k no corresponde a ninguna posición del arreglo de enteros
+     */
+    public int kEsimoMenor( long k )
+    {
+        long n = getCantidadEnterosLarga();
+        if (k < 0 || k >= n) throw new IndexOutOfBoundsException("Posición: " + k + ", cantidad: " + n);
+        if (k == 0) return calcularRangoEnteros()[0];
+        if (k == n - 1) return calcularRangoEnteros()[1];
+        return seleccionarEnteros(new int[]{ (int) k })[0];
+    }
+
+    /**
+     * Calcula la mediana del arreglo de enteros sin organizarlo. Si la cantidad de enteros es par, es el promedio de los dos valores del medio, que se buscan con
+     * una sola selección.
+     * @return La mediana
+     * @throws java.util.NoSuchElementException Si el arreglo de enteros está vacío
+     */
+    public double mediana( )
+    {
+        long n = getCantidadEnterosLarga();
+        if (n == 0) throw new java.util.NoSuchElementException("El arreglo de enteros está vacío");
+        if (n % 2 == 1) return kEsimoMenor(n / 2);
+        int[] medio = seleccionarEnteros(new int[]{ (int) (n / 2 - 1), (int) (n / 2) });
+        return ((long) medio[0] + medio[1]) / 2.0;
+    }
+
+    /**
+     * Calcula varios percentiles del arreglo de enteros sin organizarlo, con una sola copia y compartiendo las particiones entre todos los percentiles.
+     * 
+     * Se usa el método del rango más cercano: el percentil p es el valor que quedaría en la posición techo(p * n / 100) - 1 del arreglo ordenado (o en la posición 0
+     * si p es 0), así que siempre es uno de los valores del arreglo.
+     * @param percentiles Los percentiles, entre 0 y 100, en cualquier orden
+     * @return Un arreglo con el valor de cada percentil, en el mismo orden en que se pidieron
+     * @throws IllegalArgumentException Si algún percentil no está entre 0 y 100
+     * @throws java.util.NoSuchElementException Si el arreglo de enteros está vacío y se pidió algún percentil
+     */
+    public int[] percentiles( double... percentiles )
+    {
+        if (percentiles == null || percentiles.length == 0) return new int[0];
+        long n = getCantidadEnterosLarga();
+        int[] posiciones = new int[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            double p = percentiles[i];
+            if (!(p >= 0 && p <= 100)) throw new IllegalArgumentException("El percentil debe estar entre 0 y 100: " + p);
+            posiciones[i] = (int) Math.max(0, (long) Math.ceil(p * n / 100) - 1);
+        }
+        if (n == 0) throw new java.util.NoSuchElementException("El arreglo de enteros está vacío");
+        return seleccionarEnteros(posiciones);
+    }
+
+    /**
+     * Busca los valores que quedarían en varias posiciones si se organizara el arreglo de enteros. Si se sabe que el arreglo está ordenado, los lee directamente;
+     * si no, los selecciona sobre una copia.
+     * @param posiciones Las posiciones, en cualquier orden y posiblemente repetidas, todas válidas
+     * @return El valor de cada posición, en el mismo orden
+     * @throws OutOfMemoryError Si hay demasiados enteros para copiarlos a un int[]
+     */
+    private int[] seleccionarEnteros( int[] posiciones )
+    {
+        int[] valores = new int[posiciones.length];
+        if (enterosComprimidos != null || (almacenPaginado == null && enterosOrdenados)) {
+            for (int i = 0; i < posiciones.length; i++) valores[i] = getEntero(posiciones[i]);
+            return valores;
+        }
+        int[] ordenadas = IntStream.of(posiciones).sorted().distinct().toArray();
+        int[] copia = getCopiaEnteros();
+        SeleccionEnteros.seleccionar(copia, copia.length, ordenadas);
+        for (int i = 0; i < posiciones.length; i++) valores[i] = copia[posiciones[i]];
+        return valores;
+    }
+
+    /**
+     * Calcula un histograma de los valores del arreglo de enteros y lo devuelve como un mapa donde las llaves son los valores del arreglo y los valores son la cantidad de
+     * veces que aparece cada uno en el arreglo de enteros.
+     * 
+     * El conteo se hace sobre un HistogramaEnteros y sólo al final se convierte a HashMap. Si no se necesita un mapa, es mejor usar calcularHistogramaEnteros().
+     * @return Un mapa con el histograma de valores.
+     */
+    public HashMap<Integer, Integer> calcularHistograma( )
+    {
+        return calcularHistogramaEnteros().aHashMap();
+    }
+
+    /**
+     * Calcula un histograma de los valores del arreglo de enteros sin convertir los valores ni los conteos a objetos.
+     * 
+     * Si el rango de los valores es pequeño comparado con la cantidad de enteros, el histograma es denso y se llena sin calcular hashes.
+     * @return Un histograma con la cantidad de veces que aparece cada valor en el arreglo de enteros
+     */
+    public HistogramaEnteros calcularHistogramaEnteros( )
+    {
+        if (almacenPaginado != null) return almacenPaginado.histograma();
+        if (enterosComprimidos != null) return enterosComprimidos.histograma();
+        // Con el rango ya calculado, calcularRangoEnteros no cierra el hueco, y los dos conteos leen el arreglo directamente
+        cerrarHueco();
+        int[] rango = calcularRangoEnteros();
+        if (usarConteoDenso(rango)) return new HistogramaEnteros(rango[0], contarDenso(rango[0], rango[1]));
+        HistogramaEnteros histograma = new HistogramaEnteros(Math.min(cantidadEnteros, HISTOGRAMA_ESPERADOS_MAXIMO));
+        for (int i = 0; i < cantidadEnteros; i++) {
+            histograma.incrementar(arregloEnteros[i]);
+        }
+        return histograma;
+    }
+
+    /**
+     * Cuenta cuántos valores dentro del arreglo de enteros están repetidos.
+     * @return La cantidad de enteos diferentes que aparecen más de una vez
+     */
+    public int contarEnterosRepetidos( )
+    {
+        return calcularHistogramaEnteros().contarRepetidos();
+    }
+
+    /**
+     * Compara el arreglo de enteros con otro arreglo de enteros y verifica si son iguales, es decir que contienen los mismos elementos exactamente en el mismo orden.
+     * @param otroArreglo El arreglo de enteros con el que se debe comparar
+     * @return True si los arreglos son idénticos y false de lo contrario
+     */
+    public boolean compararArregloEnteros( int[] otroArreglo )
+    {
+        if (otroArreglo == null) return false;
+        if (almacenPaginado != null) return almacenPaginado.iguales(otroArreglo);
+        if (enterosComprimidos != null) return enterosComprimidos.iguales(otroArreglo);
+        cerrarHueco();
+        if (cantidadEnteros != otroArreglo.length) return false;
+        return KernelsEnteros.iguales(arregloEnteros, otroArreglo, cantidadEnteros);
+    }
+
+    /**
+     * Compara el arreglo de enteros con otro arreglo de enteros del que ya se conoce la huella, y verifica si son iguales.
+     * 
+     * Si las huellas de la secuencia son diferentes, retorna false en O(1); sólo si coinciden se comparan los arreglos posición por posición.
+     * @param otroArreglo El arreglo de enteros con el que se debe comparar
+     * @param huellaOtro La huella de otroArreglo, calculada con HuellaEnteros.calcular. Si es null, se hace la comparación completa.
+     * @return True si los arreglos son idénticos y false de lo contrario
+     */
+    public boolean compararArregloEnteros( int[] otroArreglo, HuellaEnteros huellaOtro )
+    {
+        if (otroArreglo == null) return false;
+        if (huellaOtro != null && !getHuellaEnteros().podrianSerIguales(huellaOtro)) return false;
+        return compararArregloEnteros(otroArreglo);
+    }
+
+    /**
+     * Compara el arreglo de enteros con otro arreglo de enteros y verifica que tengan los mismos elementos, aunque podría ser en otro orden.
+     * @param otroArreglo El arreglo de enteros con el que se debe comparar
+     * @return True si los elementos en los dos arreglos son los mismos
+     */
+    public boolean mismosEnteros( int[] otroArreglo )
+    {
+        if (otroArreglo == null) return false;
+        if (getCantidadEnterosLarga() != otroArreglo.length) return false;
+        // Si ya se conoce la huella, calcular la del otro arreglo es más barato que construir el histograma
+        return mismosEnteros(otroArreglo, huellaMulticonjuntoValida ? HuellaEnteros.calcular(otroArreglo) : null);
+    }
+
+    /**
+     * Compara el arreglo de enteros con otro arreglo de enteros del que ya se conoce la huella, y verifica que tengan los mismos elementos, aunque podría ser en otro
+     * orden.
+     * 
+     * Si las huellas del multiconjunto son diferentes, retorna false en O(1); sólo si coinciden se cuentan los elementos de los dos arreglos.
+     * @param otroArreglo El arreglo de enteros con el que se debe comparar
+     * @param huellaOtro La huella de otroArreglo, calculada con HuellaEnteros.calcular. Si es null, se hace la comparación completa.
+     * @return True si los elementos en los dos arreglos son los mismos
+     */
+    public boolean mismosEnteros( int[] otroArreglo, HuellaEnteros huellaOtro )
+    {
+        cerrarHueco();
+        if (otroArreglo == null) return false;
+        if (getCantidadEnterosLarga() != otroArreglo.length) return false;
+        if (huellaOtro != null && !huellaMulticonjuntoValida) calcularHuellas();
+        if (huellaOtro != null && huellaOtro.getMulticonjunto() != huellaMulticonjunto) return false;
+        HistogramaEnteros freq = calcularHistogramaEnteros();
+        for (int v : otroArreglo) {
+            if (freq.sumar(v, -1) < 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Retorna la huella del arreglo de enteros.
+     * 
+     * Las huellas se mantienen con cada modificación, así que normalmente esto toma O(1). Sólo después de una modificación que no las puede actualizar (como reiniciar,
+     * volver positivos o cargar un archivo), u ordenar en el caso de la huella de la secuencia, se recorre el arreglo una vez para volver a calcularlas.
+     * @return La huella del arreglo de enteros
+     */
+    public HuellaEnteros getHuellaEnteros( )
+    {
+        if (!huellaMulticonjuntoValida || !huellaSecuenciaValida) calcularHuellas();
+        return new HuellaEnteros(getCantidadEnterosLarga(), huellaMulticonjunto, huellaSecuencia);
+    }
+
+    /**
+     * Cambia los elementos del arreglo de enteros por una nueva serie de valores generada de forma aleatoria.
      * 
      * Para generar los valores se debe partir de una distribución uniforme usando Math.random().
      * 
@@ -394,11 +1701,490 @@ public class SandboxArreglos
     {
         if (cantidad < 0) cantidad = 0;
         if (minimo > maximo) { int tmp = minimo; minimo = maximo; maximo = tmp; }
-        arregloEnteros = new int[cantidad];
-        int rango = maximo - minimo + 1;
+        int[] nuevo = new int[cantidad];
+        long rango = (long) maximo - minimo + 1;
         for (int i = 0; i < cantidad; i++) {
-            int v = minimo + (int) Math.floor(Math.random() * rango);
-            arregloEnteros[i] = v;
+            int v = (int) (minimo + (long) Math.floor(Math.random() * rango));
+            nuevo[i] = v;
+        }
+        reemplazarEnteros(nuevo);
+    }
+
+    /**
+     * Cambia los elementos del arreglo de enteros por una nueva serie de valores generada de forma aleatoria a partir de una semilla, usando GeneradorAleatorio.SPLITTABLE.
+     * 
+     * Con la misma semilla siempre se generan los mismos valores.
+     * @param cantidad La cantidad de elementos que debe haber en el arreglo
+     * @param minimo El valor mínimo para los números generados
+     * @param maximo El valor máximo para los números generados
+     * @param semilla La semilla del generador
+     */
+    public void generarEnteros( int cantidad, int minimo, int maximo, long semilla )
+    {
+        generarEnteros(cantidad, minimo, maximo, semilla, GeneradorAleatorio.SPLITTABLE);
+    }
+
+    /**
+     * Cambia los elementos del arreglo de enteros por una nueva serie de valores generada de forma aleatoria a partir de una semilla.
+     * 
+     * Los valores se generan en paralelo, por bloques, y sólo dependen de la semilla, la cantidad, el rango y el generador.
+     * @param cantidad La cantidad de elementos que debe haber en el arreglo
+     * @param minimo El valor mínimo para los números generados
+     * @param maximo El valor máximo para los números generados
+     * @param semilla La semilla del generador
+     * @param generador El generador que se va a usar. Si es null, se usa GeneradorAleatorio.SPLITTABLE.
+     */
+    public void generarEnteros( int cantidad, int minimo, int maximo, long semilla, GeneradorAleatorio generador )
+    {
+        if (generador == null) generador = GeneradorAleatorio.SPLITTABLE;
+        reemplazarEnteros(generador.generar(cantidad, minimo, maximo, semilla));
+    }
+
+    /**
+     * Prepara el arreglo de enteros para una modificación que cambia posiciones que ya existen. Si alguna instantánea comparte el almacenamiento, primero lo copia, para
+     * que la instantánea no cambie.
+     * 
+     * Las modificaciones que sólo agregan enteros al final no necesitan llamar este método.
+     * @throws UnsupportedOperationException Si el arreglo de enteros se cargó en modo de sólo lectura
+     */
+    private void prepararModificacionEnteros( )
+    {
+        verificarEscritura();
+        descomprimirEnteros();
+        if (primeraInstantaneaEnteros == null) return;
+        InstantaneaEnteros primera = primeraInstantaneaEnteros.get();
+        if (primera != null && primera.comparte(arregloEnteros, almacenPaginado, enterosComprimidos)) {
+            if (almacenPaginado != null) {
+                AlmacenEnteros copia = almacenPaginado.crearVacio();
+                copia.agregar(almacenPaginado);
+                almacenPaginado = copia;
+            } else {
+                arregloEnteros = arregloEnteros.clone();
+            }
+        }
+        primeraInstantaneaEnteros = null;
+        ultimaInstantaneaEnteros = null;
+    }
+
+    /**
+     * Indica si alguna instantánea viva comparte el almacenamiento del arreglo de enteros, así que prepararModificacionEnteros tendría que copiarlo.
+     * @return True si modificar posiciones existentes obliga a copiar
+     */
+    private boolean isEnterosCompartidos( )
+    {
+        InstantaneaEnteros primera = primeraInstantaneaEnteros == null ? null : primeraInstantaneaEnteros.get();
+        return primera != null && primera.comparte(arregloEnteros, almacenPaginado, enterosComprimidos);
+    }
+
+    /**
+     * Suelta el almacenamiento actual del arreglo de enteros antes de reemplazarlo. El almacén paginado se libera, a menos que alguna instantánea lo siga usando.
+     */
+    private void soltarEnteros( )
+    {
+        if (almacenPaginado != null && !isEnterosCompartidos()) almacenPaginado.liberar();
+        primeraInstantaneaEnteros = null;
+        ultimaInstantaneaEnteros = null;
+    }
+
+    /**
+     * Prepara el arreglo de cadenas para una modificación que cambia posiciones que ya existen. Si alguna instantánea comparte el arreglo, primero lo copia.
+     */
+    private void prepararModificacionCadenas( )
+    {
+        if (primeraInstantaneaCadenas == null) return;
+        InstantaneaCadenas primera = primeraInstantaneaCadenas.get();
+        if (primera != null && primera.comparte(arregloCadenas, codigosCadenas)) {
+            if (codigosCadenas != null) codigosCadenas = codigosCadenas.clone();
+            else arregloCadenas = arregloCadenas.clone();
+        }
+        primeraInstantaneaCadenas = null;
+        ultimaInstantaneaCadenas = null;
+    }
+
+    /**
+     * Lanza una excepción si el arreglo de enteros es de sólo lectura.
+     * @throws UnsupportedOperationException Si el arreglo de enteros se cargó en modo de sólo lectura
+     */
+    private void verificarEscritura( )
+    {
+        if (almacenPaginado != null && almacenPaginado.isSoloLectura()) throw new UnsupportedOperationException("El arreglo de enteros es de sólo lectura");
+    }
+
+    /**
+     * Copia el arreglo de enteros a otro almacenamiento y libera el anterior.
+     * @param nuevo El nuevo almacén, vacío, o null para volver a arregloEnteros
+     * @throws OutOfMemoryError Si el nuevo almacenamiento es arregloEnteros y hay demasiados enteros para un int[]
+     */
+    private void cambiarAlmacen( AlmacenEnteros nuevo )
+    {
+        if (nuevo == null) {
+            long n = almacenPaginado.getCantidad();
+            if (n > CAPACIDAD_MAXIMA) throw new OutOfMemoryError("El arreglo no puede tener más de " + CAPACIDAD_MAXIMA + " posiciones");
+            arregloEnteros = new int[(int) n];
+            almacenPaginado.copiarA(arregloEnteros);
+            cantidadEnteros = (int) n;
+        } else if (almacenPaginado == null) {
+            descomprimirEnteros();
+            cerrarHueco();
+            nuevo.agregar(arregloEnteros, 0, cantidadEnteros);
+            arregloEnteros = new int[]{};
+            cantidadEnteros = 0;
+        } else {
+            nuevo.agregar(almacenPaginado);
+        }
+        soltarEnteros();
+        almacenPaginado = nuevo;
+        rangoValido = false;
+        enterosOrdenados = false;
+        indicePosiciones = null;
+    }
+
+    /**
+     * Reinicia el arreglo de enteros con los valores truncados de varios buffers de decimales seguidos, desde la posición hasta el límite de cada uno.
+     * @param partes Los buffers, en orden
+     */
+    private void reiniciarTruncando( DoubleBuffer[] partes )
+    {
+        long n = 0;
+        for (DoubleBuffer parte : partes) n += parte.remaining();
+        if (n <= CAPACIDAD_MAXIMA) {
+            int[] nuevo = new int[(int) n];
+            int inicio = 0;
+            for (DoubleBuffer parte : partes) {
+                TruncamientoDecimales.truncar(parte, parte.position(), nuevo, inicio, parte.remaining());
+                inicio += parte.remaining();
+            }
+            reemplazarEnteros(nuevo);
+            return;
+        }
+        reemplazarEnteros(new int[]{});
+        int[] bloque = new int[BLOQUE_TRUNCAMIENTO];
+        for (DoubleBuffer parte : partes) {
+            for (int desde = parte.position(); desde < parte.limit(); ) {
+                int m = Math.min(bloque.length, parte.limit() - desde);
+                TruncamientoDecimales.truncar(parte, desde, bloque, 0, m);
+                agregarEnteros(m == bloque.length ? bloque : java.util.Arrays.copyOf(bloque, m));
+                desde += m;
+            }
+        }
+    }
+
+    /**
+     * Reemplaza todo el contenido del arreglo de enteros. En modo paginado, los valores se copian al almacén; si no, el arreglo recibido pasa a ser arregloEnteros.
+     * @param valores Los nuevos valores
+     */
+    private void reemplazarEnteros( int[] valores )
+    {
+        verificarEscritura();
+        tamanoHueco = 0;
+        rangoValido = false;
+        enterosOrdenados = false;
+        indicePosiciones = null;
+        invalidarHuellas();
+        if (almacenPaginado != null) {
+            AlmacenEnteros nuevo = almacenPaginado.crearVacio();
+            soltarEnteros();
+            almacenPaginado = nuevo;
+            almacenPaginado.agregar(valores, 0, valores.length);
+            return;
+        }
+        soltarEnteros();
+        enterosComprimidos = null;
+        arregloEnteros = valores;
+        cantidadEnteros = valores.length;
+    }
+
+    /**
+     * Comprime el arreglo de enteros si el modo comprimido está activo, se sabe que el arreglo está ordenado y no está en modo paginado.
+     */
+    private void comprimirEnteros( )
+    {
+        if (!modoComprimido || !enterosOrdenados || enterosComprimidos != null || almacenPaginado != null) return;
+        cerrarHueco();
+        EnterosComprimidos comprimidos = EnterosComprimidos.comprimir(arregloEnteros, cantidadEnteros);
+        soltarEnteros();
+        enterosComprimidos = comprimidos;
+        arregloEnteros = new int[]{};
+        indicePosiciones = null;
+    }
+
+    /**
+     * Si el arreglo de enteros está comprimido, lo descomprime en un arreglo nuevo. Las instantáneas que comparten los enteros comprimidos los siguen usando.
+     */
+    private void descomprimirEnteros( )
+    {
+        if (enterosComprimidos == null) return;
+        int[] valores = new int[cantidadEnteros];
+        enterosComprimidos.copiarA(valores);
+        soltarEnteros();
+        enterosComprimidos = null;
+        arregloEnteros = valores;
+    }
+
+    /**
+     * Garantiza que el arreglo de enteros tenga espacio para al menos 'minimo' valores, conservando el contenido actual.
+     * 
+     * Si hay que crecer, la nueva capacidad es al menos 1.5 veces la anterior, de modo que una secuencia de agregados sólo copie el arreglo O(log N) veces.
+     * @param minimo La capacidad mínima requerida
+     */
+    private void asegurarCapacidadEnteros( int minimo )
+    {
+        if (minimo <= arregloEnteros.length) return;
+        arregloEnteros = java.util.Arrays.copyOf(arregloEnteros, nuevaCapacidad(arregloEnteros.length, minimo));
+    }
+
+    /**
+     * Decide si conviene contar los enteros con un arreglo indexado directamente por valor.
+     * @param rango El rango de los enteros, como lo retorna calcularRangoEnteros()
+     * @return True si el arreglo no está vacío y la amplitud del rango es suficientemente pequeña según EstrategiaOrdenamiento.usarConteo
+     */
+    private boolean usarConteoDenso( int[] rango )
+    {
+        if (rango.length == 0) return false;
+        return EstrategiaOrdenamiento.usarConteo((long) rango[1] - rango[0] + 1, cantidadEnteros);
+    }
+
+    /**
+     * Cuenta los enteros en un arreglo indexado por (valor - minimo). El hueco debe estar cerrado.
+     * @param minimo El menor valor del arreglo de enteros
+     * @param maximo El mayor valor del arreglo de enteros
+     * @return Un arreglo con la cantidad de veces que aparece cada valor
+     */
+    private int[] contarDenso( int minimo, int maximo )
+    {
+        int[] conteos = new int[maximo - minimo + 1];
+        for (int i = 0; i < cantidadEnteros; i++) {
+            conteos[arregloEnteros[i] - minimo]++;
+        }
+        return conteos;
+    }
+
+    /**
+     * Retorna el entero que está en una posición lógica del arreglo, teniendo en cuenta el hueco.
+     * @param posicion La posición lógica, entre 0 y cantidadEnteros - 1
+     * @return El entero en esa posición
+     */
+    private int enteroEn( int posicion )
+    {
+        return arregloEnteros[posicion < inicioHueco ? posicion : posicion + tamanoHueco];
+    }
+
+    /**
+     * Busca, en el arreglo de enteros ordenado y sin hueco, la primera posición con un valor mayor o igual al dado.
+     * @param valor El valor buscado
+     * @return La primera posición con un valor mayor o igual, o cantidadEnteros si no hay ninguna
+     */
+    private int primeraPosicionMayorOIgual( int valor )
+    {
+        int bajo = 0;
+        int alto = cantidadEnteros;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (arregloEnteros[medio] < valor) bajo = medio + 1;
+            else alto = medio;
+        }
+        return bajo;
+    }
+
+    /**
+     * Actualiza el rango conocido antes de agregar un valor al arreglo de enteros.
+     * @param valor El valor que se va a agregar
+     */
+    private void registrarAgregado( int valor )
+    {
+        if (cantidadEnteros == 0) {
+            minimoEnteros = valor;
+            maximoEnteros = valor;
+            rangoValido = true;
+        } else if (rangoValido) {
+            if (valor < minimoEnteros) minimoEnteros = valor;
+            if (valor > maximoEnteros) maximoEnteros = valor;
+        }
+    }
+
+    /**
+     * Actualiza el rango conocido antes de agregar varios valores al arreglo de enteros.
+     * @param valores El arreglo con los valores que se van a agregar
+     * @param desde La primera posición de los valores, incluida
+     * @param hasta La última posición de los valores, excluida. Debe ser mayor que desde.
+     */
+    private void registrarAgregados( int[] valores, int desde, int hasta )
+    {
+        int[] rango = KernelsEnteros.rango(valores, desde, hasta);
+        registrarAgregado(rango[0]);
+        if (rangoValido && rango[1] > maximoEnteros) maximoEnteros = rango[1];
+    }
+
+    /**
+     * Actualiza el rango conocido después de eliminar un valor del arreglo de enteros. Si el valor era el mínimo o el máximo, el rango se deja de conocer y se vuelve a
+     * calcular cuando se necesite.
+     * @param valor El valor eliminado
+     */
+    private void registrarEliminado( int valor )
+    {
+        if (rangoValido && (valor == minimoEnteros || valor == maximoEnteros)) rangoValido = false;
+    }
+
+    /**
+     * Actualiza las huellas conocidas al agregar un valor al arreglo de enteros.
+     * @param valor El valor que se agrega
+     * @param alFinal True si el valor queda al final del arreglo. Si no, la huella de la secuencia se deja de conocer.
+     */
+    private void registrarHuellaAgregado( int valor, boolean alFinal )
+    {
+        huellaMulticonjunto += HuellaEnteros.mezclar(valor);
+        if (alFinal) huellaSecuencia = HuellaEnteros.encadenar(huellaSecuencia, valor);
+        else huellaSecuenciaValida = false;
+    }
+
+    /**
+     * Actualiza las huellas conocidas al agregar varios valores seguidos al arreglo de enteros.
+     * @param valores El arreglo con los valores que se agregan
+     * @param desde La primera posición de los valores, incluida
+     * @param hasta La última posición de los valores, excluida
+     * @param alFinal True si los valores quedan al final del arreglo. Si no, la huella de la secuencia se deja de conocer.
+     */
+    private void registrarHuellaAgregados( int[] valores, int desde, int hasta, boolean alFinal )
+    {
+        long[] huella = { huellaMulticonjunto, huellaSecuencia };
+        HuellaEnteros.acumular(huella, valores, desde, hasta);
+        huellaMulticonjunto = huella[0];
+        if (alFinal) huellaSecuencia = huella[1];
+        else huellaSecuenciaValida = false;
+    }
+
+    /**
+     * Actualiza las huellas conocidas después de eliminar un valor del arreglo de enteros una o más veces. La huella de la secuencia se deja de conocer.
+     * @param valor El valor eliminado
+     * @param veces La cantidad de apariciones eliminadas
+     */
+    private void registrarHuellaEliminado( int valor, long veces )
+    {
+        if (veces == 0) return;
+        huellaMulticonjunto -= veces * HuellaEnteros.mezclar(valor);
+        huellaSecuenciaValida = false;
+    }
+
+    /**
+     * Recorre el arreglo de enteros para volver a calcular las dos huellas.
+     */
+    private void calcularHuellas( )
+    {
+        long[] huella = new long[2];
+        if (almacenPaginado != null) {
+            almacenPaginado.recorrer(0, almacenPaginado.getCantidad(), ( bloque, desde, hasta, posicion ) -> {
+                HuellaEnteros.acumular(huella, bloque, desde, hasta);
+                return true;
+            }, false);
+        } else if (enterosComprimidos != null) {
+            enterosComprimidos.recorrer(( bloque, desde, hasta, posicion ) -> {
+                HuellaEnteros.acumular(huella, bloque, desde, hasta);
+                return true;
+            });
+        } else {
+            cerrarHueco();
+            HuellaEnteros.acumular(huella, arregloEnteros, 0, cantidadEnteros);
+        }
+        huellaMulticonjunto = huella[0];
+        huellaSecuencia = huella[1];
+        huellaMulticonjuntoValida = true;
+        huellaSecuenciaValida = true;
+    }
+
+    /**
+     * Deja de conocer las dos huellas del arreglo de enteros, que se vuelven a calcular cuando se necesiten.
+     */
+    private void invalidarHuellas( )
+    {
+        huellaMulticonjuntoValida = false;
+        huellaSecuenciaValida = false;
+    }
+
+    /**
+     * Deja los enteros contiguos en las primeras cantidadEnteros posiciones, moviendo al final los valores que están después del hueco.
+     */
+    private void cerrarHueco( )
+    {
+        if (tamanoHueco == 0) return;
+        System.arraycopy(arregloEnteros, inicioHueco + tamanoHueco, arregloEnteros, inicioHueco, cantidadEnteros - inicioHueco);
+        tamanoHueco = 0;
+    }
+
+    /**
+     * Mueve el hueco para que empiece en la posición lógica dada. Sólo se copian los valores que hay entre la posición actual del hueco y la nueva.
+     * @param posicion La nueva posición lógica del hueco, entre 0 y cantidadEnteros
+     */
+    private void moverHueco( int posicion )
+    {
+        if (tamanoHueco == 0) {
+            inicioHueco = posicion;
+        } else if (posicion < inicioHueco) {
+            System.arraycopy(arregloEnteros, posicion, arregloEnteros, posicion + tamanoHueco, inicioHueco - posicion);
+            inicioHueco = posicion;
+        } else if (posicion > inicioHueco) {
+            System.arraycopy(arregloEnteros, inicioHueco + tamanoHueco, arregloEnteros, inicioHueco, posicion - inicioHueco);
+            inicioHueco = posicion;
+        }
+    }
+
+    /**
+     * Abre un hueco vacío en inicioHueco, desplazando a la derecha los valores que están después. El tamaño del hueco es proporcional a la cantidad de enteros, así que
+     * el desplazamiento se amortiza entre muchas inserciones.
+     */
+    private void abrirHueco( )
+    {
+        int nuevoHueco = Math.max(TAMANO_HUECO_MINIMO, cantidadEnteros >> 4);
+        asegurarCapacidadEnteros(cantidadEnteros + nuevoHueco);
+        System.arraycopy(arregloEnteros, inicioHueco, arregloEnteros, inicioHueco + nuevoHueco, cantidadEnteros - inicioHueco);
+        tamanoHueco = nuevoHueco;
+    }
+
+    /**
+     * Retorna la cadena que está en una posición del arreglo de cadenas, esté o no codificado.
+     * @param posicion La posición
+     * @return La cadena
+     */
+    private String getCadena( int posicion )
+    {
+        return diccionarioCadenas != null ? diccionarioCadenas.decodificar(codigosCadenas[posicion]) : arregloCadenas[posicion];
+    }
+
+    /**
+     * Garantiza que el arreglo de cadenas tenga espacio para al menos 'minimo' valores, conservando el contenido actual.
+     * @param minimo La capacidad mínima requerida
+     */
+    private void asegurarCapacidadCadenas( int minimo )
+    {
+        if (codigosCadenas != null) {
+            if (minimo > codigosCadenas.length) codigosCadenas = java.util.Arrays.copyOf(codigosCadenas, nuevaCapacidad(codigosCadenas.length, minimo));
+            return;
+        }
+        if (minimo <= arregloCadenas.length) return;
+        arregloCadenas = java.util.Arrays.copyOf(arregloCadenas, nuevaCapacidad(arregloCadenas.length, minimo));
+    }
+
+    /**
+     * Reduce la cantidad de cadenas y limpia las posiciones que quedan libres, para no retener referencias a cadenas eliminadas.
+     * @param cantidad La nueva cantidad de cadenas
+     */
+    private void truncarCadenas( int cantidad )
+    {
+        if (codigosCadenas == null) java.util.Arrays.fill(arregloCadenas, cantidad, cantidadCadenas, null);
+        cantidadCadenas = cantidad;
     }
+
+    /**
+     * Calcula la capacidad a la que debe crecer un arreglo.
+     * @param actual La capacidad actual del arreglo
+     * @param minimo La capacidad mínima requerida
+     * @return Una capacidad mayor o igual a 'minimo'
+     */
+    private static int nuevaCapacidad( int actual, int minimo )
+    {
+        if (minimo < 0 || minimo > CAPACIDAD_MAXIMA) throw new OutOfMemoryError("El arreglo no puede tener más de " + CAPACIDAD_MAXIMA + " posiciones");
+        long crecida = (long) actual + (actual >> 1);
+        if (crecida < CAPACIDAD_INICIAL) crecida = CAPACIDAD_INICIAL;
+        if (crecida > CAPACIDAD_MAXIMA) crecida = CAPACIDAD_MAXIMA;
+        return (int) Math.max(crecida, minimo);
     }
 }
@@ -0,0 +1,775 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Spliterator;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+/**
+ * Una versión de SandboxArreglos que se puede compartir entre varios hilos. Tiene los mismos métodos y cada uno se comporta igual que en SandboxArreglos.
+ *
+ * Los métodos que modifican el sandbox toman el candado de escritura de un StampedLock y, al terminar, publican una instantánea del arreglo de enteros
+ * (InstantaneaEnteros). Las consultas sobre el arreglo de enteros (contarApariciones, buscarEntero, calcularRangoEnteros, compararArregloEnteros, getEntero y las
+ * cantidades) leen esa instantánea con una lectura optimista: no toman ningún candado, y sólo si un escritor publicó otra instantánea al mismo tiempo vuelven a leerla con
+ * el candado de lectura. Después recorren la instantánea sin candado, porque el sandbox se copia antes de modificar posiciones que una instantánea viva comparte. Así,
+ * muchos lectores recorren el arreglo en paralelo y una escritura no espera a que terminen.
+ *
+ * Agregar enteros al final no copia el arreglo; eliminar, insertar, ordenar o volverPositivos lo copian una vez por operación, porque siempre hay una instantánea
+ * publicada. Esta clase está pensada para cargas con muchas consultas y pocas modificaciones.
+ *
+ * En modo paginado, las páginas pueden crecer mientras se recorren, así que las consultas se hacen con el candado de lectura en lugar de la lectura optimista, y
+ * getInstantaneaEnteros retorna una copia en lugar de la instantánea publicada. Las demás
+ * consultas (histogramas, cadenas, configuración) pueden modificar cachés internas del sandbox y se hacen con el candado de escritura.
+ *
+ * El candado no es reentrante: los argumentos de los métodos (por ejemplo el IntStream de agregarEnteros) no deben usar este mismo sandbox.
+ */
+public class SandboxArreglosConcurrente
+{
+    /**
+     * El sandbox con los datos. Sólo se usa con el candado de escritura.
+     */
+    private final SandboxArreglos sandbox = new SandboxArreglos();
+
+    /**
+     * El candado que protege al sandbox y a la instantánea publicada.
+     */
+    private final StampedLock candado = new StampedLock();
+
+    /**
+     * La instantánea del arreglo de enteros que corresponde al estado actual del sandbox.
+     */
+    private InstantaneaEnteros enteros = sandbox.getInstantaneaEnteros();
+
+    /**
+     * Una operación que se ejecuta con el candado de escritura.
+     */
+    private interface Modificacion
+    {
+        void ejecutar( ) throws IOException;
+    }
+
+    // ------------------------------------------------------------------------------------------------
+    // Consultas optimistas sobre el arreglo de enteros
+    // ------------------------------------------------------------------------------------------------
+
+    /**
+     * Retorna la cantidad de valores en el arreglo de enteros
+     * @return La cantidad de enteros
+     */
+    public int getCantidadEnteros( )
+    {
+        return Math.toIntExact(leerLargo(InstantaneaEnteros::getCantidadLarga));
+    }
+
+    /**
+     * Retorna la cantidad de valores en el arreglo de enteros, aunque sean más de Integer.MAX_VALUE
+     * @return La cantidad de enteros
+     */
+    public long getCantidadEnterosLarga( )
+    {
+        return leerLargo(InstantaneaEnteros::getCantidadLarga);
+    }
+
+    /**
+     * Retorna el entero que está en una posición del arreglo de enteros
+     * @param posicion La posición
+     * @return El entero en esa posición
+     * @throws IndexOutOfBoundsException Si la posición no corresponde a ninguna posición del arreglo de enteros
+     */
+    public int getEntero( long posicion )
+    {
+        return (int) leerLargo(i -> i.getEntero(posicion));
+    }
+
+    /**
+     * Retorna una copia del arreglo de enteros
+     * @return Una copia del arreglo de enteros
+     */
+    public int[] getCopiaEnteros( )
+    {
+        return leer(InstantaneaEnteros::getCopia);
+    }
+
+    /**
+     * Retorna una instantánea del arreglo de enteros, que no cambia aunque otros hilos modifiquen el sandbox.
+     *
+     * En modo paginado, la instantánea publicada comparte el almacén del sandbox, que los escritores hacen crecer. Por eso se retorna una copia, hecha con el candado
+     * de lectura; esto recorre todo el arreglo.
+     * @return La instantánea del estado actual
+     */
+    public InstantaneaEnteros getInstantaneaEnteros( )
+    {
+        return leer(InstantaneaEnteros::congelar);
+    }
+
+    /**
+     * Cuenta cuántas veces aparece el valor recibido por parámetro en el arreglo de enteros
+     * @param valor El valor buscado
+     * @return La cantidad de veces que aparece el valor
+     */
+    public int contarApariciones( int valor )
+    {
+        return Math.toIntExact(leerLargo(i -> i.contarApariciones(valor)));
+    }
+
+    /**
+     * Cuenta cuántas veces aparece el valor recibido por parámetro en el arreglo de enteros, aunque sean más de Integer.MAX_VALUE
+     * @param valor El valor buscado
+     * @return La cantidad de veces que aparece el valor
+     */
+    public long contarAparicionesLargo( int valor )
+    {
+        return leerLargo(i -> i.contarApariciones(valor));
+    }
+
+    /**
+     * Busca en qué posiciones del arreglo de enteros se encuentra el valor que se recibe en el parámetro
+     * @param valor El valor que se debe buscar
+     * @return Un arreglo con las posiciones en las que se encuentra el valor buscado, de menor a mayor
+     */
+    public int[] buscarEntero( int valor )
+    {
+        long[] largas = buscarEnteroLargo(valor);
+        int[] posiciones = new int[largas.length];
+        for (int i = 0; i < largas.length; i++) posiciones[i] = Math.toIntExact(largas[i]);
+        return posiciones;
+    }
+
+    /**
+     * Busca en qué posiciones del arreglo de enteros se encuentra el valor que se recibe en el parámetro, aunque sean mayores que Integer.MAX_VALUE
+     * @param valor El valor que se debe buscar
+     * @return Un arreglo con las posiciones en las que se encuentra el valor buscado, de menor a mayor
+     */
+    public long[] buscarEnteroLargo( int valor )
+    {
+        return leer(i -> i.buscarEntero(valor));
+    }
+
+    /**
+     * Calcula cuál es el rango de los enteros (el valor mínimo y el máximo)
+     * @return Un arreglo con dos posiciones: en la primera posición, debe estar el valor mínimo en el arreglo de enteros; en la segunda posición, debe estar el valor
+     *         máximo en el arreglo de enteros. Si el arreglo está vacío, debe retornar un arreglo vacío.
+     */
+    public int[] calcularRangoEnteros( )
+    {
+        return leer(InstantaneaEnteros::calcularRango);
+    }
+
+    /**
+     * Compara el arreglo de enteros con otro arreglo de enteros y verifica si son iguales
+     * @param otroArreglo El arreglo de enteros con el que se debe comparar
+     * @return True si los arreglos son idénticos y false de lo contrario
+     */
+    public boolean compararArregloEnteros( int[] otroArreglo )
+    {
+        return leerLargo(i -> i.iguales(otroArreglo) ? 1 : 0) == 1;
+    }
+
+    // ------------------------------------------------------------------------------------------------
+    // Consultas exclusivas
+    // ------------------------------------------------------------------------------------------------
+
+    /**
+     * Igual que SandboxArreglos.isIndicePosiciones(), con el candado de escritura.
+     */
+    public boolean isIndicePosiciones( )
+    {
+        return consultar(() -> sandbox.isIndicePosiciones());
+    }
+
+    /**
+     * Igual que SandboxArreglos.isIndiceCadenas(), con el candado de escritura.
+     */
+    public boolean isIndiceCadenas( )
+    {
+        return consultar(() -> sandbox.isIndiceCadenas());
+    }
+
+    /**
+     * Igual que SandboxArreglos.isDiccionarioCadenas(), con el candado de escritura.
+     */
+    public boolean isDiccionarioCadenas( )
+    {
+        return consultar(() -> sandbox.isDiccionarioCadenas());
+    }
+
+    /**
+     * Igual que SandboxArreglos.isAlmacenamientoPaginado(), con el candado de escritura.
+     */
+    public boolean isAlmacenamientoPaginado( )
+    {
+        return consultar(() -> sandbox.isAlmacenamientoPaginado());
+    }
+
+    /**
+     * Igual que SandboxArreglos.isAlmacenamientoComprimido(), con el candado de escritura.
+     */
+    public boolean isAlmacenamientoComprimido( )
+    {
+        return consultar(() -> sandbox.isAlmacenamientoComprimido());
+    }
+
+    /**
+     * Igual que SandboxArreglos.isAlmacenamientoFueraDelHeap(), con el candado de escritura.
+     */
+    public boolean isAlmacenamientoFueraDelHeap( )
+    {
+        return consultar(() -> sandbox.isAlmacenamientoFueraDelHeap());
+    }
+
+    /**
+     * Igual que SandboxArreglos.getBytesEnterosEnHeap(), con el candado de escritura.
+     */
+    public long getBytesEnterosEnHeap( )
+    {
+        return consultar(() -> sandbox.getBytesEnterosEnHeap());
+    }
+
+    /**
+     * Igual que SandboxArreglos.getBytesEnterosFueraDelHeap(), con el candado de escritura.
+     */
+    public long getBytesEnterosFueraDelHeap( )
+    {
+        return consultar(() -> sandbox.getBytesEnterosFueraDelHeap());
+    }
+
+    /**
+     * Igual que SandboxArreglos.isSoloLectura(), con el candado de escritura.
+     */
+    public boolean isSoloLectura( )
+    {
+        return consultar(() -> sandbox.isSoloLectura());
+    }
+
+    /**
+     * Igual que SandboxArreglos.isModoHueco(), con el candado de escritura.
+     */
+    public boolean isModoHueco( )
+    {
+        return consultar(() -> sandbox.isModoHueco());
+    }
+
+    /**
+     * Igual que SandboxArreglos.getCopiaCadenas(), con el candado de escritura.
+     */
+    public String[] getCopiaCadenas( )
+    {
+        return consultar(() -> sandbox.getCopiaCadenas());
+    }
+
+    /**
+     * Igual que SandboxArreglos.getInstantaneaCadenas(), con el candado de escritura.
+     */
+    public InstantaneaCadenas getInstantaneaCadenas( )
+    {
+        return consultar(() -> sandbox.getInstantaneaCadenas());
+    }
+
+    /**
+     * Igual que SandboxArreglos.getCantidadCadenas(), con el candado de escritura.
+     */
+    public int getCantidadCadenas( )
+    {
+        return consultar(() -> sandbox.getCantidadCadenas());
+    }
+
+    /**
+     * Igual que SandboxArreglos.contarApariciones(String), con el candado de escritura.
+     */
+    public int contarApariciones( String cadena )
+    {
+        return consultar(() -> sandbox.contarApariciones(cadena));
+    }
+
+    /**
+     * Igual que SandboxArreglos.calcularHistograma(), con el candado de escritura.
+     */
+    public HashMap<Integer, Integer> calcularHistograma( )
+    {
+        return consultar(() -> sandbox.calcularHistograma());
+    }
+
+    /**
+     * Igual que SandboxArreglos.calcularHistogramaEnteros(), con el candado de escritura.
+     */
+    public HistogramaEnteros calcularHistogramaEnteros( )
+    {
+        return consultar(() -> sandbox.calcularHistogramaEnteros());
+    }
+
+    /**
+     * Igual que SandboxArreglos.contarEnterosRepetidos(), con el candado de escritura.
+     */
+    public int contarEnterosRepetidos( )
+    {
+        return consultar(() -> sandbox.contarEnterosRepetidos());
+    }
+
+    /**
+     * Igual que SandboxArreglos.mismosEnteros(int[]), con el candado de escritura.
+     */
+    public boolean mismosEnteros( int[] otroArreglo )
+    {
+        return consultar(() -> sandbox.mismosEnteros(otroArreglo));
+    }
+
+    /**
+     * Igual que SandboxArreglos.mismosEnteros(int[], HuellaEnteros), con el candado de escritura.
+     */
+    public boolean mismosEnteros( int[] otroArreglo, HuellaEnteros huellaOtro )
+    {
+        return consultar(() -> sandbox.mismosEnteros(otroArreglo, huellaOtro));
+    }
+
+    /**
+     * Igual que SandboxArreglos.compararArregloEnteros(int[], HuellaEnteros), con el candado de escritura.
+     */
+    public boolean compararArregloEnteros( int[] otroArreglo, HuellaEnteros huellaOtro )
+    {
+        return consultar(() -> sandbox.compararArregloEnteros(otroArreglo, huellaOtro));
+    }
+
+    /**
+     * Igual que SandboxArreglos.getHuellaEnteros(), con el candado de escritura.
+     */
+    public HuellaEnteros getHuellaEnteros( )
+    {
+        return consultar(() -> sandbox.getHuellaEnteros());
+    }
+
+    /**
+     * Igual que SandboxArreglos.kEsimoMenor(k), con el candado de escritura.
+     */
+    public int kEsimoMenor( long k )
+    {
+        return consultar(() -> sandbox.kEsimoMenor(k));
+    }
+
+    /**
+     * Igual que SandboxArreglos.mediana(), con el candado de escritura.
+     */
+    public double mediana( )
+    {
+        return consultar(() -> sandbox.mediana());
+    }
+
+    /**
+     * Igual que SandboxArreglos.percentiles(percentiles), con el candado de escritura.
+     */
+    public int[] percentiles( double... percentiles )
+    {
+        return consultar(() -> sandbox.percentiles(percentiles));
+    }
+
+    /**
+     * Igual que SandboxArreglos.guardar(Path), con el candado de escritura.
+     */
+    public void guardar( Path ruta ) throws IOException
+    {
+        modificar(() -> sandbox.guardar(ruta));
+    }
+
+    // ------------------------------------------------------------------------------------------------
+    // Modificaciones
+    // ------------------------------------------------------------------------------------------------
+
+    /**
+     * Igual que SandboxArreglos.setIndicePosiciones(boolean), con el candado de escritura.
+     */
+    public void setIndicePosiciones( boolean activo )
+    {
+        modificarSinExcepciones(() -> sandbox.setIndicePosiciones(activo));
+    }
+
+    /**
+     * Igual que SandboxArreglos.setIndiceCadenas(boolean), con el candado de escritura.
+     */
+    public void setIndiceCadenas( boolean activo )
+    {
+        modificarSinExcepciones(() -> sandbox.setIndiceCadenas(activo));
+    }
+
+    /**
+     * Igual que SandboxArreglos.setDiccionarioCadenas(boolean), con el candado de escritura.
+     */
+    public void setDiccionarioCadenas( boolean activo )
+    {
+        modificarSinExcepciones(() -> sandbox.setDiccionarioCadenas(activo));
+    }
+
+    /**
+     * Igual que SandboxArreglos.setAlmacenamientoPaginado(boolean), con el candado de escritura.
+     */
+    public void setAlmacenamientoPaginado( boolean activo )
+    {
+        modificarSinExcepciones(() -> sandbox.setAlmacenamientoPaginado(activo));
+    }
+
+    /**
+     * Igual que SandboxArreglos.setAlmacenamientoFueraDelHeap(boolean), con el candado de escritura.
+     */
+    public void setAlmacenamientoFueraDelHeap( boolean activo )
+    {
+        modificarSinExcepciones(() -> sandbox.setAlmacenamientoFueraDelHeap(activo));
+    }
+
+    /**
+     * Igual que SandboxArreglos.setAlmacenamientoComprimido(boolean), con el candado de escritura.
+     */
+    public void setAlmacenamientoComprimido( boolean activo )
+    {
+        modificarSinExcepciones(() -> sandbox.setAlmacenamientoComprimido(activo));
+    }
+
+    /**
+     * Igual que SandboxArreglos.setModoHueco(boolean), con el candado de escritura.
+     */
+    public void setModoHueco( boolean activo )
+    {
+        modificarSinExcepciones(() -> sandbox.setModoHueco(activo));
+    }
+
+    /**
+     * Igual que SandboxArreglos.cargar(Path), con el candado de escritura.
+     */
+    public void cargar( Path ruta ) throws IOException
+    {
+        modificar(() -> sandbox.cargar(ruta));
+    }
+
+    /**
+     * Igual que SandboxArreglos.cargar(Path, boolean), con el candado de escritura.
+     */
+    public void cargar( Path ruta, boolean soloLectura ) throws IOException
+    {
+        modificar(() -> sandbox.cargar(ruta, soloLectura));
+    }
+
+    /**
+     * Igual que SandboxArreglos.agregarEntero(int), con el candado de escritura.
+     */
+    public void agregarEntero( int entero )
+    {
+        modificarSinExcepciones(() -> sandbox.agregarEntero(entero));
+    }
+
+    /**
+     * Igual que SandboxArreglos.agregarCadena(String), con el candado de escritura.
+     */
+    public void agregarCadena( String cadena )
+    {
+        modificarSinExcepciones(() -> sandbox.agregarCadena(cadena));
+    }
+
+    /**
+     * Igual que SandboxArreglos.agregarEnteros(int[]), con el candado de escritura.
+     */
+    public void agregarEnteros( int[] valores )
+    {
+        modificarSinExcepciones(() -> sandbox.agregarEnteros(valores));
+    }
+
+    /**
+     * Igual que SandboxArreglos.agregarEnteros(IntStream), con el candado de escritura.
+     */
+    public void agregarEnteros( IntStream valores )
+    {
+        modificarSinExcepciones(() -> sandbox.agregarEnteros(valores));
+    }
+
+    /**
+     * Igual que SandboxArreglos.agregarCadenas(String[]), con el candado de escritura.
+     */
+    public void agregarCadenas( String[] cadenas )
+    {
+        modificarSinExcepciones(() -> sandbox.agregarCadenas(cadenas));
+    }
+
+    /**
+     * Igual que SandboxArreglos.eliminarEntero(int), con el candado de escritura.
+     */
+    public void eliminarEntero( int valor )
+    {
+        modificarSinExcepciones(() -> sandbox.eliminarEntero(valor));
+    }
+
+    /**
+     * Igual que SandboxArreglos.eliminarEnteros(int...), con el candado de escritura.
+     */
+    public void eliminarEnteros( int... valores )
+    {
+        modificarSinExcepciones(() -> sandbox.eliminarEnteros(valores));
+    }
+
+    /**
+     * Igual que SandboxArreglos.eliminarCadena(String), con el candado de escritura.
+     */
+    public void eliminarCadena( String cadena )
+    {
+        modificarSinExcepciones(() -> sandbox.eliminarCadena(cadena));
+    }
+
+    /**
+     * Igual que SandboxArreglos.eliminarCadenas(Collection<String>), con el candado de escritura.
+     */
+    public void eliminarCadenas( Collection<String> cadenas )
+    {
+        modificarSinExcepciones(() -> sandbox.eliminarCadenas(cadenas));
+    }
+
+    /**
+     * Igual que SandboxArreglos.insertarEntero(int, int), con el candado de escritura.
+     */
+    public void insertarEntero( int entero, int posicion )
+    {
+        modificarSinExcepciones(() -> sandbox.insertarEntero(entero, posicion));
+    }
+
+    /**
+     * Igual que SandboxArreglos.insertarEntero(int, long), con el candado de escritura.
+     */
+    public void insertarEntero( int entero, long posicion )
+    {
+        modificarSinExcepciones(() -> sandbox.insertarEntero(entero, posicion));
+    }
+
+    /**
+     * Igual que SandboxArreglos.insertarEnteros(int[], int), con el candado de escritura.
+     */
+    public void insertarEnteros( int[] valores, int posicion )
+    {
+        modificarSinExcepciones(() -> sandbox.insertarEnteros(valores, posicion));
+    }
+
+    /**
+     * Igual que SandboxArreglos.eliminarEnteroPorPosicion(int), con el candado de escritura.
+     */
+    public void eliminarEnteroPorPosicion( int posicion )
+    {
+        modificarSinExcepciones(() -> sandbox.eliminarEnteroPorPosicion(posicion));
+    }
+
+    /**
+     * Igual que SandboxArreglos.eliminarEnteroPorPosicion(long), con el candado de escritura.
+     */
+    public void eliminarEnteroPorPosicion( long posicion )
+    {
+        modificarSinExcepciones(() -> sandbox.eliminarEnteroPorPosicion(posicion));
+    }
+
+    /**
+     * Igual que SandboxArreglos.reiniciarArregloEnteros(double[]), con el candado de escritura.
+     */
+    public void reiniciarArregloEnteros( double[] valores )
+    {
+        modificarSinExcepciones(() -> sandbox.reiniciarArregloEnteros(valores));
+    }
+
+    /**
+     * Igual que SandboxArreglos.reiniciarArregloEnteros(DoubleStream), con el candado de escritura.
+     */
+    public void reiniciarArregloEnteros( DoubleStream valores )
+    {
+        modificarSinExcepciones(() -> sandbox.reiniciarArregloEnteros(valores));
+    }
+
+    /**
+     * Igual que SandboxArreglos.reiniciarArregloEnteros(Spliterator.OfDouble), con el candado de escritura.
+     */
+    public void reiniciarArregloEnteros( Spliterator.OfDouble valores )
+    {
+        modificarSinExcepciones(() -> sandbox.reiniciarArregloEnteros(valores));
+    }
+
+    /**
+     * Igual que SandboxArreglos.reiniciarArregloEnteros(DoubleBuffer), con el candado de escritura.
+     */
+    public void reiniciarArregloEnteros( DoubleBuffer valores )
+    {
+        modificarSinExcepciones(() -> sandbox.reiniciarArregloEnteros(valores));
+    }
+
+    /**
+     * Igual que SandboxArreglos.reiniciarArregloEnteros(Path, ByteOrder), con el candado de escritura.
+     */
+    public void reiniciarArregloEnteros( Path ruta, ByteOrder orden ) throws IOException
+    {
+        modificar(() -> sandbox.reiniciarArregloEnteros(ruta, orden));
+    }
+
+    /**
+     * Igual que SandboxArreglos.reiniciarArregloCadenas(Object[]), con el candado de escritura.
+     */
+    public void reiniciarArregloCadenas( Object[] objetos )
+    {
+        modificarSinExcepciones(() -> sandbox.reiniciarArregloCadenas(objetos));
+    }
+
+    /**
+     * Igual que SandboxArreglos.reiniciarArregloCadenas(Object[], boolean), con el candado de escritura.
+     */
+    public void reiniciarArregloCadenas( Object[] objetos, boolean paralelo )
+    {
+        modificarSinExcepciones(() -> sandbox.reiniciarArregloCadenas(objetos, paralelo));
+    }
+
+    /**
+     * Igual que SandboxArreglos.volverPositivos(), con el candado de escritura.
+     */
+    public void volverPositivos( )
+    {
+        modificarSinExcepciones(() -> sandbox.volverPositivos());
+    }
+
+    /**
+     * Igual que SandboxArreglos.organizarEnteros(), con el candado de escritura.
+     */
+    public void organizarEnteros( )
+    {
+        modificarSinExcepciones(() -> sandbox.organizarEnteros());
+    }
+
+    /**
+     * Igual que SandboxArreglos.organizarEnteros(EstrategiaOrdenamiento), con el candado de escritura.
+     */
+    public void organizarEnteros( EstrategiaOrdenamiento estrategia )
+    {
+        modificarSinExcepciones(() -> sandbox.organizarEnteros(estrategia));
+    }
+
+    /**
+     * Igual que SandboxArreglos.organizarCadenas(), con el candado de escritura.
+     */
+    public void organizarCadenas( )
+    {
+        modificarSinExcepciones(() -> sandbox.organizarCadenas());
+    }
+
+    /**
+     * Igual que SandboxArreglos.organizarCadenas(EstrategiaOrdenamientoCadenas), con el candado de escritura.
+     */
+    public void organizarCadenas( EstrategiaOrdenamientoCadenas estrategia )
+    {
+        modificarSinExcepciones(() -> sandbox.organizarCadenas(estrategia));
+    }
+
+    /**
+     * Igual que SandboxArreglos.generarEnteros(int, int, int), con el candado de escritura.
+     */
+    public void generarEnteros( int cantidad, int minimo, int maximo )
+    {
+        modificarSinExcepciones(() -> sandbox.generarEnteros(cantidad, minimo, maximo));
+    }
+
+    /**
+     * Igual que SandboxArreglos.generarEnteros(int, int, int, long), con el candado de escritura.
+     */
+    public void generarEnteros( int cantidad, int minimo, int maximo, long semilla )
+    {
+        modificarSinExcepciones(() -> sandbox.generarEnteros(cantidad, minimo, maximo, semilla));
+    }
+
+    /**
+     * Igual que SandboxArreglos.generarEnteros(int, int, int, long, GeneradorAleatorio), con el candado de escritura.
+     */
+    public void generarEnteros( int cantidad, int minimo, int maximo, long semilla, GeneradorAleatorio generador )
+    {
+        modificarSinExcepciones(() -> sandbox.generarEnteros(cantidad, minimo, maximo, semilla, generador));
+    }
+
+    // ------------------------------------------------------------------------------------------------
+    // Candado
+    // ------------------------------------------------------------------------------------------------
+
+    /**
+     * Obtiene la instantánea publicada con una lectura optimista y le aplica una consulta. Si un escritor publicó otra instantánea durante la lectura, o si la
+     * instantánea es paginada, la consulta se hace con el candado de lectura.
+     * @param consulta La consulta sobre la instantánea
+     * @return El resultado de la consulta
+     */
+    private <T> T leer( Function<InstantaneaEnteros, T> consulta )
+    {
+        long estampa = candado.tryOptimisticRead();
+        InstantaneaEnteros actual = enteros;
+        if (candado.validate(estampa) && !actual.isPaginada()) return consulta.apply(actual);
+        estampa = candado.readLock();
+        try {
+            return consulta.apply(enteros);
+        } finally {
+            candado.unlockRead(estampa);
+        }
+    }
+
+    /**
+     * Igual que leer, para consultas que retornan un long.
+     * @param consulta La consulta sobre la instantánea
+     * @return El resultado de la consulta
+     */
+    private long leerLargo( ToLongFunction<InstantaneaEnteros> consulta )
+    {
+        long estampa = candado.tryOptimisticRead();
+        InstantaneaEnteros actual = enteros;
+        if (candado.validate(estampa) && !actual.isPaginada()) return consulta.applyAsLong(actual);
+        estampa = candado.readLock();
+        try {
+            return consulta.applyAsLong(enteros);
+        } finally {
+            candado.unlockRead(estampa);
+        }
+    }
+
+    /**
+     * Ejecuta una consulta sobre el sandbox con el candado de escritura, porque puede modificar sus cachés internas.
+     * @param consulta La consulta
+     * @return El resultado de la consulta
+     */
+    private <T> T consultar( Supplier<T> consulta )
+    {
+        long estampa = candado.writeLock();
+        try {
+            return consulta.get();
+        } finally {
+            candado.unlockWrite(estampa);
+        }
+    }
+
+    /**
+     * Ejecuta una modificación con el candado de escritura y publica la nueva instantánea del arreglo de enteros.
+     * @param modificacion La modificación
+     * @throws IOException Si la modificación lanza una IOException
+     */
+    private void modificar( Modificacion modificacion ) throws IOException
+    {
+        long estampa = candado.writeLock();
+        try {
+            modificacion.ejecutar();
+        } finally {
+            enteros = sandbox.getInstantaneaEnteros();
+            candado.unlockWrite(estampa);
+        }
+    }
+
+    /**
+     * Igual que modificar, para modificaciones que no lanzan IOException.
+     * @param modificacion La modificación
+     */
+    private void modificarSinExcepciones( Runnable modificacion )
+    {
+        long estampa = candado.writeLock();
+        try {
+            modificacion.run();
+        } finally {
+            enteros = sandbox.getInstantaneaEnteros();
+            candado.unlockWrite(estampa);
+        }
+    }
+}
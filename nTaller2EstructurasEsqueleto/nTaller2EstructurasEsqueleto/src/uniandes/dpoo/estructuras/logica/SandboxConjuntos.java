@@ -148,12 +148,23 @@ public class SandboxConjuntos
      */
     public void reiniciarConjuntoCadenas( List<Object> objetos )
     {
-        arbolCadenas.clear();
-        if (objetos == null) return;
-        for (Object o : objetos) {
-            String s = (o == null) ? "null" : o.toString();
-            arbolCadenas.add(s);
-        }
+        reiniciarConjuntoCadenas(objetos, false);
+    }
+
+    /**
+     * Reinicia el conjunto de cadenas con las representaciones como Strings de los objetos contenidos en la lista del parámetro 'objetos', llamando toString en
+     * paralelo si se pide.
+     * 
+     * En paralelo, los objetos se dividen en partes sobre el pool común de fork/join: cada parte convierte, ordena y quita los repetidos de sus cadenas, y las partes se
+     * combinan de dos en dos como en un merge sort. El árbol se construye al final de una sola vez a partir de las cadenas ordenadas. El orden en que se llama toString
+     * sobre los objetos no está definido.
+     * @param objetos Una lista de objetos
+     * @param paralelo True para convertir los objetos y combinar las partes en paralelo
+     */
+    public void reiniciarConjuntoCadenas( List<Object> objetos, boolean paralelo )
+    {
+        if (objetos == null) { arbolCadenas.clear(); return; }
+        arbolCadenas = ConversionCadenas.convertirConjunto(objetos, paralelo);
     }
 
     /**
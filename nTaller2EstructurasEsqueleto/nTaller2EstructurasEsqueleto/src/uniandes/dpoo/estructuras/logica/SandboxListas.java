@@ -6,13 +6,16 @@ import java.util.HashMap;
 import java.util.Iterator;    
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 
 /**
  * Esta clase tiene un conjunto de métodos para practicar operaciones sobre listas de enteros y de cadenas.
  *
  * Todos los métodos deben operar sobre los atributos listaEnteros y listaCadenas.
  * 
- * No pueden agregarse nuevos atributos.
+ * Además de las dos listas, la clase sólo tiene un atributo auxiliar: el índice opcional de cadenas sin diferenciar mayúsculas (indiceCadenas), que se deriva de
+ * listaCadenas y no guarda nada que no esté en ella. Las opciones que no son estado de las listas, como el modo paralelo de reiniciarArregloCadenas, se reciben como
+ * argumento en lugar de guardarse en atributos.
  * 
  * Implemente los métodos usando operaciones sobre listas (ie., no haga cosas como construir arreglos para evitar la manipulación de listas).
  * 
@@ -30,6 +33,11 @@ public class SandboxListas
      */
     private List<String> listaCadenas;
 
+    /**
+     * Los conteos de las cadenas de la lista sin diferenciar mayúsculas, para contarApariciones(String). Es null si el índice no está activo.
+     */
+    private IndiceCadenas indiceCadenas;
+
     /**
      * Crea una nueva instancia de la clase con las dos listas inicializadas pero vacías
      */
@@ -57,6 +65,32 @@ public class SandboxListas
         return new ArrayList<String>(listaCadenas);
     }
 
+    /**
+     * Indica si contarApariciones(String) usa un índice de conteos de las cadenas.
+     * @return True si el índice está activo
+     */
+    public boolean isIndiceCadenas( )
+    {
+        return indiceCadenas != null;
+    }
+
+    /**
+     * Activa o desactiva el índice de conteos de cadenas para contarApariciones(String).
+     * 
+     * Al activarlo, el índice se construye con un recorrido de la lista de cadenas y después se mantiene actualizado con cada modificación.
+     * @param activo True para activar el índice
+     */
+    public void setIndiceCadenas( boolean activo )
+    {
+        if (!activo) {
+            indiceCadenas = null;
+            return;
+        }
+        if (indiceCadenas != null) return;
+        indiceCadenas = new IndiceCadenas();
+        for (String s : listaCadenas) indiceCadenas.agregar(s);
+    }
+
     /**
      * Retorna un arreglo con los valores de la lista de enteros, es decir un arreglo del mismo tamaño que contiene copias de los valores de la lista
      * @return Una arreglo de enteros
@@ -105,6 +139,7 @@ public class SandboxListas
     public void agregarCadena( String cadena )
     {
         listaCadenas.add(cadena);
+        if (indiceCadenas != null) indiceCadenas.agregar(cadena);
     }
 
     /**
@@ -132,7 +167,10 @@ public class SandboxListas
         while (it.hasNext()) {
             String s = it.next();
             boolean iguales = (cadena == null ? s == null : cadena.equals(s));
-            if (iguales) it.remove();
+            if (iguales) {
+                it.remove();
+                if (indiceCadenas != null) indiceCadenas.quitar(s, 1);
+            }
         }
     }
 
@@ -186,11 +224,36 @@ public class SandboxListas
      * @param valores Una lista de objetos
      */
     public void reiniciarArregloCadenas( List<Object> objetos )
+    {
+        reiniciarArregloCadenas(objetos, false);
+    }
+
+    /**
+     * Reinicia la lista de cadenas con las representaciones como Strings de los objetos contenidos en la lista del parámetro 'objetos', llamando toString en paralelo
+     * si se pide.
+     * 
+     * En paralelo, las cadenas se calculan sobre el pool común de fork/join en un arreglo del tamaño de la lista de objetos, y después se agregan en orden a la lista de
+     * cadenas. El orden en que se llama toString sobre los objetos no está definido.
+     * @param objetos Una lista de objetos
+     * @param paralelo True para convertir los objetos en paralelo
+     */
+    public void reiniciarArregloCadenas( List<Object> objetos, boolean paralelo )
     {
         listaCadenas.clear();
+        if (indiceCadenas != null) indiceCadenas.limpiar();
         if (objetos == null) return;
+        if (paralelo) {
+            List<String> cadenas = java.util.Arrays.asList(ConversionCadenas.convertir(objetos, true));
+            listaCadenas.addAll(cadenas);
+            if (indiceCadenas != null) {
+                for (String s : cadenas) indiceCadenas.agregar(s);
+            }
+            return;
+        }
         for (Object o : objetos) {
-            listaCadenas.add(o == null ? "null" : o.toString());
+            String s = ConversionCadenas.convertir(o);
+            listaCadenas.add(s);
+            if (indiceCadenas != null) indiceCadenas.agregar(s);
         }
     }
 
@@ -215,12 +278,50 @@ public class SandboxListas
         Collections.sort(listaEnteros, Collections.reverseOrder());
     }
 
+    /**
+     * Modifica la lista de enteros para que todos los valores queden organizados de MAYOR a MENOR, usando la estrategia indicada.
+     * 
+     * Los valores se copian a un arreglo de enteros primitivos, se ordenan de menor a mayor con la estrategia y se escriben de vuelta en la lista en orden inverso.
+     * @param estrategia La estrategia de ordenamiento. Si es null, se usa EstrategiaOrdenamiento.AUTOMATICA.
+     */
+    public void organizarEnteros( EstrategiaOrdenamiento estrategia )
+    {
+        if (estrategia == null) estrategia = EstrategiaOrdenamiento.AUTOMATICA;
+        int[] valores = getEnterosComoArreglo();
+        estrategia.ordenar(valores, 0, valores.length);
+        ListIterator<Integer> it = listaEnteros.listIterator();
+        for (int i = valores.length - 1; i >= 0; i--) {
+            it.next();
+            it.set(valores[i]);
+        }
+    }
+
     /**
      * Modifica la lista de cadenas para que todos los valores queden organizados lexicográficamente.
+     * 
+     * Usa EstrategiaOrdenamientoCadenas.AUTOMATICA.
      */
     public void organizarCadenas( )
     {
-        Collections.sort(listaCadenas);
+        organizarCadenas(EstrategiaOrdenamientoCadenas.AUTOMATICA);
+    }
+
+    /**
+     * Modifica la lista de cadenas para que todos los valores queden organizados lexicográficamente, usando la estrategia indicada.
+     * 
+     * Las cadenas se copian a un arreglo, se ordenan con la estrategia y se escriben de vuelta en la lista.
+     * @param estrategia La estrategia de ordenamiento. Si es null, se usa EstrategiaOrdenamientoCadenas.AUTOMATICA.
+     */
+    public void organizarCadenas( EstrategiaOrdenamientoCadenas estrategia )
+    {
+        if (estrategia == null) estrategia = EstrategiaOrdenamientoCadenas.AUTOMATICA;
+        String[] cadenas = listaCadenas.toArray(new String[0]);
+        estrategia.ordenar(cadenas, 0, cadenas.length);
+        ListIterator<String> it = listaCadenas.listIterator();
+        for (String cadena : cadenas) {
+            it.next();
+            it.set(cadena);
+        }
     }
 
     /**
@@ -239,11 +340,14 @@ public class SandboxListas
      * Cuenta cuántas veces aparece la cadena recibida por parámetro en la lista de cadenas.
      * 
      * La búsqueda no debe diferenciar entre mayúsculas y minúsculas.
+     * 
+     * Si el índice de cadenas está activo, el conteo se consulta en el índice sin recorrer la lista.
      * @param cadena La cadena buscada
      * @return La cantidad de veces que aparece la cadena
      */
     public int contarApariciones( String cadena )
     {
+        if (indiceCadenas != null) return indiceCadenas.contar(cadena);
         int c = 0;
         for (String s : listaCadenas) {
             if (cadena == null ? s == null
@@ -302,11 +406,44 @@ public class SandboxListas
         int min = minimo, max = maximo;
         if (min > max) { int t = min; min = max; max = t; }
         listaEnteros.clear();
-        int rango = max - min + 1;
+        long rango = (long) max - min + 1;
         for (int i = 0; i < cantidad; i++) {
-            int v = min + (int) Math.floor(Math.random() * rango);
+            int v = (int) (min + (long) Math.floor(Math.random() * rango));
             listaEnteros.add(v);
         }
     }
 
+    /**
+     * Cambia los elementos de la lista de enteros por una nueva serie de valores generada de forma aleatoria a partir de una semilla, usando GeneradorAleatorio.SPLITTABLE.
+     * 
+     * Con la misma semilla siempre se generan los mismos valores.
+     * @param cantidad La cantidad de elementos que debe haber en la lista
+     * @param minimo El valor mínimo para los números generados
+     * @param maximo El valor máximo para los números generados
+     * @param semilla La semilla del generador
+     */
+    public void generarEnteros( int cantidad, int minimo, int maximo, long semilla )
+    {
+        generarEnteros(cantidad, minimo, maximo, semilla, GeneradorAleatorio.SPLITTABLE);
+    }
+
+    /**
+     * Cambia los elementos de la lista de enteros por una nueva serie de valores generada de forma aleatoria a partir de una semilla.
+     * 
+     * Los valores se generan en paralelo sobre un arreglo y después se pasan a la lista.
+     * @param cantidad La cantidad de elementos que debe haber en la lista
+     * @param minimo El valor mínimo para los números generados
+     * @param maximo El valor máximo para los números generados
+     * @param semilla La semilla del generador
+     * @param generador El generador que se va a usar. Si es null, se usa GeneradorAleatorio.SPLITTABLE.
+     */
+    public void generarEnteros( int cantidad, int minimo, int maximo, long semilla, GeneradorAleatorio generador )
+    {
+        if (generador == null) generador = GeneradorAleatorio.SPLITTABLE;
+        int[] valores = generador.generar(cantidad, minimo, maximo, semilla);
+        listaEnteros.clear();
+        if (listaEnteros instanceof ArrayList) ((ArrayList<Integer>) listaEnteros).ensureCapacity(valores.length);
+        for (int v : valores) listaEnteros.add(v);
+    }
+
 }
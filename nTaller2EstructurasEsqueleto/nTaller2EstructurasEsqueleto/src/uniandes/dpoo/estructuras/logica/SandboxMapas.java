@@ -160,12 +160,22 @@ public class SandboxMapas
      */
     public void reiniciarMapaCadenas( List<Object> objetos )
     {
-        mapaCadenas.clear();
-        if (objetos == null) return;
-        for (Object o : objetos) {
-            String s = (o == null) ? "null" : o.toString();
-            mapaCadenas.put(invertir(s), s);
-        }
+        reiniciarMapaCadenas(objetos, false);
+    }
+
+    /**
+     * Reinicia el mapa de cadenas con las representaciones como Strings de los objetos contenidos en la lista del parámetro 'objetos', llamando toString en paralelo si
+     * se pide.
+     * 
+     * En paralelo, los objetos se dividen en partes sobre el pool común de fork/join: cada parte construye su propio mapa, y los mapas se combinan de dos en dos. Si dos
+     * objetos producen la misma llave, queda la cadena del último, igual que en secuencia. El orden en que se llama toString sobre los objetos no está definido.
+     * @param objetos Una lista de objetos
+     * @param paralelo True para convertir los objetos y combinar los mapas en paralelo
+     */
+    public void reiniciarMapaCadenas( List<Object> objetos, boolean paralelo )
+    {
+        if (objetos == null) { mapaCadenas.clear(); return; }
+        mapaCadenas = ConversionCadenas.convertirMapa(objetos, this::invertir, paralelo);
     }
 
     /**
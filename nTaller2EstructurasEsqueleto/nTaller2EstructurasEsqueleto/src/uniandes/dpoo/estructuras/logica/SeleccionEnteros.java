@@ -0,0 +1,143 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Selección de estadísticos de orden (el k-ésimo menor, la mediana, los percentiles) sobre un arreglo de enteros sin ordenarlo completo.
+ *
+ * Usa introselect: quickselect con pivote por mediana de tres y partición sin saltos, en tiempo esperado O(n). Cuando ningún valor es menor que el pivote, se hace
+ * una segunda partición que separa los iguales, para que los valores repetidos no vuelvan a partirse. Si la recursión se alarga demasiado, como pasa con entradas
+ * adversarias, el rango que falta se ordena, así que el peor caso es O(n log n).
+ *
+ * Cuando se piden varias posiciones a la vez, cada partición se comparte entre todas: sólo se sigue partiendo los lados que contienen alguna posición pedida, y
+ * cada lado se lleva únicamente las posiciones que le corresponden.
+ *
+ * Los métodos reordenan el arreglo que reciben; quien los llama debe pasar una copia si necesita conservar el orden.
+ */
+final class SeleccionEnteros
+{
+    /**
+     * Tamaño de los rangos que se ordenan por inserción en lugar de partirse.
+     */
+    private static final int UMBRAL_INSERCION = 16;
+
+    private SeleccionEnteros( )
+    {
+    }
+
+    /**
+     * Reordena un arreglo para que en cada una de las posiciones pedidas quede el valor que tendría si el arreglo estuviera ordenado.
+     * @param arreglo El arreglo, que se reordena
+     * @param cantidad La cantidad de posiciones del arreglo que se tienen en cuenta
+     * @param posiciones Las posiciones pedidas, ordenadas, sin repetidos y entre 0 y cantidad - 1
+     */
+    static void seleccionar( int[] arreglo, int cantidad, int[] posiciones )
+    {
+        if (posiciones.length == 0) return;
+        seleccionar(arreglo, 0, cantidad, posiciones, 0, posiciones.length, profundidadMaxima(cantidad));
+    }
+
+    /**
+     * Selecciona las posiciones [desdePosicion, hastaPosicion) de 'posiciones', que están todas en el rango [desde, hasta) del arreglo.
+     */
+    private static void seleccionar( int[] arreglo, int desde, int hasta, int[] posiciones, int desdePosicion, int hastaPosicion, int profundidad )
+    {
+        while (desdePosicion < hastaPosicion) {
+            if (hasta - desde <= UMBRAL_INSERCION) {
+                ordenarPorInsercion(arreglo, desde, hasta);
+                return;
+            }
+            if (profundidad-- == 0) {
+                java.util.Arrays.sort(arreglo, desde, hasta);
+                return;
+            }
+            int pivote = medianaDeTres(arreglo[desde], arreglo[(desde + hasta) >>> 1], arreglo[hasta - 1]);
+            int mayores = particionar(arreglo, desde, hasta, pivote, false);
+            if (mayores == desde) {
+                // Ningún valor es menor que el pivote: se separan los iguales, que ya quedan en su lugar, y se sigue con los mayores
+                mayores = particionar(arreglo, desde, hasta, pivote, true);
+                desde = mayores;
+                desdePosicion = buscarPrimeraDesde(posiciones, desdePosicion, hastaPosicion, mayores);
+                continue;
+            }
+            int primeraMayor = buscarPrimeraDesde(posiciones, desdePosicion, hastaPosicion, mayores);
+            // Se sigue en el lado con más posiciones pedidas sin recursión, para que la pila no crezca
+            if (primeraMayor - desdePosicion >= hastaPosicion - primeraMayor) {
+                seleccionar(arreglo, mayores, hasta, posiciones, primeraMayor, hastaPosicion, profundidad);
+                hasta = mayores;
+                hastaPosicion = primeraMayor;
+            } else {
+                seleccionar(arreglo, desde, mayores, posiciones, desdePosicion, primeraMayor, profundidad);
+                desde = mayores;
+                desdePosicion = primeraMayor;
+            }
+        }
+    }
+
+    /**
+     * Parte un rango del arreglo en dos: primero los valores menores que el pivote (o menores o iguales), y después los demás.
+     * 
+     * Cada valor se intercambia siempre con el primero de los que no pasan, y la frontera avanza sumando el resultado de la comparación: así el ciclo no tiene saltos
+     * que dependan de los datos, que con valores aleatorios fallarían la mitad de las veces.
+     * @param incluirIguales True si los iguales al pivote van con los menores
+     * @return La posición donde empiezan los valores que no pasaron
+     */
+    private static int particionar( int[] arreglo, int desde, int hasta, int pivote, boolean incluirIguales )
+    {
+        int frontera = desde;
+        if (incluirIguales) {
+            for (int i = desde; i < hasta; i++) {
+                int v = arreglo[i];
+                arreglo[i] = arreglo[frontera];
+                arreglo[frontera] = v;
+                frontera += v <= pivote ? 1 : 0;
+            }
+        } else {
+            for (int i = desde; i < hasta; i++) {
+                int v = arreglo[i];
+                arreglo[i] = arreglo[frontera];
+                arreglo[frontera] = v;
+                frontera += v < pivote ? 1 : 0;
+            }
+        }
+        return frontera;
+    }
+
+    private static int medianaDeTres( int a, int b, int c )
+    {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /**
+     * Busca la primera posición de un rango de 'posiciones' cuyo valor es mayor o igual a un límite.
+     * @return La posición encontrada, o hasta si ninguna lo es
+     */
+    private static int buscarPrimeraDesde( int[] posiciones, int desde, int hasta, int limite )
+    {
+        while (desde < hasta) {
+            int medio = (desde + hasta) >>> 1;
+            if (posiciones[medio] < limite) desde = medio + 1;
+            else hasta = medio;
+        }
+        return desde;
+    }
+
+    private static void ordenarPorInsercion( int[] arreglo, int desde, int hasta )
+    {
+        for (int i = desde + 1; i < hasta; i++) {
+            int v = arreglo[i];
+            int j = i - 1;
+            while (j >= desde && arreglo[j] > v) {
+                arreglo[j + 1] = arreglo[j];
+                j--;
+            }
+            arreglo[j + 1] = v;
+        }
+    }
+
+    /**
+     * Calcula cuántas particiones se permiten antes de ordenar el rango que falta: el doble del logaritmo en base 2 de la cantidad, como en introsort.
+     */
+    private static int profundidadMaxima( int cantidad )
+    {
+        return 2 * (32 - Integer.numberOfLeadingZeros(cantidad));
+    }
+}
@@ -0,0 +1,200 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Trunca valores decimales a enteros directamente sobre un int[], sin pasar por un double[] intermedio.
+ *
+ * Los valores pueden venir de un DoubleBuffer (que puede ser un archivo mapeado en memoria) o de un Spliterator.OfDouble. Cuando son muchos y la fuente se puede
+ * dividir conociendo el tamaño de cada parte, cada parte se trunca en una tarea separada del pool común de fork/join, escribiendo en su propio rango del destino.
+ *
+ * El truncamiento es el de la conversión (int): hacia 0, NaN queda en 0, y los valores por fuera del rango de int quedan en Integer.MIN_VALUE o Integer.MAX_VALUE.
+ */
+final class TruncamientoDecimales
+{
+    /**
+     * Cantidad mínima de valores para dividir el trabajo en tareas separadas.
+     */
+    private static final int UMBRAL_PARALELO = 1 << 16;
+
+    /**
+     * Cantidad de valores que se copian de un buffer sin arreglo a la vez.
+     */
+    private static final int TAMANO_LECTURA = 1 << 12;
+
+    /**
+     * Cantidad máxima de bytes de cada parte en la que se mapea un archivo. Es múltiplo de 8 para que ningún decimal quede entre dos partes.
+     */
+    private static final int BYTES_MAPEO = 1 << 30;
+
+    private TruncamientoDecimales( )
+    {
+    }
+
+    /**
+     * Trunca valores de un buffer en un arreglo. No cambia la posición del buffer.
+     * @param origen El buffer
+     * @param desde La posición (absoluta) del buffer donde está el primer valor
+     * @param destino El arreglo donde se escriben los enteros
+     * @param inicio La posición del arreglo donde se escribe el primer entero
+     * @param cantidad La cantidad de valores
+     */
+    static void truncar( DoubleBuffer origen, int desde, int[] destino, int inicio, int cantidad )
+    {
+        if (cantidad >= UMBRAL_PARALELO && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            ForkJoinPool.commonPool().invoke(new TareaBuffer(origen, desde, destino, inicio, cantidad));
+        } else {
+            truncarSecuencial(origen, desde, destino, inicio, cantidad);
+        }
+    }
+
+    /**
+     * Trunca todos los valores de un spliterator en un arreglo. Si el spliterator conoce el tamaño de las partes en las que se divide, las partes se truncan en
+     * paralelo.
+     * @param origen El spliterator. Debe conocer su tamaño exacto.
+     * @param destino El arreglo donde se escriben los enteros
+     * @param inicio La posición del arreglo donde se escribe el primer entero
+     */
+    static void truncar( Spliterator.OfDouble origen, int[] destino, int inicio )
+    {
+        if (origen.hasCharacteristics(Spliterator.SUBSIZED) && origen.getExactSizeIfKnown() >= UMBRAL_PARALELO && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            ForkJoinPool.commonPool().invoke(new TareaSpliterator(origen, destino, inicio));
+        } else {
+            truncarSecuencial(origen, destino, inicio);
+        }
+    }
+
+    /**
+     * Mapea en memoria un archivo de decimales: 8 bytes por valor, sin encabezado. El contenido no se lee. Como un buffer no puede tener más de Integer.MAX_VALUE
+     * bytes, los archivos grandes se mapean en varias partes.
+     * @param ruta La ruta del archivo
+     * @param orden El orden de los bytes de cada decimal
+     * @return Las partes del archivo, en orden
+     * @throws IOException Si no se puede leer el archivo o su tamaño no es múltiplo de 8
+     */
+    static DoubleBuffer[] mapear( Path ruta, ByteOrder orden ) throws IOException
+    {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            if (tamano % Double.BYTES != 0) throw new IOException("El tamaño del archivo no es múltiplo de " + Double.BYTES + ": " + tamano);
+            DoubleBuffer[] partes = new DoubleBuffer[(int) ((tamano + BYTES_MAPEO - 1) / BYTES_MAPEO)];
+            for (int p = 0; p < partes.length; p++) {
+                long posicion = (long) p * BYTES_MAPEO;
+                long bytes = Math.min(BYTES_MAPEO, tamano - posicion);
+                partes[p] = canal.map(FileChannel.MapMode.READ_ONLY, posicion, bytes).order(orden).asDoubleBuffer();
+            }
+            return partes;
+        }
+    }
+
+    private static void truncarSecuencial( DoubleBuffer origen, int desde, int[] destino, int inicio, int cantidad )
+    {
+        if (origen.hasArray()) {
+            double[] arreglo = origen.array();
+            int base = origen.arrayOffset() + desde;
+            for (int i = 0; i < cantidad; i++) destino[inicio + i] = (int) arreglo[base + i];
+            return;
+        }
+        // Las lecturas en bloque de un buffer directo copian la memoria de una vez, en lugar de revisar los límites en cada valor
+        DoubleBuffer lector = origen.duplicate();
+        lector.position(desde);
+        double[] temporal = new double[Math.min(cantidad, TAMANO_LECTURA)];
+        for (int hechos = 0; hechos < cantidad; ) {
+            int m = Math.min(temporal.length, cantidad - hechos);
+            lector.get(temporal, 0, m);
+            for (int i = 0; i < m; i++) destino[inicio + hechos + i] = (int) temporal[i];
+            hechos += m;
+        }
+    }
+
+    private static void truncarSecuencial( Spliterator.OfDouble origen, int[] destino, int inicio )
+    {
+        int[] posicion = { inicio };
+        origen.forEachRemaining((double v) -> destino[posicion[0]++] = (int) v);
+    }
+
+    /**
+     * Una parte de un buffer que se trunca en paralelo con las demás.
+     */
+    private static final class TareaBuffer extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final DoubleBuffer origen;
+
+        private final int desde;
+
+        private final int[] destino;
+
+        private final int inicio;
+
+        private final int cantidad;
+
+        TareaBuffer( DoubleBuffer origen, int desde, int[] destino, int inicio, int cantidad )
+        {
+            this.origen = origen;
+            this.desde = desde;
+            this.destino = destino;
+            this.inicio = inicio;
+            this.cantidad = cantidad;
+        }
+
+        @Override
+        protected void compute( )
+        {
+            if (cantidad < UMBRAL_PARALELO) {
+                truncarSecuencial(origen, desde, destino, inicio, cantidad);
+                return;
+            }
+            int mitad = cantidad >>> 1;
+            invokeAll(new TareaBuffer(origen, desde, destino, inicio, mitad), new TareaBuffer(origen, desde + mitad, destino, inicio + mitad, cantidad - mitad));
+        }
+    }
+
+    /**
+     * Una parte de un spliterator que se trunca en paralelo con las demás. Cada división entrega el prefijo a una tarea nueva, y como se conoce su tamaño, se sabe
+     * en qué posición del destino empieza el resto.
+     */
+    private static final class TareaSpliterator extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator.OfDouble origen;
+
+        private final int[] destino;
+
+        private final int inicio;
+
+        TareaSpliterator( Spliterator.OfDouble origen, int[] destino, int inicio )
+        {
+            this.origen = origen;
+            this.destino = destino;
+            this.inicio = inicio;
+        }
+
+        @Override
+        protected void compute( )
+        {
+            ArrayList<TareaSpliterator> tareas = new ArrayList<TareaSpliterator>();
+            int posicion = inicio;
+            Spliterator.OfDouble prefijo;
+            while (origen.getExactSizeIfKnown() >= UMBRAL_PARALELO && (prefijo = origen.trySplit()) != null) {
+                TareaSpliterator tarea = new TareaSpliterator(prefijo, destino, posicion);
+                posicion += (int) prefijo.getExactSizeIfKnown();
+                tarea.fork();
+                tareas.add(tarea);
+            }
+            truncarSecuencial(origen, destino, posicion);
+            for (TareaSpliterator tarea : tareas) tarea.join();
+        }
+    }
+}
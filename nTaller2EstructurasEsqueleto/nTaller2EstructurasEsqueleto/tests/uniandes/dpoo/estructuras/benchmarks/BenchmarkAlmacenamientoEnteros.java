@@ -0,0 +1,87 @@
+package uniandes.dpoo.estructuras.benchmarks;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+import uniandes.dpoo.estructuras.logica.GeneradorAleatorio;
+import uniandes.dpoo.estructuras.logica.SandboxArreglos;
+
+/**
+ * Compara el costo del recolector de basura cuando el arreglo de enteros de SandboxArreglos está en un int[], en páginas del heap o en páginas fuera del heap.
+ *
+ * Con el arreglo cargado, se crean muchos objetos de vida media para forzar recolecciones, y se reporta el tiempo total de recolección junto con la memoria usada en el
+ * heap y en buffers directos. Conviene ejecutar cada modo en una JVM separada y con el mismo -Xmx, por ejemplo -Xmx3g.
+ *
+ * Se ejecuta con: java uniandes.dpoo.estructuras.benchmarks.BenchmarkAlmacenamientoEnteros [arreglo|paginado|fuera] [cantidad] [rondas]
+ */
+public class BenchmarkAlmacenamientoEnteros
+{
+    public static void main( String[] args )
+    {
+        String modo = args.length > 0 ? args[ 0 ] : "fuera";
+        int cantidad = args.length > 1 ? Integer.parseInt( args[ 1 ] ) : 200000000;
+        int rondas = args.length > 2 ? Integer.parseInt( args[ 2 ] ) : 50;
+
+        SandboxArreglos sandbox = new SandboxArreglos( );
+        if( "paginado".equals( modo ) )
+            sandbox.setAlmacenamientoPaginado( true );
+        else if( "fuera".equals( modo ) )
+            sandbox.setAlmacenamientoFueraDelHeap( true );
+        if( "arreglo".equals( modo ) )
+        {
+            sandbox.generarEnteros( cantidad, -1000000, 1000000, 7, GeneradorAleatorio.XORSHIFT );
+        }
+        else
+        {
+            // Por bloques, para que en ningún momento haya en el heap un arreglo del tamaño de todo el contenido
+            int bloque = 1 << 22;
+            for( int i = 0; i < cantidad; i += bloque )
+            {
+                sandbox.agregarEnteros( GeneradorAleatorio.XORSHIFT.generar( Math.min( bloque, cantidad - i ), -1000000, 1000000, i ) );
+            }
+        }
+        System.gc( );
+
+        long gcAntes = tiempoRecoleccion( );
+        long inicio = System.nanoTime( );
+        Object[] vivos = new Object[1 << 16];
+        long sumidero = 0;
+        for( int r = 0; r < rondas; r++ )
+        {
+            for( int i = 0; i < vivos.length; i++ )
+            {
+                vivos[ ( i * 31 + r ) & ( vivos.length - 1 ) ] = new int[64];
+            }
+            sumidero += sandbox.contarApariciones( r );
+        }
+        long total = System.nanoTime( ) - inicio;
+        long gc = tiempoRecoleccion( ) - gcAntes;
+
+        Runtime runtime = Runtime.getRuntime( );
+        System.out.println( "Modo: " + modo + ", cantidad de enteros: " + cantidad + ", rondas: " + rondas + " (" + sumidero + ")" );
+        System.out.printf( "Tiempo total: %d ms, tiempo en recolección: %d ms%n", total / 1000000, gc );
+        System.out.printf( "Arreglo en heap: %d MB, arreglo fuera del heap: %d MB%n", sandbox.getBytesEnterosEnHeap( ) >> 20, sandbox.getBytesEnterosFueraDelHeap( ) >> 20 );
+        System.out.printf( "Heap usado: %d MB, buffers directos: %d MB%n", ( runtime.totalMemory( ) - runtime.freeMemory( ) ) >> 20, memoriaDirecta( ) >> 20 );
+    }
+
+    private static long tiempoRecoleccion( )
+    {
+        long total = 0;
+        for( GarbageCollectorMXBean recolector : ManagementFactory.getGarbageCollectorMXBeans( ) )
+        {
+            total += Math.max( 0, recolector.getCollectionTime( ) );
+        }
+        return total;
+    }
+
+    private static long memoriaDirecta( )
+    {
+        for( BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans( BufferPoolMXBean.class ) )
+        {
+            if( "direct".equals( pool.getName( ) ) )
+                return pool.getMemoryUsed( );
+        }
+        return 0;
+    }
+}
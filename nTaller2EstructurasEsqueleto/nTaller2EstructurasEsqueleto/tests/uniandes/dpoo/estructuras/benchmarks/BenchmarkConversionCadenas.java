@@ -0,0 +1,87 @@
+package uniandes.dpoo.estructuras.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import uniandes.dpoo.estructuras.logica.SandboxArreglos;
+import uniandes.dpoo.estructuras.logica.SandboxConjuntos;
+import uniandes.dpoo.estructuras.logica.SandboxListas;
+import uniandes.dpoo.estructuras.logica.SandboxMapas;
+
+/**
+ * Compara los métodos reiniciar de los cuatro sandboxes en secuencia y en paralelo, con objetos cuyo toString es costoso.
+ *
+ * Cada objeto calcula su cadena con un ciclo de 'trabajo' iteraciones, y los valores se repiten para que el conjunto y el mapa tengan que quitar repetidos. La
+ * diferencia sólo se nota si la máquina tiene varios núcleos.
+ *
+ * Se ejecuta con: java uniandes.dpoo.estructuras.benchmarks.BenchmarkConversionCadenas [cantidad] [trabajo]
+ */
+public class BenchmarkConversionCadenas
+{
+    /**
+     * Un objeto con un toString costoso.
+     */
+    private static final class Costoso
+    {
+        private final int valor;
+
+        private final int trabajo;
+
+        Costoso( int valor, int trabajo )
+        {
+            this.valor = valor;
+            this.trabajo = trabajo;
+        }
+
+        @Override
+        public String toString( )
+        {
+            long x = valor;
+            for( int i = 0; i < trabajo; i++ )
+                x = x * 6364136223846793005L + 1442695040888963407L;
+            return "objeto-" + valor + "-" + ( x & 0xFF );
+        }
+    }
+
+    public static void main( String[] args )
+    {
+        int cantidad = args.length > 0 ? Integer.parseInt( args[ 0 ] ) : 1000000;
+        int trabajo = args.length > 1 ? Integer.parseInt( args[ 1 ] ) : 2000;
+        List<Object> objetos = new ArrayList<Object>( cantidad );
+        for( int i = 0; i < cantidad; i++ )
+            objetos.add( new Costoso( i % ( cantidad / 4 + 1 ), trabajo ) );
+        Object[] arreglo = objetos.toArray( );
+
+        System.out.println( "Cantidad de objetos: " + cantidad + ", núcleos: " + Runtime.getRuntime( ).availableProcessors( ) );
+        for( int r = 0; r < 2; r++ )
+        {
+            // La primera ronda calienta el código
+            double[] arreglos = new double[2];
+            double[] listas = new double[2];
+            double[] conjuntos = new double[2];
+            double[] mapas = new double[2];
+            for( int p = 0; p < 2; p++ )
+            {
+                boolean paralelo = p == 1;
+                long inicio = System.nanoTime( );
+                new SandboxArreglos( ).reiniciarArregloCadenas( arreglo, paralelo );
+                arreglos[ p ] = ( System.nanoTime( ) - inicio ) / 1e6;
+                inicio = System.nanoTime( );
+                new SandboxListas( ).reiniciarArregloCadenas( objetos, paralelo );
+                listas[ p ] = ( System.nanoTime( ) - inicio ) / 1e6;
+                inicio = System.nanoTime( );
+                new SandboxConjuntos( ).reiniciarConjuntoCadenas( objetos, paralelo );
+                conjuntos[ p ] = ( System.nanoTime( ) - inicio ) / 1e6;
+                inicio = System.nanoTime( );
+                new SandboxMapas( ).reiniciarMapaCadenas( objetos, paralelo );
+                mapas[ p ] = ( System.nanoTime( ) - inicio ) / 1e6;
+            }
+            if( r == 0 )
+                continue;
+            System.out.printf( "SandboxArreglos:  %8.1f ms en secuencia, %8.1f ms en paralelo (%.1fx)%n", arreglos[ 0 ], arreglos[ 1 ], arreglos[ 0 ] / arreglos[ 1 ] );
+            System.out.printf( "SandboxListas:    %8.1f ms en secuencia, %8.1f ms en paralelo (%.1fx)%n", listas[ 0 ], listas[ 1 ], listas[ 0 ] / listas[ 1 ] );
+            System.out.printf( "SandboxConjuntos: %8.1f ms en secuencia, %8.1f ms en paralelo (%.1fx)%n", conjuntos[ 0 ], conjuntos[ 1 ], conjuntos[ 0 ] / conjuntos[ 1 ] );
+            System.out.printf( "SandboxMapas:     %8.1f ms en secuencia, %8.1f ms en paralelo (%.1fx)%n", mapas[ 0 ], mapas[ 1 ], mapas[ 0 ] / mapas[ 1 ] );
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package uniandes.dpoo.estructuras.benchmarks;
+
+import java.util.Arrays;
+
+import uniandes.dpoo.estructuras.logica.GeneradorAleatorio;
+import uniandes.dpoo.estructuras.logica.SandboxArreglos;
+
+/**
+ * Mide la tasa de compresión del modo comprimido de SandboxArreglos y la velocidad de las consultas sobre los enteros comprimidos, comparadas con el mismo arreglo
+ * ordenado sin comprimir.
+ *
+ * Para cada amplitud de valores se genera un arreglo aleatorio, se ordena y se reporta: los bytes ocupados con y sin compresión, cuántas consultas de
+ * contarApariciones y buscarEntero se hacen por segundo, y a cuántos millones de enteros por segundo se descomprime todo el arreglo con getCopiaEnteros. Sin
+ * comprimir, contarApariciones recorre todo el arreglo, así que se mide con menos consultas; y como buscarEntero retorna todas las posiciones, cuando cada valor
+ * aparece muchas veces también se hacen menos consultas de buscarEntero.
+ *
+ * Se ejecuta con: java uniandes.dpoo.estructuras.benchmarks.BenchmarkEnterosComprimidos [cantidad] [consultas]
+ */
+public class BenchmarkEnterosComprimidos
+{
+    public static void main( String[] args )
+    {
+        int cantidad = args.length > 0 ? Integer.parseInt( args[ 0 ] ) : 20000000;
+        int consultas = args.length > 1 ? Integer.parseInt( args[ 1 ] ) : 1000000;
+
+        System.out.println( "Cantidad de enteros: " + cantidad + ", consultas: " + consultas );
+        for( int amplitud : new int[]{ 1000, 1000000, 100000000, Integer.MAX_VALUE } )
+        {
+            int[] valores = GeneradorAleatorio.XORSHIFT.generar( cantidad, 0, amplitud, 13 );
+            int[] buscados = GeneradorAleatorio.XORSHIFT.generar( consultas, 0, amplitud, 17 );
+            int[] buscadosRecorrido = Arrays.copyOf( buscados, Math.max( 1, consultas / 1000 ) );
+            int[] buscadosPosiciones = Arrays.copyOf( buscados, ( int )Math.max( 1, Math.min( consultas, consultas * ( long )amplitud / cantidad ) ) );
+
+            SandboxArreglos normal = new SandboxArreglos( );
+            normal.agregarEnteros( valores );
+            normal.organizarEnteros( );
+            SandboxArreglos comprimido = new SandboxArreglos( );
+            comprimido.agregarEnteros( valores );
+            comprimido.setAlmacenamientoComprimido( true );
+            comprimido.organizarEnteros( );
+
+            long bytesNormal = 4L * cantidad;
+            long bytesComprimido = comprimido.getBytesEnterosEnHeap( );
+            System.out.printf( "Amplitud %,d: %,d bytes sin comprimir, %,d comprimidos (%.1fx, %.2f bits por entero)%n", amplitud, bytesNormal, bytesComprimido,
+                    ( double )bytesNormal / bytesComprimido, bytesComprimido * 8.0 / cantidad );
+            System.out.printf( "  contarApariciones: %,.0f/s sin comprimir, %,.0f/s comprimido%n", contar( normal, buscadosRecorrido ),
+                    contar( comprimido, buscados ) );
+            System.out.printf( "  buscarEntero:      %,.0f/s sin comprimir, %,.0f/s comprimido%n", buscar( normal, buscadosPosiciones ),
+                    buscar( comprimido, buscadosPosiciones ) );
+            System.out.printf( "  getCopiaEnteros:   %,.0f M enteros/s sin comprimir, %,.0f M enteros/s comprimido%n", copiar( normal ), copiar( comprimido ) );
+        }
+    }
+
+    private static double contar( SandboxArreglos sandbox, int[] buscados )
+    {
+        long sumidero = 0;
+        long inicio = System.nanoTime( );
+        for( int valor : buscados )
+            sumidero += sandbox.contarApariciones( valor );
+        long total = System.nanoTime( ) - inicio;
+        if( sumidero < 0 )
+            System.out.print( "" );
+        return buscados.length * 1e9 / total;
+    }
+
+    private static double buscar( SandboxArreglos sandbox, int[] buscados )
+    {
+        long sumidero = 0;
+        long inicio = System.nanoTime( );
+        for( int valor : buscados )
+            sumidero += sandbox.buscarEntero( valor ).length;
+        long total = System.nanoTime( ) - inicio;
+        if( sumidero < 0 )
+            System.out.print( "" );
+        return buscados.length * 1e9 / total;
+    }
+
+    private static double copiar( SandboxArreglos sandbox )
+    {
+        // La primera copia calienta el código; se mide la mejor de las siguientes
+        long mejor = Long.MAX_VALUE;
+        int cantidad = 0;
+        for( int r = 0; r < 4; r++ )
+        {
+            long inicio = System.nanoTime( );
+            cantidad = sandbox.getCopiaEnteros( ).length;
+            if( r > 0 )
+                mejor = Math.min( mejor, System.nanoTime( ) - inicio );
+        }
+        return cantidad * 1e3 / mejor;
+    }
+}
@@ -0,0 +1,61 @@
+package uniandes.dpoo.estructuras.benchmarks;
+
+import uniandes.dpoo.estructuras.logica.GeneradorAleatorio;
+import uniandes.dpoo.estructuras.logica.SandboxArreglos;
+
+/**
+ * Compara la forma anterior de calcular la mediana y varios percentiles (copiar el arreglo a otro sandbox, organizarlo y leer las posiciones) con mediana y
+ * percentiles, que seleccionan sin ordenar. Para los percentiles se mide también la selección de cada uno por separado, para ver cuánto se ahorra al compartir las
+ * particiones.
+ *
+ * Se ejecuta con: java uniandes.dpoo.estructuras.benchmarks.BenchmarkEstadisticosDeOrden [cantidad]
+ */
+public class BenchmarkEstadisticosDeOrden
+{
+    private static final double[] PERCENTILES = { 1, 5, 25, 50, 75, 95, 99, 99.9 };
+
+    public static void main( String[] args )
+    {
+        int cantidad = args.length > 0 ? Integer.parseInt( args[ 0 ] ) : 10000000;
+        int[] valores = GeneradorAleatorio.XORSHIFT.generar( cantidad, Integer.MIN_VALUE, Integer.MAX_VALUE, 29 );
+        SandboxArreglos sandbox = new SandboxArreglos( );
+        sandbox.agregarEnteros( valores );
+        System.out.printf( "Cantidad de enteros: %,d, percentiles: %d%n", cantidad, PERCENTILES.length );
+        for( int r = 0; r < 4; r++ )
+        {
+            // Las dos primeras rondas calientan el código
+            long inicio = System.nanoTime( );
+            SandboxArreglos copia = new SandboxArreglos( );
+            copia.agregarEnteros( sandbox.getCopiaEnteros( ) );
+            copia.organizarEnteros( );
+            int[] esperados = new int[PERCENTILES.length];
+            for( int i = 0; i < PERCENTILES.length; i++ )
+                esperados[ i ] = copia.getEntero( Math.max( 0, ( long )Math.ceil( PERCENTILES[ i ] * cantidad / 100 ) - 1 ) );
+            double medianaEsperada = cantidad % 2 == 1 ? copia.getEntero( cantidad / 2 ) : ( ( long )copia.getEntero( cantidad / 2 - 1 ) + copia.getEntero( cantidad / 2 ) ) / 2.0;
+            long ordenando = System.nanoTime( ) - inicio;
+
+            inicio = System.nanoTime( );
+            double mediana = sandbox.mediana( );
+            long conMediana = System.nanoTime( ) - inicio;
+
+            inicio = System.nanoTime( );
+            int[] juntos = sandbox.percentiles( PERCENTILES );
+            long compartidos = System.nanoTime( ) - inicio;
+
+            inicio = System.nanoTime( );
+            int[] separados = new int[PERCENTILES.length];
+            for( int i = 0; i < PERCENTILES.length; i++ )
+                separados[ i ] = sandbox.percentiles( PERCENTILES[ i ] )[ 0 ];
+            long porSeparado = System.nanoTime( ) - inicio;
+
+            if( !java.util.Arrays.equals( esperados, juntos ) || !java.util.Arrays.equals( esperados, separados ) || mediana != medianaEsperada )
+                throw new IllegalStateException( "Los percentiles no son correctos" );
+            if( r < 2 )
+                continue;
+            System.out.printf( "Organizar una copia y leer: %7.1f ms%n", ordenando / 1e6 );
+            System.out.printf( "mediana:                    %7.1f ms (%.1fx)%n", conMediana / 1e6, ( double )ordenando / conMediana );
+            System.out.printf( "percentiles juntos:         %7.1f ms (%.1fx)%n", compartidos / 1e6, ( double )ordenando / compartidos );
+            System.out.printf( "percentiles por separado:   %7.1f ms (%.1fx)%n", porSeparado / 1e6, ( double )ordenando / porSeparado );
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package uniandes.dpoo.estructuras.benchmarks;
+
+import uniandes.dpoo.estructuras.logica.GeneradorAleatorio;
+import uniandes.dpoo.estructuras.logica.HuellaEnteros;
+import uniandes.dpoo.estructuras.logica.SandboxArreglos;
+
+/**
+ * Mide cuánto ayudan las huellas al comparar un sandbox con muchos arreglos candidatos, como cuando se busca cuál de muchos arreglos coincide con el del sandbox.
+ *
+ * Los candidatos son copias del arreglo del sandbox: la mayoría tienen un solo valor cambiado cerca del final (así la comparación posición por posición tiene que
+ * recorrer casi todo el arreglo para descartarlos), y uno de cada cien es idéntico. Se reporta cuántas comparaciones por segundo hacen mismosEnteros y
+ * compararArregloEnteros sin huella (mismosEnteros calcula en cada llamada la huella del candidato) y con la huella de cada candidato calculada de antemano.
+ *
+ * Se ejecuta con: java uniandes.dpoo.estructuras.benchmarks.BenchmarkHuellaEnteros [cantidad] [candidatos]
+ */
+public class BenchmarkHuellaEnteros
+{
+    public static void main( String[] args )
+    {
+        int cantidad = args.length > 0 ? Integer.parseInt( args[ 0 ] ) : 100000;
+        int candidatos = args.length > 1 ? Integer.parseInt( args[ 1 ] ) : 2000;
+        int[] valores = GeneradorAleatorio.XORSHIFT.generar( cantidad, -1000000, 1000000, 19 );
+        SandboxArreglos sandbox = new SandboxArreglos( );
+        sandbox.agregarEnteros( valores );
+
+        int[][] arreglos = new int[candidatos][];
+        HuellaEnteros[] huellas = new HuellaEnteros[candidatos];
+        for( int c = 0; c < candidatos; c++ )
+        {
+            arreglos[ c ] = valores.clone( );
+            if( c % 100 != 0 )
+                arreglos[ c ][ cantidad - 1 - c % 10 ] += c;
+        }
+        long inicio = System.nanoTime( );
+        for( int c = 0; c < candidatos; c++ )
+            huellas[ c ] = HuellaEnteros.calcular( arreglos[ c ] );
+        double calcular = candidatos * 1e9 / ( System.nanoTime( ) - inicio );
+
+        System.out.println( "Cantidad de enteros: " + cantidad + ", candidatos: " + candidatos );
+        System.out.printf( "HuellaEnteros.calcular:  %,12.0f huellas/s%n", calcular );
+        for( int r = 0; r < 2; r++ )
+        {
+            // La primera ronda calienta el código
+            double mismos = medir( sandbox, arreglos, null, true );
+            double mismosHuella = medir( sandbox, arreglos, huellas, true );
+            double iguales = medir( sandbox, arreglos, null, false );
+            double igualesHuella = medir( sandbox, arreglos, huellas, false );
+            if( r == 0 )
+                continue;
+            System.out.printf( "mismosEnteros:           %,12.0f/s sin huella, %,12.0f/s con huella (%.1fx)%n", mismos, mismosHuella, mismosHuella / mismos );
+            System.out.printf( "compararArregloEnteros:  %,12.0f/s sin huella, %,12.0f/s con huella (%.1fx)%n", iguales, igualesHuella, igualesHuella / iguales );
+        }
+    }
+
+    private static double medir( SandboxArreglos sandbox, int[][] arreglos, HuellaEnteros[] huellas, boolean mismos )
+    {
+        int coincidencias = 0;
+        long inicio = System.nanoTime( );
+        for( int c = 0; c < arreglos.length; c++ )
+        {
+            boolean coincide;
+            if( huellas == null )
+                coincide = mismos ? sandbox.mismosEnteros( arreglos[ c ] ) : sandbox.compararArregloEnteros( arreglos[ c ] );
+            else
+                coincide = mismos ? sandbox.mismosEnteros( arreglos[ c ], huellas[ c ] ) : sandbox.compararArregloEnteros( arreglos[ c ], huellas[ c ] );
+            if( coincide )
+                coincidencias++;
+        }
+        long total = System.nanoTime( ) - inicio;
+        if( coincidencias != ( arreglos.length + 99 ) / 100 )
+            throw new IllegalStateException( "Las comparaciones no son correctas: " + coincidencias );
+        return arreglos.length * 1e9 / total;
+    }
+}
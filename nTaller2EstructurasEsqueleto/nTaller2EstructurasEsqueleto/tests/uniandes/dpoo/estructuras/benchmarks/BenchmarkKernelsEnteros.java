@@ -0,0 +1,141 @@
+package uniandes.dpoo.estructuras.benchmarks;
+
+import java.util.Random;
+
+import uniandes.dpoo.estructuras.logica.SandboxArreglos;
+
+/**
+ * Compara los recorridos de SandboxArreglos (contarApariciones, calcularRangoEnteros, volverPositivos, compararArregloEnteros y buscarEntero) contra los ciclos escalares
+ * con saltos que se usaban antes.
+ *
+ * Se ejecuta con: java uniandes.dpoo.estructuras.benchmarks.BenchmarkKernelsEnteros [cantidad] [repeticiones]
+ */
+public class BenchmarkKernelsEnteros
+{
+    public static void main( String[] args )
+    {
+        int cantidad = args.length > 0 ? Integer.parseInt( args[ 0 ] ) : 10000000;
+        int repeticiones = args.length > 1 ? Integer.parseInt( args[ 1 ] ) : 20;
+
+        Random azar = new Random( 7 );
+        int[] datos = new int[cantidad];
+        for( int i = 0; i < cantidad; i++ )
+        {
+            datos[ i ] = azar.nextInt( 2001 ) - 1000;
+        }
+        int[] igual = datos.clone( );
+
+        SandboxArreglos sandbox = new SandboxArreglos( );
+        sandbox.agregarEnteros( datos );
+
+        System.out.println( "Cantidad de enteros: " + cantidad + ", repeticiones: " + repeticiones );
+        System.out.printf( "%-24s %14s %14s %10s%n", "Operación", "Escalar (ms)", "Sandbox (ms)", "Aceleración" );
+
+        reportar( "contarApariciones", repeticiones, ( ) -> contarEscalar( datos, 7 ), ( ) -> sandbox.contarApariciones( 7 ) );
+        reportar( "calcularRangoEnteros", repeticiones, ( ) -> rangoEscalar( datos )[ 0 ], ( ) -> sandbox.calcularRangoEnteros( )[ 0 ] );
+        reportar( "compararArregloEnteros", repeticiones, ( ) -> igualesEscalar( datos, igual ) ? 1 : 0, ( ) -> sandbox.compararArregloEnteros( igual ) ? 1 : 0 );
+        reportar( "buscarEntero", repeticiones, ( ) -> buscarEscalar( datos, 7 ).length, ( ) -> sandbox.buscarEntero( 7 ).length );
+        reportar( "volverPositivos", repeticiones, ( ) -> {
+            int[] copia = datos.clone( );
+            positivosEscalar( copia );
+            return copia[ 0 ];
+        }, ( ) -> {
+            SandboxArreglos copia = new SandboxArreglos( );
+            copia.agregarEnteros( datos );
+            copia.volverPositivos( );
+            return copia.getCantidadEnteros( );
+        } );
+    }
+
+    /**
+     * Una operación que se va a medir. Retorna un valor para que el JIT no pueda eliminar el trabajo.
+     */
+    private interface Operacion
+    {
+        long ejecutar( );
+    }
+
+    private static long sumidero;
+
+    private static void reportar( String nombre, int repeticiones, Operacion escalar, Operacion sandbox )
+    {
+        medir( escalar, repeticiones );
+        medir( sandbox, repeticiones );
+        double tiempoEscalar = medir( escalar, repeticiones );
+        double tiempoSandbox = medir( sandbox, repeticiones );
+        System.out.printf( "%-24s %14.3f %14.3f %9.2fx%n", nombre, tiempoEscalar, tiempoSandbox, tiempoEscalar / tiempoSandbox );
+    }
+
+    private static double medir( Operacion operacion, int repeticiones )
+    {
+        long inicio = System.nanoTime( );
+        for( int i = 0; i < repeticiones; i++ )
+        {
+            sumidero += operacion.ejecutar( );
+        }
+        return ( System.nanoTime( ) - inicio ) / 1e6 / repeticiones;
+    }
+
+    private static int contarEscalar( int[] arreglo, int valor )
+    {
+        int c = 0;
+        for( int v : arreglo )
+        {
+            if( v == valor )
+                c++;
+        }
+        return c;
+    }
+
+    private static int[] rangoEscalar( int[] arreglo )
+    {
+        int min = arreglo[ 0 ];
+        int max = arreglo[ 0 ];
+        for( int i = 1; i < arreglo.length; i++ )
+        {
+            int v = arreglo[ i ];
+            if( v < min )
+                min = v;
+            if( v > max )
+                max = v;
+        }
+        return new int[]{ min, max };
+    }
+
+    private static boolean igualesEscalar( int[] a, int[] b )
+    {
+        for( int i = 0; i < a.length; i++ )
+        {
+            if( a[ i ] != b[ i ] )
+                return false;
+        }
+        return true;
+    }
+
+    private static int[] buscarEscalar( int[] arreglo, int valor )
+    {
+        int cuenta = 0;
+        for( int i = 0; i < arreglo.length; i++ )
+        {
+            if( arreglo[ i ] == valor )
+                cuenta++;
+        }
+        int[] pos = new int[cuenta];
+        int j = 0;
+        for( int i = 0; i < arreglo.length; i++ )
+        {
+            if( arreglo[ i ] == valor )
+                pos[ j++ ] = i;
+        }
+        return pos;
+    }
+
+    private static void positivosEscalar( int[] arreglo )
+    {
+        for( int i = 0; i < arreglo.length; i++ )
+        {
+            if( arreglo[ i ] < 0 )
+                arreglo[ i ] = -arreglo[ i ];
+        }
+    }
+}
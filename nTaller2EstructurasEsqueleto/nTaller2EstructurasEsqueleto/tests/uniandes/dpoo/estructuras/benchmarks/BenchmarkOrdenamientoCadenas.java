@@ -0,0 +1,67 @@
+package uniandes.dpoo.estructuras.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import uniandes.dpoo.estructuras.logica.EstrategiaOrdenamientoCadenas;
+
+/**
+ * Compara las estrategias de EstrategiaOrdenamientoCadenas contra Arrays.sort sobre cadenas con prefijos comunes largos (URLs e identificadores) y sobre cadenas
+ * aleatorias cortas.
+ *
+ * Se ejecuta con: java uniandes.dpoo.estructuras.benchmarks.BenchmarkOrdenamientoCadenas [cantidad] [repeticiones]
+ */
+public class BenchmarkOrdenamientoCadenas
+{
+    public static void main( String[] args )
+    {
+        int cantidad = args.length > 0 ? Integer.parseInt( args[ 0 ] ) : 1000000;
+        int repeticiones = args.length > 1 ? Integer.parseInt( args[ 1 ] ) : 5;
+
+        Random azar = new Random( 7 );
+        String[] urls = new String[cantidad];
+        String[] identificadores = new String[cantidad];
+        String[] cortas = new String[cantidad];
+        for( int i = 0; i < cantidad; i++ )
+        {
+            urls[ i ] = "https://www.example.com/catalogo/productos/categoria-" + azar.nextInt( 20 ) + "/item?id=" + azar.nextInt( cantidad );
+            identificadores[ i ] = "uniandes.dpoo.estructuras.logica.Clase" + azar.nextInt( 100 ) + ".metodo" + azar.nextInt( cantidad );
+            cortas[ i ] = Integer.toString( azar.nextInt( ), 36 );
+        }
+
+        System.out.println( "Cantidad de cadenas: " + cantidad + ", repeticiones: " + repeticiones );
+        System.out.printf( "%-16s %-14s %12s %10s%n", "Datos", "Estrategia", "Tiempo (ms)", "vs sort" );
+        reportar( "URLs", urls, repeticiones );
+        reportar( "Identificadores", identificadores, repeticiones );
+        reportar( "Cortas", cortas, repeticiones );
+    }
+
+    private static void reportar( String nombre, String[] datos, int repeticiones )
+    {
+        String[] esperado = datos.clone( );
+        Arrays.sort( esperado );
+        medir( EstrategiaOrdenamientoCadenas.COMPARACION, datos, esperado, 1 );
+        double base = medir( EstrategiaOrdenamientoCadenas.COMPARACION, datos, esperado, repeticiones );
+        for( EstrategiaOrdenamientoCadenas estrategia : EstrategiaOrdenamientoCadenas.values( ) )
+        {
+            medir( estrategia, datos, esperado, 1 );
+            double tiempo = medir( estrategia, datos, esperado, repeticiones );
+            System.out.printf( "%-16s %-14s %12.1f %9.2fx%n", nombre, estrategia, tiempo, base / tiempo );
+        }
+    }
+
+    private static double medir( EstrategiaOrdenamientoCadenas estrategia, String[] datos, String[] esperado, int repeticiones )
+    {
+        long total = 0;
+        for( int i = 0; i < repeticiones; i++ )
+        {
+            String[] copia = datos.clone( );
+            long inicio = System.nanoTime( );
+            estrategia.ordenar( copia, 0, copia.length );
+            total += System.nanoTime( ) - inicio;
+            if( !Arrays.equals( esperado, copia ) )
+                throw new IllegalStateException( estrategia + " no produjo el mismo orden que Arrays.sort" );
+        }
+        return total / 1e6 / repeticiones;
+    }
+}
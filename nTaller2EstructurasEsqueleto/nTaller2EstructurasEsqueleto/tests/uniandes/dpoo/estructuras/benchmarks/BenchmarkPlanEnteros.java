@@ -0,0 +1,51 @@
+package uniandes.dpoo.estructuras.benchmarks;
+
+import uniandes.dpoo.estructuras.logica.GeneradorAleatorio;
+import uniandes.dpoo.estructuras.logica.PlanEnteros;
+import uniandes.dpoo.estructuras.logica.SandboxArreglos;
+
+/**
+ * Compara una cadena de operaciones sobre el arreglo de enteros llamada método por método con la misma cadena registrada en un PlanEnteros.
+ *
+ * La cadena es volverPositivos, eliminarEntero, eliminarEnteros, organizarEnteros, eliminarEntero y calcularHistogramaEnteros. Llamada método por método recorre
+ * el arreglo en cada operación; el plan hace una pasada, un ordenamiento y el histograma. Se verifica que ambas formas dejen los mismos enteros.
+ *
+ * Se ejecuta con: java uniandes.dpoo.estructuras.benchmarks.BenchmarkPlanEnteros [cantidad]
+ */
+public class BenchmarkPlanEnteros
+{
+    public static void main( String[] args )
+    {
+        int cantidad = args.length > 0 ? Integer.parseInt( args[ 0 ] ) : 20000000;
+        int[] valores = GeneradorAleatorio.XORSHIFT.generar( cantidad, -1000000, 1000000, 23 );
+        System.out.printf( "Cantidad de enteros: %,d%n", cantidad );
+        for( int r = 0; r < 5; r++ )
+        {
+            // Las dos primeras rondas calientan el código
+            SandboxArreglos uno = new SandboxArreglos( );
+            SandboxArreglos plan = new SandboxArreglos( );
+            uno.agregarEnteros( valores );
+            plan.agregarEnteros( valores );
+
+            long inicio = System.nanoTime( );
+            uno.volverPositivos( );
+            uno.eliminarEntero( 0 );
+            uno.eliminarEnteros( 1, 2, 3 );
+            uno.organizarEnteros( );
+            uno.eliminarEntero( 1000000 );
+            int valoresUno = uno.calcularHistogramaEnteros( ).getCantidadValores( );
+            long porMetodo = System.nanoTime( ) - inicio;
+
+            inicio = System.nanoTime( );
+            PlanEnteros operaciones = plan.crearPlanEnteros( ).volverPositivos( ).eliminarEntero( 0 ).eliminarEnteros( 1, 2, 3 ).organizarEnteros( ).eliminarEntero( 1000000 );
+            int valoresPlan = operaciones.calcularHistogramaEnteros( ).getCantidadValores( );
+            long conPlan = System.nanoTime( ) - inicio;
+
+            if( valoresUno != valoresPlan || !uno.compararArregloEnteros( plan.getCopiaEnteros( ) ) )
+                throw new IllegalStateException( "El plan no dejó los mismos enteros" );
+            if( r < 2 )
+                continue;
+            System.out.printf( "Método por método %7.1f ms, con plan %7.1f ms (%.2fx)%n", porMetodo / 1e6, conPlan / 1e6, ( double )porMetodo / conPlan );
+        }
+    }
+}
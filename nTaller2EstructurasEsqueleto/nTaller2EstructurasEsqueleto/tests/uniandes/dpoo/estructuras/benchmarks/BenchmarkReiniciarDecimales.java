@@ -0,0 +1,107 @@
+package uniandes.dpoo.estructuras.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.stream.DoubleStream;
+
+import uniandes.dpoo.estructuras.logica.SandboxArreglos;
+
+/**
+ * Compara reiniciarArregloEnteros(double[]) con las versiones que truncan directamente desde un flujo o un archivo, sin guardar antes los decimales en un double[].
+ *
+ * Para el flujo, la alternativa es llamar toArray y después reiniciar con el arreglo; para el archivo, leerlo completo a un double[]. Se reporta el tiempo de cada
+ * forma y los bytes del double[] intermedio que se evitan.
+ *
+ * Se ejecuta con: java uniandes.dpoo.estructuras.benchmarks.BenchmarkReiniciarDecimales [cantidad]
+ */
+public class BenchmarkReiniciarDecimales
+{
+    public static void main( String[] args ) throws IOException
+    {
+        int cantidad = args.length > 0 ? Integer.parseInt( args[ 0 ] ) : 20000000;
+        Path archivo = Files.createTempFile( "decimales", ".bin" );
+        try
+        {
+            escribir( archivo, cantidad );
+            System.out.printf( "Cantidad de decimales: %,d (double[] intermedio de %,d bytes)%n", cantidad, 8L * cantidad );
+            SandboxArreglos sandbox = new SandboxArreglos( );
+            for( int r = 0; r < 3; r++ )
+            {
+                // La primera ronda calienta el código
+                long inicio = System.nanoTime( );
+                sandbox.reiniciarArregloEnteros( flujo( cantidad ).toArray( ) );
+                long conArreglo = System.nanoTime( ) - inicio;
+                inicio = System.nanoTime( );
+                sandbox.reiniciarArregloEnteros( flujo( cantidad ) );
+                long conFlujo = System.nanoTime( ) - inicio;
+                inicio = System.nanoTime( );
+                sandbox.reiniciarArregloEnteros( leer( archivo, cantidad ) );
+                long leyendo = System.nanoTime( ) - inicio;
+                inicio = System.nanoTime( );
+                sandbox.reiniciarArregloEnteros( archivo, ByteOrder.LITTLE_ENDIAN );
+                long mapeando = System.nanoTime( ) - inicio;
+                if( r == 0 )
+                    continue;
+                System.out.printf( "Flujo:   toArray + double[] %6.1f ms, DoubleStream %6.1f ms%n", conArreglo / 1e6, conFlujo / 1e6 );
+                System.out.printf( "Archivo: leer a double[]    %6.1f ms, mapeado      %6.1f ms%n", leyendo / 1e6, mapeando / 1e6 );
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists( archivo );
+        }
+    }
+
+    private static DoubleStream flujo( int cantidad )
+    {
+        return new SplittableRandom( 5 ).doubles( cantidad, -1e6, 1e6 ).parallel( );
+    }
+
+    private static void escribir( Path archivo, int cantidad ) throws IOException
+    {
+        SplittableRandom aleatorio = new SplittableRandom( 5 );
+        ByteBuffer bloque = ByteBuffer.allocate( 1 << 16 ).order( ByteOrder.LITTLE_ENDIAN );
+        try( FileChannel canal = FileChannel.open( archivo, StandardOpenOption.WRITE ) )
+        {
+            for( int i = 0; i < cantidad; i++ )
+            {
+                bloque.putDouble( aleatorio.nextDouble( -1e6, 1e6 ) );
+                if( !bloque.hasRemaining( ) || i == cantidad - 1 )
+                {
+                    bloque.flip( );
+                    while( bloque.hasRemaining( ) )
+                        canal.write( bloque );
+                    bloque.clear( );
+                }
+            }
+        }
+    }
+
+    private static double[] leer( Path archivo, int cantidad ) throws IOException
+    {
+        double[] valores = new double[cantidad];
+        ByteBuffer bloque = ByteBuffer.allocateDirect( 1 << 16 ).order( ByteOrder.LITTLE_ENDIAN );
+        int leidos = 0;
+        try( FileChannel canal = FileChannel.open( archivo, StandardOpenOption.READ ) )
+        {
+            while( canal.read( bloque ) > 0 || bloque.position( ) > 0 )
+            {
+                bloque.flip( );
+                int m = bloque.remaining( ) / Double.BYTES;
+                bloque.asDoubleBuffer( ).get( valores, leidos, m );
+                leidos += m;
+                bloque.position( m * Double.BYTES );
+                bloque.compact( );
+                if( m == 0 )
+                    break;
+            }
+        }
+        return valores;
+    }
+}
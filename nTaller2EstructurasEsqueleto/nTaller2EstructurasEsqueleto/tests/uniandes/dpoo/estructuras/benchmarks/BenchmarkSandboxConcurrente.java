@@ -0,0 +1,187 @@
+package uniandes.dpoo.estructuras.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import uniandes.dpoo.estructuras.logica.GeneradorAleatorio;
+import uniandes.dpoo.estructuras.logica.SandboxArreglos;
+import uniandes.dpoo.estructuras.logica.SandboxArreglosConcurrente;
+
+/**
+ * Compara SandboxArreglosConcurrente con un SandboxArreglos envuelto en métodos synchronized cuando muchos hilos leen y un solo hilo escribe de vez en cuando.
+ *
+ * Cada lector llama en ciclo a contarApariciones, buscarEntero y calcularRangoEnteros; el escritor agrega un entero cada cierto tiempo. Se reporta cuántas lecturas
+ * por segundo se completaron con 1, 4, 16 y 64 lectores. La diferencia sólo se nota si la máquina tiene varios núcleos.
+ *
+ * Se ejecuta con: java uniandes.dpoo.estructuras.benchmarks.BenchmarkSandboxConcurrente [cantidad] [milisegundos por medición]
+ */
+public class BenchmarkSandboxConcurrente
+{
+    /**
+     * Las operaciones que usan los hilos, para poder medir las dos variantes con el mismo código.
+     */
+    private interface Variante
+    {
+        int contarApariciones( int valor );
+
+        int[] buscarEntero( int valor );
+
+        int[] calcularRangoEnteros( );
+
+        void agregarEntero( int entero );
+    }
+
+    /**
+     * La alternativa obvia: un candado exclusivo alrededor de cada operación.
+     */
+    private static class Sincronizada implements Variante
+    {
+        private final SandboxArreglos sandbox;
+
+        Sincronizada( SandboxArreglos sandbox )
+        {
+            this.sandbox = sandbox;
+        }
+
+        @Override
+        public synchronized int contarApariciones( int valor )
+        {
+            return sandbox.contarApariciones( valor );
+        }
+
+        @Override
+        public synchronized int[] buscarEntero( int valor )
+        {
+            return sandbox.buscarEntero( valor );
+        }
+
+        @Override
+        public synchronized int[] calcularRangoEnteros( )
+        {
+            return sandbox.calcularRangoEnteros( );
+        }
+
+        @Override
+        public synchronized void agregarEntero( int entero )
+        {
+            sandbox.agregarEntero( entero );
+        }
+    }
+
+    private static class Concurrente implements Variante
+    {
+        private final SandboxArreglosConcurrente sandbox;
+
+        Concurrente( SandboxArreglosConcurrente sandbox )
+        {
+            this.sandbox = sandbox;
+        }
+
+        @Override
+        public int contarApariciones( int valor )
+        {
+            return sandbox.contarApariciones( valor );
+        }
+
+        @Override
+        public int[] buscarEntero( int valor )
+        {
+            return sandbox.buscarEntero( valor );
+        }
+
+        @Override
+        public int[] calcularRangoEnteros( )
+        {
+            return sandbox.calcularRangoEnteros( );
+        }
+
+        @Override
+        public void agregarEntero( int entero )
+        {
+            sandbox.agregarEntero( entero );
+        }
+    }
+
+    public static void main( String[] args ) throws InterruptedException
+    {
+        int cantidad = args.length > 0 ? Integer.parseInt( args[ 0 ] ) : 1000000;
+        long milisegundos = args.length > 1 ? Long.parseLong( args[ 1 ] ) : 2000;
+        int[] valores = GeneradorAleatorio.XORSHIFT.generar( cantidad, -1000, 1000, 11 );
+
+        System.out.println( "Cantidad de enteros: " + cantidad + ", núcleos: " + Runtime.getRuntime( ).availableProcessors( ) );
+        for( int lectores : new int[]{ 1, 4, 16, 64 } )
+        {
+            SandboxArreglos base = new SandboxArreglos( );
+            base.agregarEnteros( valores );
+            double sincronizada = medir( new Sincronizada( base ), lectores, milisegundos );
+
+            SandboxArreglosConcurrente concurrente = new SandboxArreglosConcurrente( );
+            concurrente.agregarEnteros( valores );
+            double optimista = medir( new Concurrente( concurrente ), lectores, milisegundos );
+
+            System.out.printf( "%2d lectores: synchronized %10.1f lecturas/s, StampedLock %10.1f lecturas/s (%.2fx)%n", lectores, sincronizada, optimista,
+                    optimista / sincronizada );
+        }
+    }
+
+    private static double medir( Variante variante, int lectores, long milisegundos ) throws InterruptedException
+    {
+        AtomicBoolean terminar = new AtomicBoolean( );
+        LongAdder lecturas = new LongAdder( );
+        CountDownLatch listos = new CountDownLatch( lectores + 1 );
+        Thread[] hilos = new Thread[lectores + 1];
+        for( int t = 0; t < lectores; t++ )
+        {
+            int semilla = t;
+            hilos[ t ] = new Thread( ( ) -> {
+                listos.countDown( );
+                long sumidero = 0;
+                for( int i = semilla; !terminar.get( ); i++ )
+                {
+                    int valor = ( i * 37 ) % 2001 - 1000;
+                    switch( i % 3 )
+                    {
+                        case 0:
+                            sumidero += variante.contarApariciones( valor );
+                            break;
+                        case 1:
+                            sumidero += variante.buscarEntero( valor ).length;
+                            break;
+                        default:
+                            sumidero += variante.calcularRangoEnteros( )[ 0 ];
+                    }
+                    lecturas.increment( );
+                }
+                if( sumidero == 42 )
+                    System.out.print( "" );
+            } );
+        }
+        hilos[ lectores ] = new Thread( ( ) -> {
+            listos.countDown( );
+            for( int i = 0; !terminar.get( ); i++ )
+            {
+                variante.agregarEntero( i % 1000 );
+                try
+                {
+                    Thread.sleep( 1 );
+                }
+                catch( InterruptedException e )
+                {
+                    return;
+                }
+            }
+        } );
+        for( Thread hilo : hilos )
+            hilo.start( );
+        listos.await( );
+        long inicio = System.nanoTime( );
+        Thread.sleep( milisegundos );
+        terminar.set( true );
+        long lecturasTotales = lecturas.sum( );
+        long total = System.nanoTime( ) - inicio;
+        for( Thread hilo : hilos )
+            hilo.join( );
+        return lecturasTotales * 1e9 / total;
+    }
+}
@@ -6,14 +6,33 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import uniandes.dpoo.estructuras.logica.EstrategiaOrdenamiento;
+import uniandes.dpoo.estructuras.logica.EstrategiaOrdenamientoCadenas;
+import uniandes.dpoo.estructuras.logica.GeneradorAleatorio;
+import uniandes.dpoo.estructuras.logica.HistogramaEnteros;
+import uniandes.dpoo.estructuras.logica.HuellaEnteros;
+import uniandes.dpoo.estructuras.logica.InstantaneaCadenas;
+import uniandes.dpoo.estructuras.logica.InstantaneaEnteros;
+import uniandes.dpoo.estructuras.logica.PlanEnteros;
 import uniandes.dpoo.estructuras.logica.SandboxArreglos;
 
 class TestSandboxArreglos
@@ -169,6 +188,110 @@ class TestSandboxArreglos
         assertEquals( "mmmm", copia[ 0 ], "La nueva cadena no quedó almacenado al final del arreglo" );
     }
 
+    @Test
+    void testAgregarMuchosEnteros( )
+    {
+        for( int i = 0; i < 1000; i++ )
+        {
+            vacio.agregarEntero( i );
+        }
+        assertEquals( 1000, vacio.getCantidadEnteros( ), "La cantidad de enteros no aumentó correctamente" );
+
+        int[] copia = vacio.getCopiaEnteros( );
+        assertEquals( 1000, copia.length, "La copia no debería incluir la capacidad reservada" );
+        for( int i = 0; i < 1000; i++ )
+        {
+            assertEquals( i, copia[ i ], "Los enteros no quedaron almacenados en orden" );
+        }
+
+        vacio.eliminarEnteroPorPosicion( 999 );
+        vacio.agregarEntero( -1 );
+        assertEquals( 1000, vacio.getCantidadEnteros( ), "La cantidad de enteros no es correcta" );
+        assertEquals( -1, vacio.calcularRangoEnteros( )[ 0 ], "El rango no debería tener en cuenta la capacidad reservada" );
+    }
+
+    @Test
+    void testAgregarMuchasCadenas( )
+    {
+        for( int i = 0; i < 1000; i++ )
+        {
+            vacio.agregarCadena( "c" + i );
+        }
+        assertEquals( 1000, vacio.getCantidadCadenas( ), "La cantidad de cadenas no aumentó correctamente" );
+
+        String[] copia = vacio.getCopiaCadenas( );
+        assertEquals( 1000, copia.length, "La copia no debería incluir la capacidad reservada" );
+        assertEquals( "c999", copia[ 999 ], "Las cadenas no quedaron almacenadas en orden" );
+    }
+
+    @Test
+    void testAgregarEnteros( )
+    {
+        sencillo.agregarEnteros( new int[]{ 100, 200, 300 } );
+
+        assertEquals( enterosSencillos.length + 3, sencillo.getCantidadEnteros( ), "La cantidad de enteros no aumentó correctamente" );
+
+        int[] copia = sencillo.getCopiaEnteros( );
+        for( int i = 0; i < enterosSencillos.length; i++ )
+        {
+            assertEquals( enterosSencillos[ i ], copia[ i ], "Los enteros existentes no deberían cambiar" );
+        }
+        assertEquals( 100, copia[ enterosSencillos.length ], "Los nuevos enteros no quedaron al final del arreglo" );
+        assertEquals( 300, copia[ enterosSencillos.length + 2 ], "Los nuevos enteros no quedaron al final del arreglo" );
+
+        sencillo.agregarEnteros( ( int[] )null );
+        assertEquals( enterosSencillos.length + 3, sencillo.getCantidadEnteros( ), "Agregar null no debería cambiar el arreglo" );
+    }
+
+    @Test
+    void testAgregarEnterosFlujo( )
+    {
+        vacio.agregarEnteros( IntStream.range( 0, 500 ) );
+        vacio.agregarEnteros( IntStream.iterate( 500, i -> i + 1 ).limit( 500 ) );
+
+        assertEquals( 1000, vacio.getCantidadEnteros( ), "La cantidad de enteros no aumentó correctamente" );
+
+        int[] copia = vacio.getCopiaEnteros( );
+        for( int i = 0; i < 1000; i++ )
+        {
+            assertEquals( i, copia[ i ], "Los enteros del flujo no quedaron en orden" );
+        }
+    }
+
+    @Test
+    void testAgregarCadenas( )
+    {
+        sencillo.agregarCadenas( new String[]{ "x", "y" } );
+
+        assertEquals( cadenasSencillas.length + 2, sencillo.getCantidadCadenas( ), "La cantidad de cadenas no aumentó correctamente" );
+
+        String[] copia = sencillo.getCopiaCadenas( );
+        assertEquals( "x", copia[ cadenasSencillas.length ], "Las nuevas cadenas no quedaron al final del arreglo" );
+        assertEquals( "y", copia[ cadenasSencillas.length + 1 ], "Las nuevas cadenas no quedaron al final del arreglo" );
+    }
+
+    @Test
+    void testInsertarEnteros( )
+    {
+        sencillo.insertarEnteros( new int[]{ 100, 200, 300 }, 2 );
+
+        assertEquals( enterosSencillos.length + 3, sencillo.getCantidadEnteros( ), "La cantidad de enteros no aumentó correctamente" );
+
+        int[] copia = sencillo.getCopiaEnteros( );
+        assertEquals( enterosSencillos[ 1 ], copia[ 1 ], "Los enteros anteriores a la posición no deberían cambiar" );
+        assertEquals( 100, copia[ 2 ], "No se insertaron los enteros en la posición correcta" );
+        assertEquals( 200, copia[ 3 ], "No se insertaron los enteros en la posición correcta" );
+        assertEquals( 300, copia[ 4 ], "No se insertaron los enteros en la posición correcta" );
+        for( int i = 2; i < enterosSencillos.length; i++ )
+        {
+            assertEquals( enterosSencillos[ i ], copia[ i + 3 ], "No se ajustaron correctamente los enteros existentes" );
+        }
+
+        vacio.insertarEnteros( new int[]{ 1, 2 }, 10 );
+        vacio.insertarEnteros( new int[]{ 0 }, -5 );
+        assertTrue( Arrays.equals( new int[]{ 0, 1, 2 }, vacio.getCopiaEnteros( ) ), "No se ajustaron las posiciones fuera de rango" );
+    }
+
     @Test
     void testEliminarEnteroUnico( )
     {
@@ -231,6 +354,34 @@ class TestSandboxArreglos
         assertEquals( 0, vacio.getCantidadCadenas( ), "La cantidad de cadenas debería seguir siendo la misma" );
     }
 
+    @Test
+    void testEliminarEnteros( )
+    {
+        vacio.agregarEnteros( new int[]{ 9, 8, 6, 1, 9, 6, 6, 0, 8 } );
+        vacio.eliminarEnteros( 9, 6, 99 );
+        assertEquals( 4, vacio.getCantidadEnteros( ), "La cantidad de enteros debería haber disminuido en 5" );
+        assertEquals( 0, vacio.contarApariciones( 9 ), "No se eliminaron todas las apariciones del valor" );
+        assertEquals( 0, vacio.contarApariciones( 6 ), "No se eliminaron todas las apariciones del valor" );
+        assertTrue( Arrays.equals( new int[]{ 8, 1, 0, 8 }, vacio.getCopiaEnteros( ) ), "Los enteros que se conservan deberían mantener su orden" );
+
+        vacio.eliminarEnteros( );
+        assertEquals( 4, vacio.getCantidadEnteros( ), "Eliminar una lista vacía no debería cambiar el arreglo" );
+    }
+
+    @Test
+    void testEliminarCadenas( )
+    {
+        sencillo.eliminarCadenas( Arrays.asList( "a", "d", "zzz" ) );
+        assertEquals( cadenasSencillas.length - 4, sencillo.getCantidadCadenas( ), "La cantidad de cadenas debería haber disminuido en 4" );
+
+        String[] copia = sencillo.getCopiaCadenas( );
+        assertEquals( "b", copia[ 0 ], "Las cadenas que se conservan deberían mantener su orden" );
+        assertEquals( "b", copia[ copia.length - 1 ], "Las cadenas que se conservan deberían mantener su orden" );
+
+        sencillo.agregarCadena( "nueva" );
+        assertEquals( cadenasSencillas.length - 3, sencillo.getCantidadCadenas( ), "Se debería poder agregar después de eliminar" );
+    }
+
     @Test
     void testEliminarEnteroPorPosicionCorrectos( )
     {
@@ -372,6 +523,55 @@ class TestSandboxArreglos
         }
     }
 
+    @Test
+    void testModoHueco( )
+    {
+        sencillo.setModoHueco( true );
+        assertTrue( sencillo.isModoHueco( ), "El modo hueco debería estar activo" );
+
+        List<Integer> esperado = new ArrayList<Integer>( );
+        for( int v : enterosSencillos )
+        {
+            esperado.add( v );
+        }
+
+        Random azar = new Random( 42 );
+        int cursor = 5;
+        for( int i = 0; i < 2000; i++ )
+        {
+            cursor = Math.max( 0, Math.min( esperado.size( ), cursor + azar.nextInt( 5 ) - 2 ) );
+            if( azar.nextInt( 3 ) == 0 && cursor < esperado.size( ) )
+            {
+                sencillo.eliminarEnteroPorPosicion( cursor );
+                esperado.remove( cursor );
+            }
+            else if( azar.nextInt( 20 ) == 0 )
+            {
+                sencillo.agregarEntero( i );
+                esperado.add( i );
+            }
+            else
+            {
+                sencillo.insertarEntero( i, cursor );
+                esperado.add( cursor, i );
+            }
+            assertEquals( esperado.size( ), sencillo.getCantidadEnteros( ), "La cantidad de enteros no es correcta" );
+        }
+
+        int[] copia = sencillo.getCopiaEnteros( );
+        assertEquals( esperado.size( ), copia.length, "La copia no tiene la cantidad de elementos esperada" );
+        for( int i = 0; i < copia.length; i++ )
+        {
+            assertEquals( esperado.get( i ).intValue( ), copia[ i ], "Los enteros no quedaron en el orden esperado" );
+        }
+
+        sencillo.insertarEntero( -1, 3 );
+        sencillo.setModoHueco( false );
+        assertFalse( sencillo.isModoHueco( ), "El modo hueco debería estar inactivo" );
+        assertEquals( -1, sencillo.getCopiaEnteros( )[ 3 ], "No se cerró correctamente el hueco" );
+        assertEquals( esperado.size( ) + 1, sencillo.getCantidadEnteros( ), "La cantidad de enteros no es correcta" );
+    }
+
     @Test
     void testReiniciarArregloEnteros( )
     {
@@ -500,6 +700,36 @@ class TestSandboxArreglos
 
     }
 
+    @Test
+    void testOrganizarEnterosRangoPequeno( )
+    {
+        vacio.generarEnteros( 5000, -20, 20 );
+        int[] esperado = vacio.getCopiaEnteros( );
+        Arrays.sort( esperado );
+
+        vacio.organizarEnteros( );
+        assertTrue( Arrays.equals( esperado, vacio.getCopiaEnteros( ) ), "Los enteros no quedaron organizados" );
+    }
+
+    @Test
+    void testOrganizarEnterosEstrategias( )
+    {
+        int[][] casos = new int[][]{ { Integer.MIN_VALUE, Integer.MAX_VALUE }, { -10, 10 }, { 0, 255 }, { -1, 0 } };
+        for( int[] rango : casos )
+        {
+            for( EstrategiaOrdenamiento estrategia : EstrategiaOrdenamiento.values( ) )
+            {
+                SandboxArreglos arreglos = new SandboxArreglos( );
+                arreglos.generarEnteros( 100000, rango[ 0 ], rango[ 1 ] );
+                int[] esperado = arreglos.getCopiaEnteros( );
+                Arrays.sort( esperado );
+
+                arreglos.organizarEnteros( estrategia );
+                assertTrue( Arrays.equals( esperado, arreglos.getCopiaEnteros( ) ), "No se organizaron los enteros con " + estrategia + " en " + Arrays.toString( rango ) );
+            }
+        }
+    }
+
     @Test
     void testOrganizarEnterosVacio( )
     {
@@ -522,6 +752,34 @@ class TestSandboxArreglos
         }
     }
 
+    @Test
+    void testOrganizarCadenasEstrategias( )
+    {
+        Random azar = new Random( 11 );
+        String[] cadenas = new String[30000];
+        for( int i = 0; i < cadenas.length; i++ )
+        {
+            StringBuilder cadena = new StringBuilder( i % 3 == 0 ? "https://www.example.com/ruta/" : "" );
+            int largo = azar.nextInt( 6 );
+            for( int j = 0; j < largo; j++ )
+            {
+                char[] alfabeto = { 'a', 'b', 'B', 'é', '￿', '\uD83D', '\uDE00' };
+                cadena.append( alfabeto[ azar.nextInt( alfabeto.length ) ] );
+            }
+            cadenas[ i ] = cadena.toString( );
+        }
+        String[] esperado = cadenas.clone( );
+        Arrays.sort( esperado );
+
+        for( EstrategiaOrdenamientoCadenas estrategia : EstrategiaOrdenamientoCadenas.values( ) )
+        {
+            SandboxArreglos arreglos = new SandboxArreglos( );
+            arreglos.agregarCadenas( cadenas );
+            arreglos.organizarCadenas( estrategia );
+            assertTrue( Arrays.equals( esperado, arreglos.getCopiaCadenas( ) ), "El orden no es el mismo de compareTo con " + estrategia );
+        }
+    }
+
     @Test
     void testOrganizarCadenasVacio( )
     {
@@ -556,6 +814,44 @@ class TestSandboxArreglos
         assertEquals( 0, posiciones99.length, "No reconocio un valor que no está en el arreglo" );
     }
 
+    @Test
+    void testEncontrarEnteroConIndice( )
+    {
+        vacio.setIndicePosiciones( true );
+        assertTrue( vacio.isIndicePosiciones( ), "El índice de posiciones debería quedar activo" );
+        vacio.agregarEnteros( new int[]{ 5, 3, 5, Integer.MAX_VALUE, 3, 5, Integer.MIN_VALUE } );
+        assertTrue( Arrays.equals( new int[]{ 0, 2, 5 }, vacio.buscarEntero( 5 ) ), "Las posiciones encontradas con el índice no son correctas" );
+        assertTrue( Arrays.equals( new int[]{ 3 }, vacio.buscarEntero( Integer.MAX_VALUE ) ), "Las posiciones encontradas con el índice no son correctas" );
+        assertTrue( Arrays.equals( new int[]{ 6 }, vacio.buscarEntero( Integer.MIN_VALUE ) ), "Las posiciones encontradas con el índice no son correctas" );
+        assertEquals( 0, vacio.buscarEntero( 4 ).length, "No se deberían encontrar valores que no están" );
+
+        vacio.agregarEntero( 5 );
+        assertTrue( Arrays.equals( new int[]{ 0, 2, 5, 7 }, vacio.buscarEntero( 5 ) ), "No se encontraron los valores agregados después de construir el índice" );
+
+        vacio.insertarEntero( 3, 0 );
+        assertTrue( Arrays.equals( new int[]{ 1, 3, 6, 8 }, vacio.buscarEntero( 5 ) ), "El índice no se actualizó después de insertar" );
+
+        vacio.eliminarEntero( 3 );
+        assertTrue( Arrays.equals( new int[]{ 0, 1, 3, 5 }, vacio.buscarEntero( 5 ) ), "El índice no se actualizó después de eliminar" );
+
+        vacio.setModoHueco( true );
+        vacio.eliminarEnteroPorPosicion( 0 );
+        assertTrue( Arrays.equals( new int[]{ 0, 2, 4 }, vacio.buscarEntero( 5 ) ), "El índice no se actualizó después de eliminar por posición" );
+    }
+
+    @Test
+    void testEncontrarEnteroOrdenado( )
+    {
+        vacio.agregarEnteros( new int[]{ 4, 1, 4, 9, 1, 4 } );
+        vacio.organizarEnteros( );
+        assertTrue( Arrays.equals( new int[]{ 2, 3, 4 }, vacio.buscarEntero( 4 ) ), "Las posiciones en el arreglo ordenado no son correctas" );
+        assertTrue( Arrays.equals( new int[]{ 0, 1 }, vacio.buscarEntero( 1 ) ), "Las posiciones en el arreglo ordenado no son correctas" );
+        assertEquals( 0, vacio.buscarEntero( 5 ).length, "No se deberían encontrar valores que no están" );
+
+        vacio.agregarEntero( 4 );
+        assertTrue( Arrays.equals( new int[]{ 2, 3, 4, 6 }, vacio.buscarEntero( 4 ) ), "Las posiciones después de desordenar el arreglo no son correctas" );
+    }
+
     @Test
     void testEncontrarEnteroVacio( )
     {
@@ -610,6 +906,60 @@ class TestSandboxArreglos
         assertEquals( 0, histograma.size( ), "La cantidad de valores en el histograma no es la correcta" );
     }
 
+    @Test
+    void testContarCadenaConIndice( )
+    {
+        vacio.agregarCadenas( new String[]{ "Hola", "hola", "HOLA", "mundo", null } );
+        vacio.setIndiceCadenas( true );
+        assertTrue( vacio.isIndiceCadenas( ), "El índice de cadenas debería quedar activo" );
+        assertEquals( 3, vacio.contarApariciones( "hOlA" ), "El conteo con el índice no es correcto" );
+        assertEquals( 1, vacio.contarApariciones( ( String )null ), "El conteo de null con el índice no es correcto" );
+        assertEquals( 0, vacio.contarApariciones( "adiós" ), "Una cadena que no está debería tener conteo 0" );
+
+        vacio.agregarCadena( "MUNDO" );
+        vacio.agregarCadena( "Straße" );
+        assertEquals( 2, vacio.contarApariciones( "Mundo" ), "El índice no se actualizó al agregar" );
+        assertEquals( 1, vacio.contarApariciones( "STRAßE" ), "El índice no se actualizó al agregar" );
+
+        vacio.eliminarCadena( "hola" );
+        assertEquals( 2, vacio.contarApariciones( "HOLA" ), "El índice no se actualizó al eliminar" );
+
+        vacio.eliminarCadenas( Arrays.asList( "Hola", "MUNDO" ) );
+        assertEquals( 1, vacio.contarApariciones( "hola" ), "El índice no se actualizó al eliminar varias cadenas" );
+        assertEquals( 1, vacio.contarApariciones( "mundo" ), "El índice no se actualizó al eliminar varias cadenas" );
+
+        vacio.reiniciarArregloCadenas( new Object[]{ "X", "x", null } );
+        assertEquals( 2, vacio.contarApariciones( "x" ), "El índice no se actualizó al reiniciar" );
+        assertEquals( 0, vacio.contarApariciones( "hola" ), "El índice no se actualizó al reiniciar" );
+
+        vacio.setIndiceCadenas( false );
+        assertEquals( 2, vacio.contarApariciones( "x" ), "Sin el índice el conteo debería ser el mismo" );
+    }
+
+    @Test
+    void testContarCadenaConIndiceFueraDelPlanoBasico( )
+    {
+        // U+10400 y U+10428 son la mayúscula y la minúscula de una letra que en UTF-16 ocupa un par sustituto
+        String mayuscula = "\uD801\uDC00";
+        String minuscula = "\uD801\uDC28";
+        String[] cadenas = { mayuscula, "a" + mayuscula, minuscula + "B", minuscula };
+        String[] consultas = { minuscula, mayuscula, "A" + minuscula, mayuscula + "b" };
+        vacio.agregarCadenas( cadenas );
+        long[] sinIndice = new long[consultas.length];
+        for( int i = 0; i < consultas.length; i++ )
+            sinIndice[ i ] = vacio.contarApariciones( consultas[ i ] );
+        vacio.setIndiceCadenas( true );
+        for( int i = 0; i < consultas.length; i++ )
+        {
+            long esperado = 0;
+            for( String cadena : cadenas )
+                if( cadena.equalsIgnoreCase( consultas[ i ] ) )
+                    esperado++;
+            assertEquals( esperado, sinIndice[ i ], "El recorrido debería contar lo mismo que equalsIgnoreCase" );
+            assertEquals( sinIndice[ i ], vacio.contarApariciones( consultas[ i ] ), "El índice debería contar lo mismo que el recorrido" );
+        }
+    }
+
     @Test
     void testContarEnterosRepetidos( )
     {
@@ -663,6 +1013,21 @@ class TestSandboxArreglos
         assertTrue( sencillo.mismosEnteros( ordenados ), "No comparó correctamente los arreglos en orden diferente" );
     }
 
+    @Test
+    void testMismosEnterosRangoPequeno( )
+    {
+        vacio.generarEnteros( 5000, 0, 100 );
+        int[] otro = vacio.getCopiaEnteros( );
+        Arrays.sort( otro );
+        assertTrue( vacio.mismosEnteros( otro ), "No comparó correctamente los arreglos en orden diferente" );
+
+        otro[ 0 ] = -1;
+        assertFalse( vacio.mismosEnteros( otro ), "No detectó un valor por fuera del rango" );
+
+        otro[ 0 ] = otro[ 1 ] == 50 ? 51 : 50;
+        assertFalse( vacio.mismosEnteros( otro ), "No detectó un conteo diferente" );
+    }
+
     @Test
     void testMismosEnterosVacio( )
     {
@@ -670,6 +1035,114 @@ class TestSandboxArreglos
         assertTrue( vacio.mismosEnteros( new int[]{} ), "No comparó correctamente los arreglos" );
     }
 
+    @Test
+    void testRangoDespuesDeModificaciones( )
+    {
+        vacio.agregarEnteros( new int[]{ 5, -3, 8, 0 } );
+        assertTrue( Arrays.equals( new int[]{ -3, 8 }, vacio.calcularRangoEnteros( ) ), "El rango inicial no es correcto" );
+
+        vacio.agregarEntero( 12 );
+        vacio.insertarEntero( -7, 2 );
+        assertTrue( Arrays.equals( new int[]{ -7, 12 }, vacio.calcularRangoEnteros( ) ), "El rango no se actualizó al agregar" );
+
+        vacio.eliminarEntero( -7 );
+        assertTrue( Arrays.equals( new int[]{ -3, 12 }, vacio.calcularRangoEnteros( ) ), "El rango no se actualizó al eliminar el mínimo" );
+
+        vacio.eliminarEnteroPorPosicion( vacio.getCantidadEnteros( ) - 1 );
+        assertTrue( Arrays.equals( new int[]{ -3, 8 }, vacio.calcularRangoEnteros( ) ), "El rango no se actualizó al eliminar el máximo" );
+
+        vacio.eliminarEnteros( 0, 8 );
+        assertTrue( Arrays.equals( new int[]{ -3, 5 }, vacio.calcularRangoEnteros( ) ), "El rango no se actualizó al eliminar varios valores" );
+
+        vacio.volverPositivos( );
+        assertTrue( Arrays.equals( new int[]{ 3, 5 }, vacio.calcularRangoEnteros( ) ), "El rango no se actualizó al volver positivos" );
+
+        vacio.eliminarEnteros( 3, 5 );
+        assertEquals( 0, vacio.calcularRangoEnteros( ).length, "El rango de un arreglo vacío debería estar vacío" );
+        vacio.agregarEntero( 42 );
+        assertTrue( Arrays.equals( new int[]{ 42, 42 }, vacio.calcularRangoEnteros( ) ), "El rango no se actualizó al agregar en un arreglo vacío" );
+    }
+
+    @Test
+    void testOrganizarEnterosDespuesDeModificaciones( )
+    {
+        vacio.agregarEnteros( new int[]{ 1, 2, 3, 5 } );
+        vacio.organizarEnteros( );
+        vacio.insertarEntero( 4, 3 );
+        vacio.organizarEnteros( );
+        assertTrue( Arrays.equals( new int[]{ 1, 2, 3, 4, 5 }, vacio.getCopiaEnteros( ) ), "Los enteros no deberían cambiar" );
+
+        vacio.insertarEntero( 9, 0 );
+        vacio.organizarEnteros( );
+        assertTrue( Arrays.equals( new int[]{ 1, 2, 3, 4, 5, 9 }, vacio.getCopiaEnteros( ) ), "No se organizó después de insertar un valor fuera de orden" );
+
+        vacio.agregarEntero( 0 );
+        vacio.organizarEnteros( );
+        assertTrue( Arrays.equals( new int[]{ 0, 1, 2, 3, 4, 5, 9 }, vacio.getCopiaEnteros( ) ), "No se organizó después de agregar un valor fuera de orden" );
+
+        vacio.agregarEnteros( new int[]{ 10, 11, 6 } );
+        vacio.organizarEnteros( );
+        assertTrue( Arrays.equals( new int[]{ 0, 1, 2, 3, 4, 5, 6, 9, 10, 11 }, vacio.getCopiaEnteros( ) ), "No se organizó después de agregar valores fuera de orden" );
+
+        vacio.insertarEnteros( new int[]{ -1 }, 5 );
+        vacio.organizarEnteros( );
+        assertEquals( -1, vacio.getCopiaEnteros( )[ 0 ], "No se organizó después de insertar varios valores" );
+    }
+
+    @Test
+    void testCalcularHistogramaEnteros( )
+    {
+        int[] enteros = new int[]{ 9, 8, 7, 6, 5, 4, 3, 2, 1, 0, 6, -2, -3, -4, -5, 6, 7, 8, 9 };
+        vacio.agregarEnteros( enteros );
+        HistogramaEnteros histograma = vacio.calcularHistogramaEnteros( );
+
+        assertEquals( 14, histograma.getCantidadValores( ), "La cantidad de valores diferentes no es correcta" );
+        assertEquals( 3, histograma.get( 6 ), "El conteo del valor 6 no es correcto" );
+        assertEquals( 1, histograma.get( 0 ), "El conteo del valor 0 no es correcto" );
+        assertEquals( 0, histograma.get( 99 ), "Un valor que no está en el arreglo debería tener conteo 0" );
+        assertEquals( 4, histograma.contarRepetidos( ), "La cantidad de valores repetidos no es correcta" );
+
+        int[] valores = histograma.getValores( );
+        int[] conteos = histograma.getConteos( );
+        int total = 0;
+        for( int i = 0; i < valores.length; i++ )
+        {
+            assertEquals( vacio.contarApariciones( valores[ i ] ), conteos[ i ], "El conteo no corresponde al valor" );
+            total += conteos[ i ];
+        }
+        assertEquals( enteros.length, total, "La suma de los conteos no es correcta" );
+    }
+
+    @Test
+    void testCalcularHistogramaEnterosGrande( )
+    {
+        vacio.agregarEnteros( IntStream.range( -50000, 50000 ) );
+        vacio.agregarEnteros( IntStream.range( 0, 100 ) );
+
+        HistogramaEnteros histograma = vacio.calcularHistogramaEnteros( );
+        assertEquals( 100000, histograma.getCantidadValores( ), "La cantidad de valores diferentes no es correcta" );
+        assertEquals( 100, histograma.contarRepetidos( ), "La cantidad de valores repetidos no es correcta" );
+        assertEquals( 2, histograma.get( 0 ), "El conteo del valor 0 no es correcto" );
+        assertEquals( 1, histograma.get( -50000 ), "El conteo del valor -50000 no es correcto" );
+        assertEquals( 100000, vacio.calcularHistograma( ).size( ), "El mapa no tiene la cantidad de valores esperada" );
+    }
+
+    @Test
+    void testCalcularHistogramaEnterosDenso( )
+    {
+        vacio.agregarEnteros( new int[]{ 3, 1, 3, 2, 1, 3 } );
+        HistogramaEnteros histograma = vacio.calcularHistogramaEnteros( );
+
+        assertTrue( histograma.isDenso( ), "Con un rango pequeño el histograma debería ser denso" );
+        assertEquals( 3, histograma.getCantidadValores( ), "La cantidad de valores diferentes no es correcta" );
+        assertEquals( 3, histograma.get( 3 ), "El conteo del valor 3 no es correcto" );
+        assertEquals( 0, histograma.get( Integer.MIN_VALUE ), "Un valor por fuera del rango debería tener conteo 0" );
+        assertTrue( Arrays.equals( new int[]{ 1, 2, 3 }, histograma.getValores( ) ), "Los valores no son los esperados" );
+        assertTrue( Arrays.equals( new int[]{ 2, 1, 3 }, histograma.getConteos( ) ), "Los conteos no son los esperados" );
+        assertEquals( 2, vacio.contarEnterosRepetidos( ), "La cantidad de valores repetidos no es correcta" );
+        assertEquals( 3, vacio.calcularHistograma( ).get( 3 ).intValue( ), "El mapa no tiene el conteo esperado" );
+    }
+
     @Test
     void testGenerarEnterosBasico( )
     {
@@ -719,4 +1192,652 @@ class TestSandboxArreglos
             fail( "Los valores no están bien distribuidos" );
     }
 
+    @Test
+    void testGenerarEnterosConSemilla( )
+    {
+        for( GeneradorAleatorio generador : GeneradorAleatorio.values( ) )
+        {
+            SandboxArreglos otro = new SandboxArreglos( );
+            vacio.generarEnteros( 200000, -10, 10, 42L, generador );
+            otro.generarEnteros( 200000, -10, 10, 42L, generador );
+
+            assertEquals( 200000, vacio.getCantidadEnteros( ), "La cantidad de elementos no es correcta con " + generador );
+            assertTrue( vacio.compararArregloEnteros( otro.getCopiaEnteros( ) ), "Con la misma semilla se deberían generar los mismos valores con " + generador );
+
+            int[] rango = vacio.calcularRangoEnteros( );
+            assertEquals( -10, rango[ 0 ], "El menor valor del rango no es el correcto con " + generador );
+            assertEquals( 10, rango[ 1 ], "El mayor valor del rango no es el correcto con " + generador );
+
+            otro.generarEnteros( 200000, -10, 10, 43L, generador );
+            assertFalse( vacio.compararArregloEnteros( otro.getCopiaEnteros( ) ), "Con otra semilla se deberían generar otros valores con " + generador );
+        }
+    }
+
+    @Test
+    void testGenerarEnterosRangoCompleto( )
+    {
+        vacio.generarEnteros( 1000, Integer.MIN_VALUE, Integer.MAX_VALUE );
+        assertTrue( vacio.contarApariciones( Integer.MIN_VALUE ) < 1000, "Con el rango de todos los enteros los valores no deberían ser todos iguales" );
+
+        for( GeneradorAleatorio generador : GeneradorAleatorio.values( ) )
+        {
+            vacio.generarEnteros( 1000, Integer.MAX_VALUE, Integer.MIN_VALUE, 7L, generador );
+            int negativos = 0;
+            for( int v : vacio.getCopiaEnteros( ) )
+            {
+                if( v < 0 )
+                    negativos++;
+            }
+            assertTrue( negativos > 400 && negativos < 600, "Con el rango de todos los enteros cerca de la mitad deberían ser negativos con " + generador );
+        }
+    }
+
+    @Test
+    void testAlmacenamientoPaginado( )
+    {
+        // Suficientes valores para ocupar varias páginas
+        int cantidad = 2500000;
+        int[] valores = new int[cantidad];
+        for( int i = 0; i < cantidad; i++ )
+            valores[ i ] = ( i * 7 ) % 1000;
+        vacio.agregarEnteros( valores );
+        vacio.setAlmacenamientoPaginado( true );
+        assertTrue( vacio.isAlmacenamientoPaginado( ), "El modo paginado debería quedar activo" );
+        assertEquals( cantidad, vacio.getCantidadEnterosLarga( ), "La cantidad de enteros no es correcta" );
+        assertTrue( vacio.compararArregloEnteros( valores ), "Los enteros no se copiaron correctamente a las páginas" );
+        assertEquals( 2500, vacio.contarAparicionesLargo( 7 ), "La cantidad de apariciones no es correcta" );
+
+        long[] posiciones = vacio.buscarEnteroLargo( 993 );
+        assertEquals( 2500, posiciones.length, "La cantidad de posiciones encontradas no es correcta" );
+        assertEquals( 999, posiciones[ 0 ], "La primera posición encontrada no es correcta" );
+        assertEquals( 993, vacio.getEntero( posiciones[ 2499 ] ), "La última posición encontrada no es correcta" );
+
+        long frontera = 1 << 20;
+        vacio.insertarEntero( -5, frontera );
+        assertEquals( -5, vacio.getEntero( frontera ), "El entero no se insertó en la posición correcta" );
+        assertEquals( valores[ ( int )frontera ], vacio.getEntero( frontera + 1 ), "Los enteros no se desplazaron al insertar" );
+        assertTrue( Arrays.equals( new int[]{ -5, 999 }, vacio.calcularRangoEnteros( ) ), "El rango no es correcto" );
+
+        vacio.eliminarEnteroPorPosicion( frontera );
+        assertTrue( vacio.compararArregloEnteros( valores ), "Los enteros no se desplazaron al eliminar por posición" );
+
+        vacio.eliminarEntero( 0 );
+        assertEquals( cantidad - 2500, vacio.getCantidadEnterosLarga( ), "No se eliminaron todas las apariciones del valor" );
+        assertEquals( 0, vacio.contarAparicionesLargo( 0 ), "No se eliminaron todas las apariciones del valor" );
+        assertEquals( 2500, vacio.calcularHistogramaEnteros( ).get( 1 ), "El histograma no es correcto" );
+
+        vacio.organizarEnteros( );
+        assertEquals( 1, vacio.getEntero( 0 ), "Los enteros no quedaron ordenados" );
+        assertEquals( 999, vacio.getEntero( vacio.getCantidadEnterosLarga( ) - 1 ), "Los enteros no quedaron ordenados" );
+
+        vacio.setAlmacenamientoPaginado( false );
+        assertFalse( vacio.isAlmacenamientoPaginado( ), "El modo paginado debería quedar inactivo" );
+        int[] copia = vacio.getCopiaEnteros( );
+        for( int i = 1; i < copia.length; i++ )
+            assertTrue( copia[ i - 1 ] <= copia[ i ], "Los enteros no quedaron ordenados al volver al arreglo" );
+    }
+
+    @Test
+    void testAlmacenamientoPaginadoOrdenarPorMezcla( )
+    {
+        int[] valores = GeneradorAleatorio.SPLITTABLE.generar( 2200000, Integer.MIN_VALUE, Integer.MAX_VALUE, 11 );
+        vacio.setAlmacenamientoPaginado( true );
+        vacio.agregarEnteros( valores );
+        vacio.organizarEnteros( );
+        Arrays.sort( valores );
+        assertTrue( vacio.compararArregloEnteros( valores ), "Los enteros no quedaron ordenados al mezclar las páginas" );
+        assertTrue( vacio.mismosEnteros( valores ), "Los enteros deberían ser los mismos" );
+    }
+
+    @Test
+    void testAlmacenamientoFueraDelHeap( )
+    {
+        int[] valores = GeneradorAleatorio.XORSHIFT.generar( 2300000, -1000000000, 1000000000, 5 );
+        vacio.agregarEnteros( valores );
+        vacio.setAlmacenamientoFueraDelHeap( true );
+        assertTrue( vacio.isAlmacenamientoFueraDelHeap( ), "El almacenamiento fuera del heap debería quedar activo" );
+        assertTrue( vacio.isAlmacenamientoPaginado( ), "El almacenamiento fuera del heap es paginado" );
+        assertEquals( 0, vacio.getBytesEnterosEnHeap( ), "El arreglo no debería ocupar memoria en el heap" );
+        assertTrue( vacio.getBytesEnterosFueraDelHeap( ) >= 4L * valores.length, "El arreglo debería ocupar memoria fuera del heap" );
+        assertTrue( vacio.compararArregloEnteros( valores ), "Los enteros no se copiaron correctamente fuera del heap" );
+
+        int buscado = valores[ 2200000 ];
+        long[] posiciones = vacio.buscarEnteroLargo( buscado );
+        assertTrue( posiciones.length > 0 && valores[ ( int )posiciones[ 0 ] ] == buscado, "Las posiciones encontradas no son correctas" );
+        assertEquals( posiciones.length, vacio.contarAparicionesLargo( buscado ), "La cantidad de apariciones no es correcta" );
+
+        int[] ordenados = valores.clone( );
+        Arrays.sort( ordenados );
+        assertTrue( Arrays.equals( new int[]{ ordenados[ 0 ], ordenados[ ordenados.length - 1 ] }, vacio.calcularRangoEnteros( ) ), "El rango no es correcto" );
+        assertEquals( valores.length, vacio.calcularHistogramaEnteros( ).getCantidadValores( ) + contarRepetidos( ordenados ), "El histograma no es correcto" );
+
+        vacio.organizarEnteros( );
+        assertTrue( vacio.isAlmacenamientoFueraDelHeap( ), "Al ordenar, los enteros deberían seguir fuera del heap" );
+        assertTrue( vacio.compararArregloEnteros( ordenados ), "Los enteros no quedaron ordenados fuera del heap" );
+
+        vacio.volverPositivos( );
+        assertTrue( vacio.calcularRangoEnteros( )[ 0 ] >= 0, "Los enteros no quedaron positivos" );
+
+        vacio.setAlmacenamientoFueraDelHeap( false );
+        assertFalse( vacio.isAlmacenamientoPaginado( ), "Los enteros deberían volver a un arreglo del heap" );
+        assertEquals( 0, vacio.getBytesEnterosFueraDelHeap( ), "El arreglo no debería ocupar memoria fuera del heap" );
+        assertEquals( valores.length, vacio.getCantidadEnteros( ), "La cantidad de enteros no es correcta" );
+    }
+
+    private static int contarRepetidos( int[] ordenados )
+    {
+        int repetidos = 0;
+        for( int i = 1; i < ordenados.length; i++ )
+            if( ordenados[ i ] == ordenados[ i - 1 ] )
+                repetidos++;
+        return repetidos;
+    }
+
+    @Test
+    void testGuardarYCargar( ) throws IOException
+    {
+        Path carpeta = Files.createTempDirectory( "sandbox" );
+        Path archivo = carpeta.resolve( "enteros.bin" );
+        try
+        {
+            int[] valores = GeneradorAleatorio.SPLITTABLE.generar( 1500000, Integer.MIN_VALUE, Integer.MAX_VALUE, 3 );
+            vacio.agregarEnteros( valores );
+            vacio.guardar( archivo );
+            assertEquals( 16 + 4L * valores.length, Files.size( archivo ), "El tamaño del archivo no es correcto" );
+
+            SandboxArreglos cargado = new SandboxArreglos( );
+            cargado.cargar( archivo );
+            assertTrue( cargado.isAlmacenamientoFueraDelHeap( ), "El arreglo cargado debería quedar fuera del heap" );
+            assertFalse( cargado.isSoloLectura( ), "El arreglo cargado no debería ser de sólo lectura" );
+            assertTrue( cargado.compararArregloEnteros( valores ), "Los enteros cargados no son los guardados" );
+
+            cargado.agregarEntero( 8 );
+            cargado.insertarEntero( 9, 0 );
+            assertEquals( valores.length + 2, cargado.getCantidadEnteros( ), "No se pudieron agregar enteros al arreglo cargado" );
+            assertEquals( 9, cargado.getEntero( 0 ), "No se pudo insertar en el arreglo cargado" );
+            assertEquals( 16 + 4L * valores.length, Files.size( archivo ), "Modificar el arreglo cargado no debería cambiar el archivo" );
+
+            // Guardar un arreglo paginado sobre el mismo archivo del que se cargó
+            cargado.guardar( archivo );
+            SandboxArreglos releido = new SandboxArreglos( );
+            releido.cargar( archivo, true );
+            assertTrue( releido.isSoloLectura( ), "El arreglo debería ser de sólo lectura" );
+            assertEquals( valores.length + 2, releido.getCantidadEnterosLarga( ), "La cantidad de enteros cargados no es correcta" );
+            assertEquals( 8, releido.getEntero( valores.length + 1 ), "El último entero cargado no es correcto" );
+            assertEquals( 1, releido.contarApariciones( 9 ) - contarEnArreglo( valores, 9 ), "La cantidad de apariciones no es correcta" );
+            assertTrue( releido.mismosEnteros( cargado.getCopiaEnteros( ) ), "Los enteros cargados no son los guardados" );
+            try
+            {
+                releido.agregarEntero( 1 );
+                fail( "No se debería poder modificar un arreglo de sólo lectura" );
+            }
+            catch( UnsupportedOperationException e )
+            {
+                assertEquals( valores.length + 2, releido.getCantidadEnterosLarga( ), "El arreglo de sólo lectura no debería cambiar" );
+            }
+
+            releido.setAlmacenamientoPaginado( false );
+            assertFalse( releido.isSoloLectura( ), "Al copiar los enteros al heap, el arreglo debería poder modificarse" );
+            releido.organizarEnteros( );
+            assertEquals( valores.length + 2, releido.getCantidadEnteros( ), "La cantidad de enteros no es correcta" );
+        }
+        finally
+        {
+            Files.deleteIfExists( archivo );
+            Files.deleteIfExists( carpeta );
+        }
+    }
+
+    @Test
+    void testCargarArchivoInvalido( ) throws IOException
+    {
+        Path archivo = Files.createTempFile( "sandbox", ".bin" );
+        try
+        {
+            Files.write( archivo, new byte[]{ 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20 } );
+            vacio.agregarEntero( 4 );
+            try
+            {
+                vacio.cargar( archivo );
+                fail( "No se debería poder cargar un archivo con otro formato" );
+            }
+            catch( IOException e )
+            {
+                assertTrue( vacio.compararArregloEnteros( new int[]{ 4 } ), "El arreglo no debería cambiar si no se pudo cargar el archivo" );
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists( archivo );
+        }
+    }
+
+    private static int contarEnArreglo( int[] valores, int valor )
+    {
+        int cantidad = 0;
+        for( int v : valores )
+            if( v == valor )
+                cantidad++;
+        return cantidad;
+    }
+
+    @Test
+    void testInstantaneaEnteros( )
+    {
+        vacio.agregarEnteros( new int[]{ 5, 3, 8, 1 } );
+        InstantaneaEnteros instantanea = vacio.getInstantaneaEnteros( );
+        assertTrue( instantanea == vacio.getInstantaneaEnteros( ), "Si los enteros no cambian, se debería reutilizar la instantánea" );
+
+        vacio.agregarEntero( 7 );
+        InstantaneaEnteros conAgregado = vacio.getInstantaneaEnteros( );
+        assertEquals( 4, instantanea.getCantidad( ), "Agregar al final no debería cambiar la instantánea" );
+        assertEquals( 5, conAgregado.getCantidad( ), "La nueva instantánea debería incluir el entero agregado" );
+
+        vacio.organizarEnteros( );
+        vacio.eliminarEnteroPorPosicion( 0 );
+        assertTrue( Arrays.equals( new int[]{ 5, 3, 8, 1 }, instantanea.getCopia( ) ), "La instantánea no debería cambiar al modificar el sandbox" );
+        assertTrue( Arrays.equals( new int[]{ 5, 3, 8, 1, 7 }, conAgregado.getCopia( ) ), "La instantánea no debería cambiar al modificar el sandbox" );
+        assertTrue( Arrays.equals( new int[]{ 3, 5, 7, 8 }, vacio.getCopiaEnteros( ) ), "El sandbox no se modificó correctamente" );
+        assertEquals( 8, instantanea.getEntero( 2 ), "El entero de la instantánea no es correcto" );
+
+        vacio.setAlmacenamientoPaginado( true );
+        InstantaneaEnteros paginada = vacio.getInstantaneaEnteros( );
+        vacio.volverPositivos( );
+        vacio.insertarEntero( -4, 1 );
+        vacio.reiniciarArregloEnteros( new double[]{ 1.5 } );
+        assertTrue( Arrays.equals( new int[]{ 3, 5, 7, 8 }, paginada.getCopia( ) ), "La instantánea paginada no debería cambiar al modificar el sandbox" );
+        assertTrue( Arrays.equals( new int[]{ 1 }, vacio.getCopiaEnteros( ) ), "El sandbox no se modificó correctamente" );
+    }
+
+    @Test
+    void testVolverPositivosSinNegativosConInstantanea( )
+    {
+        vacio.agregarEnteros( new int[]{ 5, 3, 8, 1 } );
+        vacio.calcularRangoEnteros( );
+        InstantaneaEnteros instantanea = vacio.getInstantaneaEnteros( );
+        vacio.volverPositivos( );
+        assertTrue( instantanea == vacio.getInstantaneaEnteros( ), "Si no hay negativos, volverPositivos no debería copiar el arreglo ni crear otra instantánea" );
+        assertTrue( Arrays.equals( new int[]{ 5, 3, 8, 1 }, vacio.getCopiaEnteros( ) ), "Los enteros no deberían cambiar" );
+
+        vacio.agregarEntero( -2 );
+        InstantaneaEnteros conNegativo = vacio.getInstantaneaEnteros( );
+        vacio.volverPositivos( );
+        assertTrue( Arrays.equals( new int[]{ 5, 3, 8, 1, -2 }, conNegativo.getCopia( ) ), "La instantánea no debería cambiar al volver positivos" );
+        assertTrue( Arrays.equals( new int[]{ 5, 3, 8, 1, 2 }, vacio.getCopiaEnteros( ) ), "Los enteros no se volvieron positivos" );
+    }
+
+    @Test
+    void testInstantaneaCadenas( )
+    {
+        vacio.agregarCadena( "uno" );
+        vacio.agregarCadena( "dos" );
+        InstantaneaCadenas instantanea = vacio.getInstantaneaCadenas( );
+        vacio.agregarCadena( "tres" );
+        vacio.organizarCadenas( );
+        vacio.eliminarCadena( "uno" );
+        assertEquals( 2, instantanea.getCantidad( ), "La instantánea no debería cambiar al modificar el sandbox" );
+        assertEquals( "uno", instantanea.getCadena( 0 ), "La instantánea no debería cambiar al modificar el sandbox" );
+        assertTrue( Arrays.equals( new String[]{ "uno", "dos" }, instantanea.getCopia( ) ), "La instantánea no debería cambiar al modificar el sandbox" );
+        assertTrue( Arrays.equals( new String[]{ "dos", "tres" }, vacio.getCopiaCadenas( ) ), "El sandbox no se modificó correctamente" );
+    }
+
+    @Test
+    void testDiccionarioCadenas( )
+    {
+        sencillo.setDiccionarioCadenas( true );
+        assertTrue( sencillo.isDiccionarioCadenas( ), "El modo codificado debería estar activo" );
+        assertTrue( Arrays.equals( cadenasSencillas, sencillo.getCopiaCadenas( ) ), "Codificar no debería cambiar las cadenas" );
+        assertEquals( 2, sencillo.contarApariciones( "A" ), "No contó correctamente las cadenas con diferencias entre mayúsculas y minúsculas" );
+        assertEquals( 0, sencillo.contarApariciones( "z" ), "No contó correctamente las cadenas que no están en el arreglo" );
+
+        InstantaneaCadenas instantanea = sencillo.getInstantaneaCadenas( );
+        sencillo.agregarCadena( "a" );
+        sencillo.agregarCadena( "nueva" );
+        sencillo.eliminarCadena( "b" );
+        sencillo.organizarCadenas( );
+        String[] esperadas = new String[]{ "a", "a", "a", "c", "c", "d", "d", "e", "nueva" };
+        assertTrue( Arrays.equals( esperadas, sencillo.getCopiaCadenas( ) ), "Las cadenas codificadas no se modificaron correctamente" );
+        assertTrue( Arrays.equals( cadenasSencillas, instantanea.getCopia( ) ), "La instantánea no debería cambiar al modificar el sandbox" );
+
+        sencillo.reiniciarArregloCadenas( new Object[]{ 3, "x", 3, null } );
+        assertTrue( sencillo.isDiccionarioCadenas( ), "Reiniciar no debería desactivar el modo codificado" );
+        assertEquals( 2, sencillo.contarApariciones( "3" ), "No contó correctamente las cadenas reiniciadas" );
+        sencillo.eliminarCadenas( Arrays.asList( "3", "null" ) );
+        sencillo.setDiccionarioCadenas( false );
+        assertTrue( Arrays.equals( new String[]{ "x" }, sencillo.getCopiaCadenas( ) ), "Decodificar no debería cambiar las cadenas" );
+    }
+
+    @Test
+    void testAlmacenamientoComprimido( )
+    {
+        // Valores cercanos con repeticiones, más los extremos para que algunos bloques necesiten diferencias de 32 bits
+        int[] valores = GeneradorAleatorio.XORSHIFT.generar( 100000, 0, 50000, 3 );
+        valores[ 0 ] = Integer.MIN_VALUE;
+        valores[ 1 ] = Integer.MAX_VALUE;
+        vacio.agregarEnteros( valores );
+        vacio.setAlmacenamientoComprimido( true );
+        long bytesSinComprimir = vacio.getBytesEnterosEnHeap( );
+        int[] ordenados = valores.clone( );
+        Arrays.sort( ordenados );
+        vacio.organizarEnteros( );
+        assertTrue( vacio.getBytesEnterosEnHeap( ) * 3 < bytesSinComprimir, "El arreglo ordenado debería ocupar mucho menos al comprimirse" );
+        assertTrue( vacio.compararArregloEnteros( ordenados ), "Los enteros comprimidos no son correctos" );
+        assertTrue( Arrays.equals( ordenados, vacio.getCopiaEnteros( ) ), "La copia de los enteros comprimidos no es correcta" );
+        assertTrue( Arrays.equals( new int[]{ Integer.MIN_VALUE, Integer.MAX_VALUE }, vacio.calcularRangoEnteros( ) ), "El rango no es correcto" );
+        for( int i = 0; i < ordenados.length; i += 997 )
+            assertEquals( ordenados[ i ], vacio.getEntero( i ), "El entero en la posición " + i + " no es correcto" );
+
+        for( int valor : new int[]{ Integer.MIN_VALUE, -1, 0, 1, 17, 25000, 49999, 50000, 50001, Integer.MAX_VALUE } )
+        {
+            int[] esperadas = IntStream.range( 0, ordenados.length ).filter( i -> ordenados[ i ] == valor ).toArray( );
+            assertTrue( Arrays.equals( esperadas, vacio.buscarEntero( valor ) ), "Las posiciones de " + valor + " no son correctas" );
+            assertEquals( esperadas.length, vacio.contarApariciones( valor ), "La cantidad de apariciones de " + valor + " no es correcta" );
+        }
+        assertEquals( valores.length, vacio.calcularHistogramaEnteros( ).getCantidadValores( ) + contarRepetidos( ordenados ), "El histograma no es correcto" );
+
+        InstantaneaEnteros instantanea = vacio.getInstantaneaEnteros( );
+        vacio.agregarEntero( 7 );
+        assertEquals( ordenados.length + 1, vacio.getCantidadEnteros( ), "Agregar debería descomprimir el arreglo y agregar el entero" );
+        assertEquals( 7, vacio.getEntero( ordenados.length ), "El entero agregado no es correcto" );
+        assertTrue( Arrays.equals( ordenados, instantanea.getCopia( ) ), "La instantánea no debería cambiar al modificar el sandbox" );
+        assertEquals( 1, instantanea.contarApariciones( Integer.MAX_VALUE ), "La instantánea debería poder contar sobre los enteros comprimidos" );
+
+        vacio.organizarEnteros( );
+        vacio.setAlmacenamientoComprimido( false );
+        assertFalse( vacio.isAlmacenamientoComprimido( ), "El modo comprimido debería quedar inactivo" );
+        assertTrue( vacio.getBytesEnterosEnHeap( ) >= 4L * ( ordenados.length + 1 ), "Los enteros deberían quedar descomprimidos" );
+        assertEquals( 1 + IntStream.of( ordenados ).filter( v -> v == 7 ).count( ), vacio.contarApariciones( 7 ), "Los enteros descomprimidos no son correctos" );
+    }
+
+
+    @Test
+    void testHuellaEnteros( )
+    {
+        int[] valores = GeneradorAleatorio.XORSHIFT.generar( 5000, -300, 300, 5 );
+        vacio.agregarEnteros( valores );
+        verificarHuella( vacio, "agregar" );
+        vacio.insertarEntero( 42, 10 );
+        verificarHuella( vacio, "insertar" );
+        vacio.eliminarEntero( valores[ 0 ] );
+        verificarHuella( vacio, "eliminar un valor" );
+        vacio.eliminarEnteros( valores[ 1 ], valores[ 2 ] );
+        verificarHuella( vacio, "eliminar varios valores" );
+        vacio.eliminarEnteroPorPosicion( 3 );
+        verificarHuella( vacio, "eliminar por posición" );
+        vacio.organizarEnteros( );
+        verificarHuella( vacio, "organizar" );
+        vacio.volverPositivos( );
+        verificarHuella( vacio, "volver positivos" );
+        vacio.setAlmacenamientoPaginado( true );
+        vacio.agregarEntero( -7 );
+        vacio.insertarEnteros( new int[]{ 1, 2, 3 }, 0 );
+        vacio.eliminarEnteroPorPosicion( 5L );
+        verificarHuella( vacio, "modificar en modo paginado" );
+
+        int[] copia = vacio.getCopiaEnteros( );
+        int[] desordenado = copia.clone( );
+        int temporal = desordenado[ 0 ];
+        desordenado[ 0 ] = desordenado[ 1 ];
+        desordenado[ 1 ] = temporal;
+        int[] otro = copia.clone( );
+        otro[ 0 ]++;
+        HuellaEnteros huellaDesordenado = HuellaEnteros.calcular( desordenado );
+        assertTrue( huellaDesordenado.podrianSerMismosEnteros( vacio.getHuellaEnteros( ) ), "El orden no debería cambiar la huella del multiconjunto" );
+        assertFalse( huellaDesordenado.podrianSerIguales( vacio.getHuellaEnteros( ) ), "El orden debería cambiar la huella de la secuencia" );
+        assertTrue( vacio.compararArregloEnteros( copia, HuellaEnteros.calcular( copia ) ), "El arreglo con la misma huella debería ser igual" );
+        assertFalse( vacio.compararArregloEnteros( desordenado, huellaDesordenado ), "El arreglo desordenado no debería ser igual" );
+        assertTrue( vacio.mismosEnteros( desordenado, huellaDesordenado ), "El arreglo desordenado debería tener los mismos enteros" );
+        assertFalse( vacio.mismosEnteros( otro, HuellaEnteros.calcular( otro ) ), "El arreglo con un valor diferente no debería tener los mismos enteros" );
+        assertFalse( vacio.mismosEnteros( otro ), "El arreglo con un valor diferente no debería tener los mismos enteros" );
+    }
+
+    private static void verificarHuella( SandboxArreglos sandbox, String operacion )
+    {
+        HuellaEnteros esperada = HuellaEnteros.calcular( sandbox.getCopiaEnteros( ) );
+        HuellaEnteros huella = sandbox.getHuellaEnteros( );
+        assertEquals( esperada.getCantidad( ), huella.getCantidad( ), "La cantidad de la huella no es correcta después de " + operacion );
+        assertEquals( esperada.getMulticonjunto( ), huella.getMulticonjunto( ), "La huella del multiconjunto no es correcta después de " + operacion );
+        assertEquals( esperada.getSecuencia( ), huella.getSecuencia( ), "La huella de la secuencia no es correcta después de " + operacion );
+    }
+
+
+    @Test
+    void testReiniciarArregloEnterosFlujos( ) throws IOException
+    {
+        // Suficientes valores para que se trunquen en paralelo, con negativos, NaN y valores por fuera del rango de int
+        Random aleatorio = new Random( 7 );
+        double[] valores = new double[300000];
+        for( int i = 0; i < valores.length; i++ )
+            valores[ i ] = ( aleatorio.nextDouble( ) - 0.5 ) * 1e6;
+        valores[ 0 ] = Double.NaN;
+        valores[ 1 ] = 1e20;
+        valores[ 2 ] = -1e20;
+        int[] esperados = new int[valores.length];
+        for( int i = 0; i < valores.length; i++ )
+            esperados[ i ] = ( int )valores[ i ];
+
+        vacio.reiniciarArregloEnteros( DoubleStream.of( valores ).parallel( ) );
+        assertTrue( vacio.compararArregloEnteros( esperados ), "No se truncaron correctamente los valores del flujo" );
+        vacio.reiniciarArregloEnteros( DoubleStream.of( valores ).filter( v -> true ) );
+        assertTrue( vacio.compararArregloEnteros( esperados ), "No se truncaron correctamente los valores del flujo sin tamaño conocido" );
+
+        DoubleBuffer buffer = ByteBuffer.allocateDirect( ( valores.length + 1 ) * Double.BYTES ).asDoubleBuffer( );
+        buffer.put( 99.5 ).put( valores );
+        buffer.position( 1 );
+        sencillo.reiniciarArregloEnteros( buffer );
+        assertTrue( sencillo.compararArregloEnteros( esperados ), "No se truncaron correctamente los valores del buffer" );
+        assertEquals( 1, buffer.position( ), "La posición del buffer no debería cambiar" );
+
+        Path archivo = Files.createTempFile( "sandbox", ".bin" );
+        try
+        {
+            ByteBuffer bytes = ByteBuffer.allocate( valores.length * Double.BYTES ).order( ByteOrder.LITTLE_ENDIAN );
+            bytes.asDoubleBuffer( ).put( valores );
+            Files.write( archivo, bytes.array( ) );
+            vacio.reiniciarArregloEnteros( archivo, ByteOrder.LITTLE_ENDIAN );
+            assertTrue( vacio.compararArregloEnteros( esperados ), "No se truncaron correctamente los valores del archivo" );
+
+            Files.write( archivo, new byte[]{ 1, 2, 3 } );
+            try
+            {
+                vacio.reiniciarArregloEnteros( archivo, ByteOrder.LITTLE_ENDIAN );
+                fail( "No se debería poder leer un archivo cuyo tamaño no es múltiplo de 8" );
+            }
+            catch( IOException e )
+            {
+                assertEquals( valores.length, vacio.getCantidadEnteros( ), "El arreglo no debería cambiar si no se pudo leer el archivo" );
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists( archivo );
+        }
+    }
+
+
+    @Test
+    void testReiniciarArregloCadenasParalelo( )
+    {
+        Object[] objetos = new Object[50000];
+        for( int i = 0; i < objetos.length; i++ )
+            objetos[ i ] = i % 97 == 0 ? null : Integer.valueOf( i % 3000 );
+        sencillo.reiniciarArregloCadenas( objetos );
+        vacio.reiniciarArregloCadenas( objetos, true );
+        assertTrue( Arrays.equals( sencillo.getCopiaCadenas( ), vacio.getCopiaCadenas( ) ), "La conversión en paralelo debería producir las mismas cadenas" );
+        assertEquals( "null", vacio.getCopiaCadenas( )[ 0 ], "Los objetos null deberían quedar como la cadena \"null\"" );
+
+        vacio.setDiccionarioCadenas( true );
+        vacio.reiniciarArregloCadenas( objetos, true );
+        assertTrue( Arrays.equals( sencillo.getCopiaCadenas( ), vacio.getCopiaCadenas( ) ), "La conversión en paralelo en modo codificado no es correcta" );
+    }
+
+
+    @Test
+    void testPlanEnteros( )
+    {
+        int[] valores = GeneradorAleatorio.XORSHIFT.generar( 20000, -500, 500, 11 );
+        valores[ 0 ] = Integer.MIN_VALUE;
+        for( int modo = 0; modo < 3; modo++ )
+        {
+            SandboxArreglos uno = new SandboxArreglos( );
+            SandboxArreglos plan = new SandboxArreglos( );
+            uno.agregarEnteros( valores );
+            plan.agregarEnteros( valores );
+            uno.setAlmacenamientoPaginado( modo == 1 );
+            plan.setAlmacenamientoPaginado( modo == 1 );
+            uno.setAlmacenamientoComprimido( modo == 2 );
+            plan.setAlmacenamientoComprimido( modo == 2 );
+            InstantaneaEnteros instantanea = plan.getInstantaneaEnteros( );
+
+            uno.volverPositivos( );
+            uno.eliminarEntero( 0 );
+            uno.organizarEnteros( );
+            HistogramaEnteros esperado = uno.calcularHistogramaEnteros( );
+            HistogramaEnteros histograma = plan.crearPlanEnteros( ).volverPositivos( ).eliminarEntero( 0 ).organizarEnteros( ).calcularHistogramaEnteros( );
+            assertTrue( Arrays.equals( uno.getCopiaEnteros( ), plan.getCopiaEnteros( ) ), "El plan debería dejar los mismos enteros en el modo " + modo );
+            assertEquals( esperado.aHashMap( ), histograma.aHashMap( ), "El histograma del plan no es correcto en el modo " + modo );
+            assertTrue( Arrays.equals( valores, instantanea.getCopia( ) ), "El plan no debería cambiar la instantánea en el modo " + modo );
+
+            uno.eliminarEnteros( 3, 4 );
+            uno.volverPositivos( );
+            uno.organizarEnteros( );
+            uno.organizarEnteros( );
+            uno.eliminarEntero( 200 );
+            uno.agregarEntero( -9 );
+            uno.volverPositivos( );
+            uno.eliminarEnteros( 9, 10, 499 );
+            uno.organizarEnteros( );
+            PlanEnteros largo = plan.crearPlanEnteros( ).eliminarEnteros( 3, 4 ).volverPositivos( ).organizarEnteros( ).organizarEnteros( ).eliminarEntero( 200 );
+            largo.ejecutar( );
+            assertTrue( largo.isVacio( ), "El plan debería quedar vacío después de ejecutarse" );
+            plan.agregarEntero( -9 );
+            int[] rango = largo.volverPositivos( ).eliminarEnteros( 9, 10, 499 ).organizarEnteros( ).calcularRangoEnteros( );
+            assertTrue( Arrays.equals( uno.getCopiaEnteros( ), plan.getCopiaEnteros( ) ), "El plan largo debería dejar los mismos enteros en el modo " + modo );
+            assertTrue( Arrays.equals( uno.calcularRangoEnteros( ), rango ), "El rango del plan no es correcto en el modo " + modo );
+            assertEquals( uno.getHuellaEnteros( ).getSecuencia( ), plan.getHuellaEnteros( ).getSecuencia( ), "La huella después del plan no es correcta" );
+        }
+    }
+
+
+    @Test
+    void testEstadisticosDeOrden( )
+    {
+        int[] aleatorios = GeneradorAleatorio.XORSHIFT.generar( 10001, -1000, 1000, 13 );
+        int[] iguales = new int[5000];
+        Arrays.fill( iguales, 42 );
+        int[] ascendentes = IntStream.range( 0, 4000 ).toArray( );
+        int[] descendentes = IntStream.range( 0, 4000 ).map( i -> 4000 - i ).toArray( );
+        int[][] casos = { aleatorios, iguales, ascendentes, descendentes, { 7 }, { 3, -1 } };
+        for( int modo = 0; modo < 3; modo++ )
+        {
+            for( int[] valores : casos )
+            {
+                SandboxArreglos sandbox = new SandboxArreglos( );
+                sandbox.agregarEnteros( valores );
+                sandbox.setAlmacenamientoPaginado( modo == 1 );
+                sandbox.setAlmacenamientoComprimido( modo == 2 );
+                int[] ordenados = valores.clone( );
+                Arrays.sort( ordenados );
+                int n = ordenados.length;
+                for( int k = 0; k < n; k += Math.max( 1, n / 37 ) )
+                    assertEquals( ordenados[ k ], sandbox.kEsimoMenor( k ), "El " + k + "-ésimo menor no es correcto en el modo " + modo );
+                assertEquals( ordenados[ n - 1 ], sandbox.kEsimoMenor( n - 1 ), "El mayor no es correcto en el modo " + modo );
+                double mediana = n % 2 == 1 ? ordenados[ n / 2 ] : ( ordenados[ n / 2 - 1 ] + ordenados[ n / 2 ] ) / 2.0;
+                assertEquals( mediana, sandbox.mediana( ), "La mediana no es correcta en el modo " + modo );
+                double[] pedidos = { 99, 0, 50, 100, 25, 99.9, 50 };
+                int[] percentiles = sandbox.percentiles( pedidos );
+                for( int i = 0; i < pedidos.length; i++ )
+                {
+                    int posicion = Math.max( 0, ( int )Math.ceil( pedidos[ i ] * n / 100 ) - 1 );
+                    assertEquals( ordenados[ posicion ], percentiles[ i ], "El percentil " + pedidos[ i ] + " no es correcto en el modo " + modo );
+                }
+                if( modo != 2 )
+                    assertTrue( sandbox.compararArregloEnteros( valores ), "Las consultas no deberían cambiar el orden del arreglo" );
+            }
+        }
+
+        assertEquals( 0, vacio.percentiles( ).length, "Sin percentiles pedidos, el resultado debería estar vacío" );
+        try
+        {
+            vacio.mediana( );
+            fail( "La mediana de un arreglo vacío debería lanzar una excepción" );
+        }
+        catch( java.util.NoSuchElementException e )
+        {
+        }
+        vacio.agregarEnteros( new int[]{ 1, 2, 3 } );
+        try
+        {
+            vacio.kEsimoMenor( 3 );
+            fail( "Una posición por fuera del arreglo debería lanzar una excepción" );
+        }
+        catch( IndexOutOfBoundsException e )
+        {
+        }
+        try
+        {
+            vacio.percentiles( 50, 100.5 );
+            fail( "Un percentil mayor que 100 debería lanzar una excepción" );
+        }
+        catch( IllegalArgumentException e )
+        {
+        }
+    }
+
+
+    @Test
+    void testHistogramaConHuecoYRangoCalculado( )
+    {
+        SandboxArreglos conHueco = new SandboxArreglos( );
+        conHueco.setModoHueco( true );
+        for( int i = 0; i < 100; i++ )
+        {
+            conHueco.agregarEntero( i % 7 + 1000 );
+        }
+        conHueco.calcularRangoEnteros( );
+        conHueco.insertarEntero( 1003, 10 );
+
+        HashMap<Integer, Integer> esperado = new HashMap<Integer, Integer>( );
+        for( int v : conHueco.getCopiaEnteros( ) )
+        {
+            esperado.merge( v, 1, Integer::sum );
+        }
+        assertEquals( 15, esperado.get( 1001 ), "La copia no tiene los enteros esperados" );
+        assertEquals( 14, esperado.get( 1004 ), "La copia no tiene los enteros esperados" );
+
+        conHueco.insertarEntero( 1005, 3 );
+        esperado.merge( 1005, 1, Integer::sum );
+        assertEquals( esperado, conHueco.calcularHistograma( ), "El histograma no tuvo en cuenta el hueco" );
+        assertEquals( 7, conHueco.contarEnterosRepetidos( ), "La cantidad de enteros repetidos no tuvo en cuenta el hueco" );
+    }
+
+
+    @Test
+    void testEliminarSinCoincidenciasConInstantanea( )
+    {
+        // Si no hay nada que eliminar, el arreglo no se copia y la instantánea sigue siendo la misma
+        InstantaneaEnteros enteros = sencillo.getInstantaneaEnteros( );
+        sencillo.eliminarEntero( 1000 );
+        sencillo.eliminarEnteros( new int[]{ 1000, 2000 } );
+        assertTrue( enteros == sencillo.getInstantaneaEnteros( ), "Se copió el arreglo de enteros sin eliminar nada" );
+        sencillo.eliminarEntero( enterosSencillos[ 0 ] );
+        assertFalse( enteros == sencillo.getInstantaneaEnteros( ), "No se copió el arreglo de enteros al eliminar" );
+        assertTrue( enteros.iguales( enterosSencillos ), "La instantánea cambió al eliminar" );
+
+        sencillo.setAlmacenamientoPaginado( true );
+        enteros = sencillo.getInstantaneaEnteros( );
+        sencillo.eliminarEnteros( new int[]{ 1000, 2000 } );
+        assertTrue( enteros == sencillo.getInstantaneaEnteros( ), "Se copió el almacén sin eliminar nada" );
+
+        InstantaneaCadenas cadenas = sencillo.getInstantaneaCadenas( );
+        sencillo.eliminarCadena( "no está" );
+        sencillo.eliminarCadenas( Arrays.asList( "no está", "tampoco" ) );
+        assertTrue( cadenas == sencillo.getInstantaneaCadenas( ), "Se copió el arreglo de cadenas sin eliminar nada" );
+        sencillo.setDiccionarioCadenas( true );
+        cadenas = sencillo.getInstantaneaCadenas( );
+        sencillo.eliminarCadena( "no está" );
+        sencillo.eliminarCadenas( Arrays.asList( "no está", "tampoco" ) );
+        assertTrue( cadenas == sencillo.getInstantaneaCadenas( ), "Se copiaron los códigos de las cadenas sin eliminar nada" );
+    }
+
 }
@@ -0,0 +1,130 @@
+package uniandes.dpoo.estructuras.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uniandes.dpoo.estructuras.logica.InstantaneaEnteros;
+import uniandes.dpoo.estructuras.logica.SandboxArreglosConcurrente;
+
+class TestSandboxArreglosConcurrente
+{
+    private SandboxArreglosConcurrente sandbox;
+
+    private static final int[] enterosSencillos = new int[]{ 9, 8, 7, 6, 5, 4, 3, 2, 1, 0, 6, -2, -3, -4, -5, 6, 7, 8, 9 };
+
+    @BeforeEach
+    void setUp( ) throws Exception
+    {
+        sandbox = new SandboxArreglosConcurrente( );
+        sandbox.agregarEnteros( enterosSencillos );
+    }
+
+    @Test
+    void testConsultas( )
+    {
+        assertEquals( enterosSencillos.length, sandbox.getCantidadEnteros( ), "La cantidad de enteros no es correcta" );
+        assertEquals( 3, sandbox.contarApariciones( 6 ), "La cantidad de apariciones no es correcta" );
+        assertTrue( Arrays.equals( new int[]{ 3, 10, 15 }, sandbox.buscarEntero( 6 ) ), "Las posiciones encontradas no son correctas" );
+        assertTrue( Arrays.equals( new int[]{ -5, 9 }, sandbox.calcularRangoEnteros( ) ), "El rango no es correcto" );
+        assertTrue( sandbox.compararArregloEnteros( enterosSencillos ), "El arreglo debería ser igual" );
+
+        sandbox.eliminarEntero( 6 );
+        sandbox.agregarEntero( 20 );
+        assertEquals( 0, sandbox.contarApariciones( 6 ), "No se eliminaron las apariciones del valor" );
+        assertTrue( Arrays.equals( new int[]{ -5, 20 }, sandbox.calcularRangoEnteros( ) ), "El rango no se actualizó" );
+
+        sandbox.setAlmacenamientoPaginado( true );
+        assertEquals( 1, sandbox.contarApariciones( 20 ), "La cantidad de apariciones en modo paginado no es correcta" );
+        assertEquals( 20, sandbox.getEntero( sandbox.getCantidadEnterosLarga( ) - 1 ), "El último entero en modo paginado no es correcto" );
+    }
+
+    @Test
+    void testLectoresConEscritor( ) throws Exception
+    {
+        // Un escritor agrega y elimina valores mientras los lectores revisan que cada instantánea sea consistente
+        sandbox.reiniciarArregloEnteros( new double[0] );
+        for( int i = 0; i < 1000; i++ )
+            sandbox.agregarEntero( 1 );
+        AtomicReference<String> error = new AtomicReference<String>( );
+        Thread[] lectores = new Thread[4];
+        for( int t = 0; t < lectores.length; t++ )
+        {
+            lectores[ t ] = new Thread( ( ) -> {
+                for( int r = 0; r < 2000 && error.get( ) == null; r++ )
+                {
+                    InstantaneaEnteros instantanea = sandbox.getInstantaneaEnteros( );
+                    long unos = instantanea.contarApariciones( 1 );
+                    long doses = instantanea.contarApariciones( 2 );
+                    if( unos + doses != instantanea.getCantidadLarga( ) || unos != 1000 )
+                        error.set( "Instantánea inconsistente: " + unos + " + " + doses + " != " + instantanea.getCantidadLarga( ) );
+                    int[] rango = sandbox.calcularRangoEnteros( );
+                    if( rango.length != 2 || rango[ 0 ] != 1 )
+                        error.set( "Rango inconsistente: " + Arrays.toString( rango ) );
+                }
+            } );
+            lectores[ t ].start( );
+        }
+        for( int i = 0; i < 2000; i++ )
+        {
+            sandbox.agregarEntero( 2 );
+            if( i % 10 == 0 )
+                sandbox.eliminarEntero( 2 );
+        }
+        for( Thread lector : lectores )
+            lector.join( );
+        if( error.get( ) != null )
+            fail( error.get( ) );
+        // La última eliminación quita todos los 2 cuando i = 1990, así que quedan los nueve que se agregan después
+        assertEquals( 1000 + 9, sandbox.getCantidadEnteros( ), "La cantidad final de enteros no es correcta" );
+    }
+
+
+    @Test
+    void testInstantaneaPaginadaConEscritor( ) throws Exception
+    {
+        // El escritor agrega enteros consecutivos hasta ocupar varias páginas mientras el lector recorre instantáneas completas
+        sandbox.reiniciarArregloEnteros( new double[0] );
+        sandbox.setAlmacenamientoPaginado( true );
+        int total = 3 * ( 1 << 20 ) + 12345;
+        AtomicReference<String> error = new AtomicReference<String>( );
+        Thread lector = new Thread( ( ) -> {
+            long anterior = 0;
+            while( anterior < total && error.get( ) == null )
+            {
+                InstantaneaEnteros instantanea = sandbox.getInstantaneaEnteros( );
+                long cantidad = instantanea.getCantidadLarga( );
+                for( long i = 0; i < cantidad; i++ )
+                {
+                    if( instantanea.getEntero( i ) != i )
+                    {
+                        error.set( "Posición " + i + " de " + cantidad + ": " + instantanea.getEntero( i ) );
+                        break;
+                    }
+                }
+                if( instantanea.getCantidadLarga( ) != cantidad )
+                    error.set( "La cantidad de la instantánea cambió" );
+                anterior = cantidad;
+            }
+        } );
+        lector.start( );
+        int[] bloque = new int[1 << 14];
+        for( int agregados = 0; agregados < total; agregados += bloque.length )
+        {
+            int n = Math.min( bloque.length, total - agregados );
+            for( int i = 0; i < n; i++ )
+                bloque[ i ] = agregados + i;
+            sandbox.agregarEnteros( n == bloque.length ? bloque : Arrays.copyOf( bloque, n ) );
+        }
+        lector.join( );
+        if( error.get( ) != null )
+            fail( error.get( ) );
+    }
+
+}
@@ -354,4 +354,18 @@ class TestSandboxConjuntos
         assertFalse( sencillo.compararElementos( cadenasMayusculasOrdenadas ), "No comparó correctamente los arreglos cuando eran diferentes" );
     }
 
+
+    @Test
+    void testReiniciarConjuntoCadenasParalelo( )
+    {
+        List<Object> objetos = new ArrayList<Object>( );
+        for( int i = 0; i < 50000; i++ )
+            objetos.add( i % 97 == 0 ? null : Integer.valueOf( ( i * 7919 ) % 3000 ) );
+        sencillo.reiniciarConjuntoCadenas( objetos );
+        vacio.reiniciarConjuntoCadenas( objetos, true );
+        assertEquals( 3001, vacio.getCantidadCadenas( ), "El conjunto debería tener cada cadena una sola vez" );
+        assertEquals( sencillo.getCadenasComoLista( ), vacio.getCadenasComoLista( ), "La conversión en paralelo debería producir el mismo conjunto" );
+        assertTrue( vacio.getCadenasComoLista( ).contains( "null" ), "Los objetos null deberían quedar como la cadena \"null\"" );
+    }
+
 }
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -13,6 +14,9 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import uniandes.dpoo.estructuras.logica.EstrategiaOrdenamiento;
+import uniandes.dpoo.estructuras.logica.EstrategiaOrdenamientoCadenas;
+import uniandes.dpoo.estructuras.logica.GeneradorAleatorio;
 import uniandes.dpoo.estructuras.logica.SandboxListas;
 
 class TestSandboxListas
@@ -523,6 +527,44 @@ class TestSandboxListas
 
     }
 
+    @Test
+    void testOrganizarEnterosEstrategias( )
+    {
+        for( EstrategiaOrdenamiento estrategia : EstrategiaOrdenamiento.values( ) )
+        {
+            SandboxListas listas = new SandboxListas( );
+            listas.generarEnteros( 50000, -1000000, 1000000 );
+            int[] esperado = listas.getEnterosComoArreglo( );
+            Arrays.sort( esperado );
+
+            listas.organizarEnteros( estrategia );
+
+            List<Integer> copia = listas.getCopiaEnteros( );
+            assertEquals( esperado.length, copia.size( ), "La cantidad de enteros no debería cambiar con " + estrategia );
+            for( int i = 0; i < esperado.length; i++ )
+            {
+                assertEquals( esperado[ esperado.length - 1 - i ], copia.get( i ).intValue( ), "No se organizaron de mayor a menor con " + estrategia );
+            }
+        }
+    }
+
+    @Test
+    void testOrganizarCadenasEstrategias( )
+    {
+        String[] cadenas = { "abc", "ab", "", "abd", "Abc", "ab", "zz", "a￿", "aé" };
+        String[] esperado = cadenas.clone( );
+        Arrays.sort( esperado );
+
+        for( EstrategiaOrdenamientoCadenas estrategia : EstrategiaOrdenamientoCadenas.values( ) )
+        {
+            SandboxListas listas = new SandboxListas( );
+            for( String cadena : cadenas )
+                listas.agregarCadena( cadena );
+            listas.organizarCadenas( estrategia );
+            assertEquals( Arrays.asList( esperado ), listas.getCopiaCadenas( ), "El orden no es el mismo de compareTo con " + estrategia );
+        }
+    }
+
     @Test
     void testOrganizarEnterosVacio( )
     {
@@ -554,6 +596,44 @@ class TestSandboxListas
         assertEquals( 0, copia.size( ), "La cantidad de cadenas es correcta" );
     }
 
+    @Test
+    void testContarCadenaConIndice( )
+    {
+        SandboxListas listas = new SandboxListas( );
+        listas.agregarCadena( "Hola" );
+        listas.agregarCadena( "HOLA" );
+        listas.setIndiceCadenas( true );
+        assertTrue( listas.isIndiceCadenas( ), "El índice de cadenas debería quedar activo" );
+        assertEquals( 2, listas.contarApariciones( "hola" ), "El conteo con el índice no es correcto" );
+
+        listas.agregarCadena( "hola" );
+        assertEquals( 3, listas.contarApariciones( "hOLA" ), "El índice no se actualizó al agregar" );
+
+        listas.eliminarCadena( "HOLA" );
+        assertEquals( 2, listas.contarApariciones( "hola" ), "El índice no se actualizó al eliminar" );
+
+        listas.reiniciarArregloCadenas( Arrays.asList( ( Object )"A", "a", "b" ) );
+        assertEquals( 2, listas.contarApariciones( "A" ), "El índice no se actualizó al reiniciar" );
+        assertEquals( 0, listas.contarApariciones( "hola" ), "El índice no se actualizó al reiniciar" );
+    }
+
+    @Test
+    void testContarCadenaConIndiceFueraDelPlanoBasico( )
+    {
+        // U+10400 y U+10428 son la mayúscula y la minúscula de una letra que en UTF-16 ocupa un par sustituto
+        String mayuscula = "\uD801\uDC00";
+        String minuscula = "\uD801\uDC28";
+        SandboxListas listas = new SandboxListas( );
+        listas.agregarCadena( mayuscula );
+        listas.agregarCadena( "x" + minuscula );
+        int sinIndice = listas.contarApariciones( minuscula );
+        int sinIndiceCompuesta = listas.contarApariciones( "X" + mayuscula );
+        assertEquals( mayuscula.equalsIgnoreCase( minuscula ) ? 1 : 0, sinIndice, "El recorrido debería contar lo mismo que equalsIgnoreCase" );
+        listas.setIndiceCadenas( true );
+        assertEquals( sinIndice, listas.contarApariciones( minuscula ), "El índice debería contar lo mismo que el recorrido" );
+        assertEquals( sinIndiceCompuesta, listas.contarApariciones( "X" + mayuscula ), "El índice debería contar lo mismo que el recorrido" );
+    }
+
     @Test
     void testContarEnterosRepetidos( )
     {
@@ -659,4 +739,33 @@ class TestSandboxListas
             fail( "Los valores no están bien distribuidos" );
     }
 
+    @Test
+    void testGenerarEnterosConSemilla( )
+    {
+        SandboxListas otro = new SandboxListas( );
+        sencillo.generarEnteros( 100000, -10, 10, 42L );
+        otro.generarEnteros( 100000, -10, 10, 42L, GeneradorAleatorio.SPLITTABLE );
+
+        assertEquals( 100000, sencillo.getCantidadEnteros( ), "La cantidad de elementos no es correcta" );
+        assertEquals( otro.getCopiaEnteros( ), sencillo.getCopiaEnteros( ), "Con la misma semilla se deberían generar los mismos valores" );
+
+        int[] valores = sencillo.getEnterosComoArreglo( );
+        Arrays.sort( valores );
+        assertEquals( -10, valores[ 0 ], "El menor valor generado no es el correcto" );
+        assertEquals( 10, valores[ valores.length - 1 ], "El mayor valor generado no es el correcto" );
+    }
+
+
+    @Test
+    void testReiniciarArregloCadenasParalelo( )
+    {
+        List<Object> objetos = new ArrayList<Object>( );
+        for( int i = 0; i < 50000; i++ )
+            objetos.add( i % 97 == 0 ? null : Integer.valueOf( i % 3000 ) );
+        sencillo.reiniciarArregloCadenas( objetos );
+        vacio.reiniciarArregloCadenas( objetos, true );
+        assertEquals( sencillo.getCopiaCadenas( ), vacio.getCopiaCadenas( ), "La conversión en paralelo debería producir las mismas cadenas" );
+        assertEquals( "null", vacio.getCopiaCadenas( ).get( 0 ), "Los objetos null deberían quedar como la cadena \"null\"" );
+    }
+
 }
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -213,4 +214,18 @@ class TestSandboxMapas
         assertFalse( sencillo.compararValores( llaves ), "Se equivocó cuando se mezclaron las llaves con los valores" );
     }
 
+
+    @Test
+    void testReiniciarMapaCadenasParalelo( )
+    {
+        List<Object> objetos = new ArrayList<Object>( );
+        for( int i = 0; i < 50000; i++ )
+            objetos.add( i % 97 == 0 ? null : "c" + ( ( i * 7919 ) % 3000 ) );
+        sencillo.reiniciarMapaCadenas( objetos );
+        vacio.reiniciarMapaCadenas( objetos, true );
+        assertEquals( 3001, vacio.getCantidadCadenasDiferentes( ), "El mapa debería tener cada cadena una sola vez" );
+        assertEquals( sencillo.getLlavesComoListaInvertida( ), vacio.getLlavesComoListaInvertida( ), "La conversión en paralelo debería producir las mismas llaves" );
+        assertEquals( sencillo.getValoresComoLista( ), vacio.getValoresComoLista( ), "La conversión en paralelo debería producir los mismos valores" );
+    }
+
 }